@@ -20,7 +20,15 @@ public final class Main {
     // ユーティリティクラス
   }
 
+  /** AppCDSアーカイブ作成用の学習として実行する引数 */
+  static final String TRAINING_ARGUMENT = "--training";
+
   public static void main(String[] args) {
+    if (args.length > 0 && TRAINING_ARGUMENT.equals(args[0])) {
+      runTraining();
+      return;
+    }
+
     LOGGER.info("Starting Groovy Language Server...");
 
     Either<Throwable, @Nullable Void> result =
@@ -53,4 +61,15 @@ public final class Main {
           System.exit(1);
         });
   }
+
+  private static void runTraining() {
+    Try.run(TrainingRun::run)
+        .onFailure(
+            error -> {
+              LOGGER.error("Training run failed", error);
+              System.exit(1);
+            });
+    // 型の索引の構築などのデーモンスレッドを待たずに終了する
+    System.exit(0);
+  }
 }
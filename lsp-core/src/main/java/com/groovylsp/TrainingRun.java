@@ -0,0 +1,217 @@
+package com.groovylsp;
+
+import com.groovylsp.infrastructure.di.DaggerServerComponent;
+import com.groovylsp.infrastructure.metrics.SlowRequestLog;
+import com.groovylsp.infrastructure.parser.ParserWarmup;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.DefinitionParams;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.InitializeParams;
+import org.eclipse.lsp4j.InitializedParams;
+import org.eclipse.lsp4j.MessageActionItem;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.ReferenceContext;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.ShowMessageRequestParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.launch.LSPLauncher;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * AppCDSアーカイブを作成するための学習用の実行
+ *
+ * <p>{@code --training} 引数で起動すると、標準入出力の代わりにループバックのソケットでクライアントとサーバーを接続し、
+ * 初期化・ドキュメントのオープンと変更・ホバー・補完などの一連のリクエストを実行して終了します。 {@code -XX:ArchiveClassesAtExit}
+ * と組み合わせて、実際の起動で必要になるクラスをアーカイブに含めるために使います。
+ *
+ * <p>型の索引などのキャッシュは一時ディレクトリに作成し、終了時に削除します。
+ */
+final class TrainingRun {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrainingRun.class);
+
+  private static final long TIMEOUT_SECONDS = 60;
+  private static final String URI = "file:///training/Warmup.groovy";
+
+  /** ホバーと定義ジャンプを実行する識別子 */
+  private static final List<String> IDENTIFIERS =
+      List.of("Repository", "items", "put", "LIMIT", "repository", "evens", "Status", "describe");
+
+  private TrainingRun() {
+    // ユーティリティクラス
+  }
+
+  static void run() throws Exception {
+    Path cacheDirectory = Files.createTempDirectory("groovy-lsp-training");
+    System.setProperty("groovy.lsp.cacheDir", cacheDirectory.toString());
+    System.setProperty(SlowRequestLog.THRESHOLD_PROPERTY, "0");
+    try {
+      train();
+    } finally {
+      deleteRecursively(cacheDirectory);
+    }
+  }
+
+  private static void train() throws Exception {
+    var server = DaggerServerComponent.create().groovyLanguageServer();
+    var client = new TrainingClient();
+
+    try (var listener = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        var clientSocket = new Socket(InetAddress.getLoopbackAddress(), listener.getLocalPort());
+        var serverSocket = listener.accept()) {
+      var serverLauncher =
+          LSPLauncher.createServerLauncher(
+              server, serverSocket.getInputStream(), serverSocket.getOutputStream());
+      server.connect(serverLauncher.getRemoteProxy());
+      serverLauncher.startListening();
+
+      var clientLauncher =
+          LSPLauncher.createClientLauncher(
+              client, clientSocket.getInputStream(), clientSocket.getOutputStream());
+      clientLauncher.startListening();
+
+      exercise(clientLauncher.getRemoteProxy(), client);
+    }
+  }
+
+  private static void exercise(LanguageServer remote, TrainingClient client) throws Exception {
+    long start = System.nanoTime();
+    await(remote.initialize(new InitializeParams()));
+    remote.initialized(new InitializedParams());
+
+    String content = ParserWarmup.SNIPPET;
+    var document = new TextDocumentIdentifier(URI);
+    var diagnostics = client.expectDiagnostics();
+    remote
+        .getTextDocumentService()
+        .didOpen(new DidOpenTextDocumentParams(new TextDocumentItem(URI, "groovy", 1, content)));
+    await(diagnostics);
+
+    var textDocumentService = remote.getTextDocumentService();
+    await(textDocumentService.documentSymbol(new DocumentSymbolParams(document)));
+    await(textDocumentService.semanticTokensFull(new SemanticTokensParams(document)));
+    await(textDocumentService.foldingRange(new FoldingRangeRequestParams(document)));
+    for (String identifier : IDENTIFIERS) {
+      var position = positionOf(content, identifier);
+      await(textDocumentService.hover(new HoverParams(document, position)));
+      await(textDocumentService.definition(new DefinitionParams(document, position)));
+      await(
+          textDocumentService.references(
+              new ReferenceParams(document, position, new ReferenceContext(true))));
+    }
+    await(
+        textDocumentService.completion(
+            new CompletionParams(document, positionOf(content, "name)"))));
+
+    // 変更後の再診断（構文エラーを含む状態と元に戻した状態）
+    String broken = content.replace("items[key] = value", "items[key] = (value");
+    int version = 1;
+    for (var changed : List.of(broken, content)) {
+      diagnostics = client.expectDiagnostics();
+      textDocumentService.didChange(
+          new DidChangeTextDocumentParams(
+              new VersionedTextDocumentIdentifier(URI, ++version),
+              List.of(new TextDocumentContentChangeEvent(changed))));
+      await(diagnostics);
+    }
+    textDocumentService.didClose(new DidCloseTextDocumentParams(document));
+
+    await(remote.shutdown());
+    LOGGER.info("学習用の実行が完了しました ({}ms)", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private static Position positionOf(String content, String text) {
+    int offset = content.indexOf(text);
+    if (offset < 0) {
+      throw new IllegalArgumentException("見つかりません: " + text);
+    }
+    int line = 0;
+    int lineStart = 0;
+    for (int i = 0; i < offset; i++) {
+      if (content.charAt(i) == '\n') {
+        line++;
+        lineStart = i + 1;
+      }
+    }
+    return new Position(line, offset - lineStart);
+  }
+
+  private static <T> T await(CompletableFuture<T> future) throws Exception {
+    return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private static void deleteRecursively(Path directory) {
+    try (var paths = Files.walk(directory)) {
+      paths
+          .sorted(Comparator.reverseOrder())
+          .forEach(
+              path -> {
+                try {
+                  Files.deleteIfExists(path);
+                } catch (IOException e) {
+                  LOGGER.debug("一時ファイルを削除できませんでした: {}", path, e);
+                }
+              });
+    } catch (IOException e) {
+      LOGGER.debug("一時ディレクトリを削除できませんでした: {}", directory, e);
+    }
+  }
+
+  /** 診断の通知を待ち合わせる以外は何もしないクライアント */
+  private static final class TrainingClient implements LanguageClient {
+
+    private volatile CompletableFuture<PublishDiagnosticsParams> diagnostics =
+        new CompletableFuture<>();
+
+    CompletableFuture<PublishDiagnosticsParams> expectDiagnostics() {
+      var expected = new CompletableFuture<PublishDiagnosticsParams>();
+      diagnostics = expected;
+      return expected;
+    }
+
+    @Override
+    public void publishDiagnostics(PublishDiagnosticsParams params) {
+      diagnostics.complete(params);
+    }
+
+    @Override
+    public void telemetryEvent(Object object) {}
+
+    @Override
+    public void showMessage(MessageParams messageParams) {}
+
+    @Override
+    public CompletableFuture<@Nullable MessageActionItem> showMessageRequest(
+        ShowMessageRequestParams requestParams) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void logMessage(MessageParams message) {}
+  }
+}
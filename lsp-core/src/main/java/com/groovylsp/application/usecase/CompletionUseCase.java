@@ -0,0 +1,525 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.constant.DefaultImports;
+import com.groovylsp.domain.lexer.TokenType;
+import com.groovylsp.domain.model.LibraryType;
+import com.groovylsp.domain.model.Scope;
+import com.groovylsp.domain.model.ScopeManager;
+import com.groovylsp.domain.model.SymbolDefinition;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.TypeIndexService;
+import io.vavr.control.Either;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.MarkupKind;
+import org.eclipse.lsp4j.Position;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * コード補完に関するユースケース
+ *
+ * <p>LSPのtextDocument/completionとcompletionItem/resolveリクエストを処理します。 候補は以下から集めます。
+ *
+ * <ul>
+ *   <li>カーソル位置のスコープから見えるシンボル（ScopeManager）
+ *   <li>ワークスペースのクラスと、{@code receiver.} の後ではそのクラスのメンバー（SymbolTable）
+ *   <li>Groovyのキーワード
+ *   <li>デフォルトインポートのクラス
+ *   <li>import文では、クラスパス上の型の索引にあるパッケージとクラス（TypeIndexService）
+ * </ul>
+ *
+ * <p>URIごとに直前の候補集合を（スコープ、レシーバー、接頭辞）とともに保持し、 同じスコープで接頭辞が伸びただけの場合は前回の候補を絞り込むだけで応答します。
+ * 応答は上限件数で打ち切り、その場合はisIncompleteを設定して再要求させます。 ドキュメントはcompletionItem/resolveで選択された候補についてのみ作成します。
+ *
+ * <p>スコープとシンボルテーブルは索引スレッドで構築済みのものを参照し、補完のために索引の構築を待つことはありません。
+ */
+@Singleton
+public class CompletionUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompletionUseCase.class);
+
+  /** 1回の応答に含める候補の上限 */
+  static final int MAX_ITEMS = 200;
+
+  private static final String SYMBOL_DATA = "symbol:";
+  private static final String CLASS_DATA = "class:";
+  private static final String KEYWORD_DATA = "keyword:";
+  private static final String LIBRARY_DATA = "library:";
+
+  /** カーソルまでの行がimport文の途中かどうか（グループ1がパッケージのパス） */
+  private static final Pattern IMPORT_LINE =
+      Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w.]*)$");
+
+  /** ライブラリの型の説明に表示するメンバーの最大数 */
+  private static final int MAX_DOCUMENTED_MEMBERS = 10;
+
+  // 並び順（小さいほど上位）
+  private static final int RANK_LOCAL = 0;
+  private static final int RANK_MEMBER = 1;
+  private static final int RANK_CLASS = 2;
+  private static final int RANK_KEYWORD = 3;
+  private static final int RANK_DEFAULT_IMPORT = 4;
+
+  private static final Comparator<Candidate> CANDIDATE_ORDER =
+      Comparator.comparingInt(Candidate::rank).thenComparing(Candidate::label);
+
+  /** キーワードとデフォルトインポートのクラスの候補（不変のため事前に作成） */
+  private static final List<Candidate> STATIC_CANDIDATES = createStaticCandidates();
+
+  private final TextDocumentRepository repository;
+  private final ScopeManager scopeManager;
+  private final SymbolTable symbolTable;
+  private final DefinitionUseCase definitionUseCase;
+  private final TypeIndexService typeIndexService;
+
+  /** URIごとの直前の候補集合 */
+  private final ConcurrentMap<String, CandidateCache> caches = new ConcurrentHashMap<>();
+
+  @Inject
+  public CompletionUseCase(
+      TextDocumentRepository repository,
+      ScopeManager scopeManager,
+      SymbolTable symbolTable,
+      DefinitionUseCase definitionUseCase,
+      TypeIndexService typeIndexService) {
+    this.repository = repository;
+    this.scopeManager = scopeManager;
+    this.symbolTable = symbolTable;
+    this.definitionUseCase = definitionUseCase;
+    this.typeIndexService = typeIndexService;
+  }
+
+  /**
+   * 補完候補を取得
+   *
+   * @param params CompletionParams
+   * @return 補完候補のリスト、またはエラー
+   */
+  public Either<String, CompletionList> getCompletion(CompletionParams params) {
+    String uri = params.getTextDocument().getUri();
+    Position position = params.getPosition();
+
+    return repository
+        .findByUri(URI.create(uri))
+        .toEither(() -> "ドキュメントが見つかりません: " + uri)
+        .map(
+            document -> {
+              String importPath = importPathAt(document.content(), position);
+              if (importPath != null) {
+                caches.remove(uri);
+                return importCompletion(importPath);
+              }
+
+              var context = CompletionContext.at(document.content(), position);
+              var scope = scopeManager.getScopeAt(uri, position).getOrNull();
+              String lowerPrefix = context.prefix().toLowerCase(Locale.ROOT);
+
+              // 同じスコープで接頭辞が伸びただけであれば前回の候補を絞り込む
+              var cached = caches.get(uri);
+              boolean reused = false;
+              List<Candidate> candidates;
+              boolean complete;
+              if (cached != null && cached.canNarrow(scope, context.receiver(), lowerPrefix)) {
+                reused = true;
+                complete = true;
+                candidates = filter(cached.candidates(), lowerPrefix);
+              } else {
+                var collected = collectCandidates(scope, context);
+                complete = collected.complete();
+                candidates = filter(collected.candidates(), lowerPrefix);
+              }
+              if (complete) {
+                caches.put(
+                    uri, new CandidateCache(scope, context.receiver(), lowerPrefix, candidates));
+              } else {
+                // 打ち切った候補は接頭辞が伸びても絞り込みに使えない
+                caches.remove(uri);
+              }
+
+              boolean incomplete = candidates.size() > MAX_ITEMS;
+              var items = new ArrayList<CompletionItem>(Math.min(candidates.size(), MAX_ITEMS));
+              for (var candidate : candidates.subList(0, Math.min(candidates.size(), MAX_ITEMS))) {
+                items.add(candidate.toCompletionItem());
+              }
+              logger.debug(
+                  "Completion for {} (prefix: '{}', reused: {}): {} of {} candidates",
+                  uri,
+                  context.prefix(),
+                  reused,
+                  items.size(),
+                  candidates.size());
+              return new CompletionList(incomplete, items);
+            });
+  }
+
+  /**
+   * 補完候補の詳細（ドキュメント）を設定
+   *
+   * @param item 選択された補完候補（dataはプレゼンテーション層で文字列に戻したもの）
+   * @return ドキュメントを設定した補完候補
+   */
+  public CompletionItem resolve(CompletionItem item) {
+    if (!(item.getData() instanceof String data)) {
+      return item;
+    }
+
+    if (data.startsWith(SYMBOL_DATA)) {
+      symbolTable
+          .findByQualifiedName(data.substring(SYMBOL_DATA.length()))
+          .peek(definition -> item.setDocumentation(markdown(symbolDocumentation(definition))));
+    } else if (data.startsWith(CLASS_DATA)) {
+      String className = data.substring(CLASS_DATA.length());
+      String packageName = className.substring(0, className.lastIndexOf('.'));
+      item.setDocumentation(
+          markdown("```groovy\n" + className + "\n```\n\nデフォルトインポート（" + packageName + "）"));
+    } else if (data.startsWith(LIBRARY_DATA)) {
+      typeIndexService
+          .findClass(data.substring(LIBRARY_DATA.length()))
+          .peek(type -> item.setDocumentation(markdown(libraryDocumentation(type))));
+    } else if (data.startsWith(KEYWORD_DATA)) {
+      item.setDocumentation(markdown("Groovyのキーワード `" + item.getLabel() + "`"));
+    }
+    return item;
+  }
+
+  /**
+   * ドキュメントを閉じた時に候補のキャッシュを破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  public void release(URI uri) {
+    caches.remove(uri.toString());
+  }
+
+  /**
+   * import文のパッケージ・クラス名を補完
+   *
+   * <p>型の索引からパッケージ直下の子要素を引くため、索引の構築中は候補がありません。
+   *
+   * @param importPath 入力済みのパス（例: {@code java.util.conc}）
+   * @return 補完候補のリスト
+   */
+  private CompletionList importCompletion(String importPath) {
+    int lastDot = importPath.lastIndexOf('.');
+    String packageName = lastDot < 0 ? "" : importPath.substring(0, lastDot);
+    String prefix = importPath.substring(lastDot + 1);
+
+    var children = typeIndexService.findPackageChildren(packageName, prefix, MAX_ITEMS + 1);
+    var items = new ArrayList<CompletionItem>(Math.min(children.size(), MAX_ITEMS));
+    for (var child : children.take(MAX_ITEMS)) {
+      var item = new CompletionItem(child.name());
+      item.setDetail(child.qualifiedName());
+      if (child.isPackage()) {
+        item.setKind(CompletionItemKind.Module);
+        item.setSortText("0" + child.name());
+      } else {
+        item.setKind(CompletionItemKind.Class);
+        item.setSortText("1" + child.name());
+        item.setData(LIBRARY_DATA + child.qualifiedName());
+      }
+      items.add(item);
+    }
+    return new CompletionList(children.size() > MAX_ITEMS, items);
+  }
+
+  /** カーソルの行がimport文の途中であれば入力済みのパスを返す */
+  private static @Nullable String importPathAt(String content, Position position) {
+    int lineStart = 0;
+    for (int line = 0; line < position.getLine(); line++) {
+      int newline = content.indexOf('\n', lineStart);
+      if (newline < 0) {
+        return null;
+      }
+      lineStart = newline + 1;
+    }
+    int lineEnd = content.indexOf('\n', lineStart);
+    int limit = lineEnd < 0 ? content.length() : lineEnd;
+    int offset = Math.min(lineStart + Math.max(0, position.getCharacter()), limit);
+
+    var matcher = IMPORT_LINE.matcher(content.substring(lineStart, offset));
+    return matcher.matches() ? matcher.group(1) : null;
+  }
+
+  /**
+   * スコープとレシーバーに応じた候補を集める（並び順に整列済み）
+   *
+   * <p>ワークスペースのクラスはシンボルテーブルの名前順の索引から接頭辞で引き、上限件数を超える分は集めません。
+   */
+  private CollectedCandidates collectCandidates(@Nullable Scope scope, CompletionContext context) {
+    var byData = new LinkedHashMap<String, Candidate>();
+    boolean complete = true;
+
+    String receiver = context.receiver();
+    if (receiver != null) {
+      for (var classDefinition : resolveReceiverClasses(scope, receiver)) {
+        for (var member : symbolTable.findByContainingClass(classDefinition.qualifiedName())) {
+          if (member.definitionType() != SymbolDefinition.DefinitionType.CLASS) {
+            byData.putIfAbsent(SYMBOL_DATA + member.qualifiedName(), symbolCandidate(member));
+          }
+        }
+      }
+    } else {
+      if (scope != null) {
+        for (var symbol : scope.getAllAvailableSymbols()) {
+          byData.putIfAbsent(SYMBOL_DATA + symbol.qualifiedName(), symbolCandidate(symbol));
+        }
+      }
+      var classes = symbolTable.findClassesByPrefix(context.prefix(), MAX_ITEMS + 1);
+      complete = classes.size() <= MAX_ITEMS;
+      for (var classDefinition : classes) {
+        byData.putIfAbsent(
+            SYMBOL_DATA + classDefinition.qualifiedName(), symbolCandidate(classDefinition));
+      }
+      for (var candidate : STATIC_CANDIDATES) {
+        byData.putIfAbsent(candidate.data(), candidate);
+      }
+    }
+
+    var result = new ArrayList<>(byData.values());
+    result.sort(CANDIDATE_ORDER);
+    return new CollectedCandidates(result, complete);
+  }
+
+  /** レシーバーの式が指すクラスの定義を解決 */
+  private List<SymbolDefinition> resolveReceiverClasses(@Nullable Scope scope, String receiver) {
+    if (TokenType.THIS.getKeyword().equals(receiver)) {
+      for (var current = scope; current != null; current = current.getParent()) {
+        if (current.getType() == Scope.ScopeType.CLASS && current.getName() != null) {
+          return symbolTable.findByQualifiedName(current.getName()).toJavaList();
+        }
+      }
+      return List.of();
+    }
+
+    // クラス名の場合（静的メンバーの参照）
+    var classes =
+        symbolTable
+            .findByName(receiver)
+            .filter(found -> found.definitionType() == SymbolDefinition.DefinitionType.CLASS);
+    if (!classes.isEmpty()) {
+      return classes.toJavaList();
+    }
+
+    // 変数・フィールド・パラメータの場合は宣言された型のクラス
+    if (scope == null) {
+      return List.of();
+    }
+    return scope
+        .findSymbol(receiver)
+        .map(symbol -> definitionUseCase.findTypeDefinitions(symbol).toJavaList())
+        .getOrElse(List.of());
+  }
+
+  private static List<Candidate> filter(List<Candidate> candidates, String lowerPrefix) {
+    if (lowerPrefix.isEmpty()) {
+      return candidates;
+    }
+    var result = new ArrayList<Candidate>();
+    for (var candidate : candidates) {
+      if (candidate.lowerLabel().startsWith(lowerPrefix)) {
+        result.add(candidate);
+      }
+    }
+    return result;
+  }
+
+  private static Candidate symbolCandidate(SymbolDefinition definition) {
+    int rank =
+        switch (definition.definitionType()) {
+          case LOCAL_VARIABLE, PARAMETER -> RANK_LOCAL;
+          case METHOD, FIELD, ENUM_CONSTANT -> RANK_MEMBER;
+          case CLASS, IMPORT -> RANK_CLASS;
+        };
+    String detail =
+        definition.containingClass() != null
+            ? definition.containingClass()
+            : definition.qualifiedName();
+    return Candidate.of(
+        definition.name(),
+        toCompletionItemKind(definition),
+        detail,
+        SYMBOL_DATA + definition.qualifiedName(),
+        rank);
+  }
+
+  private static CompletionItemKind toCompletionItemKind(SymbolDefinition definition) {
+    return switch (definition.kind()) {
+      case Class -> CompletionItemKind.Class;
+      case Interface -> CompletionItemKind.Interface;
+      case Enum -> CompletionItemKind.Enum;
+      case Struct -> CompletionItemKind.Struct;
+      case Method -> CompletionItemKind.Method;
+      case Field -> CompletionItemKind.Field;
+      case Constant -> CompletionItemKind.Constant;
+      case EnumMember -> CompletionItemKind.EnumMember;
+      default -> CompletionItemKind.Variable;
+    };
+  }
+
+  private static List<Candidate> createStaticCandidates() {
+    var result = new ArrayList<Candidate>();
+    for (var type : TokenType.values()) {
+      if (type.isKeyword()) {
+        String keyword = type.getKeyword();
+        result.add(
+            Candidate.of(
+                keyword, CompletionItemKind.Keyword, null, KEYWORD_DATA + keyword, RANK_KEYWORD));
+      }
+    }
+    for (var className : DefaultImports.CLASSES) {
+      result.add(
+          Candidate.of(
+              className.substring(className.lastIndexOf('.') + 1),
+              CompletionItemKind.Class,
+              className,
+              CLASS_DATA + className,
+              RANK_DEFAULT_IMPORT));
+    }
+    return List.copyOf(result);
+  }
+
+  private static String symbolDocumentation(SymbolDefinition definition) {
+    var text = new StringBuilder();
+    text.append("```groovy\n").append(definition.qualifiedName()).append("\n```\n\n");
+    text.append("種類: ").append(definition.definitionType().name().toLowerCase(Locale.ROOT));
+    String fileName = definition.uri().substring(definition.uri().lastIndexOf('/') + 1);
+    text.append("\n\n定義場所: ")
+        .append(fileName)
+        .append(':')
+        .append(definition.selectionRange().getStart().getLine() + 1);
+    return text.toString();
+  }
+
+  private static String libraryDocumentation(LibraryType type) {
+    var text = new StringBuilder();
+    text.append("```groovy\n").append(type.qualifiedName()).append("\n```");
+    var members =
+        type.members().stream()
+            .filter(member -> !member.isConstructor())
+            .map(LibraryType.Member::signature)
+            .distinct()
+            .limit(MAX_DOCUMENTED_MEMBERS)
+            .toList();
+    if (!members.isEmpty()) {
+      text.append("\n\n");
+      members.forEach(signature -> text.append("- `").append(signature).append("`\n"));
+    }
+    return text.toString().trim();
+  }
+
+  private static MarkupContent markdown(String value) {
+    return new MarkupContent(MarkupKind.MARKDOWN, value);
+  }
+
+  /** 補完候補（CompletionItemへの変換は応答に含める分だけ行う） */
+  private record Candidate(
+      String label,
+      String lowerLabel,
+      CompletionItemKind kind,
+      @Nullable String detail,
+      String data,
+      int rank) {
+
+    static Candidate of(
+        String label, CompletionItemKind kind, @Nullable String detail, String data, int rank) {
+      return new Candidate(label, label.toLowerCase(Locale.ROOT), kind, detail, data, rank);
+    }
+
+    CompletionItem toCompletionItem() {
+      var item = new CompletionItem(label);
+      item.setKind(kind);
+      item.setDetail(detail);
+      item.setData(data);
+      item.setSortText(rank + label);
+      return item;
+    }
+  }
+
+  /**
+   * 集めた候補
+   *
+   * @param candidates 候補（並び順に整列済み）
+   * @param complete 上限件数で打ち切らずにすべて集めた場合true
+   */
+  private record CollectedCandidates(List<Candidate> candidates, boolean complete) {}
+
+  /** 直前の候補集合と、それを作成した条件 */
+  private record CandidateCache(
+      @Nullable Scope scope,
+      @Nullable String receiver,
+      String lowerPrefix,
+      List<Candidate> candidates) {
+
+    /** 同じスコープ・レシーバーで接頭辞が伸びただけであれば、この候補集合を絞り込める */
+    boolean canNarrow(@Nullable Scope otherScope, @Nullable String otherReceiver, String prefix) {
+      return scope == otherScope
+          && Objects.equals(receiver, otherReceiver)
+          && prefix.startsWith(lowerPrefix);
+    }
+  }
+
+  /**
+   * カーソル位置の補完の文脈
+   *
+   * @param prefix カーソル直前の識別子の入力済み部分
+   * @param receiver {@code receiver.prefix} の形の場合のレシーバーの識別子
+   */
+  record CompletionContext(String prefix, @Nullable String receiver) {
+
+    static CompletionContext at(String content, Position position) {
+      int offset = toOffset(content, position);
+      int start = offset;
+      while (start > 0 && isIdentifierChar(content.charAt(start - 1))) {
+        start--;
+      }
+      String prefix = content.substring(start, offset);
+
+      if (start == 0 || content.charAt(start - 1) != '.') {
+        return new CompletionContext(prefix, null);
+      }
+      int receiverEnd = start - 1;
+      int receiverStart = receiverEnd;
+      while (receiverStart > 0 && isIdentifierChar(content.charAt(receiverStart - 1))) {
+        receiverStart--;
+      }
+      // 識別子以外（呼び出し結果など）のレシーバーは空文字列とし、メンバー候補を出さない
+      return new CompletionContext(prefix, content.substring(receiverStart, receiverEnd));
+    }
+
+    private static int toOffset(String content, Position position) {
+      int offset = 0;
+      for (int line = 0; line < position.getLine(); line++) {
+        int newline = content.indexOf('\n', offset);
+        if (newline < 0) {
+          return content.length();
+        }
+        offset = newline + 1;
+      }
+      int lineEnd = content.indexOf('\n', offset);
+      int limit = lineEnd < 0 ? content.length() : lineEnd;
+      return Math.min(offset + Math.max(0, position.getCharacter()), limit);
+    }
+
+    private static boolean isIdentifierChar(char c) {
+      return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+  }
+}
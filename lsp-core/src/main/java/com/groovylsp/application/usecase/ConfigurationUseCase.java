@@ -0,0 +1,88 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.repository.ConfigRepository;
+import io.vavr.control.Either;
+import java.nio.file.Path;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 設定の読み込みと変更に関するユースケース
+ *
+ * <p>ワークスペースの設定ファイルを元に、クライアントの設定（workspace/didChangeConfiguration）を重ねたものを {@link
+ * WorkspaceConfiguration} に反映します。どちらかが正しくない場合は、警告を記録してその設定を使わずに続けます。
+ */
+@Singleton
+public class ConfigurationUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConfigurationUseCase.class);
+
+  private final ConfigRepository configRepository;
+  private final WorkspaceConfiguration configuration;
+
+  /** ワークスペースの設定ファイルの設定 */
+  private GroovyLspConfig workspaceConfig = GroovyLspConfig.DEFAULT;
+
+  /** 最後に受け取ったクライアントの設定 */
+  private @Nullable Object clientSettings;
+
+  @Inject
+  public ConfigurationUseCase(
+      ConfigRepository configRepository, WorkspaceConfiguration configuration) {
+    this.configRepository = configRepository;
+    this.configuration = configuration;
+  }
+
+  /**
+   * ワークスペースの設定ファイルを読み込んで反映する
+   *
+   * <p>除外パターンはこのルートからの相対パスと照合します。
+   *
+   * @param workspaceRoot ワークスペースのルートディレクトリ
+   * @return 反映した設定、または設定ファイルのエラー
+   */
+  public synchronized Either<String, GroovyLspConfig> loadWorkspace(Path workspaceRoot) {
+    configuration.setWorkspaceRoot(workspaceRoot);
+    var loaded = configRepository.loadConfig(workspaceRoot);
+    loaded
+        .peek(config -> workspaceConfig = config)
+        .peekLeft(error -> logger.warn("設定ファイルを使わずに続けます: {}", error));
+    return loaded.flatMap(unused -> apply());
+  }
+
+  /**
+   * クライアントの設定を反映する
+   *
+   * @param settings workspace/didChangeConfiguration の設定
+   * @return 反映した設定、または設定のエラー
+   */
+  public synchronized Either<String, GroovyLspConfig> applySettings(@Nullable Object settings) {
+    var previous = clientSettings;
+    clientSettings = settings;
+    var result = apply();
+    if (result.isLeft()) {
+      clientSettings = previous;
+    }
+    return result;
+  }
+
+  private Either<String, GroovyLspConfig> apply() {
+    return configRepository
+        .applySettings(clientSettings, workspaceConfig)
+        .peek(
+            config -> {
+              configuration.update(config);
+              logger.info(
+                  "設定を反映しました: 除外パターン {}件、最大 {} 文字、1行の最大 {} 文字",
+                  config.excludePatterns().size(),
+                  config.maxFileSize(),
+                  config.maxLineLength());
+            })
+        .peekLeft(error -> logger.warn("クライアントの設定を使わずに続けます: {}", error));
+  }
+}
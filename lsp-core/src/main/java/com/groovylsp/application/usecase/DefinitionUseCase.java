@@ -0,0 +1,467 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.ApiFingerprint;
+import com.groovylsp.domain.model.AstInfo;
+import com.groovylsp.domain.model.DependencyGraph;
+import com.groovylsp.domain.model.OccurrenceIndex;
+import com.groovylsp.domain.model.OccurrenceTable;
+import com.groovylsp.domain.model.ScopeManager;
+import com.groovylsp.domain.model.SymbolDefinition;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.domain.service.DefinitionFinderService;
+import com.groovylsp.domain.service.SymbolTableBuilderService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.FileContentStore;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 定義ジャンプに関するユースケース
+ *
+ * <p>LSPのtextDocument/definition、declaration、typeDefinitionリクエストを処理します。
+ * ドキュメントが開かれたり変更されたりするたびに、バックグラウンドでシンボルテーブル、スコープ情報、出現テーブルを構築し、 ワークスペース全体の転置索引（{@link
+ * OccurrenceIndex}）に取り込みます。 リクエスト時は出現テーブルを参照するだけで、パースは行いません。
+ *
+ * <p>索引の構築は専用の1スレッドで順番に実行します。リクエスト時に現在のバージョンの索引がない場合は、
+ * 索引スレッドの順番（ファイルの監視による大量の構築し直しなど）を待たずにリクエストのスレッドで構築します。 シンボルテーブルなどの更新はどちらのスレッドでも {@code indexLock}
+ * を取得して行うため、競合することはありません。
+ *
+ * <p>構築時にファイル間の依存関係（{@link DependencyGraph}）も更新します。ファイルの宣言が変わった場合は、
+ * そのファイルに直接依存するファイルの索引を構築し直し、その宣言も変わった場合はさらに依存元へ続けます。 エディタで開いていない依存元はディスク上の内容で構築し直します。
+ * 宣言のフィンガープリント（{@link ApiFingerprint}）が前回と同じ場合、メソッドの本体だけの変更とみなして
+ * シンボルテーブル・スコープ・依存関係の更新を省略し、本体の参照を含む出現テーブルだけを作り直します。
+ */
+@Singleton
+public class DefinitionUseCase implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(DefinitionUseCase.class);
+
+  private final TextDocumentRepository repository;
+  private final AstAnalysisService astAnalysisService;
+  private final SymbolTableBuilderService symbolTableBuilderService;
+  private final SymbolTable symbolTable;
+  private final ScopeManager scopeManager;
+  private final DefinitionFinderService definitionFinderService;
+  private final OccurrenceIndex occurrenceIndex;
+  private final DependencyGraph dependencyGraph;
+  private final FileContentStore contentStore;
+  private final ServerMetrics metrics;
+  private final ExecutorService indexer;
+  private final AtomicInteger pendingIndexCount = new AtomicInteger();
+
+  /** シンボルテーブル・スコープ・出現テーブル・依存関係の更新を直列化するロック */
+  private final Object indexLock = new Object();
+
+  /** 構築し直しを予約済みの依存元のURI（同じファイルを重複して予約しないため） */
+  private final Set<String> pendingReindex = ConcurrentHashMap.newKeySet();
+
+  /** URIごとの、シンボルの完全修飾名から型名へのマッピング */
+  private final ConcurrentMap<String, Map<String, String>> typeNames = new ConcurrentHashMap<>();
+
+  /** URIごとの、シンボルテーブルを構築した時の宣言のフィンガープリント */
+  private final ConcurrentMap<String, ApiFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+  @Inject
+  public DefinitionUseCase(
+      TextDocumentRepository repository,
+      AstAnalysisService astAnalysisService,
+      SymbolTableBuilderService symbolTableBuilderService,
+      SymbolTable symbolTable,
+      ScopeManager scopeManager,
+      DefinitionFinderService definitionFinderService,
+      OccurrenceIndex occurrenceIndex,
+      DependencyGraph dependencyGraph,
+      FileContentStore contentStore,
+      ServerMetrics metrics) {
+    this.repository = repository;
+    this.astAnalysisService = astAnalysisService;
+    this.symbolTableBuilderService = symbolTableBuilderService;
+    this.symbolTable = symbolTable;
+    this.scopeManager = scopeManager;
+    this.definitionFinderService = definitionFinderService;
+    this.occurrenceIndex = occurrenceIndex;
+    this.dependencyGraph = dependencyGraph;
+    this.contentStore = contentStore;
+    this.metrics = metrics;
+    this.indexer =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "groovy-lsp-symbol-indexer");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * ドキュメントの索引構築をバックグラウンドで予約する
+   *
+   * <p>実行時点でドキュメントが更新されている場合、古いバージョンの構築は省略されます。 宣言が変わった場合は、依存するドキュメントの構築し直しを続けて予約します。
+   *
+   * @param document 対象ドキュメント
+   * @return 構築（または省略）の完了。宣言が変わった場合は、キャッシュした解析結果が古くなった直接の依存元のURI
+   */
+  public CompletableFuture<List<URI>> scheduleIndex(TextDocument document) {
+    pendingIndexCount.incrementAndGet();
+    return CompletableFuture.supplyAsync(
+        () -> {
+          pendingIndexCount.decrementAndGet();
+          var latest = repository.findByUri(document.uri());
+          if (latest.isEmpty() || latest.get().version() != document.version()) {
+            logger.debug(
+                "Skipping stale index for {} (version: {})", document.uri(), document.version());
+            return List.of();
+          }
+          if (isIndexedFor(document)) {
+            // リクエストのスレッドで構築済み
+            return List.of();
+          }
+          return metrics
+              .time("phase.symbolTableUpdate", () -> index(document))
+              .peekLeft(error -> logger.warn("索引の構築に失敗しました: {}", error))
+              .map(this::scheduleReindex)
+              .getOrElse(List.of());
+        },
+        indexer);
+  }
+
+  /**
+   * エディタで開いていないファイルの索引構築をバックグラウンドで予約する
+   *
+   * <p>ファイルの監視で検出したディスク上の変更に使います。実行時点でドキュメントが開かれている場合は、 エディタの内容を優先して構築を省略します。
+   *
+   * @param document ディスク上の内容のドキュメント
+   * @param astInfo 解析済みのAST情報
+   * @return 構築（または省略）の完了。宣言が変わった場合は、キャッシュした解析結果が古くなった依存元のURI
+   */
+  public CompletableFuture<List<URI>> scheduleWorkspaceIndex(
+      TextDocument document, AstInfo astInfo) {
+    pendingIndexCount.incrementAndGet();
+    return CompletableFuture.supplyAsync(
+        () -> {
+          pendingIndexCount.decrementAndGet();
+          if (repository.findByUri(document.uri()).isDefined()) {
+            logger.debug("Skipping disk index for open document {}", document.uri());
+            return List.of();
+          }
+          return metrics
+              .time("phase.workspaceIndex", () -> index(document, astInfo))
+              .peekLeft(error -> logger.warn("索引の構築に失敗しました: {}", error))
+              .map(this::scheduleReindex)
+              .getOrElse(List.of());
+        },
+        indexer);
+  }
+
+  /**
+   * ファイルのシンボルテーブルを構築済みかどうか
+   *
+   * @param uri ファイルURI
+   * @return 構築済みの場合true
+   */
+  public boolean isIndexed(URI uri) {
+    return fingerprints.containsKey(uri.toString());
+  }
+
+  /** 実行待ちの索引構築の数 */
+  public int pendingIndexCount() {
+    return pendingIndexCount.get();
+  }
+
+  /**
+   * 定義の位置を取得
+   *
+   * @param params 位置パラメータ
+   * @return 定義の位置のリスト、またはエラー
+   */
+  public Either<String, List<Location>> getDefinition(TextDocumentPositionParams params) {
+    return findDefinitions(params).map(definitions -> toLocations(definitions));
+  }
+
+  /**
+   * 型定義の位置を取得
+   *
+   * <p>クラスの場合はそのクラス自身を、フィールド・メソッド・パラメータの場合は宣言された型（戻り値の型）のクラスを返します。
+   *
+   * @param params 位置パラメータ
+   * @return 型定義の位置のリスト、またはエラー
+   */
+  public Either<String, List<Location>> getTypeDefinition(TextDocumentPositionParams params) {
+    return findDefinitions(params)
+        .map(definitions -> toLocations(definitions.flatMap(this::findTypeDefinitions)));
+  }
+
+  /**
+   * ドキュメントを閉じた時に索引を破棄
+   *
+   * <p>閉じたドキュメントに依存していたドキュメントの索引は構築し直します。
+   *
+   * @param uri ドキュメントURI
+   * @return 破棄の完了。キャッシュした解析結果が古くなった依存元のURI
+   */
+  public CompletableFuture<List<URI>> release(URI uri) {
+    String key = uri.toString();
+    return CompletableFuture.supplyAsync(
+        () -> {
+          synchronized (indexLock) {
+            symbolTable.clearFile(key);
+            scopeManager.clearFile(key);
+            typeNames.remove(key);
+            fingerprints.remove(key);
+            definitionFinderService.invalidate(key);
+            occurrenceIndex.remove(key);
+            return scheduleReindex(dependencyGraph.remove(key));
+          }
+        },
+        indexer);
+  }
+
+  /**
+   * 依存元のドキュメントの索引の構築し直しを予約する
+   *
+   * <p>構築し直した依存元の宣言も変わった場合は、さらにその依存元の構築し直しを予約します。 エディタで開いていない依存元はディスク上の内容で構築し直します。
+   *
+   * @param dependents 依存元のURI
+   * @return 依存元のURI
+   */
+  private List<URI> scheduleReindex(List<String> dependents) {
+    if (dependents.isEmpty()) {
+      return List.of();
+    }
+    logger.debug("宣言の変更により依存元の索引を構築し直します: {}件", dependents.size());
+    var uris = new ArrayList<URI>(dependents.size());
+    for (var dependent : dependents) {
+      uris.add(URI.create(dependent));
+      if (!pendingReindex.add(dependent)) {
+        continue;
+      }
+      pendingIndexCount.incrementAndGet();
+      indexer.execute(
+          () -> {
+            pendingReindex.remove(dependent);
+            pendingIndexCount.decrementAndGet();
+            metrics
+                .time("phase.dependentReindex", () -> reindex(URI.create(dependent)))
+                .forEach(
+                    result ->
+                        result
+                            .map(this::scheduleReindex)
+                            .peekLeft(error -> logger.warn("索引の構築に失敗しました: {}", error)));
+          });
+    }
+    return uris;
+  }
+
+  /**
+   * 依存元の索引を構築し直す
+   *
+   * @param uri 依存元のURI
+   * @return 構築の結果。開いておらずディスクからも読めない場合はNone
+   */
+  private Option<Either<String, List<String>>> reindex(URI uri) {
+    var document = repository.findByUri(uri);
+    if (document.isDefined()) {
+      return document.map(this::index);
+    }
+    // 開いているドキュメントのキャッシュを追い出さないよう、ASTを保持せずに解析する
+    return contentStore
+        .getContent(uri.toString())
+        .map(content -> new TextDocument(uri, "groovy", 0, content))
+        .map(
+            diskDocument ->
+                astAnalysisService
+                    .analyzeUncached(uri.toString(), diskDocument.content())
+                    .flatMap(astInfo -> index(diskDocument, astInfo)));
+  }
+
+  @Override
+  public void close() {
+    indexer.shutdownNow();
+  }
+
+  /**
+   * 指定位置の識別子が参照する定義を取得
+   *
+   * <p>現在のバージョンの索引がなければ、索引スレッドの順番を待たずにこのスレッドで構築してから検索します。
+   *
+   * @param params 位置パラメータ
+   * @return 定義のリスト、またはエラー
+   */
+  public Either<String, io.vavr.collection.List<SymbolDefinition>> findDefinitions(
+      TextDocumentPositionParams params) {
+    String uri = params.getTextDocument().getUri();
+    logger.debug(
+        "定義を検索: {} at {}:{}",
+        uri,
+        params.getPosition().getLine(),
+        params.getPosition().getCharacter());
+
+    return repository
+        .findByUri(URI.create(uri))
+        .toEither(() -> "ドキュメントが見つかりません: " + uri)
+        .flatMap(
+            document -> {
+              ensureIndexed(document);
+              return definitionFinderService.findDefinition(uri, params.getPosition());
+            });
+  }
+
+  /**
+   * 現在のバージョンの索引がなければ、呼び出し元のスレッドで構築する
+   *
+   * <p>索引スレッドのキューに入れて完了を待つと、ファイルの監視による大量の構築の後ろで待たされます。 {@code indexLock}
+   * を取得してこのスレッドで構築するため、待つのは実行中の1件の構築だけです。
+   */
+  private void ensureIndexed(TextDocument document) {
+    if (isIndexedFor(document)) {
+      return;
+    }
+    synchronized (indexLock) {
+      // 待っている間に索引スレッドが同じ内容を構築した場合はパースしない
+      if (isIndexedFor(document)) {
+        return;
+      }
+      metrics.increment("index.onRequest");
+      index(document)
+          .map(this::scheduleReindex)
+          .peekLeft(error -> logger.warn("索引の構築に失敗しました: {}", error));
+    }
+  }
+
+  /** ドキュメントの現在の内容の出現テーブルを構築済みかどうか */
+  private boolean isIndexedFor(TextDocument document) {
+    return definitionFinderService
+        .findOccurrenceTable(document.uri().toString())
+        .exists(table -> table.isFor(document.content()));
+  }
+
+  /**
+   * AST情報からシンボルテーブル・スコープ・出現テーブルを構築し、転置索引と依存関係を更新する
+   *
+   * @return 宣言が変わった場合は直接の依存元のURI
+   */
+  private Either<String, List<String>> index(TextDocument document) {
+    synchronized (indexLock) {
+      return astAnalysisService
+          .analyze(document.uri().toString(), document.content())
+          .flatMap(astInfo -> index(document, astInfo));
+    }
+  }
+
+  /** 解析済みのAST情報から索引を構築する（{@code indexLock} を取得して実行） */
+  private Either<String, List<String>> index(TextDocument document, AstInfo astInfo) {
+    synchronized (indexLock) {
+      return updateIndex(document, astInfo);
+    }
+  }
+
+  private Either<String, List<String>> updateIndex(TextDocument document, AstInfo astInfo) {
+    String uri = document.uri().toString();
+    var fingerprint = ApiFingerprint.of(astInfo);
+    if (fingerprint.equals(fingerprints.get(uri))) {
+      // 宣言が前回と同じため、出現テーブルだけを作り直す
+      metrics.increment("index.declarationsUnchanged");
+      return indexOccurrences(document).map(unused -> List.<String>of());
+    }
+    return symbolTableBuilderService
+        .buildSymbolTable(astInfo, uri, symbolTable)
+        .flatMap(unused -> symbolTableBuilderService.buildScope(astInfo, uri))
+        .peek(
+            rootScope -> {
+              scopeManager.setRootScope(uri, rootScope);
+              typeNames.put(uri, collectTypeNames(astInfo));
+            })
+        .flatMap(unused -> indexOccurrences(document))
+        .map(
+            unused -> {
+              fingerprints.put(uri, fingerprint);
+              return dependencyGraph.update(uri, astInfo, fingerprint);
+            });
+  }
+
+  /** 出現テーブルを構築し、転置索引を更新する */
+  private Either<String, OccurrenceTable> indexOccurrences(TextDocument document) {
+    return definitionFinderService
+        .index(document)
+        .peek(table -> occurrenceIndex.update(document.uri().toString(), table));
+  }
+
+  /** シンボルの完全修飾名から宣言された型名へのマッピングを作成 */
+  private static Map<String, String> collectTypeNames(AstInfo astInfo) {
+    var result = new HashMap<String, String>();
+    for (var classInfo : astInfo.classes()) {
+      String className = classInfo.qualifiedName();
+      for (var field : classInfo.fields()) {
+        result.put(className + "." + field.name(), field.type());
+      }
+      for (var method : classInfo.methods()) {
+        String methodName = className + "." + method.name();
+        result.put(methodName, method.returnType());
+        for (var parameter : method.parameters()) {
+          result.put(methodName + "." + parameter.name(), parameter.type());
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * シンボルの宣言された型のクラス定義を取得
+   *
+   * <p>クラスの場合はそのクラス自身を返します。型名はシンボルを宣言したファイルのインポートとスコープで解決します。 索引の構築は待たず、構築済みの情報だけを参照します。
+   *
+   * @param definition シンボル定義
+   * @return クラス定義のリスト。型が不明な場合は空
+   */
+  public io.vavr.collection.List<SymbolDefinition> findTypeDefinitions(
+      SymbolDefinition definition) {
+    if (definition.definitionType() == SymbolDefinition.DefinitionType.CLASS) {
+      return io.vavr.collection.List.of(definition);
+    }
+
+    // 型名は参照元ではなく宣言したファイルの情報から求める
+    String declaringUri = definition.uri();
+    String typeName =
+        typeNames.getOrDefault(declaringUri, Map.of()).get(definition.qualifiedName());
+    if (typeName == null) {
+      return io.vavr.collection.List.empty();
+    }
+
+    // ジェネリクスと配列の表記を取り除く
+    String rawType = typeName.replaceAll("<.*", "").replace("[]", "");
+    var byQualifiedName = definitionFinderService.findDefinitionByQualifiedName(rawType);
+    if (byQualifiedName.isRight()) {
+      return io.vavr.collection.List.of(byQualifiedName.get());
+    }
+
+    String simpleName = rawType.substring(rawType.lastIndexOf('.') + 1);
+    return definitionFinderService
+        .findDefinitionByName(simpleName, declaringUri, definition.selectionRange().getStart())
+        .getOrElse(io.vavr.collection.List.empty())
+        .filter(found -> found.definitionType() == SymbolDefinition.DefinitionType.CLASS);
+  }
+
+  private static List<Location> toLocations(io.vavr.collection.List<SymbolDefinition> definitions) {
+    return definitions.map(SymbolDefinition::toSelectionLocation).asJava();
+  }
+}
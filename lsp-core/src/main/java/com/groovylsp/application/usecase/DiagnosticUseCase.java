@@ -3,11 +3,12 @@ package com.groovylsp.application.usecase;
 import com.groovylsp.domain.model.DiagnosticItem;
 import com.groovylsp.domain.model.DiagnosticResult;
 import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
 import com.groovylsp.domain.service.AstAnalysisService;
-import com.groovylsp.domain.service.BracketValidationService;
-import com.groovylsp.domain.service.LineCountService;
-import com.groovylsp.infrastructure.lexer.GroovyLexer;
+import com.groovylsp.domain.service.LexicalAnalysisService;
+import com.groovylsp.infrastructure.jfr.DiagnosticsEvent;
 import io.vavr.control.Either;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import javax.inject.Inject;
@@ -20,18 +21,26 @@ import org.slf4j.LoggerFactory;
 public class DiagnosticUseCase {
 
   private static final Logger logger = LoggerFactory.getLogger(DiagnosticUseCase.class);
-  private final LineCountService lineCountService;
-  private final BracketValidationService bracketValidationService;
+  private final LexicalAnalysisService lexicalAnalysisService;
   private final AstAnalysisService astAnalysisService;
+  private final WorkspaceConfiguration workspaceConfiguration;
 
+  public DiagnosticUseCase(
+      LexicalAnalysisService lexicalAnalysisService, AstAnalysisService astAnalysisService) {
+    this(lexicalAnalysisService, astAnalysisService, WorkspaceConfiguration.unlimited());
+  }
+
+  /**
+   * @param workspaceConfiguration 構文解析を省略するファイルの判定に使う設定
+   */
   @Inject
   public DiagnosticUseCase(
-      LineCountService lineCountService,
-      BracketValidationService bracketValidationService,
-      AstAnalysisService astAnalysisService) {
-    this.lineCountService = lineCountService;
-    this.bracketValidationService = bracketValidationService;
+      LexicalAnalysisService lexicalAnalysisService,
+      AstAnalysisService astAnalysisService,
+      WorkspaceConfiguration workspaceConfiguration) {
+    this.lexicalAnalysisService = lexicalAnalysisService;
     this.astAnalysisService = astAnalysisService;
+    this.workspaceConfiguration = workspaceConfiguration;
   }
 
   /**
@@ -41,75 +50,106 @@ public class DiagnosticUseCase {
    * @return 診断結果またはエラー
    */
   public Either<String, DiagnosticResult> diagnose(TextDocument document) {
-    logger.info("Starting diagnosis for document: {}", document.uri());
+    var event = new DiagnosticsEvent();
+    event.begin();
+    var result = doDiagnose(document);
+    if (event.shouldCommit()) {
+      event.uri = document.uri().toString();
+      event.version = document.version();
+      event.succeeded = result.isRight();
+      event.diagnosticCount = result.map(r -> r.diagnostics().size()).getOrElse(0);
+      event.commit();
+    }
+    return result;
+  }
+
+  private Either<String, DiagnosticResult> doDiagnose(TextDocument document) {
+    logger.debug("Starting diagnosis for document: {}", document.uri());
 
     List<DiagnosticItem> diagnostics = new ArrayList<>();
 
-    // Phase 2 M2.1: 行カウント機能
-    var lineCountResult = lineCountService.countLines(document.content());
-
-    return lineCountResult
-        .map(
-            result -> {
-              // 行カウント結果を診断メッセージとして追加
-              var lineCountItem =
-                  new DiagnosticItem(
-                      new DiagnosticItem.DocumentPosition(0, 0),
-                      new DiagnosticItem.DocumentPosition(0, 0),
-                      DiagnosticItem.DiagnosticSeverity.INFORMATION,
-                      result.toFormattedString(),
-                      "groovy-lsp-line-count");
-
-              diagnostics.add(lineCountItem);
-
-              // Phase 3 M3.2: AST解析による構文エラー検出
-              var astResult =
-                  astAnalysisService.analyze(document.uri().toString(), document.content());
-              astResult
-                  .peek(
-                      astInfo -> {
-                        // 構文エラーを診断に追加
-                        diagnostics.addAll(astInfo.syntaxErrors());
-
-                        // デバッグ情報をログ出力
-                        logger.debug(
-                            "AST analysis completed: {} classes found, {} syntax errors",
-                            astInfo.classes().size(),
-                            astInfo.syntaxErrors().size());
-                        for (var classInfo : astInfo.classes()) {
-                          logger.debug(
-                              "Found class: {} with {} methods and {} fields",
-                              classInfo.name(),
-                              classInfo.methods().size(),
-                              classInfo.fields().size());
-                        }
-                      })
-                  .peekLeft(error -> logger.error("Failed to analyze AST: {}", error));
-
-              // Phase 2 M2.3: 括弧の対応チェック
-              var lexer = new GroovyLexer(document.content());
-              var tokenResult = lexer.tokenize();
-
-              tokenResult
-                  .map(
-                      tokens -> {
-                        var bracketValidationResult = bracketValidationService.validate(tokens);
-                        return bracketValidationResult
-                            .getOrElse(io.vavr.collection.List.empty())
-                            .toJavaList();
-                      })
-                  .peek(diagnostics::addAll)
-                  .peekLeft(error -> logger.error("Failed to tokenize document: {}", error));
-
-              var diagnosticResult = new DiagnosticResult(document.uri(), diagnostics);
-              logger.info(
-                  "Diagnosis completed with {} items", diagnosticResult.diagnostics().size());
-              return diagnosticResult;
+    // 行カウントと括弧の対応チェックを1回の字句解析で行う
+    // 字句解析に失敗しても、AST解析による診断は返す
+    var lexicalResult =
+        lexicalAnalysisService
+            .analyze(document.content())
+            .peekLeft(error -> logger.warn("Failed to analyze lexical structure: {}", error))
+            .toOption();
+
+    lexicalResult.forEach(
+        result -> {
+          // 行カウント結果を診断メッセージとして追加
+          var lineCountItem =
+              new DiagnosticItem(
+                  new DiagnosticItem.DocumentPosition(0, 0),
+                  new DiagnosticItem.DocumentPosition(0, 0),
+                  DiagnosticItem.DiagnosticSeverity.INFORMATION,
+                  result.lineCount().toFormattedString(),
+                  "groovy-lsp-line-count");
+
+          diagnostics.add(lineCountItem);
+        });
+
+    if (workspaceConfiguration.isLexicalOnly(document.content())) {
+      // 巨大なファイルは字句解析による診断だけを行う
+      diagnostics.add(lexicalOnlyItem(document));
+      lexicalResult.forEach(result -> diagnostics.addAll(result.bracketDiagnostics()));
+      return Either.right(new DiagnosticResult(document.uri(), diagnostics));
+    }
+
+    // Phase 3 M3.2: AST解析による構文エラー検出
+    var astResult = astAnalysisService.analyze(document.uri().toString(), document.content());
+    astResult
+        .peek(
+            astInfo -> {
+              // 構文エラーを診断に追加
+              diagnostics.addAll(astInfo.syntaxErrors());
+
+              // デバッグ情報をログ出力
+              logger.debug(
+                  "AST analysis completed: {} classes found, {} syntax errors",
+                  astInfo.classes().size(),
+                  astInfo.syntaxErrors().size());
+              for (var classInfo : astInfo.classes()) {
+                logger.debug(
+                    "Found class: {} with {} methods and {} fields",
+                    classInfo.name(),
+                    classInfo.methods().size(),
+                    classInfo.fields().size());
+              }
             })
-        .mapLeft(
-            error -> {
-              logger.error("Failed to count lines: {}", error);
-              return "行カウントに失敗しました: " + error;
-            });
+        .peekLeft(error -> logger.error("Failed to analyze AST: {}", error));
+
+    // Phase 2 M2.3: 括弧の対応チェック
+    lexicalResult.forEach(result -> diagnostics.addAll(result.bracketDiagnostics()));
+
+    var diagnosticResult = new DiagnosticResult(document.uri(), diagnostics);
+    logger.debug("Diagnosis completed with {} items", diagnosticResult.diagnostics().size());
+    return Either.right(diagnosticResult);
+  }
+
+  private DiagnosticItem lexicalOnlyItem(TextDocument document) {
+    var config = workspaceConfiguration.current();
+    return new DiagnosticItem(
+        new DiagnosticItem.DocumentPosition(0, 0),
+        new DiagnosticItem.DocumentPosition(0, 0),
+        DiagnosticItem.DiagnosticSeverity.INFORMATION,
+        "ファイルが大きいため構文解析を行う機能を無効にしました（"
+            + document.content().length()
+            + "文字。上限は "
+            + config.maxFileSize()
+            + " 文字、1行 "
+            + config.maxLineLength()
+            + " 文字）",
+        "groovy-lsp-lexical-only");
+  }
+
+  /**
+   * ドキュメントを閉じた時に保持しているAST情報を破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  public void release(URI uri) {
+    astAnalysisService.release(uri.toString());
   }
 }
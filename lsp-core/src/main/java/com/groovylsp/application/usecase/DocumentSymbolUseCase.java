@@ -1,15 +1,23 @@
 package com.groovylsp.application.usecase;
 
 import com.groovylsp.domain.model.Symbol;
+import com.groovylsp.domain.model.TextDocument;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import com.groovylsp.domain.service.SymbolExtractionService;
+import com.groovylsp.infrastructure.cache.CacheStats;
+import com.groovylsp.infrastructure.cache.TinyLfuCache;
 import io.vavr.control.Either;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,14 +25,25 @@ import org.slf4j.LoggerFactory;
  * ドキュメントシンボルの取得に関するユースケース
  *
  * <p>LSPのtextDocument/documentSymbolリクエストを処理し、 ドキュメント内のシンボル情報を提供します。
+ *
+ * <p>アウトライン、パンくずリスト、スティッキースクロールは同じバージョンに対して何度もリクエストするため、
+ * 変換した結果をドキュメントのバージョンごとにキャッシュします。バージョンが変わった場合も、前のバージョンと同じトップレベルのシンボル （クラスなど）は変換済みの部分木を使い回します。
  */
 @Singleton
 public class DocumentSymbolUseCase {
 
   private static final Logger logger = LoggerFactory.getLogger(DocumentSymbolUseCase.class);
 
+  /** 結果をキャッシュするドキュメント数の上限 */
+  static final int MAX_CACHED_DOCUMENTS = 256;
+
+  /** 部分結果として一度に送るシンボル数の目安（子のシンボルも数える） */
+  static final int PARTIAL_RESULT_BATCH_SIZE = 500;
+
   private final SymbolExtractionService symbolExtractionService;
   private final TextDocumentRepository repository;
+  private final TinyLfuCache<String, CachedSymbols> cache =
+      new TinyLfuCache<>(MAX_CACHED_DOCUMENTS);
 
   @Inject
   public DocumentSymbolUseCase(
@@ -40,6 +59,22 @@ public class DocumentSymbolUseCase {
    * @return ドキュメントシンボルのリスト、またはエラー
    */
   public Either<String, List<DocumentSymbol>> getDocumentSymbols(DocumentSymbolParams params) {
+    return getDocumentSymbols(params, null);
+  }
+
+  /**
+   * ドキュメントシンボルを取得し、大きなドキュメントでは部分結果として先に送る
+   *
+   * <p>シンボル数が {@link #PARTIAL_RESULT_BATCH_SIZE} を超える場合は、トップレベルのシンボルを変換しながら おおよそその数ごとに {@code
+   * partialResults} へ渡し、戻り値は空のリストにします（部分結果を送った場合は最終的な応答を空にするLSPの規約に従うため）。
+   * キャッシュした結果を返す場合は部分結果を使いません。
+   *
+   * @param params DocumentSymbolParams
+   * @param partialResults 部分結果の送信先（nullの場合は全体を戻り値で返す）
+   * @return ドキュメントシンボルのリスト（部分結果を送った場合は空）、またはエラー
+   */
+  public Either<String, List<DocumentSymbol>> getDocumentSymbols(
+      DocumentSymbolParams params, @Nullable Consumer<List<DocumentSymbol>> partialResults) {
     String uri = params.getTextDocument().getUri();
     logger.debug("ドキュメントシンボルを取得: {}", uri);
 
@@ -48,13 +83,78 @@ public class DocumentSymbolUseCase {
         .toEither(() -> "ドキュメントが見つかりません: " + uri)
         .flatMap(
             document -> {
-              String content = document.content();
+              var previous = cache.getIfPresent(uri);
+              if (previous != null && previous.isFor(document)) {
+                return Either.right(previous.documentSymbols());
+              }
               return symbolExtractionService
-                  .extractSymbols(uri, content)
-                  .map(symbols -> symbols.stream().map(this::toDocumentSymbol).toList());
+                  .extractSymbols(uri, document.content())
+                  .map(symbols -> convert(uri, document, symbols, previous, partialResults));
             });
   }
 
+  /**
+   * ドキュメントに関するキャッシュを破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  public void release(URI uri) {
+    cache.invalidate(uri.toString());
+  }
+
+  /** キャッシュの統計情報 */
+  public CacheStats cacheStats() {
+    return cache.stats();
+  }
+
+  private List<DocumentSymbol> convert(
+      String uri,
+      TextDocument document,
+      List<Symbol> symbols,
+      @Nullable CachedSymbols previous,
+      @Nullable Consumer<List<DocumentSymbol>> partialResults) {
+    var reusable = previous == null ? Map.<Symbol, DocumentSymbol>of() : previous.subtrees();
+    var sink =
+        partialResults != null && countSymbols(symbols) > PARTIAL_RESULT_BATCH_SIZE
+            ? partialResults
+            : null;
+
+    var subtrees = new HashMap<Symbol, DocumentSymbol>();
+    var documentSymbols = new ArrayList<DocumentSymbol>(symbols.size());
+    var batch = new ArrayList<DocumentSymbol>();
+    int batchCount = 0;
+    for (var symbol : symbols) {
+      // 内容が同じシンボルは前のバージョンで変換したものを使う
+      var documentSymbol = reusable.get(symbol);
+      if (documentSymbol == null) {
+        documentSymbol = toDocumentSymbol(symbol);
+      }
+      subtrees.put(symbol, documentSymbol);
+      documentSymbols.add(documentSymbol);
+
+      if (sink != null) {
+        batch.add(documentSymbol);
+        batchCount += countSymbols(List.of(symbol));
+        if (batchCount >= PARTIAL_RESULT_BATCH_SIZE) {
+          sink.accept(List.copyOf(batch));
+          batch.clear();
+          batchCount = 0;
+        }
+      }
+    }
+
+    var result = List.copyOf(documentSymbols);
+    cache.put(uri, new CachedSymbols(document.version(), document.content(), result, subtrees));
+    if (sink == null) {
+      return result;
+    }
+    // 部分結果を送った場合、LSPでは最終的な応答を空にする必要がある
+    if (!batch.isEmpty()) {
+      sink.accept(List.copyOf(batch));
+    }
+    return List.of();
+  }
+
   /**
    * ドメインモデルのSymbolをLSPのDocumentSymbolに変換
    *
@@ -71,4 +171,33 @@ public class DocumentSymbolUseCase {
     documentSymbol.setChildren(symbol.children().stream().map(this::toDocumentSymbol).toList());
     return documentSymbol;
   }
+
+  /** 子のシンボルを含めたシンボル数 */
+  private static int countSymbols(List<Symbol> symbols) {
+    int count = 0;
+    for (var symbol : symbols) {
+      count += 1 + countSymbols(symbol.children());
+    }
+    return count;
+  }
+
+  /**
+   * バージョンごとの変換結果
+   *
+   * @param version ドキュメントのバージョン
+   * @param content 変換したドキュメントの内容
+   * @param documentSymbols 変換結果
+   * @param subtrees トップレベルのシンボルから変換結果への対応
+   */
+  private record CachedSymbols(
+      int version,
+      String content,
+      List<DocumentSymbol> documentSymbols,
+      Map<Symbol, DocumentSymbol> subtrees) {
+
+    boolean isFor(TextDocument document) {
+      // 同じバージョンで内容だけを置き換える経路もあるため、内容も確認する（通常は同じインスタンス）
+      return version == document.version() && content.equals(document.content());
+    }
+  }
 }
@@ -0,0 +1,71 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.FoldingRegion;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.LexicalAnalysisService;
+import io.vavr.control.Either;
+import java.net.URI;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.FoldingRange;
+import org.eclipse.lsp4j.FoldingRangeKind;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 折りたたみ範囲の取得に関するユースケース
+ *
+ * <p>LSPのtextDocument/foldingRangeリクエストを処理します。 折りたたみ範囲は字句解析だけで求め、Groovyのパースは行いません。
+ */
+@Singleton
+public class FoldingRangeUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(FoldingRangeUseCase.class);
+
+  private final TextDocumentRepository repository;
+  private final LexicalAnalysisService lexicalAnalysisService;
+
+  @Inject
+  public FoldingRangeUseCase(
+      TextDocumentRepository repository, LexicalAnalysisService lexicalAnalysisService) {
+    this.repository = repository;
+    this.lexicalAnalysisService = lexicalAnalysisService;
+  }
+
+  /**
+   * 折りたたみ範囲を取得
+   *
+   * @param params FoldingRangeRequestParams
+   * @return 折りたたみ範囲のリスト、またはエラー
+   */
+  public Either<String, List<FoldingRange>> getFoldingRanges(FoldingRangeRequestParams params) {
+    String uri = params.getTextDocument().getUri();
+    logger.debug("折りたたみ範囲を取得: {}", uri);
+
+    return repository
+        .findByUri(URI.create(uri))
+        .toEither(() -> "ドキュメントが見つかりません: " + uri)
+        .flatMap(document -> lexicalAnalysisService.analyze(document.content()))
+        .map(result -> result.foldingRegions().stream().map(this::toFoldingRange).toList());
+  }
+
+  private FoldingRange toFoldingRange(FoldingRegion region) {
+    var range = new FoldingRange(region.startLine(), region.endLine());
+    var kind = toKind(region.kind());
+    if (kind != null) {
+      range.setKind(kind);
+    }
+    return range;
+  }
+
+  private @Nullable String toKind(FoldingRegion.Kind kind) {
+    return switch (kind) {
+      case BLOCK -> null;
+      case COMMENT -> FoldingRangeKind.Comment;
+      case IMPORTS -> FoldingRangeKind.Imports;
+    };
+  }
+}
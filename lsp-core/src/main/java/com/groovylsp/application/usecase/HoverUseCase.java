@@ -1,15 +1,31 @@
 package com.groovylsp.application.usecase;
 
+import com.groovylsp.domain.model.TextDocument;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import com.groovylsp.domain.service.TypeInfoService;
+import com.groovylsp.infrastructure.cache.CacheStats;
+import com.groovylsp.infrastructure.cache.TinyLfuCache;
 import io.vavr.control.Either;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.MarkupContent;
 import org.eclipse.lsp4j.MarkupKind;
+import org.eclipse.lsp4j.Position;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,19 +34,100 @@ import org.slf4j.LoggerFactory;
  * ホバー情報の取得に関するユースケース
  *
  * <p>LSPのtextDocument/hoverリクエストを処理し、 カーソル位置の要素情報を提供します。
+ *
+ * <p>結果は（URI、バージョン、カーソル位置の識別子の範囲）をキーにキャッシュし、同じ識別子への繰り返しのホバーでは解析を省略します。
+ * 他のファイルの定義を参照した結果も含むため、依存先のファイルの宣言が変わった場合は {@link #dependenciesChanged(Collection)}
+ * でそのドキュメントの結果を破棄します。破棄はURIごとの世代を進めて行い、古い世代の結果は使わずに計算し直します。
+ * 型情報を取得できなかった結果は、索引や型の索引の構築が終わると変わるためキャッシュしません。
+ *
+ * <p>また、最後に分かったカーソル位置（ホバー・定義・ハイライトの要求位置）の周辺の行にある識別子のホバー結果を、
+ * 優先度の低いスレッドで先読みしてキャッシュします。先読みは対話的な要求が始まるとすぐに打ち切り、要求の完了後に続きから再開します。
  */
 @Singleton
 public class HoverUseCase {
 
   private static final Logger logger = LoggerFactory.getLogger(HoverUseCase.class);
 
+  /** キャッシュするホバー結果の最大件数 */
+  static final int MAX_CACHED_HOVERS = 1024;
+
+  /** 先読みの対象とするカーソル位置の前後の行数 */
+  static final int PREFETCH_LINES = 10;
+
+  /** 一度の先読みで解析する識別子の最大数 */
+  static final int MAX_PREFETCH_IDENTIFIERS = 64;
+
+  // 型情報を持たないため先読みしないキーワード
+  private static final Set<String> KEYWORDS =
+      Set.of(
+          "as",
+          "assert",
+          "boolean",
+          "break",
+          "case",
+          "catch",
+          "class",
+          "continue",
+          "def",
+          "default",
+          "do",
+          "else",
+          "enum",
+          "extends",
+          "false",
+          "final",
+          "finally",
+          "for",
+          "if",
+          "implements",
+          "import",
+          "in",
+          "instanceof",
+          "int",
+          "interface",
+          "long",
+          "new",
+          "null",
+          "package",
+          "private",
+          "protected",
+          "public",
+          "return",
+          "static",
+          "super",
+          "switch",
+          "this",
+          "throw",
+          "throws",
+          "trait",
+          "true",
+          "try",
+          "var",
+          "void",
+          "while");
+
   private final TextDocumentRepository repository;
   private final TypeInfoService typeInfoService;
+  private final TinyLfuCache<HoverKey, CachedHover> cache = new TinyLfuCache<>(MAX_CACHED_HOVERS);
+  private final ConcurrentMap<URI, Position> cursors = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Long> epochs = new ConcurrentHashMap<>();
+  private final AtomicInteger activeRequests = new AtomicInteger();
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicInteger pendingPrefetchCount = new AtomicInteger();
+  private final ExecutorService prefetcher;
 
   @Inject
   public HoverUseCase(TextDocumentRepository repository, TypeInfoService typeInfoService) {
     this.repository = repository;
     this.typeInfoService = typeInfoService;
+    this.prefetcher =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "groovy-lsp-hover-prefetcher");
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
   }
 
   /**
@@ -47,65 +144,232 @@ public class HoverUseCase {
         params.getPosition().getLine(),
         params.getPosition().getCharacter());
 
+    beginRequest(uri, params.getPosition());
+    try {
+      return findHover(uri, params.getPosition());
+    } finally {
+      endRequest(uri);
+    }
+  }
+
+  private Either<String, Hover> findHover(String uri, Position position) {
     return repository
         .findByUri(URI.create(uri))
         .toEither(() -> "ドキュメントが見つかりません: " + uri)
-        .flatMap(
+        .map(
             document -> {
-              // 型情報を取得
-              Either<String, TypeInfoService.TypeInfo> typeInfoResult =
-                  typeInfoService.getTypeInfoAt(uri, document.content(), params.getPosition());
-
-              if (typeInfoResult.isRight()) {
-                // 型情報が見つかった場合
-                TypeInfoService.TypeInfo typeInfo = typeInfoResult.get();
-                var content = new MarkupContent();
-                content.setKind(MarkupKind.MARKDOWN);
-                content.setValue(formatTypeInfo(typeInfo));
-
-                var hover = new Hover();
-                hover.setContents(content);
-                return Either.right(hover);
-              } else {
-                // エラーメッセージから適切なフィードバックを作成
-                String message = typeInfoResult.getLeft();
-
-                // エラーに応じた適切なメッセージを設定
-                String hoverText;
-                if (message.contains("識別子が見つかりません") || message.contains("識別子が特定できません")) {
-                  // 識別子がない場合はホバーを表示しない
-                  return Either.right(null);
-                } else if (message.contains("パースエラー")) {
-                  hoverText = "構文エラーのため型情報を取得できません";
-                } else if (message.contains("定義が見つかりません")) {
-                  // 定義が見つからない場合、より詳細な情報を提供
-                  String identifier = extractIdentifierFromMessage(message);
-                  if (identifier != null && !identifier.isEmpty()) {
-                    hoverText = String.format("'%s' の定義が見つかりません", identifier);
-                  } else {
-                    hoverText = "定義が見つかりません";
-                  }
-                } else if (message.contains("型情報が見つかりません")) {
-                  // 型情報が見つからない場合は動的な型として表示
-                  hoverText = "Groovy element (動的型)";
-                } else if (message.contains("モジュールノードが見つかりません")) {
-                  hoverText = "ファイルの解析に失敗しました";
-                } else {
-                  // その他のエラーの場合
-                  hoverText = "型情報を取得できません";
+              var key = HoverKey.at(document, position);
+              long epoch = epochOf(uri);
+              if (key != null) {
+                var cached = cached(key, epoch);
+                if (cached != null) {
+                  return cached.hover();
                 }
+              }
 
-                var content = new MarkupContent();
-                content.setKind(MarkupKind.PLAINTEXT);
-                content.setValue(hoverText);
-
-                var hover = new Hover();
-                hover.setContents(content);
-                return Either.right(hover);
+              var typeInfo = typeInfoService.getTypeInfoAt(uri, document.content(), position);
+              Hover hover = toHover(typeInfo);
+              if (key != null && typeInfo.isRight()) {
+                cache.put(key, new CachedHover(hover, epoch));
               }
+              return hover;
             });
   }
 
+  /**
+   * ドキュメントの変更を通知し、そのドキュメントのホバー結果のキャッシュを破棄する
+   *
+   * <p>実行中の先読みも打ち切ります。
+   *
+   * @param uri 変更されたドキュメントのURI
+   */
+  public void documentChanged(URI uri) {
+    logger.debug("ドキュメントが変更されたためホバーのキャッシュを破棄: {}", uri);
+    generation.incrementAndGet();
+    epochs.merge(uri.toString(), 1L, Long::sum);
+  }
+
+  /**
+   * 依存先のファイルの宣言が変わったドキュメントのホバー結果のキャッシュを破棄する
+   *
+   * @param uris 依存元のドキュメントのURI
+   */
+  public void dependenciesChanged(Collection<URI> uris) {
+    if (uris.isEmpty()) {
+      return;
+    }
+    logger.debug("依存先が変更されたためホバーのキャッシュを破棄: {}件", uris.size());
+    generation.incrementAndGet();
+    for (var uri : uris) {
+      epochs.merge(uri.toString(), 1L, Long::sum);
+    }
+  }
+
+  /**
+   * カーソル位置を伴う対話的な要求の開始を通知する
+   *
+   * <p>実行中の先読みを打ち切ります。 {@link #endRequest(String)} と対にして呼び出してください。
+   *
+   * @param uri ドキュメントURI
+   * @param position 要求のカーソル位置
+   */
+  public void beginRequest(String uri, Position position) {
+    cursors.put(URI.create(uri), position);
+    activeRequests.incrementAndGet();
+    generation.incrementAndGet();
+  }
+
+  /**
+   * 対話的な要求の完了を通知する
+   *
+   * <p>実行中の要求がなくなったら、カーソル位置の周辺の先読みを再開します。
+   *
+   * @param uri ドキュメントURI
+   */
+  public void endRequest(String uri) {
+    if (activeRequests.decrementAndGet() == 0) {
+      repository.findByUri(URI.create(uri)).forEach(this::prefetch);
+    }
+  }
+
+  /**
+   * カーソル位置の周辺にある識別子のホバー結果をバックグラウンドで先読みする
+   *
+   * <p>ドキュメントの解析の完了後に呼び出します。カーソル位置が分からないドキュメントは対象外です。
+   *
+   * @param document 対象ドキュメント
+   * @return 先読みの完了（打ち切った場合も完了する）
+   */
+  public CompletableFuture<Void> prefetch(TextDocument document) {
+    long scheduled = generation.get();
+    pendingPrefetchCount.incrementAndGet();
+    return CompletableFuture.runAsync(
+        () -> {
+          pendingPrefetchCount.decrementAndGet();
+          runPrefetch(document, scheduled);
+        },
+        prefetcher);
+  }
+
+  private void runPrefetch(TextDocument document, long scheduled) {
+    BooleanSupplier cancelled = () -> activeRequests.get() > 0 || generation.get() != scheduled;
+    var cursor = cursors.get(document.uri());
+    var latest = repository.findByUri(document.uri());
+    if (cursor == null
+        || cancelled.getAsBoolean()
+        || latest.isEmpty()
+        || latest.get().version() != document.version()) {
+      return;
+    }
+
+    String uri = document.uri().toString();
+    long epoch = epochOf(uri);
+    var keys = new ArrayList<HoverKey>();
+    for (var key : HoverKey.around(document, cursor.getLine(), PREFETCH_LINES)) {
+      if (keys.size() >= MAX_PREFETCH_IDENTIFIERS) {
+        break;
+      }
+      // 統計情報と頻度を歪めないよう、アクセスとして記録せずに確認する
+      var cached = cache.peek(key);
+      if (cached == null || cached.epoch() != epoch) {
+        keys.add(key);
+      }
+    }
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    var positions = keys.stream().map(key -> new Position(key.line(), key.start())).toList();
+    var results = typeInfoService.getTypeInfosAt(uri, document.content(), positions, cancelled);
+    // 解析中に変更や要求があった場合、結果が古い可能性があるため捨てる
+    if (cancelled.getAsBoolean()) {
+      return;
+    }
+    for (int i = 0; i < keys.size(); i++) {
+      var result = results.get(positions.get(i));
+      if (result != null && result.isRight()) {
+        cache.put(keys.get(i), new CachedHover(toHover(result), epoch));
+      }
+    }
+    logger.debug("ホバー情報を先読み: {} ({}件)", uri, results.size());
+  }
+
+  /** 実行待ちの先読みの数 */
+  public int pendingPrefetchCount() {
+    return pendingPrefetchCount.get();
+  }
+
+  private long epochOf(String uri) {
+    return epochs.getOrDefault(uri, 0L);
+  }
+
+  /** 現在の世代のキャッシュ済みの結果（なければnull） */
+  private @Nullable CachedHover cached(HoverKey key, long epoch) {
+    var cached = cache.getIfPresent(key);
+    return cached != null && cached.epoch() == epoch ? cached : null;
+  }
+
+  /** ホバー結果のキャッシュの統計情報 */
+  public CacheStats cacheStats() {
+    return cache.stats();
+  }
+
+  /**
+   * 型情報の取得結果からホバー情報を作成
+   *
+   * @param typeInfoResult 型情報、またはエラー
+   * @return ホバー情報（表示しない場合はnull）
+   */
+  private @Nullable Hover toHover(Either<String, TypeInfoService.TypeInfo> typeInfoResult) {
+    if (typeInfoResult.isRight()) {
+      // 型情報が見つかった場合
+      TypeInfoService.TypeInfo typeInfo = typeInfoResult.get();
+      var content = new MarkupContent();
+      content.setKind(MarkupKind.MARKDOWN);
+      content.setValue(formatTypeInfo(typeInfo));
+
+      var hover = new Hover();
+      hover.setContents(content);
+      return hover;
+    }
+
+    // エラーメッセージから適切なフィードバックを作成
+    String message = typeInfoResult.getLeft();
+
+    // エラーに応じた適切なメッセージを設定
+    String hoverText;
+    if (message.contains("識別子が見つかりません") || message.contains("識別子が特定できません")) {
+      // 識別子がない場合はホバーを表示しない
+      return null;
+    } else if (message.contains("パースエラー")) {
+      hoverText = "構文エラーのため型情報を取得できません";
+    } else if (message.contains("定義が見つかりません")) {
+      // 定義が見つからない場合、より詳細な情報を提供
+      String identifier = extractIdentifierFromMessage(message);
+      if (identifier != null && !identifier.isEmpty()) {
+        hoverText = String.format("'%s' の定義が見つかりません", identifier);
+      } else {
+        hoverText = "定義が見つかりません";
+      }
+    } else if (message.contains("型情報が見つかりません")) {
+      // 型情報が見つからない場合は動的な型として表示
+      hoverText = "Groovy element (動的型)";
+    } else if (message.contains("モジュールノードが見つかりません")) {
+      hoverText = "ファイルの解析に失敗しました";
+    } else {
+      // その他のエラーの場合
+      hoverText = "型情報を取得できません";
+    }
+
+    var content = new MarkupContent();
+    content.setKind(MarkupKind.PLAINTEXT);
+    content.setValue(hoverText);
+
+    var hover = new Hover();
+    hover.setContents(content);
+    return hover;
+  }
+
   /**
    * 型情報をMarkdown形式でフォーマット
    *
@@ -171,4 +435,135 @@ public class HoverUseCase {
     }
     return null;
   }
+
+  /**
+   * ホバー結果のキャッシュのキー
+   *
+   * <p>同じ識別子の上であればカーソルの列が異なっても同じ結果になるため、識別子の範囲をキーにします。
+   *
+   * @param uri ドキュメントURI
+   * @param version ドキュメントのバージョン
+   * @param line 行（0ベース）
+   * @param start 識別子の開始列
+   * @param end 識別子の終了列（この列を含まない）
+   */
+  record HoverKey(String uri, int version, int line, int start, int end) {
+
+    /** カーソル位置の識別子からキーを作成（識別子の上でない場合はnull） */
+    static @Nullable HoverKey at(TextDocument document, Position position) {
+      var lines = new LineIndex(document.content());
+      int line = position.getLine();
+      if (line < 0 || !lines.hasLine(line) || position.getCharacter() < 0) {
+        return null;
+      }
+      for (var key : lines.identifiers(document, line)) {
+        if (key.start() <= position.getCharacter() && position.getCharacter() < key.end()) {
+          return key;
+        }
+      }
+      return null;
+    }
+
+    /** 指定行の前後にある識別子のキー（指定行に近い順） */
+    static List<HoverKey> around(TextDocument document, int centerLine, int radius) {
+      var lines = new LineIndex(document.content());
+      var keys = new ArrayList<HoverKey>();
+      for (int distance = 0; distance <= radius; distance++) {
+        int above = centerLine - distance;
+        int below = centerLine + distance;
+        if (above >= 0 && lines.hasLine(above)) {
+          addPrefetchTargets(document, lines, above, keys);
+        }
+        if (distance > 0 && lines.hasLine(below)) {
+          addPrefetchTargets(document, lines, below, keys);
+        }
+      }
+      return keys;
+    }
+
+    private static void addPrefetchTargets(
+        TextDocument document, LineIndex lines, int line, List<HoverKey> keys) {
+      int offset = lines.start(line);
+      for (var key : lines.identifiers(document, line)) {
+        String word = document.content().substring(offset + key.start(), offset + key.end());
+        if (!Character.isDigit(word.charAt(0)) && !KEYWORDS.contains(word)) {
+          keys.add(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * 行の開始位置の索引
+   *
+   * <p>ホバーのたびに作成するため、ドキュメント全体ではなく必要な行の次の行までだけを走査します。
+   */
+  private static final class LineIndex {
+    private final String content;
+    private final List<Integer> starts = new ArrayList<>();
+
+    /** 次に改行を探す位置（末尾まで走査した場合は {@code content.length() + 1}） */
+    private int scanned;
+
+    LineIndex(String content) {
+      this.content = content;
+      starts.add(0);
+    }
+
+    boolean hasLine(int line) {
+      scanTo(line);
+      return line < starts.size();
+    }
+
+    int start(int line) {
+      scanTo(line);
+      return starts.get(line);
+    }
+
+    int end(int line) {
+      scanTo(line + 1);
+      return line + 1 < starts.size() ? starts.get(line + 1) - 1 : content.length();
+    }
+
+    /** 指定行の開始位置がわかるまで改行を探す */
+    private void scanTo(int line) {
+      while (starts.size() <= line && scanned <= content.length()) {
+        int newline = content.indexOf('\n', scanned);
+        if (newline < 0) {
+          scanned = content.length() + 1;
+          return;
+        }
+        starts.add(newline + 1);
+        scanned = newline + 1;
+      }
+    }
+
+    List<HoverKey> identifiers(TextDocument document, int line) {
+      var keys = new ArrayList<HoverKey>();
+      int lineStart = start(line);
+      int lineEnd = end(line);
+      int i = lineStart;
+      while (i < lineEnd) {
+        if (!Character.isJavaIdentifierPart(content.charAt(i))) {
+          i++;
+          continue;
+        }
+        int start = i;
+        while (i < lineEnd && Character.isJavaIdentifierPart(content.charAt(i))) {
+          i++;
+        }
+        keys.add(
+            new HoverKey(
+                document.uri().toString(),
+                document.version(),
+                line,
+                start - lineStart,
+                i - lineStart));
+      }
+      return keys;
+    }
+  }
+
+  /** キャッシュしたホバー結果（表示しない場合のnullも保持する） */
+  private record CachedHover(@Nullable Hover hover, long epoch) {}
 }
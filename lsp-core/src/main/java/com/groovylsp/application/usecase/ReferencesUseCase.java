@@ -0,0 +1,125 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.OccurrenceIndex;
+import com.groovylsp.domain.model.SymbolDefinition;
+import io.vavr.control.Either;
+import java.util.LinkedHashSet;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.DocumentHighlight;
+import org.eclipse.lsp4j.DocumentHighlightKind;
+import org.eclipse.lsp4j.DocumentHighlightParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 参照検索に関するユースケース
+ *
+ * <p>LSPのtextDocument/referencesとtextDocument/documentHighlightリクエストを処理します。
+ * カーソル位置の定義を解決した後は、ワークスペース全体の転置索引を引くだけで、他のファイルは再解析しません。
+ */
+@Singleton
+public class ReferencesUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReferencesUseCase.class);
+
+  private final DefinitionUseCase definitionUseCase;
+  private final OccurrenceIndex occurrenceIndex;
+
+  @Inject
+  public ReferencesUseCase(DefinitionUseCase definitionUseCase, OccurrenceIndex occurrenceIndex) {
+    this.definitionUseCase = definitionUseCase;
+    this.occurrenceIndex = occurrenceIndex;
+  }
+
+  /**
+   * 参照位置を取得
+   *
+   * @param params ReferenceParams
+   * @return 参照位置のリスト、またはエラー
+   */
+  public Either<String, List<Location>> getReferences(ReferenceParams params) {
+    boolean includeDeclaration =
+        params.getContext() == null || params.getContext().isIncludeDeclaration();
+
+    return definitionUseCase
+        .findDefinitions(params)
+        .map(
+            definitions -> {
+              var locations = new LinkedHashSet<Location>();
+              for (var definition : definitions) {
+                var occurrences = occurrenceIndex.findLocations(definition);
+                var declaration = findDeclaration(definition, occurrences);
+                if (includeDeclaration) {
+                  locations.add(declaration);
+                }
+                for (var location : occurrences) {
+                  if (!location.equals(declaration)) {
+                    locations.add(location);
+                  }
+                }
+              }
+              logger.debug(
+                  "Found {} references for {}",
+                  locations.size(),
+                  params.getTextDocument().getUri());
+              return List.copyOf(locations);
+            });
+  }
+
+  /**
+   * ドキュメント内のハイライト範囲を取得
+   *
+   * @param params DocumentHighlightParams
+   * @return ハイライト範囲のリスト、またはエラー
+   */
+  public Either<String, List<DocumentHighlight>> getDocumentHighlights(
+      DocumentHighlightParams params) {
+    String uri = params.getTextDocument().getUri();
+    return definitionUseCase
+        .findDefinitions(params)
+        .map(
+            definitions -> {
+              var ranges = new LinkedHashSet<Range>();
+              for (var definition : definitions) {
+                ranges.addAll(occurrenceIndex.findRanges(definition, uri));
+              }
+              return ranges.stream()
+                  .map(range -> new DocumentHighlight(range, DocumentHighlightKind.Text))
+                  .toList();
+            });
+  }
+
+  /**
+   * 出現位置のうち宣言の名前部分にあたるものを特定
+   *
+   * <p>定義の範囲内で最初に現れる出現を宣言とみなします。見つからない場合は定義の選択範囲を返します。
+   */
+  private static Location findDeclaration(SymbolDefinition definition, List<Location> occurrences) {
+    var declarationRange = definition.selectionRange();
+    for (var location : occurrences) {
+      if (location.getUri().equals(definition.uri())
+          && contains(declarationRange, location.getRange())) {
+        return location;
+      }
+    }
+    return definition.toSelectionLocation();
+  }
+
+  private static boolean contains(Range outer, Range inner) {
+    return compare(outer.getStart(), inner.getStart()) <= 0
+        && compare(inner.getEnd(), outer.getEnd()) <= 0;
+  }
+
+  private static int compare(Position a, Position b) {
+    if (a.getLine() != b.getLine()) {
+      return Integer.compare(a.getLine(), b.getLine());
+    }
+    return Integer.compare(a.getCharacter(), b.getCharacter());
+  }
+}
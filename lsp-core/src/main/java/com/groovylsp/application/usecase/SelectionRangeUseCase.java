@@ -0,0 +1,62 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.SelectionRangeService;
+import io.vavr.control.Either;
+import java.net.URI;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.SelectionRange;
+import org.eclipse.lsp4j.SelectionRangeParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 選択範囲の取得に関するユースケース
+ *
+ * <p>LSPのtextDocument/selectionRangeリクエストを処理し、 カーソル位置を含む構文要素の範囲を提供します。
+ */
+@Singleton
+public class SelectionRangeUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(SelectionRangeUseCase.class);
+
+  private final TextDocumentRepository repository;
+  private final SelectionRangeService selectionRangeService;
+
+  @Inject
+  public SelectionRangeUseCase(
+      TextDocumentRepository repository, SelectionRangeService selectionRangeService) {
+    this.repository = repository;
+    this.selectionRangeService = selectionRangeService;
+  }
+
+  /**
+   * 選択範囲を取得
+   *
+   * @param params SelectionRangeParams
+   * @return 位置ごとの選択範囲のリスト、またはエラー
+   */
+  public Either<String, List<SelectionRange>> getSelectionRanges(SelectionRangeParams params) {
+    String uri = params.getTextDocument().getUri();
+    logger.debug("選択範囲を取得: {} ({}箇所)", uri, params.getPositions().size());
+
+    return repository
+        .findByUri(URI.create(uri))
+        .toEither(() -> "ドキュメントが見つかりません: " + uri)
+        .flatMap(
+            document ->
+                selectionRangeService.getSelectionRanges(
+                    uri, document.content(), params.getPositions()));
+  }
+
+  /**
+   * ドキュメントを閉じた時にキャッシュしたASTを破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  public void release(URI uri) {
+    selectionRangeService.invalidate(uri.toString());
+  }
+}
@@ -0,0 +1,161 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.EncodedSemanticTokens;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.SemanticTokensService;
+import io.vavr.control.Either;
+import java.net.URI;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * セマンティックトークンの取得に関するユースケース
+ *
+ * <p>LSPのtextDocument/semanticTokens/full、full/delta、rangeリクエストを処理します。 差分リクエストでは前回の結果との差分だけを返します。
+ */
+@Singleton
+public class SemanticTokensUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(SemanticTokensUseCase.class);
+
+  private final TextDocumentRepository repository;
+  private final SemanticTokensService semanticTokensService;
+
+  @Inject
+  public SemanticTokensUseCase(
+      TextDocumentRepository repository, SemanticTokensService semanticTokensService) {
+    this.repository = repository;
+    this.semanticTokensService = semanticTokensService;
+  }
+
+  /**
+   * ドキュメント全体のセマンティックトークンを取得
+   *
+   * @param params SemanticTokensParams
+   * @return セマンティックトークン、またはエラー
+   */
+  public Either<String, SemanticTokens> getFullTokens(SemanticTokensParams params) {
+    String uri = params.getTextDocument().getUri();
+    logger.debug("セマンティックトークンを取得: {}", uri);
+
+    return findDocument(uri)
+        .flatMap(semanticTokensService::getTokens)
+        .map(tokens -> new SemanticTokens(tokens.resultId(), asList(tokens.data())));
+  }
+
+  /**
+   * 前回の結果からの差分としてセマンティックトークンを取得
+   *
+   * <p>前回の結果を保持していない場合はドキュメント全体のトークンを返します。
+   *
+   * @param params SemanticTokensDeltaParams
+   * @return 差分または全体のセマンティックトークン、またはエラー
+   */
+  public Either<
+          String, org.eclipse.lsp4j.jsonrpc.messages.Either<SemanticTokens, SemanticTokensDelta>>
+      getTokensDelta(SemanticTokensDeltaParams params) {
+    String uri = params.getTextDocument().getUri();
+    String previousResultId = params.getPreviousResultId();
+    logger.debug("セマンティックトークンの差分を取得: {} (previous: {})", uri, previousResultId);
+
+    return findDocument(uri)
+        .flatMap(semanticTokensService::getTokens)
+        .map(
+            current ->
+                semanticTokensService
+                    .findResult(uri, previousResultId)
+                    .map(previous -> toDelta(current, previous))
+                    .getOrElse(
+                        () ->
+                            org.eclipse.lsp4j.jsonrpc.messages.Either.forLeft(
+                                new SemanticTokens(current.resultId(), asList(current.data())))));
+  }
+
+  /**
+   * 指定範囲のセマンティックトークンを取得
+   *
+   * @param params SemanticTokensRangeParams
+   * @return セマンティックトークン、またはエラー
+   */
+  public Either<String, SemanticTokens> getRangeTokens(SemanticTokensRangeParams params) {
+    String uri = params.getTextDocument().getUri();
+    var range = params.getRange();
+    logger.debug(
+        "範囲のセマンティックトークンを取得: {} ({}-{})", uri, range.getStart().getLine(), range.getEnd().getLine());
+
+    return findDocument(uri)
+        .flatMap(semanticTokensService::getTokens)
+        .map(
+            tokens ->
+                new SemanticTokens(
+                    asList(
+                        tokens.restrictToLines(
+                            range.getStart().getLine(), range.getEnd().getLine()))));
+  }
+
+  /**
+   * ドキュメントに関する保持データを破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  public void release(URI uri) {
+    semanticTokensService.invalidate(uri.toString());
+  }
+
+  private Either<String, TextDocument> findDocument(String uri) {
+    return repository.findByUri(URI.create(uri)).toEither(() -> "ドキュメントが見つかりません: " + uri);
+  }
+
+  private org.eclipse.lsp4j.jsonrpc.messages.Either<SemanticTokens, SemanticTokensDelta> toDelta(
+      EncodedSemanticTokens current, EncodedSemanticTokens previous) {
+    var edits =
+        current.diffFrom(previous).stream()
+            .map(
+                edit ->
+                    new SemanticTokensEdit(edit.start(), edit.deleteCount(), asList(edit.data())))
+            .toList();
+    return org.eclipse.lsp4j.jsonrpc.messages.Either.forRight(
+        new SemanticTokensDelta(edits, current.resultId()));
+  }
+
+  private static List<Integer> asList(int[] data) {
+    return new IntArrayView(data);
+  }
+
+  /**
+   * 整数配列をコピーせずにリストとして参照するビュー
+   *
+   * <p>JSONへのシリアライズ時に要素を順に読むだけなので、大きなトークン列でもボックス化したリストを作りません。
+   * Gsonは匿名クラスをシリアライズしないため、名前付きのクラスとして定義しています。
+   */
+  private static final class IntArrayView extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] data;
+
+    IntArrayView(int[] data) {
+      this.data = data;
+    }
+
+    @Override
+    public Integer get(int index) {
+      return data[index];
+    }
+
+    @Override
+    public int size() {
+      return data.length;
+    }
+  }
+}
@@ -3,7 +3,9 @@ package com.groovylsp.application.usecase;
 import com.groovylsp.domain.model.TextDocument;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import io.vavr.control.Either;
+import io.vavr.control.Option;
 import java.net.URI;
+import java.util.Collection;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
@@ -32,7 +34,7 @@ public class TextDocumentSyncUseCase {
         new TextDocument(
             uri, textDocument.getLanguageId(), textDocument.getVersion(), textDocument.getText());
 
-    logger.info("Opening document: {} (version: {})", uri, textDocument.getVersion());
+    logger.debug("Opening document: {} (version: {})", uri, textDocument.getVersion());
 
     return repository.save(document).mapLeft(err -> new SyncError.RepositoryError(err.toString()));
   }
@@ -42,7 +44,7 @@ public class TextDocumentSyncUseCase {
     var uri = URI.create(identifier.getUri());
     var version = identifier.getVersion();
 
-    logger.info("Changing document: {} (version: {})", uri, version);
+    logger.debug("Changing document: {} (version: {})", uri, version);
 
     return repository
         .findByUri(uri)
@@ -60,7 +62,7 @@ public class TextDocumentSyncUseCase {
   public Either<SyncError, URI> closeDocument(DidCloseTextDocumentParams params) {
     var uri = URI.create(params.getTextDocument().getUri());
 
-    logger.info("Closing document: {}", uri);
+    logger.debug("Closing document: {}", uri);
 
     return repository
         .remove(uri)
@@ -68,6 +70,25 @@ public class TextDocumentSyncUseCase {
         .mapLeft(err -> (SyncError) new SyncError.RepositoryError(err.toString()));
   }
 
+  /**
+   * 開かれているドキュメントを取得する
+   *
+   * @param uri ドキュメントのURI
+   * @return ドキュメント（開かれていない場合はNone）
+   */
+  public Option<TextDocument> findDocument(URI uri) {
+    return repository.findByUri(uri);
+  }
+
+  /**
+   * 開かれているすべてのドキュメントを取得する
+   *
+   * @return ドキュメント
+   */
+  public Collection<TextDocument> findAllDocuments() {
+    return repository.findAll();
+  }
+
   private String applyChanges(
       String content, java.util.List<? extends TextDocumentContentChangeEvent> changes) {
     var result = content;
@@ -0,0 +1,322 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.domain.util.Fnv1aHash;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.FileContentStore;
+import io.vavr.control.Try;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ファイルの監視によるワークスペースの索引の更新に関するユースケース
+ *
+ * <p>LSPのworkspace/didChangeWatchedFiles通知を処理します。ブランチの切り替えやコード生成では大量の通知が続けて届くため、 通知が {@link
+ * #BATCH_DELAY_MILLIS} ミリ秒途切れるまで（最長 {@link #MAX_BATCH_DELAY_MILLIS} ミリ秒）まとめてから処理します。
+ * 同じファイルの通知は最後のものだけを使います。
+ *
+ * <ul>
+ *   <li>拡張子が有効でないファイルと除外パターンに一致するファイル（{@link WorkspaceConfiguration#isTarget(URI)}）は対象外です。
+ *   <li>エディタで開いているファイルは、エディタの内容を優先するため対象外です。
+ *   <li>作成・変更されたファイルは、内容のハッシュが前回の索引と同じ場合は省略します。
+ *   <li>残りのファイルは {@code parallelism} 個のスレッドで並列に読み込んで解析し、索引スレッドで順に取り込みます。
+ *       解析済みで取り込み待ちのファイル数も制限するため、大量の変更でもメモリの使用量は増え続けません。
+ *   <li>削除されたファイルと、大きすぎて構文解析しないファイル（{@link
+ *       WorkspaceConfiguration#isLexicalOnly(CharSequence)}）は索引から取り除きます。
+ * </ul>
+ *
+ * <p>処理が終わると、取り込みによって解析結果が古くなった依存元のURIをリスナーに通知します。
+ */
+@Singleton
+public class WorkspaceIndexUseCase implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(WorkspaceIndexUseCase.class);
+
+  /** 通知をまとめる待ち時間 */
+  static final long BATCH_DELAY_MILLIS = 200;
+
+  /** 通知が続く場合でも処理を始めるまでの最長の待ち時間 */
+  static final long MAX_BATCH_DELAY_MILLIS = 2000;
+
+  /** 既定の並列数 */
+  static final int DEFAULT_PARALLELISM =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+  private final TextDocumentRepository repository;
+  private final AstAnalysisService astAnalysisService;
+  private final DefinitionUseCase definitionUseCase;
+  private final FileContentStore contentStore;
+  private final WorkspaceConfiguration workspaceConfiguration;
+  private final ServerMetrics metrics;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService readers;
+
+  /** 解析済みで取り込み待ちのファイル数の上限 */
+  private final Semaphore inFlight;
+
+  private final List<Consumer<List<URI>>> listeners = new CopyOnWriteArrayList<>();
+
+  /** URIごとの、最後に索引に取り込んだディスク上の内容のハッシュ */
+  private final ConcurrentMap<String, Long> contentHashes = new ConcurrentHashMap<>();
+
+  /** まとめている途中の通知（URIごとに最後の種類） */
+  private Map<String, FileChangeType> pending = new LinkedHashMap<>();
+
+  private @Nullable ScheduledFuture<?> scheduledFlush;
+  private long batchStartedMillis;
+
+  public WorkspaceIndexUseCase(
+      TextDocumentRepository repository,
+      AstAnalysisService astAnalysisService,
+      DefinitionUseCase definitionUseCase,
+      FileContentStore contentStore,
+      WorkspaceConfiguration workspaceConfiguration,
+      ServerMetrics metrics) {
+    this(
+        repository,
+        astAnalysisService,
+        definitionUseCase,
+        contentStore,
+        workspaceConfiguration,
+        metrics,
+        DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * @param workspaceConfiguration 索引の対象のファイルの判定に使う設定
+   * @param parallelism ファイルの読み込みと解析の並列数
+   */
+  public WorkspaceIndexUseCase(
+      TextDocumentRepository repository,
+      AstAnalysisService astAnalysisService,
+      DefinitionUseCase definitionUseCase,
+      FileContentStore contentStore,
+      WorkspaceConfiguration workspaceConfiguration,
+      ServerMetrics metrics,
+      int parallelism) {
+    this.repository = repository;
+    this.astAnalysisService = astAnalysisService;
+    this.definitionUseCase = definitionUseCase;
+    this.contentStore = contentStore;
+    this.workspaceConfiguration = workspaceConfiguration;
+    this.metrics = metrics;
+    this.inFlight = new Semaphore(parallelism * 2);
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "groovy-lsp-watched-files");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.readers =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              var thread = new Thread(runnable, "groovy-lsp-workspace-reader");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * 処理が終わった時に呼び出すリスナーを登録する
+   *
+   * @param listener 解析結果が古くなった依存元のURIを受け取るリスナー
+   */
+  public void addListener(Consumer<List<URI>> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * ファイルの変更の通知を受け付け、まとめて処理するよう予約する
+   *
+   * @param events ファイルの変更
+   */
+  public void enqueue(List<FileEvent> events) {
+    synchronized (this) {
+      long now = System.currentTimeMillis();
+      if (pending.isEmpty()) {
+        batchStartedMillis = now;
+      }
+      for (var event : events) {
+        // 同じファイルの通知は最後の状態だけを使う
+        pending.remove(event.getUri());
+        pending.put(event.getUri(), event.getType());
+      }
+      if (scheduledFlush != null) {
+        scheduledFlush.cancel(false);
+      }
+      long delay =
+          Math.min(
+              BATCH_DELAY_MILLIS, Math.max(0, batchStartedMillis + MAX_BATCH_DELAY_MILLIS - now));
+      scheduledFlush = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * エディタで閉じたファイルをディスク上の内容で索引に取り込み直すよう予約する
+   *
+   * <p>索引にはエディタの内容が残っているため、前回取り込んだディスク上の内容のハッシュは使わずに読み込み直します。
+   * ファイルが削除されている場合と大きすぎて構文解析しない場合は、索引から取り除きます。
+   *
+   * @param uri 閉じたファイルのURI
+   */
+  public void documentClosed(URI uri) {
+    contentHashes.remove(uri.toString());
+    enqueue(List.of(new FileEvent(uri.toString(), FileChangeType.Changed)));
+  }
+
+  /** まとめている途中のファイル数 */
+  public synchronized int pendingFileCount() {
+    return pending.size();
+  }
+
+  /**
+   * まとめている通知をすぐに処理する
+   *
+   * @return 処理の完了。解析結果が古くなった依存元のURI
+   */
+  CompletableFuture<List<URI>> flush() {
+    Map<String, FileChangeType> batch;
+    synchronized (this) {
+      batch = pending;
+      pending = new LinkedHashMap<>();
+      scheduledFlush = null;
+    }
+    if (batch.isEmpty()) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+    long start = System.nanoTime();
+    logger.debug("ファイルの変更を処理します: {}件", batch.size());
+
+    var results = new ArrayList<CompletableFuture<List<URI>>>();
+    batch.forEach(
+        (uri, type) ->
+            Try.of(() -> URI.create(uri))
+                .filter(parsed -> isTarget(parsed, type))
+                .onFailure(error -> logger.debug("対象外のファイルの変更です: {}", uri))
+                .forEach(parsed -> results.add(process(parsed, type))));
+
+    return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+        .thenApply(
+            unused -> {
+              var dependents = new LinkedHashSet<URI>();
+              results.forEach(result -> dependents.addAll(result.join()));
+              return List.copyOf(dependents);
+            })
+        .whenComplete(
+            (dependents, error) -> {
+              metrics.record("phase.watchedFilesBatch", System.nanoTime() - start);
+              if (error != null) {
+                logger.warn("ファイルの変更の処理に失敗しました", error);
+                return;
+              }
+              listeners.forEach(listener -> listener.accept(dependents));
+            });
+  }
+
+  /** 拡張子と除外パターンで対象を絞る。削除は除外パターンに関わらず索引から取り除く */
+  private boolean isTarget(URI uri, FileChangeType type) {
+    return type == FileChangeType.Deleted
+        ? definitionUseCase.isIndexed(uri)
+        : workspaceConfiguration.isTarget(uri);
+  }
+
+  private CompletableFuture<List<URI>> process(URI uri, FileChangeType type) {
+    if (repository.findByUri(uri).isDefined()) {
+      // エディタで開いているファイルはエディタの内容を優先する
+      metrics.increment("watchedFiles.openDocumentSkipped");
+      return CompletableFuture.completedFuture(List.of());
+    }
+    var path = Try.of(() -> Path.of(uri)).getOrNull();
+    if (path != null) {
+      contentStore.invalidate(path);
+    }
+    if (type == FileChangeType.Deleted || path == null) {
+      return remove(uri);
+    }
+
+    // 取り込み待ちが上限に達している場合は、索引スレッドが追いつくまで待つ
+    inFlight.acquireUninterruptibly();
+    return CompletableFuture.supplyAsync(() -> read(uri, path), readers)
+        .thenCompose(
+            document -> {
+              if (document == null) {
+                return remove(uri);
+              }
+              if (workspaceConfiguration.isLexicalOnly(document.content())) {
+                // 大きすぎて構文解析しないファイルは、以前の内容の索引を残さない
+                metrics.increment("watchedFiles.lexicalOnly");
+                return release(uri);
+              }
+              long hash = Fnv1aHash.hash(document.content());
+              Long previous = contentHashes.get(uri.toString());
+              if (previous != null && previous == hash && definitionUseCase.isIndexed(uri)) {
+                metrics.increment("watchedFiles.unchanged");
+                return CompletableFuture.completedFuture(List.<URI>of());
+              }
+              // 開いているドキュメントのキャッシュを追い出さないよう、ASTを保持せずに解析する
+              return astAnalysisService
+                  .analyzeUncached(uri.toString(), document.content())
+                  .fold(
+                      error -> {
+                        logger.debug("ファイルを解析できませんでした: {} ({})", uri, error);
+                        return CompletableFuture.completedFuture(List.<URI>of());
+                      },
+                      astInfo -> {
+                        metrics.increment("watchedFiles.reindexed");
+                        contentHashes.put(uri.toString(), hash);
+                        return definitionUseCase.scheduleWorkspaceIndex(document, astInfo);
+                      });
+            })
+        .whenComplete((result, error) -> inFlight.release());
+  }
+
+  private @Nullable TextDocument read(URI uri, Path path) {
+    return contentStore
+        .getContent(path)
+        .map(content -> new TextDocument(uri, "groovy", 0, content))
+        .getOrNull();
+  }
+
+  private CompletableFuture<List<URI>> remove(URI uri) {
+    metrics.increment("watchedFiles.deleted");
+    return release(uri);
+  }
+
+  private CompletableFuture<List<URI>> release(URI uri) {
+    contentHashes.remove(uri.toString());
+    return definitionUseCase.release(uri);
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    readers.shutdownNow();
+  }
+}
@@ -0,0 +1,277 @@
+package com.groovylsp.application.usecase;
+
+import com.groovylsp.domain.model.SymbolDefinition;
+import com.groovylsp.domain.model.SymbolDefinition.DefinitionType;
+import com.groovylsp.domain.model.SymbolQuery;
+import com.groovylsp.domain.model.SymbolTable;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolLocation;
+import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ワークスペースシンボルの検索に関するユースケース
+ *
+ * <p>LSPのworkspace/symbolとworkspaceSymbol/resolveリクエストを処理します。 索引済みのすべてのファイルのクラス、メソッド、フィールドを {@link
+ * SymbolTable} から検索し、接頭辞とキャメルケースで照合します（{@link SymbolQuery}）。
+ *
+ * <p>シンボルは一定数ごとのチャンクに分けて並列に照合し、チャンクの間でキャンセルを確認します。応答は {@link #MAX_RESULTS} 件で打ち切ります。
+ * 部分結果の送信先がある場合は、最もよく一致するシンボルを照合の終わったチャンクから順に先に送り、残りはすべてのチャンクの照合後にまとめて並べ替えて送ります。
+ *
+ * <p>クライアントが対応している場合は、応答にはファイルのURIだけを含め、範囲はworkspaceSymbol/resolveで選択されたシンボルについてのみ設定します。
+ */
+@Singleton
+public class WorkspaceSymbolUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(WorkspaceSymbolUseCase.class);
+
+  /** 1回の応答に含めるシンボルの上限 */
+  static final int MAX_RESULTS = 500;
+
+  /** 並列に照合する単位のシンボル数 */
+  static final int CHUNK_SIZE = 2048;
+
+  /** 照合中にキャンセルを確認する間隔 */
+  private static final int CANCEL_CHECK_INTERVAL = 256;
+
+  /** 検索対象の定義の種類（ローカル変数やパラメータは含めない） */
+  private static final Set<DefinitionType> SEARCHABLE_TYPES =
+      EnumSet.of(
+          DefinitionType.CLASS,
+          DefinitionType.METHOD,
+          DefinitionType.FIELD,
+          DefinitionType.ENUM_CONSTANT);
+
+  private static final Comparator<Match> BY_RELEVANCE =
+      Comparator.comparingInt(Match::rank)
+          .thenComparingInt(match -> match.definition().name().length())
+          .thenComparing(match -> match.definition().name())
+          .thenComparing(match -> match.definition().qualifiedName());
+
+  private final SymbolTable symbolTable;
+  private final Executor executor;
+
+  @Inject
+  public WorkspaceSymbolUseCase(SymbolTable symbolTable) {
+    this(symbolTable, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param symbolTable シンボルテーブル
+   * @param executor チャンクの照合を実行するExecutor
+   */
+  public WorkspaceSymbolUseCase(SymbolTable symbolTable, Executor executor) {
+    this.symbolTable = symbolTable;
+    this.executor = executor;
+  }
+
+  /**
+   * ワークスペースシンボルを検索
+   *
+   * <p>部分結果の送信先を指定した場合は、接頭辞が大文字と小文字まで一致するシンボルを照合が終わったチャンクから順に渡し、
+   * 残りの一致はすべてのチャンクの照合後に全体で並べ替えてから渡します。戻り値は空にします。
+   * 先に送ったシンボルより順位の低いシンボルが上限の件数に入ることはありませんが、同じ順位の中ではチャンクの順に送ります。 チャンクが1つだけの場合は部分結果を使いません。
+   *
+   * @param params WorkspaceSymbolParams
+   * @param lazyLocations 範囲をworkspaceSymbol/resolveで設定する場合true
+   * @param cancelChecker キャンセルの確認
+   * @param partialResults 部分結果の送信先（nullの場合はすべて戻り値で返す）
+   * @return 部分結果として送っていないシンボル
+   */
+  public List<WorkspaceSymbol> search(
+      WorkspaceSymbolParams params,
+      boolean lazyLocations,
+      CancelChecker cancelChecker,
+      @Nullable Consumer<List<WorkspaceSymbol>> partialResults) {
+    var query = SymbolQuery.of(params.getQuery());
+    List<SymbolDefinition> candidates =
+        symbolTable
+            .getAllSymbols()
+            .filter(definition -> SEARCHABLE_TYPES.contains(definition.definitionType()))
+            .toJavaList();
+    logger.debug("ワークスペースシンボルを検索: '{}' ({}件)", params.getQuery(), candidates.size());
+
+    var chunks = new ArrayList<CompletableFuture<List<Match>>>();
+    for (int start = 0; start < candidates.size(); start += CHUNK_SIZE) {
+      var chunk = candidates.subList(start, Math.min(start + CHUNK_SIZE, candidates.size()));
+      chunks.add(CompletableFuture.supplyAsync(() -> scan(chunk, query, cancelChecker), executor));
+    }
+    var sink = partialResults != null && chunks.size() > 1 ? partialResults : null;
+
+    try {
+      var matches = new ArrayList<Match>();
+      int sent = 0;
+      for (var chunk : chunks) {
+        cancelChecker.checkCanceled();
+        var found = chunk.join();
+        if (sink == null) {
+          matches.addAll(found);
+          continue;
+        }
+        // 最もよく一致するシンボルは他のチャンクの結果に関わらず上位に入るため先に送り、残りは全体で並べ替える
+        var best = new ArrayList<Match>();
+        for (var match : found) {
+          (match.rank() == SymbolQuery.CASE_SENSITIVE_PREFIX ? best : matches).add(match);
+        }
+        var batch = toWorkspaceSymbols(best, MAX_RESULTS - sent, lazyLocations);
+        if (!batch.isEmpty()) {
+          sink.accept(batch);
+          sent += batch.size();
+        }
+        if (sent >= MAX_RESULTS) {
+          return List.of();
+        }
+      }
+      var ranked = toWorkspaceSymbols(matches, MAX_RESULTS - sent, lazyLocations);
+      if (sink == null) {
+        return ranked;
+      }
+      if (!ranked.isEmpty()) {
+        sink.accept(ranked);
+      }
+      return List.of();
+    } finally {
+      // 打ち切った場合やキャンセルされた場合に残りのチャンクの照合を止める
+      chunks.forEach(chunk -> chunk.cancel(false));
+    }
+  }
+
+  /**
+   * ワークスペースシンボルの範囲を設定
+   *
+   * <p>シンボルが見つからない場合（ファイルが変更されたなど）は、そのまま返します。
+   *
+   * @param symbol 選択されたワークスペースシンボル
+   * @return 範囲を設定したワークスペースシンボル
+   */
+  public WorkspaceSymbol resolve(WorkspaceSymbol symbol) {
+    var location = symbol.getLocation();
+    if (location == null || location.isLeft()) {
+      return symbol;
+    }
+    String uri = location.getRight().getUri();
+    ResolveData.parse(symbol.getData())
+        .flatMap(data -> data.find(symbolTable.getSymbolsInFile(uri)))
+        .peek(definition -> symbol.setLocation(Either.forLeft(definition.toSelectionLocation())));
+    return symbol;
+  }
+
+  private static List<Match> scan(
+      List<SymbolDefinition> chunk, SymbolQuery query, CancelChecker cancelChecker) {
+    var result = new ArrayList<Match>();
+    for (int i = 0; i < chunk.size(); i++) {
+      if (i % CANCEL_CHECK_INTERVAL == 0 && cancelChecker.isCanceled()) {
+        break;
+      }
+      var definition = chunk.get(i);
+      int rank = query.rank(definition.name());
+      if (rank != SymbolQuery.NO_MATCH) {
+        result.add(new Match(definition, rank));
+      }
+    }
+    return result;
+  }
+
+  /** よく一致する順に並べ替え、上限の件数までをワークスペースシンボルに変換する */
+  private static List<WorkspaceSymbol> toWorkspaceSymbols(
+      List<Match> matches, int limit, boolean lazyLocations) {
+    return matches.stream()
+        .sorted(BY_RELEVANCE)
+        .limit(limit)
+        .map(match -> toWorkspaceSymbol(match.definition(), lazyLocations))
+        .toList();
+  }
+
+  private static WorkspaceSymbol toWorkspaceSymbol(
+      SymbolDefinition definition, boolean lazyLocations) {
+    var symbol =
+        new WorkspaceSymbol(
+            definition.name(),
+            definition.kind(),
+            lazyLocations
+                ? Either.forRight(new WorkspaceSymbolLocation(definition.uri()))
+                : Either.forLeft(definition.toSelectionLocation()),
+            containerName(definition));
+    if (lazyLocations) {
+      symbol.setData(ResolveData.of(definition).encode());
+    }
+    return symbol;
+  }
+
+  /** メンバーは所属するクラス、クラスはパッケージ */
+  private static @Nullable String containerName(SymbolDefinition definition) {
+    if (definition.definitionType() != DefinitionType.CLASS) {
+      return definition.containingClass();
+    }
+    int separator = definition.qualifiedName().lastIndexOf('.');
+    return separator < 0 ? null : definition.qualifiedName().substring(0, separator);
+  }
+
+  private record Match(SymbolDefinition definition, int rank) {}
+
+  /**
+   * workspaceSymbol/resolveでシンボルを探すためのデータ
+   *
+   * <p>同じ完全修飾名のオーバーロードを区別するため、名前の開始位置も含めます。
+   *
+   * @param line 名前の開始行
+   * @param character 名前の開始文字
+   * @param qualifiedName 完全修飾名
+   */
+  private record ResolveData(int line, int character, String qualifiedName) {
+
+    static ResolveData of(SymbolDefinition definition) {
+      var start = definition.selectionRange().getStart();
+      return new ResolveData(start.getLine(), start.getCharacter(), definition.qualifiedName());
+    }
+
+    static Option<ResolveData> parse(@Nullable Object data) {
+      if (!(data instanceof String text)) {
+        return Option.none();
+      }
+      String[] parts = text.split(":", 3);
+      if (parts.length != 3) {
+        return Option.none();
+      }
+      try {
+        return Option.some(
+            new ResolveData(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), parts[2]));
+      } catch (NumberFormatException e) {
+        return Option.none();
+      }
+    }
+
+    String encode() {
+      return line + ":" + character + ":" + qualifiedName;
+    }
+
+    /** 位置まで一致する定義、なければ完全修飾名が一致する最初の定義 */
+    Option<SymbolDefinition> find(Seq<SymbolDefinition> definitions) {
+      var sameName =
+          definitions.filter(definition -> qualifiedName.equals(definition.qualifiedName()));
+      return sameName
+          .find(
+              definition ->
+                  definition.selectionRange().getStart().getLine() == line
+                      && definition.selectionRange().getStart().getCharacter() == character)
+          .orElse(sameName::headOption);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.groovylsp.domain.constant;
+
+import java.util.List;
+
+/**
+ * Groovyのデフォルトインポートに関する定数定義
+ *
+ * <p>Groovyではimport文なしで以下のパッケージのクラスを参照できます。 {@link #CLASSES}
+ * はそのうち補完候補として提示するよく使われるクラスの一覧です（クラスのロードは行いません）。
+ */
+public final class DefaultImports {
+
+  private DefaultImports() {
+    // ユーティリティクラスのため、インスタンス化を防ぐ
+  }
+
+  /** デフォルトでインポートされるパッケージ（解決を試みる順） */
+  public static final List<String> PACKAGES =
+      List.of("java.lang", "groovy.lang", "java.util", "java.io", "java.net", "groovy.util");
+
+  /** 補完候補として提示するデフォルトインポートのクラス（完全修飾名） */
+  public static final List<String> CLASSES =
+      List.of(
+          // java.lang
+          "java.lang.Boolean",
+          "java.lang.Byte",
+          "java.lang.Character",
+          "java.lang.CharSequence",
+          "java.lang.Class",
+          "java.lang.Comparable",
+          "java.lang.Double",
+          "java.lang.Enum",
+          "java.lang.Exception",
+          "java.lang.Float",
+          "java.lang.IllegalArgumentException",
+          "java.lang.IllegalStateException",
+          "java.lang.IndexOutOfBoundsException",
+          "java.lang.Integer",
+          "java.lang.Iterable",
+          "java.lang.Long",
+          "java.lang.Math",
+          "java.lang.NullPointerException",
+          "java.lang.Number",
+          "java.lang.Object",
+          "java.lang.Override",
+          "java.lang.Record",
+          "java.lang.Runnable",
+          "java.lang.RuntimeException",
+          "java.lang.Short",
+          "java.lang.String",
+          "java.lang.StringBuilder",
+          "java.lang.System",
+          "java.lang.Thread",
+          "java.lang.Throwable",
+          "java.lang.UnsupportedOperationException",
+          "java.lang.Void",
+          // java.util
+          "java.util.ArrayDeque",
+          "java.util.ArrayList",
+          "java.util.Arrays",
+          "java.util.Collection",
+          "java.util.Collections",
+          "java.util.Comparator",
+          "java.util.Date",
+          "java.util.Deque",
+          "java.util.HashMap",
+          "java.util.HashSet",
+          "java.util.Iterator",
+          "java.util.LinkedHashMap",
+          "java.util.LinkedHashSet",
+          "java.util.LinkedList",
+          "java.util.List",
+          "java.util.Locale",
+          "java.util.Map",
+          "java.util.Objects",
+          "java.util.Optional",
+          "java.util.Properties",
+          "java.util.Queue",
+          "java.util.Random",
+          "java.util.Set",
+          "java.util.SortedMap",
+          "java.util.SortedSet",
+          "java.util.TreeMap",
+          "java.util.TreeSet",
+          "java.util.UUID",
+          // java.io
+          "java.io.BufferedReader",
+          "java.io.BufferedWriter",
+          "java.io.File",
+          "java.io.IOException",
+          "java.io.InputStream",
+          "java.io.OutputStream",
+          "java.io.PrintStream",
+          "java.io.Reader",
+          "java.io.Serializable",
+          "java.io.StringWriter",
+          "java.io.UncheckedIOException",
+          "java.io.Writer",
+          // java.net
+          "java.net.InetAddress",
+          "java.net.Socket",
+          "java.net.URI",
+          "java.net.URL",
+          "java.net.URLEncoder",
+          // java.math（BigDecimalとBigIntegerのみ）
+          "java.math.BigDecimal",
+          "java.math.BigInteger",
+          // groovy.lang
+          "groovy.lang.Binding",
+          "groovy.lang.Closure",
+          "groovy.lang.Delegate",
+          "groovy.lang.GString",
+          "groovy.lang.Grab",
+          "groovy.lang.GroovyObject",
+          "groovy.lang.GroovyShell",
+          "groovy.lang.IntRange",
+          "groovy.lang.Lazy",
+          "groovy.lang.MetaClass",
+          "groovy.lang.Newify",
+          "groovy.lang.Range",
+          "groovy.lang.Script",
+          "groovy.lang.Singleton",
+          "groovy.lang.Tuple",
+          // groovy.util
+          "groovy.util.ConfigObject",
+          "groovy.util.ConfigSlurper",
+          "groovy.util.Expando",
+          "groovy.util.GroovyCollections",
+          "groovy.util.Node",
+          "groovy.util.NodeBuilder",
+          "groovy.util.ObjectGraphBuilder");
+}
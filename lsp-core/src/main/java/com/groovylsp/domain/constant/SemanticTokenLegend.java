@@ -0,0 +1,58 @@
+package com.groovylsp.domain.constant;
+
+import java.util.List;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+
+/**
+ * セマンティックトークンの凡例の定数定義
+ *
+ * <p>トークンタイプはリスト内のインデックス、修飾子はビットフラグとしてエンコードされます。 {@link #TOKEN_TYPES} と {@link #TOKEN_MODIFIERS}
+ * の並び順は各定数の値と一致させる必要があります。
+ */
+public final class SemanticTokenLegend {
+
+  private SemanticTokenLegend() {
+    // ユーティリティクラスのため、インスタンス化を防ぐ
+  }
+
+  // トークンタイプ（TOKEN_TYPESのインデックス）
+  public static final int KEYWORD = 0;
+  public static final int STRING = 1;
+  public static final int NUMBER = 2;
+  public static final int REGEXP = 3;
+  public static final int COMMENT = 4;
+  public static final int OPERATOR = 5;
+  public static final int CLASS = 6;
+  public static final int INTERFACE = 7;
+  public static final int ENUM = 8;
+  public static final int METHOD = 9;
+  public static final int PROPERTY = 10;
+  public static final int PARAMETER = 11;
+
+  public static final List<String> TOKEN_TYPES =
+      List.of(
+          SemanticTokenTypes.Keyword,
+          SemanticTokenTypes.String,
+          SemanticTokenTypes.Number,
+          SemanticTokenTypes.Regexp,
+          SemanticTokenTypes.Comment,
+          SemanticTokenTypes.Operator,
+          SemanticTokenTypes.Class,
+          SemanticTokenTypes.Interface,
+          SemanticTokenTypes.Enum,
+          SemanticTokenTypes.Method,
+          SemanticTokenTypes.Property,
+          SemanticTokenTypes.Parameter);
+
+  // トークン修飾子（TOKEN_MODIFIERSのインデックスに対応するビット）
+  public static final int MODIFIER_DECLARATION = 1;
+  public static final int MODIFIER_STATIC = 1 << 1;
+  public static final int MODIFIER_READONLY = 1 << 2;
+
+  public static final List<String> TOKEN_MODIFIERS =
+      List.of(
+          SemanticTokenModifiers.Declaration,
+          SemanticTokenModifiers.Static,
+          SemanticTokenModifiers.Readonly);
+}
@@ -47,6 +47,12 @@ public enum TokenType {
   // リテラル
   STRING_LITERAL,
   NUMBER_LITERAL,
+  // 補間を含む文字列の開始部分（"text${ まで）
+  GSTRING_BEGIN,
+  // 補間と補間の間の文字列部分（}text${ まで）
+  GSTRING_PART,
+  // 補間を含む文字列の終了部分（}text" まで）
+  GSTRING_END,
 
   // 識別子
   IDENTIFIER,
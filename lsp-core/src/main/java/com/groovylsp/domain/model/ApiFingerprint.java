@@ -0,0 +1,124 @@
+package com.groovylsp.domain.model;
+
+import com.groovylsp.domain.util.Fnv1aHash;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ファイルの宣言のフィンガープリント
+ *
+ * <p>AST情報から、メソッドの本体を含まない宣言だけのハッシュを2種類作成します。ハッシュはFNV-1a（64ビット）で、 実行ごとに変わらないため保存して比較することもできます。
+ *
+ * <ul>
+ *   <li>{@code api}: パッケージ名、クラス名と種別・修飾子・親クラス・インタフェース、メソッドのシグネチャ、フィールドの型と修飾子。
+ *       メンバーの並び順には依存しません。他のファイルから見える宣言が変わったかどうかの判定に使います。
+ *   <li>{@code outline}: {@code api} の内容に加えて、宣言の位置、パラメータ名、ドキュメント、インポート。
+ *       シンボルテーブル・スコープ・依存関係を構築し直す必要があるかどうかの判定に使います。
+ * </ul>
+ *
+ * <p>メソッドの本体の中だけの編集で宣言の範囲が変わらない場合は、どちらのハッシュも変わりません。
+ *
+ * @param api 他のファイルから見える宣言のハッシュ
+ * @param outline 宣言の位置などを含むハッシュ
+ */
+public record ApiFingerprint(long api, long outline) {
+
+  /**
+   * AST情報からフィンガープリントを作成
+   *
+   * @param astInfo AST情報
+   * @return フィンガープリント
+   */
+  public static ApiFingerprint of(AstInfo astInfo) {
+    var api = new ArrayList<String>();
+    var outline = new ArrayList<String>();
+    api.add("package " + astInfo.packageName());
+    for (var importInfo : astInfo.imports()) {
+      outline.add("import " + importInfo.className() + " as " + importInfo.alias());
+    }
+
+    for (var classInfo : astInfo.classes()) {
+      String className = classInfo.qualifiedName();
+      api.add(
+          className
+              + " "
+              + classInfo.type()
+              + " "
+              + classInfo.modifiers()
+              + " extends "
+              + classInfo.superTypes()
+              + " implements "
+              + classInfo.interfaces());
+      outline.add(className + " @" + format(classInfo.position()));
+
+      for (var field : classInfo.fields()) {
+        String member = className + "#" + field.name();
+        api.add(member + " " + field.modifiers() + " " + field.type());
+        outline.add(
+            member
+                + " @"
+                + format(field.position())
+                + " = "
+                + field.initialValue()
+                + " /** "
+                + field.documentation());
+      }
+      for (var method : classInfo.methods()) {
+        var signature = new StringBuilder(className).append('#').append(method.name()).append('(');
+        var parameterNames = new StringBuilder();
+        for (var parameter : method.parameters()) {
+          signature.append(parameter.type()).append(parameter.isVarArgs() ? "...," : ",");
+          parameterNames
+              .append(parameter.name())
+              .append('=')
+              .append(parameter.defaultValue())
+              .append(',');
+        }
+        signature.append(") ").append(method.modifiers()).append(' ').append(method.returnType());
+        api.add(signature.toString());
+        outline.add(
+            signature
+                + " @"
+                + format(method.position())
+                + " ("
+                + parameterNames
+                + ") /** "
+                + method.documentation());
+      }
+    }
+
+    // メンバーの並び順に依存しないように並べ替える
+    api.sort(null);
+    outline.addAll(api);
+    outline.sort(null);
+    return new ApiFingerprint(hash(api), hash(outline));
+  }
+
+  /**
+   * 他のファイルから見える宣言が同じかどうかを判定
+   *
+   * @param other 比較するフィンガープリント
+   * @return 同じ場合true
+   */
+  public boolean sameApi(ApiFingerprint other) {
+    return api == other.api;
+  }
+
+  private static String format(ClassInfo.Position position) {
+    return position.startLine()
+        + ":"
+        + position.startColumn()
+        + "-"
+        + position.endLine()
+        + ":"
+        + position.endColumn();
+  }
+
+  private static long hash(List<String> lines) {
+    long hash = Fnv1aHash.OFFSET_BASIS;
+    for (var line : lines) {
+      hash = Fnv1aHash.appendByte(Fnv1aHash.append(hash, line), '\n');
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,195 @@
+package com.groovylsp.domain.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ファイル間の依存関係のグラフ
+ *
+ * <p>AST情報のインポート、スターインポート、パッケージ名から、どのファイルがどのファイルのクラスを参照し得るかを求めます。
+ * あるファイルが次のいずれかに当てはまる場合、そのファイルはクラスを宣言したファイルに依存するものとします。
+ *
+ * <ul>
+ *   <li>クラスの完全修飾名をインポートしている
+ *   <li>クラスのパッケージをスターインポートしている
+ *   <li>クラスと同じパッケージにある
+ * </ul>
+ *
+ * <p>ファイルの宣言（{@link ApiFingerprint#api()}）が変わった場合だけ、直接依存するファイルを返します。
+ * メソッドの本体だけの変更では他のファイルのキャッシュを破棄しません。依存するファイルを取り込み直した結果、
+ * その宣言も変わった場合は、その時点でさらに依存するファイルを返すため、推移的には求めません。
+ *
+ * <p>スレッドセーフ: 更新と参照は同期して行います。
+ */
+public final class DependencyGraph {
+
+  private final Map<String, FileNode> files = new HashMap<>();
+
+  /** クラスの完全修飾名から、それをインポートしているファイル */
+  private final Map<String, Set<String>> importersByClass = new HashMap<>();
+
+  /** パッケージ名から、それをスターインポートしているファイル */
+  private final Map<String, Set<String>> importersByPackage = new HashMap<>();
+
+  /** パッケージ名から、そのパッケージにあるファイル */
+  private final Map<String, Set<String>> filesByPackage = new HashMap<>();
+
+  /**
+   * ファイルのAST情報を取り込む
+   *
+   * @param uri ファイルURI
+   * @param astInfo AST情報
+   * @return 宣言が変わった場合は直接依存するファイル（URIの順）、変わっていない場合や初めて取り込んだ場合は空
+   */
+  public List<String> update(String uri, AstInfo astInfo) {
+    return update(uri, astInfo, ApiFingerprint.of(astInfo));
+  }
+
+  /**
+   * ファイルのAST情報を取り込む
+   *
+   * @param uri ファイルURI
+   * @param astInfo AST情報
+   * @param fingerprint AST情報の宣言のフィンガープリント
+   * @return 宣言が変わった場合は直接依存するファイル（URIの順）、変わっていない場合や初めて取り込んだ場合は空
+   */
+  public synchronized List<String> update(String uri, AstInfo astInfo, ApiFingerprint fingerprint) {
+    var node = FileNode.of(astInfo, fingerprint);
+    var previous = files.get(uri);
+    if (previous != null) {
+      if (previous.equals(node)) {
+        return List.of();
+      }
+      unlink(uri, previous);
+    }
+    files.put(uri, node);
+    link(uri, node);
+
+    if (previous == null) {
+      // 初めて取り込んだファイルでは取り込み直しを求めない（ワークスペースの索引の構築で連鎖させない）
+      return List.of();
+    }
+    if (previous.fingerprint().sameApi(node.fingerprint())) {
+      // インポートだけの変更は依存先を変えるが、他のファイルには影響しない
+      return List.of();
+    }
+    // クラス名の変更前の依存元も含める
+    var dependents = new TreeSet<>(directDependents(uri, node));
+    dependents.addAll(directDependents(uri, previous));
+    return List.copyOf(dependents);
+  }
+
+  /**
+   * ファイルを取り除く
+   *
+   * @param uri ファイルURI
+   * @return 取り除いたファイルに直接依存していたファイル（URIの順）
+   */
+  public synchronized List<String> remove(String uri) {
+    var previous = files.get(uri);
+    if (previous == null) {
+      return List.of();
+    }
+    var dependents = List.copyOf(new TreeSet<>(directDependents(uri, previous)));
+    files.remove(uri);
+    unlink(uri, previous);
+    return dependents;
+  }
+
+  /**
+   * ファイルに直接依存するファイル
+   *
+   * @param uri ファイルURI
+   * @return 依存するファイル（取り込んでいない場合は空）
+   */
+  public synchronized Set<String> directDependentsOf(String uri) {
+    var node = files.get(uri);
+    return node == null ? Set.of() : directDependents(uri, node);
+  }
+
+  /** 取り込んだファイル数 */
+  public synchronized int size() {
+    return files.size();
+  }
+
+  private Set<String> directDependents(String uri, FileNode node) {
+    var result = new HashSet<String>();
+    for (var className : node.classNames()) {
+      result.addAll(importersByClass.getOrDefault(className, Set.of()));
+    }
+    result.addAll(importersByPackage.getOrDefault(node.packageName(), Set.of()));
+    result.addAll(filesByPackage.getOrDefault(node.packageName(), Set.of()));
+    result.remove(uri);
+    return result;
+  }
+
+  private void link(String uri, FileNode node) {
+    for (var className : node.importedClasses()) {
+      importersByClass.computeIfAbsent(className, unused -> new HashSet<>()).add(uri);
+    }
+    for (var packageName : node.importedPackages()) {
+      importersByPackage.computeIfAbsent(packageName, unused -> new HashSet<>()).add(uri);
+    }
+    filesByPackage.computeIfAbsent(node.packageName(), unused -> new HashSet<>()).add(uri);
+  }
+
+  private void unlink(String uri, FileNode node) {
+    for (var className : node.importedClasses()) {
+      removeFrom(importersByClass, className, uri);
+    }
+    for (var packageName : node.importedPackages()) {
+      removeFrom(importersByPackage, packageName, uri);
+    }
+    removeFrom(filesByPackage, node.packageName(), uri);
+  }
+
+  private static void removeFrom(Map<String, Set<String>> index, String key, String uri) {
+    var uris = index.get(key);
+    if (uris != null) {
+      uris.remove(uri);
+      if (uris.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  /**
+   * 依存関係の判定に使うファイルの情報
+   *
+   * @param packageName パッケージ名
+   * @param classNames 宣言したクラスの完全修飾名
+   * @param importedClasses インポートしたクラスの完全修飾名
+   * @param importedPackages スターインポートしたパッケージ名
+   * @param fingerprint 宣言のフィンガープリント
+   */
+  private record FileNode(
+      String packageName,
+      Set<String> classNames,
+      Set<String> importedClasses,
+      Set<String> importedPackages,
+      ApiFingerprint fingerprint) {
+
+    static FileNode of(AstInfo astInfo, ApiFingerprint fingerprint) {
+      var classNames = new HashSet<String>();
+      for (var classInfo : astInfo.classes()) {
+        classNames.add(classInfo.qualifiedName());
+      }
+
+      var importedClasses = new HashSet<String>();
+      var importedPackages = new HashSet<String>();
+      for (var importInfo : astInfo.imports()) {
+        if (importInfo.isStar()) {
+          importedPackages.add(importInfo.packageName());
+        } else {
+          importedClasses.add(importInfo.className());
+        }
+      }
+      return new FileNode(
+          astInfo.packageName(), classNames, importedClasses, importedPackages, fingerprint);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.groovylsp.domain.model;
+
+import java.util.Arrays;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * LSP形式でエンコードされたセマンティックトークンを表すドメインモデル
+ *
+ * <p>トークン1つにつき5つの整数（行の差分、開始文字の差分、長さ、タイプ、修飾子）を持つ整数列です。 ドキュメントのバージョンごとに1つ作成され、{@code resultId}
+ * で識別されます。
+ */
+public final class EncodedSemanticTokens {
+
+  /** トークン1つあたりの整数の数 */
+  public static final int INTS_PER_TOKEN = 5;
+
+  private final String resultId;
+  private final int[] data;
+
+  public EncodedSemanticTokens(String resultId, int[] data) {
+    this.resultId = resultId;
+    this.data = data;
+  }
+
+  public String resultId() {
+    return resultId;
+  }
+
+  /** エンコード済みの整数列（呼び出し側で変更しないこと） */
+  public int[] data() {
+    return data;
+  }
+
+  /** トークン数を取得 */
+  public int tokenCount() {
+    return data.length / INTS_PER_TOKEN;
+  }
+
+  /**
+   * 前回の結果からこの結果への編集を計算する
+   *
+   * <p>先頭と末尾の共通部分を除いた1つの編集にまとめます。内容が同じ場合は空のリストを返します。
+   *
+   * @param previous 前回の結果
+   * @return 編集のリスト
+   */
+  public List<SemanticTokensEdit> diffFrom(EncodedSemanticTokens previous) {
+    int[] old = previous.data;
+    int prefix = 0;
+    int maxPrefix = Math.min(old.length, data.length);
+    while (prefix < maxPrefix && old[prefix] == data[prefix]) {
+      prefix++;
+    }
+    if (prefix == old.length && prefix == data.length) {
+      return List.of();
+    }
+
+    int suffix = 0;
+    int maxSuffix = maxPrefix - prefix;
+    while (suffix < maxSuffix && old[old.length - 1 - suffix] == data[data.length - 1 - suffix]) {
+      suffix++;
+    }
+
+    int deleteCount = old.length - prefix - suffix;
+    int[] inserted = Arrays.copyOfRange(data, prefix, data.length - suffix);
+    return List.of(new SemanticTokensEdit(prefix, deleteCount, inserted));
+  }
+
+  /**
+   * 指定した行範囲に含まれるトークンだけを再エンコードする
+   *
+   * @param startLine 開始行（0ベース、この行を含む）
+   * @param endLine 終了行（0ベース、この行を含む）
+   * @return 範囲内のトークンの整数列
+   */
+  public int[] restrictToLines(int startLine, int endLine) {
+    int[] result = new int[data.length];
+    int size = 0;
+    int line = 0;
+    int character = 0;
+    int lastLine = 0;
+    int lastCharacter = 0;
+
+    for (int i = 0; i < data.length; i += INTS_PER_TOKEN) {
+      int deltaLine = data[i];
+      line += deltaLine;
+      character = deltaLine == 0 ? character + data[i + 1] : data[i + 1];
+      if (line > endLine) {
+        break;
+      }
+      if (line < startLine) {
+        continue;
+      }
+      result[size] = line - lastLine;
+      result[size + 1] = line == lastLine ? character - lastCharacter : character;
+      result[size + 2] = data[i + 2];
+      result[size + 3] = data[i + 3];
+      result[size + 4] = data[i + 4];
+      size += INTS_PER_TOKEN;
+      lastLine = line;
+      lastCharacter = character;
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    return obj instanceof EncodedSemanticTokens other
+        && resultId.equals(other.resultId)
+        && Arrays.equals(data, other.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * resultId.hashCode() + Arrays.hashCode(data);
+  }
+
+  @Override
+  public String toString() {
+    return "EncodedSemanticTokens[resultId=%s, tokens=%d]".formatted(resultId, tokenCount());
+  }
+}
@@ -0,0 +1,31 @@
+package com.groovylsp.domain.model;
+
+/**
+ * 折りたたみ可能な領域を表すドメインモデル。
+ *
+ * @param startLine 開始行（0ベース）
+ * @param endLine 終了行（0ベース、この行までを折りたたむ）
+ * @param kind 領域の種類
+ */
+public record FoldingRegion(int startLine, int endLine, Kind kind) {
+
+  public FoldingRegion {
+    if (startLine < 0) {
+      throw new IllegalArgumentException("開始行は負の値になりません: " + startLine);
+    }
+    if (endLine <= startLine) {
+      throw new IllegalArgumentException(
+          String.format("終了行は開始行より後である必要があります: 開始行=%d, 終了行=%d", startLine, endLine));
+    }
+  }
+
+  /** 折りたたみ領域の種類。 */
+  public enum Kind {
+    /** 括弧で囲まれたブロック */
+    BLOCK,
+    /** ブロックコメント */
+    COMMENT,
+    /** 連続したインポート文 */
+    IMPORTS
+  }
+}
@@ -0,0 +1,142 @@
+package com.groovylsp.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * 複数のグロブパターンをまとめて照合するマッチャー
+ *
+ * <p>すべてのパターンを1つの正規表現に変換してコンパイルしておくため、照合はパターンの数に関わらず1回で済みます。
+ *
+ * <p>パターンはワークスペースのルートからの相対パスと照合し、{@code build/**} は {@code build/Foo.groovy} に一致しますが {@code
+ * app/build/Foo.groovy} には一致しません。どの階層でも一致させる場合は {@code **}{@code /build/**} のように {@code **}{@code
+ * /} で始めます。ディレクトリに一致した場合は、その配下のすべてのファイルに一致します。
+ *
+ * <ul>
+ *   <li>{@code **}: 区切りを含む任意の文字列（{@code **}{@code /} は0個以上のディレクトリ）
+ *   <li>{@code *}: 区切りを含まない任意の文字列
+ *   <li>{@code ?}: 区切り以外の1文字
+ *   <li>{@code {a,b}}: いずれかの候補
+ *   <li>{@code [abc]}、{@code [!abc]}: 文字クラス
+ * </ul>
+ *
+ * <p>パスの区切りは {@code /} と {@code \} のどちらでも構いません。
+ */
+public final class GlobMatcher {
+
+  private static final GlobMatcher NONE = new GlobMatcher(null);
+
+  private static final String REGEX_META = "\\.^$|+()[]{}";
+
+  private final @Nullable Pattern pattern;
+
+  private GlobMatcher(@Nullable Pattern pattern) {
+    this.pattern = pattern;
+  }
+
+  /**
+   * グロブパターンをコンパイル
+   *
+   * @param globs グロブパターン（空白だけのものは無視します）
+   * @return マッチャー。パターンがない場合はどのパスにも一致しない
+   * @throws IllegalArgumentException パターンの括弧が対応していない場合
+   */
+  public static GlobMatcher compile(Collection<String> globs) {
+    var alternatives = new ArrayList<String>();
+    for (var glob : globs) {
+      String trimmed = glob.strip().replace('\\', '/');
+      while (trimmed.startsWith("/")) {
+        trimmed = trimmed.substring(1);
+      }
+      while (trimmed.endsWith("/")) {
+        trimmed = trimmed.substring(0, trimmed.length() - 1);
+      }
+      if (!trimmed.isEmpty()) {
+        alternatives.add(toRegex(trimmed));
+      }
+    }
+    if (alternatives.isEmpty()) {
+      return NONE;
+    }
+    return new GlobMatcher(Pattern.compile("(?:" + String.join("|", alternatives) + ")(?:/.*)?"));
+  }
+
+  /**
+   * パスがいずれかのパターンに一致するかを判定
+   *
+   * @param path ワークスペースのルートからの相対パス（ルートの外のファイルは絶対パス。{@code **}{@code /} で始まるパターンだけが一致し得る）
+   * @return 一致する場合true
+   */
+  public boolean matches(String path) {
+    return pattern != null && pattern.matcher(path.replace('\\', '/')).matches();
+  }
+
+  /** パターンがないかどうか */
+  public boolean isEmpty() {
+    return pattern == null;
+  }
+
+  private static String toRegex(String glob) {
+    var regex = new StringBuilder();
+    int braceDepth = 0;
+    int i = 0;
+    while (i < glob.length()) {
+      char c = glob.charAt(i);
+      switch (c) {
+        case '*' -> {
+          if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+            i++;
+            if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+              i++;
+              regex.append("(?:.*/)?");
+            } else {
+              regex.append(".*");
+            }
+          } else {
+            regex.append("[^/]*");
+          }
+        }
+        case '?' -> regex.append("[^/]");
+        case '{' -> {
+          braceDepth++;
+          regex.append("(?:");
+        }
+        case '}' -> {
+          if (braceDepth == 0) {
+            throw new IllegalArgumentException("対応する { がありません: " + glob);
+          }
+          braceDepth--;
+          regex.append(')');
+        }
+        case ',' -> regex.append(braceDepth > 0 ? "|" : ",");
+        case '[' -> {
+          int end = glob.indexOf(']', i + 2);
+          if (end < 0) {
+            throw new IllegalArgumentException("対応する ] がありません: " + glob);
+          }
+          String body = glob.substring(i + 1, end);
+          regex.append('[');
+          if (body.startsWith("!")) {
+            regex.append('^');
+            body = body.substring(1);
+          }
+          regex.append(body.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+          i = end;
+        }
+        default -> {
+          if (REGEX_META.indexOf(c) >= 0) {
+            regex.append('\\');
+          }
+          regex.append(c);
+        }
+      }
+      i++;
+    }
+    if (braceDepth != 0) {
+      throw new IllegalArgumentException("対応する } がありません: " + glob);
+    }
+    return regex.toString();
+  }
+}
@@ -1,26 +1,57 @@
 package com.groovylsp.domain.model;
 
+import java.util.Locale;
 import java.util.Set;
 
 /**
  * Groovy LSPの設定を表すドメインモデル。
  *
  * @param enabledFileExtensions 診断を有効にするファイル拡張子のセット
- * @param excludePatterns 診断から除外するファイルパターンのセット
+ * @param excludePatterns 診断と索引から除外するファイルのグロブパターンのセット
+ * @param maxFileSize 構文解析を行うファイルの最大の文字数
+ * @param maxLineLength 構文解析を行うファイルの最大の行の長さ
  */
-public record GroovyLspConfig(Set<String> enabledFileExtensions, Set<String> excludePatterns) {
+public record GroovyLspConfig(
+    Set<String> enabledFileExtensions,
+    Set<String> excludePatterns,
+    long maxFileSize,
+    int maxLineLength) {
+
+  /** 構文解析を行うファイルの最大の文字数の既定値 */
+  public static final long DEFAULT_MAX_FILE_SIZE = 1_000_000;
+
+  /** 構文解析を行うファイルの最大の行の長さの既定値 */
+  public static final int DEFAULT_MAX_LINE_LENGTH = 10_000;
 
   /** デフォルトの設定。 */
   public static final GroovyLspConfig DEFAULT =
       new GroovyLspConfig(Set.of(".groovy", ".gradle", ".gradle.kts"), Set.of());
 
+  public GroovyLspConfig {
+    enabledFileExtensions = Set.copyOf(enabledFileExtensions);
+    excludePatterns = Set.copyOf(excludePatterns);
+    if (maxFileSize <= 0) {
+      throw new IllegalArgumentException("maxFileSize must be positive: " + maxFileSize);
+    }
+    if (maxLineLength <= 0) {
+      throw new IllegalArgumentException("maxLineLength must be positive: " + maxLineLength);
+    }
+  }
+
+  public GroovyLspConfig(Set<String> enabledFileExtensions, Set<String> excludePatterns) {
+    this(enabledFileExtensions, excludePatterns, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_LINE_LENGTH);
+  }
+
   /**
-   * 指定されたファイルパスが除外パターンに一致するかを判定する。
+   * 指定されたファイル名の拡張子が有効かを判定する。
    *
-   * @param filePath ファイルパス
-   * @return 除外パターンに一致する場合はtrue
+   * @param fileName ファイル名
+   * @return 有効な拡張子で終わる場合はtrue（拡張子だけのファイル名は除く）
    */
-  public boolean isExcluded(String filePath) {
-    return excludePatterns.stream().anyMatch(filePath::contains);
+  public boolean hasEnabledExtension(String fileName) {
+    String lowerCase = fileName.toLowerCase(Locale.ROOT);
+    return enabledFileExtensions.stream()
+        .map(extension -> extension.toLowerCase(Locale.ROOT))
+        .anyMatch(extension -> lowerCase.endsWith(extension) && !lowerCase.equals(extension));
   }
 }
@@ -7,6 +7,8 @@ import org.jspecify.annotations.Nullable;
  *
  * <p>通常のimportとimport aliasの両方に対応します。 例： - import java.time.LocalDate - import java.time.LocalDate
  * as LD
+ *
+ * <p>スターインポート（import java.time.*）はクラス名を「パッケージ名.*」として表します。
  */
 public record ImportInfo(String className, @Nullable String alias) {
 
@@ -33,4 +35,24 @@ public record ImportInfo(String className, @Nullable String alias) {
     // 今のところ静的importは未対応
     return false;
   }
+
+  /**
+   * スターインポートかどうかを判定
+   *
+   * @return スターインポートの場合true
+   */
+  public boolean isStar() {
+    return className.endsWith(".*");
+  }
+
+  /**
+   * インポートするクラスのパッケージ名（スターインポートの場合はその対象）
+   *
+   * @return パッケージ名（デフォルトパッケージの場合は空文字列）
+   */
+  public String packageName() {
+    String name = isStar() ? className.substring(0, className.length() - 1) : className;
+    int lastDot = name.lastIndexOf('.');
+    return lastDot >= 0 ? name.substring(0, lastDot) : "";
+  }
 }
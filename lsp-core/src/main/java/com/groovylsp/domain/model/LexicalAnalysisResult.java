@@ -0,0 +1,22 @@
+package com.groovylsp.domain.model;
+
+import java.util.List;
+
+/**
+ * 字句解析の結果を表すドメインモデル。
+ *
+ * @param lineCount 行カウント結果
+ * @param bracketDiagnostics 括弧の対応エラーの診断リスト
+ * @param foldingRegions 折りたたみ可能な領域のリスト
+ */
+public record LexicalAnalysisResult(
+    LineCountResult lineCount,
+    List<DiagnosticItem> bracketDiagnostics,
+    List<FoldingRegion> foldingRegions) {
+
+  public LexicalAnalysisResult {
+    // イミュータブルにする
+    bracketDiagnostics = List.copyOf(bracketDiagnostics);
+    foldingRegions = List.copyOf(foldingRegions);
+  }
+}
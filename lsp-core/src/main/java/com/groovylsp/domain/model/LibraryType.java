@@ -0,0 +1,141 @@
+package com.groovylsp.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * クラスパス（JDKや依存ライブラリ）上の型の情報
+ *
+ * <p>クラスファイルを直接読み取って作成され、クラスのロードは伴いません。 メンバーはpublicとprotectedのもののみを保持します。
+ *
+ * @param qualifiedName 完全修飾名（ネストしたクラスは {@code $} 区切りのバイナリ名）
+ * @param modifiers クラスファイルのアクセスフラグ
+ * @param superClass スーパークラスの完全修飾名（java.lang.Objectやインターフェースの場合はnull）
+ * @param members メンバーの一覧
+ */
+public record LibraryType(
+    String qualifiedName, int modifiers, @Nullable String superClass, List<Member> members) {
+
+  /** インターフェースを表すアクセスフラグ */
+  public static final int ACC_INTERFACE = 0x0200;
+
+  /** 列挙型を表すアクセスフラグ */
+  public static final int ACC_ENUM = 0x4000;
+
+  /** アノテーションを表すアクセスフラグ */
+  public static final int ACC_ANNOTATION = 0x2000;
+
+  public LibraryType {
+    members = List.copyOf(members);
+  }
+
+  /** 単純名（ネストしたクラスの場合は最も内側の名前） */
+  public String simpleName() {
+    return qualifiedName.substring(simpleNameStart(qualifiedName));
+  }
+
+  /** パッケージ名（デフォルトパッケージの場合は空文字列） */
+  public String packageName() {
+    int lastDot = qualifiedName.lastIndexOf('.');
+    return lastDot < 0 ? "" : qualifiedName.substring(0, lastDot);
+  }
+
+  public boolean isInterface() {
+    return (modifiers & ACC_INTERFACE) != 0 && (modifiers & ACC_ANNOTATION) == 0;
+  }
+
+  public boolean isEnum() {
+    return (modifiers & ACC_ENUM) != 0;
+  }
+
+  /** 指定された種類のメンバー */
+  public List<Member> members(Member.Kind kind) {
+    return members.stream().filter(member -> member.kind() == kind).toList();
+  }
+
+  /**
+   * 完全修飾名のうち単純名が始まる位置
+   *
+   * @param qualifiedName 完全修飾名
+   * @return 最後の {@code .} または {@code $} の次の位置
+   */
+  public static int simpleNameStart(String qualifiedName) {
+    return Math.max(qualifiedName.lastIndexOf('.'), qualifiedName.lastIndexOf('$')) + 1;
+  }
+
+  /**
+   * 型のメンバー（フィールド・メソッド・コンストラクタ）
+   *
+   * @param kind 種類
+   * @param name 名前（コンストラクタは {@code <init>}）
+   * @param descriptor JVMの型記述子
+   * @param modifiers アクセスフラグ
+   */
+  public record Member(Kind kind, String name, String descriptor, int modifiers) {
+
+    /** メンバーの種類 */
+    public enum Kind {
+      FIELD,
+      METHOD
+    }
+
+    public boolean isConstructor() {
+      return "<init>".equals(name);
+    }
+
+    /**
+     * 型記述子を読みやすい形式に変換したシグネチャ
+     *
+     * <p>例: {@code String substring(int, int)}、フィールドの場合は {@code int MAX_VALUE}
+     *
+     * @return シグネチャ
+     */
+    public String signature() {
+      if (kind == Kind.FIELD) {
+        return typeName(descriptor, new int[] {0}) + " " + name;
+      }
+
+      var parameters = new ArrayList<String>();
+      int[] index = {1};
+      while (descriptor.charAt(index[0]) != ')') {
+        parameters.add(typeName(descriptor, index));
+      }
+      index[0]++;
+      String returnType = typeName(descriptor, index);
+      String parameterList = "(" + String.join(", ", parameters) + ")";
+      return isConstructor() ? parameterList : returnType + " " + name + parameterList;
+    }
+
+    /** 記述子のindex[0]の位置から1つの型を読み取り、単純名で返す（indexは読み取った後の位置に進む） */
+    private static String typeName(String descriptor, int[] index) {
+      int dimensions = 0;
+      while (descriptor.charAt(index[0]) == '[') {
+        dimensions++;
+        index[0]++;
+      }
+
+      char c = descriptor.charAt(index[0]++);
+      String base =
+          switch (c) {
+            case 'B' -> "byte";
+            case 'C' -> "char";
+            case 'D' -> "double";
+            case 'F' -> "float";
+            case 'I' -> "int";
+            case 'J' -> "long";
+            case 'S' -> "short";
+            case 'Z' -> "boolean";
+            case 'V' -> "void";
+            case 'L' -> {
+              int end = descriptor.indexOf(';', index[0]);
+              String internalName = descriptor.substring(index[0], end);
+              index[0] = end + 1;
+              yield internalName.substring(simpleNameStart(internalName.replace('/', '.')));
+            }
+            default -> throw new IllegalArgumentException("不正な型記述子です: " + descriptor);
+          };
+      return base + "[]".repeat(dimensions);
+    }
+  }
+}
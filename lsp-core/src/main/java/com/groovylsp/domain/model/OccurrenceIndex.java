@@ -0,0 +1,279 @@
+package com.groovylsp.domain.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * ワークスペース全体のシンボルから出現位置への転置索引
+ *
+ * <p>ファイルごとの{@link OccurrenceTable}を取り込み、シンボルのキーからファイルごとの出現オフセットの一覧（ポスティングリスト）を引けるようにします。
+ * 参照検索やハイライトは索引の参照だけで済み、他のファイルを再解析する必要はありません。
+ *
+ * <p>ポスティングリストは昇順のオフセットの差分を可変長整数で符号化したバイト列として保持します。 更新はファイル単位で行い、そのファイルの古いポスティングだけを置き換えます。
+ *
+ * <p>更新は索引スレッドから、参照は任意のスレッドから行われることを想定しています。 ファイルごとの情報は不変のエントリとして丸ごと置き換えるため、参照はロックなしで行えます。
+ */
+public final class OccurrenceIndex {
+
+  private final AtomicInteger nextFileId = new AtomicInteger();
+
+  /** URIからファイルIDへのマッピング（一度採番したIDは変わらない） */
+  private final ConcurrentMap<String, Integer> fileIds = new ConcurrentHashMap<>();
+
+  /** ファイルIDごとの取り込み済みの情報（不変のエントリを丸ごと置き換える） */
+  private final ConcurrentMap<Integer, FileEntry> files = new ConcurrentHashMap<>();
+
+  /** シンボルのキーから、そのシンボルが出現するファイルIDへのマッピング */
+  private final ConcurrentMap<String, Set<Integer>> filesByKey = new ConcurrentHashMap<>();
+
+  /**
+   * シンボル定義から索引のキーを作成
+   *
+   * <p>クラス・メソッド・フィールドなどファイルをまたいで参照されるシンボルは完全修飾名を、 ローカル変数・パラメータ・インポートはファイルと定義位置をキーにします。
+   *
+   * @param definition シンボル定義
+   * @return 索引のキー
+   */
+  public static String keyOf(SymbolDefinition definition) {
+    return switch (definition.definitionType()) {
+      case LOCAL_VARIABLE, PARAMETER, IMPORT -> definition.uri()
+          + "#"
+          + definition.selectionRange().getStart().getLine()
+          + ":"
+          + definition.selectionRange().getStart().getCharacter();
+      case CLASS, METHOD, FIELD, ENUM_CONSTANT -> definition.qualifiedName();
+    };
+  }
+
+  /**
+   * ファイルの出現テーブルを取り込み、そのファイルのポスティングを置き換える
+   *
+   * <p>ファイルのポスティングと行の開始位置は1つの不変のエントリとして作成し、まとめて置き換えます。
+   * そのため、参照するスレッドが古いポスティングと新しい行の開始位置を組み合わせて見ることはありません。
+   *
+   * <p>既に新しいバージョンが取り込まれている場合は何もしません。
+   *
+   * @param uri ファイルURI
+   * @param table 出現テーブル
+   */
+  public synchronized void update(String uri, OccurrenceTable table) {
+    int fileId = fileIds.computeIfAbsent(uri, unused -> nextFileId.getAndIncrement());
+    var previous = files.get(fileId);
+    if (previous != null && previous.version() > table.version()) {
+      return;
+    }
+
+    var offsetsByKey = new HashMap<String, IntList>();
+    table.forEach(
+        (offset, definitions) -> {
+          for (var definition : definitions) {
+            offsetsByKey.computeIfAbsent(keyOf(definition), unused -> new IntList()).add(offset);
+          }
+        });
+
+    var postings = new HashMap<String, byte[]>(offsetsByKey.size() * 2);
+    for (var entry : offsetsByKey.entrySet()) {
+      byte[] encoded = encode(entry.getValue().toSortedDistinctArray());
+      // 本体だけの編集では多くのシンボルの出現位置が変わらないため、同じ内容は前回の配列を使い回す
+      byte[] unchanged = previous != null ? previous.postings().get(entry.getKey()) : null;
+      postings.put(
+          entry.getKey(),
+          unchanged != null && Arrays.equals(unchanged, encoded) ? unchanged : encoded);
+    }
+    files.put(
+        fileId, new FileEntry(uri, table.version(), table.lineStarts(), Map.copyOf(postings)));
+
+    // エントリを公開してからキーの逆引きを更新する（逆引きだけにあるファイルは参照時に読み飛ばす）
+    for (var key : postings.keySet()) {
+      filesByKey.computeIfAbsent(key, unused -> ConcurrentHashMap.newKeySet()).add(fileId);
+    }
+    if (previous != null) {
+      for (var key : previous.postings().keySet()) {
+        if (!postings.containsKey(key)) {
+          removeFile(key, fileId);
+        }
+      }
+    }
+  }
+
+  /**
+   * ファイルのポスティングをすべて削除
+   *
+   * @param uri ファイルURI
+   */
+  public synchronized void remove(String uri) {
+    var fileId = fileIds.get(uri);
+    if (fileId == null) {
+      return;
+    }
+    var previous = files.remove(fileId);
+    if (previous != null) {
+      for (var key : previous.postings().keySet()) {
+        removeFile(key, fileId);
+      }
+    }
+  }
+
+  /**
+   * シンボルのワークスペース全体での出現位置を検索
+   *
+   * @param definition シンボル定義
+   * @return 出現位置のリスト（ファイル内はオフセット順）
+   */
+  public List<Location> findLocations(SymbolDefinition definition) {
+    String key = keyOf(definition);
+    var fileIdsOfKey = filesByKey.get(key);
+    if (fileIdsOfKey == null) {
+      return List.of();
+    }
+
+    int length = definition.name().length();
+    var result = new ArrayList<Location>();
+    for (int fileId : fileIdsOfKey) {
+      var file = files.get(fileId);
+      var encoded = file != null ? file.postings().get(key) : null;
+      if (encoded != null) {
+        for (int offset : decode(encoded)) {
+          result.add(new Location(file.uri(), file.toRange(offset, length)));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * シンボルの指定ファイル内での出現範囲を検索
+   *
+   * @param definition シンボル定義
+   * @param uri ファイルURI
+   * @return 出現範囲のリスト（オフセット順）
+   */
+  public List<Range> findRanges(SymbolDefinition definition, String uri) {
+    var fileId = fileIds.get(uri);
+    var file = fileId != null ? files.get(fileId) : null;
+    var encoded = file != null ? file.postings().get(keyOf(definition)) : null;
+    if (encoded == null) {
+      return List.of();
+    }
+
+    int length = definition.name().length();
+    var result = new ArrayList<Range>();
+    for (int offset : decode(encoded)) {
+      result.add(file.toRange(offset, length));
+    }
+    return result;
+  }
+
+  /** 索引に含まれるシンボルのキーの数 */
+  public int symbolCount() {
+    return filesByKey.size();
+  }
+
+  private void removeFile(String key, int fileId) {
+    filesByKey.computeIfPresent(
+        key,
+        (unused, fileIdsOfKey) -> {
+          fileIdsOfKey.remove(fileId);
+          return fileIdsOfKey.isEmpty() ? null : fileIdsOfKey;
+        });
+  }
+
+  /** 昇順のオフセットを差分の可変長整数（7ビットずつ、最上位ビットが継続フラグ）に符号化 */
+  static byte[] encode(int[] sortedOffsets) {
+    var out = new ByteArrayOutputStream(sortedOffsets.length * 2);
+    int previous = 0;
+    for (int offset : sortedOffsets) {
+      int delta = offset - previous;
+      previous = offset;
+      while ((delta & ~0x7F) != 0) {
+        out.write((delta & 0x7F) | 0x80);
+        delta >>>= 7;
+      }
+      out.write(delta);
+    }
+    return out.toByteArray();
+  }
+
+  /** {@link #encode}で符号化したバイト列を昇順のオフセットに復元 */
+  static int[] decode(byte[] encoded) {
+    var result = new IntList();
+    int previous = 0;
+    int index = 0;
+    while (index < encoded.length) {
+      int delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = encoded[index++];
+        delta |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      previous += delta;
+      result.add(previous);
+    }
+    return result.toArray();
+  }
+
+  /**
+   * 取り込み済みのファイルの情報
+   *
+   * <p>作成後は変更しません。
+   *
+   * @param postings シンボルのキーごとの符号化済みポスティングリスト
+   */
+  private record FileEntry(
+      String uri, int version, int[] lineStarts, Map<String, byte[]> postings) {
+
+    /** オフセットを行・列の範囲に変換 */
+    Range toRange(int offset, int length) {
+      int line = Arrays.binarySearch(lineStarts, offset);
+      if (line < 0) {
+        line = -line - 2;
+      }
+      int character = offset - lineStarts[line];
+      return new Range(new Position(line, character), new Position(line, character + length));
+    }
+  }
+
+  /** int型の可変長配列 */
+  private static final class IntList {
+
+    private int[] values = new int[8];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+
+    /** 昇順に並べ、重複を取り除いた配列（オーバーロードで同じ出現が重なる場合がある） */
+    int[] toSortedDistinctArray() {
+      int[] sorted = toArray();
+      Arrays.sort(sorted);
+      int distinct = 0;
+      for (int i = 0; i < sorted.length; i++) {
+        if (i == 0 || sorted[i] != sorted[i - 1]) {
+          sorted[distinct++] = sorted[i];
+        }
+      }
+      return Arrays.copyOf(sorted, distinct);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.groovylsp.domain.model;
+
+import io.vavr.collection.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.eclipse.lsp4j.Position;
+
+/**
+ * ドキュメント内の識別子の出現位置と解決済みの定義を対応付けるテーブル
+ *
+ * <p>ドキュメントのバージョンごとに1つ作成され、識別子の開始オフセットをキーに定義を保持します。
+ * 位置からの検索は行頭オフセットの配列と識別子の先頭までの後退だけで済むため、再解析を伴いません。
+ */
+public final class OccurrenceTable {
+
+  private final int version;
+  private final String content;
+  private final int[] lineStarts;
+  private final Map<Integer, List<SymbolDefinition>> definitionsByOffset;
+
+  private OccurrenceTable(
+      int version, String content, Map<Integer, List<SymbolDefinition>> definitionsByOffset) {
+    this.version = version;
+    this.content = content;
+    this.lineStarts = computeLineStarts(content);
+    this.definitionsByOffset = definitionsByOffset;
+  }
+
+  /**
+   * テーブルのビルダーを作成
+   *
+   * @param version ドキュメントのバージョン
+   * @param content ドキュメントの内容
+   * @return ビルダー
+   */
+  public static Builder builder(int version, String content) {
+    return new Builder(version, content);
+  }
+
+  public int version() {
+    return version;
+  }
+
+  /** 定義が解決できた出現の数 */
+  public int size() {
+    return definitionsByOffset.size();
+  }
+
+  /**
+   * このテーブルが指定された内容から作成されたかどうか
+   *
+   * @param otherContent 比較する内容
+   * @return 同じ内容の場合true
+   */
+  public boolean isFor(String otherContent) {
+    return content.equals(otherContent);
+  }
+
+  /**
+   * 指定位置の識別子に対応する定義を検索
+   *
+   * <p>カーソルが識別子の途中や直後にある場合も、その識別子の定義を返します。
+   *
+   * @param position 位置（0ベース）
+   * @return 定義のリスト。識別子でない場合や解決できなかった場合は空
+   */
+  public List<SymbolDefinition> findAt(Position position) {
+    int line = position.getLine();
+    if (line < 0 || line >= lineStarts.length) {
+      return List.empty();
+    }
+
+    int lineStart = lineStarts[line];
+    int lineEnd = line + 1 < lineStarts.length ? lineStarts[line + 1] : content.length();
+    int start = Math.min(lineStart + Math.max(0, position.getCharacter()), lineEnd);
+    while (start > lineStart && isIdentifierChar(content.charAt(start - 1))) {
+      start--;
+    }
+
+    var definitions = definitionsByOffset.get(start);
+    return definitions != null ? definitions : List.empty();
+  }
+
+  /**
+   * すべての出現を走査
+   *
+   * @param action 識別子の開始オフセットと解決済みの定義を受け取る処理
+   */
+  public void forEach(BiConsumer<Integer, List<SymbolDefinition>> action) {
+    definitionsByOffset.forEach(action);
+  }
+
+  /** 各行の開始オフセット（0ベースの行番号順） */
+  public int[] lineStarts() {
+    return lineStarts.clone();
+  }
+
+  private static int[] computeLineStarts(String content) {
+    int lines = 1;
+    for (int i = 0; i < content.length(); i++) {
+      if (content.charAt(i) == '\n') {
+        lines++;
+      }
+    }
+
+    int[] starts = new int[lines];
+    int line = 1;
+    for (int i = 0; i < content.length(); i++) {
+      if (content.charAt(i) == '\n') {
+        starts[line++] = i + 1;
+      }
+    }
+    return starts;
+  }
+
+  private static boolean isIdentifierChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  }
+
+  /** OccurrenceTableのビルダー */
+  public static final class Builder {
+
+    private final int version;
+    private final String content;
+    private final Map<Integer, List<SymbolDefinition>> definitionsByOffset = new HashMap<>();
+
+    private Builder(int version, String content) {
+      this.version = version;
+      this.content = content;
+    }
+
+    /**
+     * 識別子の出現を追加
+     *
+     * @param startOffset 識別子の開始オフセット
+     * @param definitions 解決済みの定義（空の場合は追加しない）
+     * @return このビルダー
+     */
+    public Builder add(int startOffset, List<SymbolDefinition> definitions) {
+      if (!definitions.isEmpty()) {
+        definitionsByOffset.put(startOffset, definitions);
+      }
+      return this;
+    }
+
+    public OccurrenceTable build() {
+      return new OccurrenceTable(version, content, Map.copyOf(definitionsByOffset));
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.groovylsp.domain.model;
+
+import java.util.Arrays;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * エンコード済みセマンティックトークンに対する編集を表すドメインモデル
+ *
+ * <p>前回の結果の {@code start} 番目から {@code deleteCount} 個の整数を削除し、{@code data} を挿入します。
+ */
+public final class SemanticTokensEdit {
+
+  private final int start;
+  private final int deleteCount;
+  private final int[] data;
+
+  public SemanticTokensEdit(int start, int deleteCount, int[] data) {
+    this.start = start;
+    this.deleteCount = deleteCount;
+    this.data = data;
+  }
+
+  public int start() {
+    return start;
+  }
+
+  public int deleteCount() {
+    return deleteCount;
+  }
+
+  /** 挿入する整数列（呼び出し側で変更しないこと） */
+  public int[] data() {
+    return data;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    return obj instanceof SemanticTokensEdit other
+        && start == other.start
+        && deleteCount == other.deleteCount
+        && Arrays.equals(data, other.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * start + deleteCount) + Arrays.hashCode(data);
+  }
+
+  @Override
+  public String toString() {
+    return "SemanticTokensEdit[start=%d, deleteCount=%d, data=%d ints]"
+        .formatted(start, deleteCount, data.length);
+  }
+}
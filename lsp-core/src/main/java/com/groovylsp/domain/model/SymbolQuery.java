@@ -0,0 +1,114 @@
+package com.groovylsp.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * シンボル名の検索条件
+ *
+ * <p>ワークスペースシンボルの検索文字列をシンボル名と照合し、よく一致するものほど小さい順位を返します。
+ *
+ * <ol start="0">
+ *   <li>接頭辞が大文字と小文字まで一致する
+ *   <li>接頭辞が一致する（大文字と小文字は区別しない）
+ *   <li>キャメルケースの単語の先頭に一致する（{@code PSe} や {@code ps} は {@code PersonService} に一致）
+ * </ol>
+ *
+ * <p>検索文字列の2文字目以降に大文字がある場合は大文字の前で区切った部分を、ない場合は1文字ずつを単語の先頭と照合します。 空の検索文字列はすべてのシンボルに一致します。
+ */
+public final class SymbolQuery {
+
+  /** 一致しない場合の順位 */
+  public static final int NO_MATCH = -1;
+
+  /** 接頭辞が大文字と小文字まで一致する場合の順位（最もよく一致する） */
+  public static final int CASE_SENSITIVE_PREFIX = 0;
+
+  private final String query;
+  private final List<String> humps;
+
+  private SymbolQuery(String query) {
+    this.query = query;
+    this.humps = splitHumps(query);
+  }
+
+  /**
+   * 検索文字列から検索条件を作成
+   *
+   * @param query 検索文字列（前後の空白は無視する）
+   * @return 検索条件
+   */
+  public static SymbolQuery of(String query) {
+    return new SymbolQuery(query.strip());
+  }
+
+  /**
+   * シンボル名との一致の順位
+   *
+   * @param name シンボル名
+   * @return 順位（小さいほどよく一致する）。一致しない場合は {@link #NO_MATCH}
+   */
+  public int rank(String name) {
+    if (query.isEmpty()) {
+      return 1;
+    }
+    if (name.startsWith(query)) {
+      return CASE_SENSITIVE_PREFIX;
+    }
+    if (name.regionMatches(true, 0, query, 0, query.length())) {
+      return 1;
+    }
+    return matchesHumps(name) ? 2 : NO_MATCH;
+  }
+
+  /**
+   * シンボル名に一致するかどうか
+   *
+   * @param name シンボル名
+   * @return 一致する場合true
+   */
+  public boolean matches(String name) {
+    return rank(name) != NO_MATCH;
+  }
+
+  private boolean matchesHumps(String name) {
+    // 最初の部分は名前の先頭に、以降は単語の先頭のうち最も手前に一致させる
+    String first = humps.get(0);
+    if (!name.regionMatches(true, 0, first, 0, first.length())) {
+      return false;
+    }
+    int position = first.length();
+    for (int i = 1; i < humps.size(); i++) {
+      String hump = humps.get(i);
+      int start = position;
+      while (start < name.length()
+          && !(isHumpStart(name, start)
+              && name.regionMatches(true, start, hump, 0, hump.length()))) {
+        start++;
+      }
+      if (start >= name.length()) {
+        return false;
+      }
+      position = start + hump.length();
+    }
+    return true;
+  }
+
+  private static boolean isHumpStart(String name, int index) {
+    char previous = name.charAt(index - 1);
+    return Character.isUpperCase(name.charAt(index)) || previous == '_' || previous == '$';
+  }
+
+  private static List<String> splitHumps(String query) {
+    var result = new ArrayList<String>();
+    boolean hasUpperCase = query.chars().skip(1).anyMatch(Character::isUpperCase);
+    int start = 0;
+    for (int i = 1; i <= query.length(); i++) {
+      if (i == query.length() || !hasUpperCase || Character.isUpperCase(query.charAt(i))) {
+        result.add(query.substring(start, i));
+        start = i;
+      }
+    }
+    return result;
+  }
+}
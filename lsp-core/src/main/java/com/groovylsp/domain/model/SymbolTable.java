@@ -6,8 +6,12 @@ import io.vavr.collection.List;
 import io.vavr.collection.Map;
 import io.vavr.collection.Multimap;
 import io.vavr.collection.Set;
+import io.vavr.collection.Traversable;
 import io.vavr.control.Option;
+import java.util.ArrayList;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * シンボルと定義位置のマッピングを管理するシンボルテーブル
@@ -28,11 +32,15 @@ public class SymbolTable {
   /** 頻繁にアクセスされるシンボル名のキャッシュ */
   private final ConcurrentHashMap<String, List<SymbolDefinition>> nameCache;
 
+  /** 小文字にしたクラス名によるクラス定義の名前順の索引（接頭辞検索用） */
+  private final ConcurrentSkipListMap<String, List<SymbolDefinition>> classesByLowerName;
+
   public SymbolTable() {
     this.symbolsByFile = HashMultimap.withSeq().empty();
     this.symbolsByName = HashMultimap.withSeq().empty();
     this.symbolsByQualifiedName = HashMap.empty();
     this.nameCache = new ConcurrentHashMap<>();
+    this.classesByLowerName = new ConcurrentSkipListMap<>();
   }
 
   /**
@@ -52,6 +60,12 @@ public class SymbolTable {
 
     // 完全修飾名によるマッピングに追加
     symbolsByQualifiedName = symbolsByQualifiedName.put(definition.qualifiedName(), definition);
+
+    // クラス名の索引に追加
+    if (definition.definitionType() == SymbolDefinition.DefinitionType.CLASS) {
+      classesByLowerName.merge(
+          lowerName(definition), List.of(definition), (current, added) -> current.appendAll(added));
+    }
   }
 
   /**
@@ -85,6 +99,16 @@ public class SymbolTable {
 
                 // 完全修飾名によるマッピングから削除
                 symbolsByQualifiedName = symbolsByQualifiedName.remove(symbol.qualifiedName());
+
+                // クラス名の索引から削除
+                if (symbol.definitionType() == SymbolDefinition.DefinitionType.CLASS) {
+                  classesByLowerName.computeIfPresent(
+                      lowerName(symbol),
+                      (unused, current) -> {
+                        var remaining = current.remove(symbol);
+                        return remaining.isEmpty() ? null : remaining;
+                      });
+                }
               });
         });
 
@@ -127,6 +151,32 @@ public class SymbolTable {
     return symbolsByQualifiedName.get(qualifiedName);
   }
 
+  /**
+   * 名前の接頭辞でクラスを検索
+   *
+   * <p>大文字と小文字を区別しません。 名前順の索引を引くため、走査するのは接頭辞に一致するクラスだけです。
+   *
+   * @param prefix 名前の接頭辞
+   * @param limit 最大件数
+   * @return クラス定義のリスト（小文字にした名前の順）
+   */
+  public List<SymbolDefinition> findClassesByPrefix(String prefix, int limit) {
+    String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+    var result = new ArrayList<SymbolDefinition>();
+    for (var entry : classesByLowerName.tailMap(lowerPrefix).entrySet()) {
+      if (!entry.getKey().startsWith(lowerPrefix)) {
+        break;
+      }
+      for (var definition : entry.getValue()) {
+        if (result.size() >= limit) {
+          return List.ofAll(result);
+        }
+        result.add(definition);
+      }
+    }
+    return List.ofAll(result);
+  }
+
   /**
    * ファイル内のシンボルを取得
    *
@@ -161,6 +211,17 @@ public class SymbolTable {
         .toList();
   }
 
+  /**
+   * すべてのシンボル定義を取得
+   *
+   * <p>呼び出した時点のスナップショットを返すため、その後の更新の影響を受けません。
+   *
+   * @return シンボル定義
+   */
+  public Traversable<SymbolDefinition> getAllSymbols() {
+    return symbolsByFile.values();
+  }
+
   /**
    * すべてのファイルURIを取得
    *
@@ -185,5 +246,10 @@ public class SymbolTable {
     symbolsByName = HashMultimap.withSeq().empty();
     symbolsByQualifiedName = HashMap.empty();
     nameCache.clear();
+    classesByLowerName.clear();
+  }
+
+  private static String lowerName(SymbolDefinition definition) {
+    return definition.name().toLowerCase(Locale.ROOT);
   }
 }
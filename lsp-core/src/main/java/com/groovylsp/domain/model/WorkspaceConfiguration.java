@@ -0,0 +1,174 @@
+package com.groovylsp.domain.model;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * ワークスペースで有効な設定
+ *
+ * <p>設定と、除外パターンをコンパイルした {@link GlobMatcher} を組にして保持します。設定ファイルの読み込みや
+ * workspace/didChangeConfiguration で設定が変わると、組ごと差し替えてリスナーに通知します。
+ *
+ * <p>すべての判定は構文解析の前に行う軽いもので、次の2段階です。
+ *
+ * <ul>
+ *   <li>{@link #isTarget(URI)}: 拡張子が有効で除外パターンに一致しないファイルだけを診断と索引の対象にする。 除外パターンはワークスペースのルート（{@link
+ *       #setWorkspaceRoot(Path)}）からの相対パスと照合する
+ *   <li>{@link #isLexicalOnly(CharSequence)}: 生成コードなどの巨大なファイルは字句解析だけを行い、構文解析を行う機能を無効にする
+ * </ul>
+ *
+ * <p>スレッドセーフ: 設定の組はvolatileで差し替えるため、判定は同期せずに行えます。
+ */
+public final class WorkspaceConfiguration {
+
+  private volatile Snapshot snapshot;
+
+  /** ワークスペースのルートのURIのパス（末尾は {@code /}）。不明な場合はnull */
+  private volatile @Nullable String rootPath;
+
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+  /** デフォルトの設定で作成 */
+  public WorkspaceConfiguration() {
+    this(GroovyLspConfig.DEFAULT);
+  }
+
+  /**
+   * @param config 初期の設定
+   */
+  public WorkspaceConfiguration(GroovyLspConfig config) {
+    this.snapshot = Snapshot.of(config);
+  }
+
+  /**
+   * 拡張子と除外パターンはデフォルトのまま、ファイルの大きさの上限を設けない設定で作成
+   *
+   * @return 設定
+   */
+  public static WorkspaceConfiguration unlimited() {
+    var defaults = GroovyLspConfig.DEFAULT;
+    return new WorkspaceConfiguration(
+        new GroovyLspConfig(
+            defaults.enabledFileExtensions(),
+            defaults.excludePatterns(),
+            Long.MAX_VALUE,
+            Integer.MAX_VALUE));
+  }
+
+  /** 現在の設定 */
+  public GroovyLspConfig current() {
+    return snapshot.config();
+  }
+
+  /**
+   * 設定を差し替える
+   *
+   * <p>設定が変わった場合だけリスナーに通知します。
+   *
+   * @param config 新しい設定
+   * @throws IllegalArgumentException 除外パターンが正しくない場合
+   */
+  public void update(GroovyLspConfig config) {
+    var next = Snapshot.of(config);
+    synchronized (this) {
+      if (snapshot.config().equals(config)) {
+        return;
+      }
+      snapshot = next;
+    }
+    listeners.forEach(Runnable::run);
+  }
+
+  /**
+   * 除外パターンの基準にするワークスペースのルートを設定する
+   *
+   * <p>ルートが変わった場合はリスナーに通知します。
+   *
+   * @param workspaceRoot ワークスペースのルートディレクトリ
+   */
+  public void setWorkspaceRoot(Path workspaceRoot) {
+    String path = workspaceRoot.toUri().getPath();
+    String next = path.endsWith("/") ? path : path + "/";
+    synchronized (this) {
+      if (Objects.equals(rootPath, next)) {
+        return;
+      }
+      rootPath = next;
+    }
+    listeners.forEach(Runnable::run);
+  }
+
+  /**
+   * 設定が変わった時に呼び出すリスナーを登録する
+   *
+   * @param listener リスナー
+   */
+  public void addListener(Runnable listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * ファイルが診断と索引の対象かどうかを判定する
+   *
+   * @param uri ファイルURI
+   * @return 拡張子が有効で除外パターンに一致しない場合true
+   */
+  public boolean isTarget(URI uri) {
+    var path = uri.getPath();
+    if (path == null || path.isEmpty()) {
+      return false;
+    }
+    var fileName = path.substring(path.lastIndexOf('/') + 1);
+    var current = snapshot;
+    return current.config().hasEnabledExtension(fileName)
+        && !current.excludes().matches(relativize(path));
+  }
+
+  /** ルートからの相対パス。ルートの外のファイルは絶対パスのまま */
+  private String relativize(String path) {
+    var root = rootPath;
+    // Windowsのドライブ名はクライアントによって大文字と小文字が異なるため区別しない
+    if (root != null && path.regionMatches(true, 0, root, 0, root.length())) {
+      return path.substring(root.length());
+    }
+    return path;
+  }
+
+  /**
+   * 内容が大きすぎるため字句解析だけを行うかどうかを判定する
+   *
+   * @param content ファイルの内容
+   * @return 文字数か行の長さのいずれかが上限を超える場合true
+   */
+  public boolean isLexicalOnly(CharSequence content) {
+    var config = snapshot.config();
+    if (content.length() > config.maxFileSize()) {
+      return true;
+    }
+    int maxLineLength = config.maxLineLength();
+    if (content.length() <= maxLineLength) {
+      return false;
+    }
+    int lineStart = 0;
+    for (int i = 0; i < content.length(); i++) {
+      char c = content.charAt(i);
+      if (c == '\n' || c == '\r') {
+        lineStart = i + 1;
+      } else if (i - lineStart >= maxLineLength) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private record Snapshot(GroovyLspConfig config, GlobMatcher excludes) {
+
+    static Snapshot of(GroovyLspConfig config) {
+      return new Snapshot(config, GlobMatcher.compile(config.excludePatterns()));
+    }
+  }
+}
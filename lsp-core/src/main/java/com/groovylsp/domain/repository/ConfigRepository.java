@@ -3,6 +3,7 @@ package com.groovylsp.domain.repository;
 import com.groovylsp.domain.model.GroovyLspConfig;
 import io.vavr.control.Either;
 import java.nio.file.Path;
+import org.jspecify.annotations.Nullable;
 
 /** 設定ファイルのリポジトリインターフェース。 */
 public interface ConfigRepository {
@@ -14,4 +15,13 @@ public interface ConfigRepository {
    * @return 成功時は設定、失敗時はエラーメッセージ
    */
   Either<String, GroovyLspConfig> loadConfig(Path workspaceRoot);
+
+  /**
+   * クライアントの設定を設定に重ねる。
+   *
+   * @param settings workspace/didChangeConfiguration の設定
+   * @param base 元の設定
+   * @return 成功時は重ねた設定、失敗時はエラーメッセージ
+   */
+  Either<String, GroovyLspConfig> applySettings(@Nullable Object settings, GroovyLspConfig base);
 }
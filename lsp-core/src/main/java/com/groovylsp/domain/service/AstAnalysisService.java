@@ -6,11 +6,18 @@ import com.groovylsp.domain.model.DiagnosticItem;
 import com.groovylsp.domain.model.FieldInfo;
 import com.groovylsp.domain.model.ImportInfo;
 import com.groovylsp.domain.model.MethodInfo;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.cache.CacheStats;
+import com.groovylsp.infrastructure.cache.TinyLfuCache;
+import com.groovylsp.infrastructure.jfr.AstAnalysisEvent;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
 import io.vavr.control.Either;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -24,16 +31,36 @@ import org.jspecify.annotations.Nullable;
 /**
  * AST解析サービス
  *
- * <p>GroovyAstParserの結果をドメインモデルに変換します。
+ * <p>GroovyAstParserの結果をドメインモデルに変換します。 パース結果はURIごとにキャッシュされ、同じ内容の再解析は行いません。
+ *
+ * <p>変換したAST情報もURIごとに保持します。ASTがメモリの上限により破棄された後も、内容が変わっていなければ
+ * 保持したAST情報を返すため、開いているだけのドキュメントはASTより小さいAST情報だけで扱えます。
+ *
+ * <p>{@link WorkspaceConfiguration#isLexicalOnly(CharSequence)} に当てはまる内容は、キャッシュを参照する前にエラーを返します。
+ * 設定の変更で上限を下げた場合も、それまでに保持したAST情報を返しません。
  */
 @Singleton
 public class AstAnalysisService {
 
-  private final GroovyAstParser parser;
+  /** AST情報を保持するドキュメント数の上限 */
+  static final int MAX_SUMMARIES = 1024;
+
+  private final ParseResultCache parseResultCache;
+  private final ServerMetrics metrics;
+  private final WorkspaceConfiguration workspaceConfiguration;
+  private final TinyLfuCache<String, Summary> summaries = new TinyLfuCache<>(MAX_SUMMARIES);
 
+  /**
+   * @param workspaceConfiguration 構文解析を省略する内容の判定に使う設定
+   */
   @Inject
-  public AstAnalysisService(GroovyAstParser parser) {
-    this.parser = parser;
+  public AstAnalysisService(
+      ParseResultCache parseResultCache,
+      ServerMetrics metrics,
+      WorkspaceConfiguration workspaceConfiguration) {
+    this.parseResultCache = parseResultCache;
+    this.metrics = metrics;
+    this.workspaceConfiguration = workspaceConfiguration;
   }
 
   /**
@@ -44,13 +71,102 @@ public class AstAnalysisService {
    * @return AST情報またはエラー
    */
   public Either<String, AstInfo> analyze(String uri, String sourceCode) {
-    // ファイル名をURIから抽出
-    String fileName = extractFileName(uri);
+    if (workspaceConfiguration.isLexicalOnly(sourceCode)) {
+      return lexicalOnly(uri, sourceCode);
+    }
+    var summary = summaries.getIfPresent(uri);
+    if (summary != null && summary.sourceCode().equals(sourceCode)) {
+      return Either.right(summary.astInfo());
+    }
+
+    Either<String, AstInfo> result =
+        convert(
+            uri, sourceCode, () -> parseResultCache.parse(uri, extractFileName(uri), sourceCode));
+    result.peek(astInfo -> summaries.put(uri, new Summary(sourceCode, astInfo)));
+    return result;
+  }
+
+  /**
+   * キャッシュを使わずにソースコードを解析してAST情報を取得
+   *
+   * <p>エディタで開いていないファイルの索引の構築に使います。ASTもAST情報も保持しないため、 開いているドキュメントのキャッシュを追い出しません。
+   *
+   * @param uri ドキュメントURI
+   * @param sourceCode ソースコード
+   * @return AST情報またはエラー
+   */
+  public Either<String, AstInfo> analyzeUncached(String uri, String sourceCode) {
+    if (workspaceConfiguration.isLexicalOnly(sourceCode)) {
+      return lexicalOnly(uri, sourceCode);
+    }
+    return convert(
+        uri, sourceCode, () -> parseResultCache.parseUncached(extractFileName(uri), sourceCode));
+  }
 
-    return parser
-        .parse(fileName, sourceCode)
-        .map(parseResult -> convertToAstInfo(uri, parseResult))
-        .mapLeft(error -> error.message());
+  /**
+   * 保持しているすべてのASTとAST情報を破棄
+   *
+   * <p>構文解析を省略する上限などの設定が変わった時に呼び出します。
+   */
+  public void invalidateAll() {
+    summaries.invalidateAll();
+    parseResultCache.invalidateAll();
+  }
+
+  /**
+   * メモリが逼迫した時に保持しているAST情報を破棄
+   *
+   * <p>AST情報はソースコードとともに保持しているため、ドキュメント数の上限まで溜まると無視できない大きさになります。
+   * ASTはParseResultCacheが別に減らすため、ここではAST情報だけを破棄します。
+   */
+  public void trimSummaries() {
+    summaries.invalidateAll();
+  }
+
+  /** 大きすぎるため構文解析を省略した結果 */
+  private Either<String, AstInfo> lexicalOnly(String uri, String sourceCode) {
+    metrics.increment("parse.skippedLexicalOnly");
+    return Either.left(
+        "ファイルが大きすぎるため構文解析を省略しました: " + extractFileName(uri) + " (" + sourceCode.length() + "文字)");
+  }
+
+  /** パースしてAST情報に変換する */
+  private Either<String, AstInfo> convert(
+      String uri,
+      String sourceCode,
+      Supplier<Either<GroovyAstParser.ParseError, GroovyAstParser.ParseResult>> parse) {
+    var event = new AstAnalysisEvent();
+    event.begin();
+    Either<String, AstInfo> result =
+        parse
+            .get()
+            .map(
+                parseResult ->
+                    metrics.time("phase.astConversion", () -> convertToAstInfo(uri, parseResult)))
+            .mapLeft(error -> error.message());
+    if (event.shouldCommit()) {
+      event.uri = uri;
+      event.sourceLength = sourceCode.length();
+      event.succeeded = result.isRight();
+      event.classCount = result.map(astInfo -> astInfo.classes().size()).getOrElse(0);
+      event.commit();
+    }
+    return result;
+  }
+
+  /**
+   * ドキュメントを閉じた時に保持しているASTとAST情報を破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  public void release(String uri) {
+    summaries.invalidate(uri);
+    parseResultCache.invalidate(uri);
+  }
+
+  /** AST情報のキャッシュの統計情報 */
+  public CacheStats summaryStats() {
+    return summaries.stats();
   }
 
   /** URIからファイル名を抽出 */
@@ -83,6 +199,12 @@ public class AstAnalysisService {
               .map(importNode -> new ImportInfo(importNode.getClassName(), importNode.getAlias()))
               .collect(Collectors.toList());
     }
+    // スターインポートは「パッケージ名.*」として追加
+    if (moduleNode != null) {
+      for (var starImport : moduleNode.getStarImports()) {
+        imports.add(new ImportInfo(starImport.getPackageName() + "*", null));
+      }
+    }
 
     // クラス情報を変換
     List<ClassInfo> classes = new ArrayList<>();
@@ -269,4 +391,7 @@ public class AstAnalysisService {
       case INFO -> DiagnosticItem.DiagnosticSeverity.INFORMATION;
     };
   }
+
+  /** 変換元のソースコードとAST情報 */
+  private record Summary(String sourceCode, AstInfo astInfo) {}
 }
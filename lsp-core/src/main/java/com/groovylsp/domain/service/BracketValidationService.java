@@ -7,6 +7,8 @@ import com.groovylsp.domain.model.DiagnosticItem.DiagnosticSeverity;
 import com.groovylsp.domain.model.DiagnosticItem.DocumentPosition;
 import io.vavr.collection.List;
 import io.vavr.control.Either;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -24,23 +26,57 @@ public class BracketValidationService {
    * @return 括弧の対応エラーのリスト（エラーがない場合は空のリスト）
    */
   public Either<List<DiagnosticItem>, List<DiagnosticItem>> validate(List<Token> tokens) {
-    var errors = List.<DiagnosticItem>empty();
-    var stack = List.<Token>empty();
+    var tracker = newTracker();
+    tokens.forEach(tracker::accept);
+    return Either.right(List.ofAll(tracker.finish()));
+  }
+
+  /**
+   * トークンを1つずつ受け取って括弧の対応をチェックするトラッカーを作成する
+   *
+   * <p>トークン列を実体化せずに字句解析と同時に検証したい場合に使用します。
+   *
+   * @return 新しいトラッカー
+   */
+  public Tracker newTracker() {
+    return new Tracker();
+  }
+
+  /**
+   * 対応の取れた括弧のペア
+   *
+   * @param opening 開き括弧のトークン
+   * @param closing 閉じ括弧のトークン
+   */
+  public record BracketPair(Token opening, Token closing) {}
+
+  /** 括弧の対応を逐次的にチェックするトラッカー */
+  public final class Tracker {
 
-    for (Token token : tokens) {
+    private final ArrayDeque<Token> stack = new ArrayDeque<>();
+    private final java.util.List<DiagnosticItem> errors = new ArrayList<>();
+    private final java.util.List<BracketPair> pairs = new ArrayList<>();
+
+    private Tracker() {}
+
+    /**
+     * トークンを1つ処理する
+     *
+     * @param token 処理対象のトークン
+     */
+    public void accept(Token token) {
       switch (token.type()) {
-        case LEFT_PAREN, LEFT_BRACE, LEFT_BRACKET -> stack = stack.prepend(token);
+        case LEFT_PAREN, LEFT_BRACE, LEFT_BRACKET -> stack.push(token);
         case RIGHT_PAREN, RIGHT_BRACE, RIGHT_BRACKET -> {
-          if (stack.isEmpty()) {
+          var openingToken = stack.poll();
+          if (openingToken == null) {
             // 対応する開き括弧がない
-            errors = errors.append(createMissingOpeningBracketError(token));
+            errors.add(createMissingOpeningBracketError(token));
+          } else if (!isMatchingPair(openingToken.type(), token.type())) {
+            // 括弧の種類が一致しない
+            errors.add(createMismatchedBracketError(openingToken, token));
           } else {
-            var openingToken = stack.head();
-            stack = stack.tail();
-            if (!isMatchingPair(openingToken.type(), token.type())) {
-              // 括弧の種類が一致しない
-              errors = errors.append(createMismatchedBracketError(openingToken, token));
-            }
+            pairs.add(new BracketPair(openingToken, token));
           }
         }
         default -> {
@@ -49,14 +85,27 @@ public class BracketValidationService {
       }
     }
 
-    // スタックに残っている開き括弧は閉じ括弧が不足している
-    while (!stack.isEmpty()) {
-      var unclosedToken = stack.head();
-      stack = stack.tail();
-      errors = errors.append(createMissingClosingBracketError(unclosedToken));
+    /**
+     * 検証を終了し、検出したエラーを返す
+     *
+     * @return 括弧の対応エラーのリスト（エラーがない場合は空のリスト）
+     */
+    public java.util.List<DiagnosticItem> finish() {
+      // スタックに残っている開き括弧は閉じ括弧が不足している
+      while (!stack.isEmpty()) {
+        errors.add(createMissingClosingBracketError(stack.pop()));
+      }
+      return errors;
     }
 
-    return Either.right(errors);
+    /**
+     * これまでに対応が確認できた括弧のペアを閉じ括弧の出現順で返す
+     *
+     * @return 括弧のペアのリスト
+     */
+    public java.util.List<BracketPair> pairs() {
+      return pairs;
+    }
   }
 
   private boolean isMatchingPair(TokenType opening, TokenType closing) {
@@ -1,14 +1,19 @@
 package com.groovylsp.domain.service;
 
+import com.groovylsp.domain.model.OccurrenceTable;
 import com.groovylsp.domain.model.SymbolDefinition;
+import com.groovylsp.domain.model.TextDocument;
 import io.vavr.collection.List;
 import io.vavr.control.Either;
+import io.vavr.control.Option;
 import org.eclipse.lsp4j.Position;
 
 /**
  * 定義検索サービスのインターフェース
  *
  * <p>シンボルの定義位置を検索する機能を提供します。 textDocument/definitionリクエストの処理で使用されます。
+ *
+ * <p>位置からの検索は、ドキュメントのバージョンごとに事前計算した出現テーブル（{@link OccurrenceTable}）の参照で行います。
  */
 public interface DefinitionFinderService {
 
@@ -39,4 +44,29 @@ public interface DefinitionFinderService {
    * @return 定義位置、またはエラー
    */
   Either<String, SymbolDefinition> findDefinitionByQualifiedName(String qualifiedName);
+
+  /**
+   * ドキュメント内の識別子を解決し、出現テーブルを作成して保持する
+   *
+   * <p>シンボルテーブルとスコープ情報が構築された後に呼び出します。
+   *
+   * @param document 対象ドキュメント
+   * @return 作成した出現テーブル、またはエラー
+   */
+  Either<String, OccurrenceTable> index(TextDocument document);
+
+  /**
+   * 保持している出現テーブルを取得
+   *
+   * @param uri ファイルURI
+   * @return 出現テーブル。未作成の場合は空
+   */
+  Option<OccurrenceTable> findOccurrenceTable(String uri);
+
+  /**
+   * ドキュメントに関する保持データを破棄
+   *
+   * @param uri ファイルURI
+   */
+  void invalidate(String uri);
 }
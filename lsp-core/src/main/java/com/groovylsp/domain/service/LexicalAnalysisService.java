@@ -0,0 +1,215 @@
+package com.groovylsp.domain.service;
+
+import com.groovylsp.domain.lexer.Token;
+import com.groovylsp.domain.lexer.TokenType;
+import com.groovylsp.domain.model.FoldingRegion;
+import com.groovylsp.domain.model.LexicalAnalysisResult;
+import com.groovylsp.domain.model.LineCountResult;
+import com.groovylsp.domain.service.BracketValidationService.BracketPair;
+import com.groovylsp.infrastructure.lexer.GroovyLexer;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import io.vavr.control.Either;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * 字句解析サービス
+ *
+ * <p>字句解析器のトークンストリームを1回だけ走査し、行カウント、括弧の対応チェック、折りたたみ領域の収集を同時に行います。 トークンリストは実体化しません。
+ *
+ * <p>行の分類はトークン単位で行うため、文字列リテラル内のコメント記号も正しく扱います。 コードのトークンを含む行をコード行、コメントだけを含む行をコメント行、それ以外を空行とします。
+ */
+@Singleton
+public class LexicalAnalysisService {
+
+  private final BracketValidationService bracketValidationService;
+  private final ServerMetrics metrics;
+
+  @Inject
+  public LexicalAnalysisService(
+      BracketValidationService bracketValidationService, ServerMetrics metrics) {
+    this.bracketValidationService = bracketValidationService;
+    this.metrics = metrics;
+  }
+
+  /**
+   * コンテンツを字句解析する
+   *
+   * @param content 解析対象のコンテンツ
+   * @return 字句解析結果またはエラー
+   */
+  public Either<String, LexicalAnalysisResult> analyze(String content) {
+    // 括弧の検証はトークンの走査と同じパスで行うため、字句解析の処理時間に含まれる
+    return metrics.time("phase.lexing", () -> analyzeTokens(content));
+  }
+
+  private Either<String, LexicalAnalysisResult> analyzeTokens(String content) {
+    var tracker = bracketValidationService.newTracker();
+    var lines = new LineClassifier(content);
+    var folding = new FoldingCollector();
+
+    return new GroovyLexer(content)
+        .forEachToken(
+            token -> {
+              tracker.accept(token);
+              lines.accept(token);
+              folding.accept(token);
+            })
+        .map(
+            count -> {
+              var diagnostics = tracker.finish();
+              return new LexicalAnalysisResult(
+                  lines.result(), diagnostics, folding.result(tracker.pairs()));
+            });
+  }
+
+  private static boolean isComment(Token token) {
+    return token.type() == TokenType.COMMENT || token.type() == TokenType.ERROR_UNCLOSED_COMMENT;
+  }
+
+  /**
+   * 折りたたみ領域を収集する
+   *
+   * <p>複数行にまたがる括弧のペア、ブロックコメント、連続したインポート文を折りたたみ領域とします。 括弧のペアは閉じ括弧の行を残して折りたたみます。
+   * 同じ行から始まる領域は最も外側のものだけを残します。
+   */
+  private static final class FoldingCollector {
+
+    private final List<FoldingRegion> regions = new ArrayList<>();
+    private int lastCodeLine = -1;
+    private int importStartLine = -1;
+    private int importEndLine = -1;
+
+    void accept(Token token) {
+      if (token.type() == TokenType.EOF) {
+        flushImports();
+        return;
+      }
+
+      if (isComment(token)) {
+        if (token.text().startsWith("/*")) {
+          int endLine = token.line() + countNewlines(token.text());
+          addRegion(token.line(), endLine, FoldingRegion.Kind.COMMENT);
+        }
+        return;
+      }
+
+      // 行の最初のトークンでインポート文の連続を判定する
+      if (token.line() != lastCodeLine) {
+        if (token.type() == TokenType.IMPORT) {
+          if (importStartLine < 0) {
+            importStartLine = token.line();
+          }
+          importEndLine = token.line();
+        } else {
+          flushImports();
+        }
+      }
+      lastCodeLine = token.line() + countNewlines(token.text());
+    }
+
+    List<FoldingRegion> result(List<BracketPair> pairs) {
+      flushImports();
+      for (var pair : pairs) {
+        addRegion(pair.opening().line(), pair.closing().line() - 1, FoldingRegion.Kind.BLOCK);
+      }
+
+      regions.sort(
+          Comparator.comparingInt(FoldingRegion::startLine)
+              .thenComparing(Comparator.comparingInt(FoldingRegion::endLine).reversed()));
+      var result = new ArrayList<FoldingRegion>(regions.size());
+      for (var region : regions) {
+        if (result.isEmpty() || result.get(result.size() - 1).startLine() != region.startLine()) {
+          result.add(region);
+        }
+      }
+      return result;
+    }
+
+    private void flushImports() {
+      if (importStartLine >= 0) {
+        addRegion(importStartLine, importEndLine, FoldingRegion.Kind.IMPORTS);
+      }
+      importStartLine = -1;
+      importEndLine = -1;
+    }
+
+    /** 1ベースの行番号で領域を追加する（1行に収まる領域は無視） */
+    private void addRegion(int startLine, int endLine, FoldingRegion.Kind kind) {
+      if (endLine > startLine) {
+        regions.add(new FoldingRegion(startLine - 1, endLine - 1, kind));
+      }
+    }
+
+    private static int countNewlines(String text) {
+      int count = 0;
+      for (int i = 0; i < text.length(); i++) {
+        if (text.charAt(i) == '\n') {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+
+  /** トークンが現れた行をコード行とコメント行に分類する */
+  private static final class LineClassifier {
+
+    private final String content;
+    private final BitSet codeLines = new BitSet();
+    private final BitSet commentLines = new BitSet();
+    private int cursor;
+    private int line;
+
+    LineClassifier(String content) {
+      this.content = content;
+    }
+
+    void accept(Token token) {
+      if (token.type() == TokenType.EOF) {
+        return;
+      }
+
+      // トークン開始位置まで改行を数えて行番号を進める
+      advanceTo(token.startPosition());
+
+      var target = isComment(token) ? commentLines : codeLines;
+      int end = Math.min(token.endPosition(), content.length());
+      for (; cursor < end; cursor++) {
+        char c = content.charAt(cursor);
+        if (c == '\n') {
+          line++;
+        } else if (!Character.isWhitespace(c)) {
+          target.set(line);
+        }
+      }
+    }
+
+    LineCountResult result() {
+      if (content.isEmpty()) {
+        return LineCountResult.empty();
+      }
+      advanceTo(content.length());
+
+      int totalLines = line + 1;
+      int codeLineCount = codeLines.cardinality();
+      commentLines.andNot(codeLines);
+      int commentLineCount = commentLines.cardinality();
+      int blankLineCount = totalLines - codeLineCount - commentLineCount;
+      return new LineCountResult(totalLines, blankLineCount, commentLineCount, codeLineCount);
+    }
+
+    private void advanceTo(int position) {
+      int end = Math.min(position, content.length());
+      for (; cursor < end; cursor++) {
+        if (content.charAt(cursor) == '\n') {
+          line++;
+        }
+      }
+    }
+  }
+}
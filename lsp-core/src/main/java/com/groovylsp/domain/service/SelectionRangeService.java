@@ -0,0 +1,32 @@
+package com.groovylsp.domain.service;
+
+import io.vavr.control.Either;
+import java.util.List;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SelectionRange;
+
+/**
+ * 選択範囲計算サービスのインターフェース
+ *
+ * <p>指定された位置を含む構文要素の範囲を内側から外側へ連結した選択範囲を計算します。 エディタの「選択範囲の拡大」機能で使用されます。
+ */
+public interface SelectionRangeService {
+
+  /**
+   * 指定された各位置の選択範囲を取得
+   *
+   * @param uri ドキュメントのURI
+   * @param content ドキュメントの内容
+   * @param positions 位置のリスト
+   * @return 位置ごとの選択範囲（positionsと同じ順序）、またはエラー
+   */
+  Either<String, List<SelectionRange>> getSelectionRanges(
+      String uri, String content, List<Position> positions);
+
+  /**
+   * ドキュメントに関する保持データを破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  void invalidate(String uri);
+}
@@ -0,0 +1,40 @@
+package com.groovylsp.domain.service;
+
+import com.groovylsp.domain.model.EncodedSemanticTokens;
+import com.groovylsp.domain.model.TextDocument;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+/**
+ * セマンティックトークン計算サービスのインターフェース
+ *
+ * <p>ドキュメントのバージョンごとにエンコード済みのトークンを計算・保持し、 差分応答のために直前の結果も参照できるようにします。
+ */
+public interface SemanticTokensService {
+
+  /**
+   * ドキュメントのセマンティックトークンを取得
+   *
+   * <p>同じバージョンに対する2回目以降の呼び出しではキャッシュした結果を返します。
+   *
+   * @param document 対象ドキュメント
+   * @return エンコード済みトークン、またはエラー
+   */
+  Either<String, EncodedSemanticTokens> getTokens(TextDocument document);
+
+  /**
+   * 以前に返した結果をresultIdで検索
+   *
+   * @param uri ドキュメントURI
+   * @param resultId 結果ID
+   * @return 保持している結果。破棄済みの場合は空
+   */
+  Option<EncodedSemanticTokens> findResult(String uri, String resultId);
+
+  /**
+   * ドキュメントに関する保持データを破棄
+   *
+   * @param uri ドキュメントURI
+   */
+  void invalidate(String uri);
+}
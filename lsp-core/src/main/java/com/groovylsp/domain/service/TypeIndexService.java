@@ -0,0 +1,77 @@
+package com.groovylsp.domain.service;
+
+import com.groovylsp.domain.model.LibraryType;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * クラスパス上の型の索引サービスのインターフェース
+ *
+ * <p>JDKや依存ライブラリの型をクラスをロードせずに索引化し、型の解決・ライブラリの型のホバー・インポートの補完に提供します。 索引は構築後は読み取り専用のため、検索はロックなしで行えます。
+ *
+ * <p>構築が完了するまで（{@link #isReady()}がfalseの間）は、すべての検索が見つからない扱いになります。
+ */
+public interface TypeIndexService {
+
+  /**
+   * 索引の構築をバックグラウンドで開始する
+   *
+   * <p>既に開始されている場合は同じ処理の完了を表すFutureを返します。
+   *
+   * @return 構築の完了
+   */
+  CompletableFuture<Void> startIndexing();
+
+  /**
+   * 索引が利用可能かどうか
+   *
+   * @return 構築が完了している場合true
+   */
+  boolean isReady();
+
+  /**
+   * 型が存在するかどうか
+   *
+   * @param qualifiedName 完全修飾名（ネストしたクラスは {@code $} 区切り）
+   * @return 索引に含まれる場合true
+   */
+  boolean containsClass(String qualifiedName);
+
+  /**
+   * 型の情報を取得
+   *
+   * @param qualifiedName 完全修飾名（ネストしたクラスは {@code $} 区切り）
+   * @return 型の情報。見つからない場合は空
+   */
+  Option<LibraryType> findClass(String qualifiedName);
+
+  /**
+   * 単純名から型を検索
+   *
+   * @param simpleName 単純名
+   * @return 完全修飾名のリスト（名前順）
+   */
+  List<String> findClassesBySimpleName(String simpleName);
+
+  /**
+   * パッケージ直下のサブパッケージとクラスを検索
+   *
+   * <p>ネストしたクラスは含みません。
+   *
+   * @param packageName パッケージ名（空文字列の場合はトップレベル）
+   * @param prefix 名前の接頭辞
+   * @param limit 最大件数
+   * @return 子要素のリスト（名前順）
+   */
+  List<PackageChild> findPackageChildren(String packageName, String prefix, int limit);
+
+  /**
+   * パッケージの子要素
+   *
+   * @param name 名前（パッケージ名からの相対名）
+   * @param qualifiedName 完全修飾名
+   * @param isPackage サブパッケージの場合true、クラスの場合false
+   */
+  record PackageChild(String name, String qualifiedName, boolean isPackage) {}
+}
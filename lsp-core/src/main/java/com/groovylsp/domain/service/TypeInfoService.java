@@ -1,6 +1,10 @@
 package com.groovylsp.domain.service;
 
 import io.vavr.control.Either;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
 import org.eclipse.lsp4j.Position;
 import org.jspecify.annotations.Nullable;
 
@@ -21,6 +25,29 @@ public interface TypeInfoService {
    */
   Either<String, TypeInfo> getTypeInfoAt(String uri, String content, Position position);
 
+  /**
+   * 同じ内容の複数の位置の型情報をまとめて取得
+   *
+   * <p>ホバーの先読みのように多数の位置を調べる場合に使います。 {@code cancelled} がtrueを返した時点で残りの位置の解析を打ち切ります。
+   *
+   * @param uri ドキュメントのURI
+   * @param content ドキュメントの内容
+   * @param positions 位置情報のリスト
+   * @param cancelled 打ち切るかどうか
+   * @return 位置ごとの型情報（打ち切った位置は含まない）
+   */
+  default Map<Position, Either<String, TypeInfo>> getTypeInfosAt(
+      String uri, String content, List<Position> positions, BooleanSupplier cancelled) {
+    var results = new LinkedHashMap<Position, Either<String, TypeInfo>>();
+    for (var position : positions) {
+      if (cancelled.getAsBoolean()) {
+        break;
+      }
+      results.put(position, getTypeInfoAt(uri, content, position));
+    }
+    return results;
+  }
+
   /** 型情報 */
   record TypeInfo(
       String name,
@@ -0,0 +1,55 @@
+package com.groovylsp.domain.util;
+
+/**
+ * FNV-1a（64ビット）によるハッシュのユーティリティクラス。
+ *
+ * <p>文字は下位バイト、上位バイトの順に2バイトとして取り込みます。 実行ごとに値が変わらないため、保存して比較することもできます。
+ */
+public final class Fnv1aHash {
+
+  /** ハッシュの初期値（オフセットベーシス）。 */
+  public static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long PRIME = 0x100000001b3L;
+
+  private Fnv1aHash() {
+    // ユーティリティクラスのインスタンス化を防ぐ
+  }
+
+  /**
+   * 文字列のハッシュを計算する。
+   *
+   * @param text 対象の文字列
+   * @return ハッシュ
+   */
+  public static long hash(CharSequence text) {
+    return append(OFFSET_BASIS, text);
+  }
+
+  /**
+   * 途中までのハッシュに文字列を取り込む。
+   *
+   * @param hash 途中までのハッシュ
+   * @param text 取り込む文字列
+   * @return 取り込んだ後のハッシュ
+   */
+  public static long append(long hash, CharSequence text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      hash = appendByte(hash, c & 0xff);
+      hash = appendByte(hash, c >>> 8);
+    }
+    return hash;
+  }
+
+  /**
+   * 途中までのハッシュに1バイトを取り込む。
+   *
+   * @param hash 途中までのハッシュ
+   * @param value 取り込むバイト（下位8ビットを使う）
+   * @return 取り込んだ後のハッシュ
+   */
+  public static long appendByte(long hash, int value) {
+    return (hash ^ (value & 0xff)) * PRIME;
+  }
+}
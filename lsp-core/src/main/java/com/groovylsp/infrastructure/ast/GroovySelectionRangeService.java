@@ -0,0 +1,356 @@
+package com.groovylsp.infrastructure.ast;
+
+import com.groovylsp.domain.service.SelectionRangeService;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import io.vavr.control.Either;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.expr.BinaryExpression;
+import org.codehaus.groovy.ast.expr.BooleanExpression;
+import org.codehaus.groovy.ast.expr.CastExpression;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
+import org.codehaus.groovy.ast.expr.DeclarationExpression;
+import org.codehaus.groovy.ast.expr.GStringExpression;
+import org.codehaus.groovy.ast.expr.ListExpression;
+import org.codehaus.groovy.ast.expr.MapEntryExpression;
+import org.codehaus.groovy.ast.expr.MapExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.NotExpression;
+import org.codehaus.groovy.ast.expr.PostfixExpression;
+import org.codehaus.groovy.ast.expr.PrefixExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.RangeExpression;
+import org.codehaus.groovy.ast.expr.StaticMethodCallExpression;
+import org.codehaus.groovy.ast.expr.TernaryExpression;
+import org.codehaus.groovy.ast.expr.TupleExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.control.SourceUnit;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SelectionRange;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * GroovyのASTのノード範囲の入れ子から選択範囲を計算するサービスの実装
+ *
+ * <p>ParseResultCacheにキャッシュされたASTを1回走査し、各位置を含むクラス、メソッド、文、式の範囲を集めます。
+ * 診断などで既にパース済みの内容であれば再パースは行いません。最も外側の範囲は常にドキュメント全体です。
+ */
+@Singleton
+public class GroovySelectionRangeService implements SelectionRangeService {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroovySelectionRangeService.class);
+
+  private static final Comparator<Range> OUTER_FIRST =
+      Comparator.<Range>comparingInt(range -> range.getStart().getLine())
+          .thenComparingInt(range -> range.getStart().getCharacter())
+          .thenComparing(
+              Comparator.<Range>comparingInt(range -> range.getEnd().getLine())
+                  .thenComparingInt(range -> range.getEnd().getCharacter())
+                  .reversed());
+
+  private final ParseResultCache parseResultCache;
+
+  @Inject
+  public GroovySelectionRangeService(ParseResultCache parseResultCache) {
+    this.parseResultCache = parseResultCache;
+  }
+
+  @Override
+  public Either<String, List<SelectionRange>> getSelectionRanges(
+      String uri, String content, List<Position> positions) {
+    return parseResultCache
+        .parse(uri, extractFileName(uri), content)
+        .mapLeft(error -> "パースエラー: " + error.message())
+        .map(
+            parseResult -> {
+              var collector = new NodeRangeCollector(positions);
+              ModuleNode moduleNode = parseResult.moduleNode();
+              if (moduleNode != null) {
+                moduleNode.getClasses().forEach(collector::visitClass);
+              }
+
+              var documentRange = documentRange(content);
+              var result = new ArrayList<SelectionRange>(positions.size());
+              for (int i = 0; i < positions.size(); i++) {
+                result.add(toSelectionRange(documentRange, positions.get(i), collector.ranges(i)));
+              }
+              logger.debug("Computed {} selection ranges for {}", result.size(), uri);
+              return result;
+            });
+  }
+
+  @Override
+  public void invalidate(String uri) {
+    parseResultCache.invalidate(uri);
+  }
+
+  /**
+   * 位置を含む範囲を外側から順に連結し、最も内側の選択範囲を返す
+   *
+   * <p>包含関係にない範囲や同じ範囲は取り除きます。
+   */
+  private SelectionRange toSelectionRange(
+      Range documentRange, Position position, List<Range> ranges) {
+    ranges.sort(OUTER_FIRST);
+
+    var current = new SelectionRange(documentRange, null);
+    for (var range : ranges) {
+      if (contains(current.getRange(), range) && !current.getRange().equals(range)) {
+        current = new SelectionRange(range, current);
+      }
+    }
+    if (!contains(current.getRange(), new Range(position, position))) {
+      return new SelectionRange(new Range(position, position), current);
+    }
+    return current;
+  }
+
+  private static Range documentRange(String content) {
+    int line = 0;
+    int lineStart = 0;
+    for (int i = 0; i < content.length(); i++) {
+      if (content.charAt(i) == '\n') {
+        line++;
+        lineStart = i + 1;
+      }
+    }
+    return new Range(new Position(0, 0), new Position(line, content.length() - lineStart));
+  }
+
+  private static boolean contains(Range outer, Range inner) {
+    return compare(outer.getStart(), inner.getStart()) <= 0
+        && compare(inner.getEnd(), outer.getEnd()) <= 0;
+  }
+
+  private static int compare(Position a, Position b) {
+    if (a.getLine() != b.getLine()) {
+      return Integer.compare(a.getLine(), b.getLine());
+    }
+    return Integer.compare(a.getCharacter(), b.getCharacter());
+  }
+
+  /** URIからファイル名を抽出 */
+  private String extractFileName(String uri) {
+    if (uri.contains("/")) {
+      return uri.substring(uri.lastIndexOf("/") + 1);
+    }
+    return uri;
+  }
+
+  /** ASTを走査し、各位置を含むノードの範囲を集める訪問者 */
+  private static final class NodeRangeCollector extends ClassCodeVisitorSupport {
+
+    private final List<Position> positions;
+    private final List<List<Range>> ranges;
+
+    NodeRangeCollector(List<Position> positions) {
+      this.positions = positions;
+      this.ranges = new ArrayList<>(positions.size());
+      for (int i = 0; i < positions.size(); i++) {
+        ranges.add(new ArrayList<>());
+      }
+    }
+
+    List<Range> ranges(int index) {
+      return ranges.get(index);
+    }
+
+    @Override
+    protected @Nullable SourceUnit getSourceUnit() {
+      return null;
+    }
+
+    /** ノードの範囲が位置を含む場合に記録する（位置情報のない合成ノードは無視） */
+    private void record(ASTNode node) {
+      if (node.getLineNumber() < 1 || node.getLastLineNumber() < 1) {
+        return;
+      }
+      var range =
+          new Range(
+              new Position(node.getLineNumber() - 1, node.getColumnNumber() - 1),
+              new Position(node.getLastLineNumber() - 1, node.getLastColumnNumber() - 1));
+      for (int i = 0; i < positions.size(); i++) {
+        var position = positions.get(i);
+        if (contains(range, new Range(position, position))) {
+          ranges.get(i).add(range);
+        }
+      }
+    }
+
+    @Override
+    public void visitClass(ClassNode node) {
+      record(node);
+      super.visitClass(node);
+    }
+
+    @Override
+    protected void visitConstructorOrMethod(MethodNode node, boolean isConstructor) {
+      record(node);
+      for (Parameter parameter : node.getParameters()) {
+        record(parameter);
+      }
+      super.visitConstructorOrMethod(node, isConstructor);
+    }
+
+    @Override
+    public void visitField(FieldNode node) {
+      record(node);
+      super.visitField(node);
+    }
+
+    @Override
+    protected void visitStatement(Statement statement) {
+      record(statement);
+      super.visitStatement(statement);
+    }
+
+    @Override
+    public void visitMethodCallExpression(MethodCallExpression call) {
+      record(call);
+      super.visitMethodCallExpression(call);
+    }
+
+    @Override
+    public void visitStaticMethodCallExpression(StaticMethodCallExpression call) {
+      record(call);
+      super.visitStaticMethodCallExpression(call);
+    }
+
+    @Override
+    public void visitConstructorCallExpression(ConstructorCallExpression call) {
+      record(call);
+      super.visitConstructorCallExpression(call);
+    }
+
+    @Override
+    public void visitTernaryExpression(TernaryExpression expression) {
+      record(expression);
+      super.visitTernaryExpression(expression);
+    }
+
+    @Override
+    public void visitBinaryExpression(BinaryExpression expression) {
+      record(expression);
+      super.visitBinaryExpression(expression);
+    }
+
+    @Override
+    public void visitDeclarationExpression(DeclarationExpression expression) {
+      record(expression);
+      super.visitDeclarationExpression(expression);
+    }
+
+    @Override
+    public void visitPrefixExpression(PrefixExpression expression) {
+      record(expression);
+      super.visitPrefixExpression(expression);
+    }
+
+    @Override
+    public void visitPostfixExpression(PostfixExpression expression) {
+      record(expression);
+      super.visitPostfixExpression(expression);
+    }
+
+    @Override
+    public void visitBooleanExpression(BooleanExpression expression) {
+      record(expression);
+      super.visitBooleanExpression(expression);
+    }
+
+    @Override
+    public void visitNotExpression(NotExpression expression) {
+      record(expression);
+      super.visitNotExpression(expression);
+    }
+
+    @Override
+    public void visitClosureExpression(ClosureExpression expression) {
+      record(expression);
+      super.visitClosureExpression(expression);
+    }
+
+    @Override
+    public void visitTupleExpression(TupleExpression expression) {
+      record(expression);
+      super.visitTupleExpression(expression);
+    }
+
+    @Override
+    public void visitListExpression(ListExpression expression) {
+      record(expression);
+      super.visitListExpression(expression);
+    }
+
+    @Override
+    public void visitMapExpression(MapExpression expression) {
+      record(expression);
+      super.visitMapExpression(expression);
+    }
+
+    @Override
+    public void visitMapEntryExpression(MapEntryExpression expression) {
+      record(expression);
+      super.visitMapEntryExpression(expression);
+    }
+
+    @Override
+    public void visitRangeExpression(RangeExpression expression) {
+      record(expression);
+      super.visitRangeExpression(expression);
+    }
+
+    @Override
+    public void visitPropertyExpression(PropertyExpression expression) {
+      record(expression);
+      super.visitPropertyExpression(expression);
+    }
+
+    @Override
+    public void visitCastExpression(CastExpression expression) {
+      record(expression);
+      super.visitCastExpression(expression);
+    }
+
+    @Override
+    public void visitGStringExpression(GStringExpression expression) {
+      record(expression);
+      super.visitGStringExpression(expression);
+    }
+
+    @Override
+    public void visitConstantExpression(ConstantExpression expression) {
+      record(expression);
+      super.visitConstantExpression(expression);
+    }
+
+    @Override
+    public void visitClassExpression(ClassExpression expression) {
+      record(expression);
+      super.visitClassExpression(expression);
+    }
+
+    @Override
+    public void visitVariableExpression(VariableExpression expression) {
+      record(expression);
+      super.visitVariableExpression(expression);
+    }
+  }
+}
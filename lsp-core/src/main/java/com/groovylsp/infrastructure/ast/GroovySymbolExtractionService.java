@@ -1,13 +1,14 @@
 package com.groovylsp.infrastructure.ast;
 
+import com.groovylsp.domain.constant.DefaultImports;
 import com.groovylsp.domain.model.Symbol;
 import com.groovylsp.domain.service.SymbolExtractionService;
+import com.groovylsp.infrastructure.classpath.ClassResolutionCache;
+import com.groovylsp.infrastructure.classpath.MappedTypeIndexService;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
 import io.vavr.control.Either;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.codehaus.groovy.ast.ClassHelper;
@@ -46,35 +47,23 @@ public class GroovySymbolExtractionService implements SymbolExtractionService {
 
   private final GroovyAstParser parser;
 
-  /** クラス名解決結果のキャッシュ（パフォーマンス改善のため） */
-  private final Map<String, Boolean> classExistenceCache = createLRUCache(1000);
+  /** クラス名解決結果のキャッシュ（型情報の抽出と共有） */
+  private final ClassResolutionCache classResolutionCache;
 
-  @Inject
   public GroovySymbolExtractionService(GroovyAstParser parser) {
-    this.parser = parser;
+    this(parser, new ClassResolutionCache(MappedTypeIndexService.disabled()));
   }
 
-  /**
-   * LRUキャッシュを作成する
-   *
-   * @param maxSize 最大サイズ
-   * @return LRUキャッシュ
-   */
-  private static Map<String, Boolean> createLRUCache(int maxSize) {
-    var initialCapacity = (int) Math.ceil(maxSize / 0.75f);
-    return new LinkedHashMap<String, Boolean>(initialCapacity, 0.75f, true) {
-      @Override
-      protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
-        return size() > maxSize;
-      }
-    };
+  @Inject
+  public GroovySymbolExtractionService(
+      GroovyAstParser parser, ClassResolutionCache classResolutionCache) {
+    this.parser = parser;
+    this.classResolutionCache = classResolutionCache;
   }
 
   /** キャッシュをクリアする（メモリ解放用） */
   public void clearCache() {
-    synchronized (classExistenceCache) {
-      classExistenceCache.clear();
-    }
+    classResolutionCache.clear();
   }
 
   @Override
@@ -619,10 +608,7 @@ public class GroovySymbolExtractionService implements SymbolExtractionService {
     }
 
     // 優先順位4: デフォルトインポート（java.lang.*、groovy.lang.*など）
-    String[] defaultPackages = {
-      "java.lang", "groovy.lang", "java.util", "java.io", "java.net", "groovy.util"
-    };
-    for (String pkg : defaultPackages) {
+    for (String pkg : DefaultImports.PACKAGES) {
       String fullClassName = pkg + "." + className;
       if (isClassExists(fullClassName)) {
         return ClassHelper.make(fullClassName);
@@ -639,19 +625,6 @@ public class GroovySymbolExtractionService implements SymbolExtractionService {
    * @return クラスが存在する場合true
    */
   private boolean isClassExists(String fullClassName) {
-    synchronized (classExistenceCache) {
-      return classExistenceCache.computeIfAbsent(
-          fullClassName,
-          className -> {
-            try {
-              Class.forName(className);
-              return true;
-            } catch (ClassNotFoundException e) {
-              // プロジェクト固有のクラスは解決できないため、デバッグレベルでログ出力
-              logger.debug("Class not found in classpath: {}", className);
-              return false;
-            }
-          });
-    }
+    return classResolutionCache.exists(fullClassName);
   }
 }
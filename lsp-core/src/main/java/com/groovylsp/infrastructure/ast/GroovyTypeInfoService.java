@@ -1,13 +1,19 @@
 package com.groovylsp.infrastructure.ast;
 
+import com.groovylsp.domain.constant.DefaultImports;
 import com.groovylsp.domain.model.AstInfo;
 import com.groovylsp.domain.model.ClassInfo;
+import com.groovylsp.domain.model.LibraryType;
 import com.groovylsp.domain.model.MethodInfo;
 import com.groovylsp.domain.model.ScopeManager;
 import com.groovylsp.domain.model.SymbolDefinition;
 import com.groovylsp.domain.model.SymbolTable;
 import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.domain.service.TypeIndexService;
 import com.groovylsp.domain.service.TypeInfoService;
+import com.groovylsp.infrastructure.cache.TinyLfuCache;
+import com.groovylsp.infrastructure.classpath.ClassResolutionCache;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.DocumentContentService;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
 import io.vavr.control.Either;
@@ -15,8 +21,10 @@ import io.vavr.control.Option;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.codehaus.groovy.ast.ASTNode;
@@ -68,6 +76,27 @@ public class GroovyTypeInfoService implements TypeInfoService {
   private final ScopeManager scopeManager;
   private final DocumentContentService documentContentService;
   private final AstAnalysisService astAnalysisService;
+  private final TypeIndexService typeIndexService;
+  private final ClassResolutionCache classResolutionCache;
+  private final ServerMetrics metrics;
+
+  /** ライブラリの型のホバーに表示するメンバーの最大数 */
+  private static final int MAX_LIBRARY_MEMBERS = 10;
+
+  /** キャッシュする定義ごとの型情報の最大件数 */
+  private static final int MAX_CACHED_DEFINITIONS = 2048;
+
+  /**
+   * シンボル定義から作成した型情報
+   *
+   * <p>キーは定義位置を含むため、定義しているファイルが変更されなければ他のファイルからの参照でも再利用できます。
+   */
+  private final TinyLfuCache<SymbolDefinition, TypeInfo> symbolTypeInfoCache =
+      new TinyLfuCache<>(MAX_CACHED_DEFINITIONS);
+
+  /** ライブラリの型から作成した型情報（索引はセッション中に変わらないため完全修飾名をキーにする） */
+  private final TinyLfuCache<String, TypeInfo> libraryTypeInfoCache =
+      new TinyLfuCache<>(MAX_CACHED_DEFINITIONS);
 
   @Inject
   public GroovyTypeInfoService(
@@ -75,12 +104,18 @@ public class GroovyTypeInfoService implements TypeInfoService {
       SymbolTable symbolTable,
       ScopeManager scopeManager,
       DocumentContentService documentContentService,
-      AstAnalysisService astAnalysisService) {
+      AstAnalysisService astAnalysisService,
+      TypeIndexService typeIndexService,
+      ClassResolutionCache classResolutionCache,
+      ServerMetrics metrics) {
     this.parser = parser;
     this.symbolTable = symbolTable;
     this.scopeManager = scopeManager;
     this.documentContentService = documentContentService;
     this.astAnalysisService = astAnalysisService;
+    this.typeIndexService = typeIndexService;
+    this.classResolutionCache = classResolutionCache;
+    this.metrics = metrics;
   }
 
   @Override
@@ -93,32 +128,73 @@ public class GroovyTypeInfoService implements TypeInfoService {
     return parser
         .parse(fileName, content)
         .mapLeft(error -> "パースエラー: " + error.message())
-        .flatMap(
-            parseResult -> {
-              ModuleNode moduleNode = parseResult.moduleNode();
-              if (moduleNode == null) {
-                return Either.left("モジュールノードが見つかりません");
-              }
+        .flatMap(parseResult -> findTypeInfo(uri, position, parseResult));
+  }
 
-              logger.debug("パース成功。クラス数: {}", parseResult.getClasses().size());
+  /**
+   * {@inheritDoc}
+   *
+   * <p>パースは一度だけ行い、位置ごとにASTを探索します。
+   */
+  @Override
+  public Map<Position, Either<String, TypeInfo>> getTypeInfosAt(
+      String uri, String content, List<Position> positions, BooleanSupplier cancelled) {
+    var results = new LinkedHashMap<Position, Either<String, TypeInfo>>();
+    if (positions.isEmpty() || cancelled.getAsBoolean()) {
+      return results;
+    }
 
-              // 指定位置の要素を探索
-              var visitor = new TypeInfoVisitor(position, uri);
-              for (ClassNode classNode : parseResult.getClasses()) {
-                logger.debug("クラスを訪問: {}", classNode.getName());
-                visitor.visitClass(classNode);
-              }
+    var parsed = parser.parse(extractFileName(uri), content);
+    for (var position : positions) {
+      if (cancelled.getAsBoolean()) {
+        break;
+      }
+      results.put(
+          position,
+          parsed
+              .mapLeft(error -> "パースエラー: " + error.message())
+              .flatMap(parseResult -> findTypeInfo(uri, position, parseResult)));
+    }
+    return results;
+  }
 
-              TypeInfo typeInfo = visitor.getFoundTypeInfo();
-              if (typeInfo != null) {
-                logger.debug("ASTで型情報を発見: {}", typeInfo.name());
-                return Either.right(typeInfo);
-              }
+  /**
+   * 解析結果から指定位置の型情報を探す
+   *
+   * @param uri ファイルのURI
+   * @param position 位置情報
+   * @param parseResult 解析結果
+   * @return 型情報、またはエラー
+   */
+  private Either<String, TypeInfo> findTypeInfo(
+      String uri, Position position, GroovyAstParser.ParseResult parseResult) {
+    ModuleNode moduleNode = parseResult.moduleNode();
+    if (moduleNode == null) {
+      return Either.left("モジュールノードが見つかりません");
+    }
 
-              logger.debug("ASTで見つからなかったため、シンボルテーブルから検索");
-              // ASTで見つからない場合は、シンボルテーブルから検索
-              return findTypeInfoFromSymbolTable(uri, position);
-            });
+    logger.debug("パース成功。クラス数: {}", parseResult.getClasses().size());
+
+    // 指定位置の要素を探索
+    var visitor = new TypeInfoVisitor(position, uri, moduleNode);
+    metrics.time(
+        "phase.hoverVisitor",
+        () -> {
+          for (ClassNode classNode : parseResult.getClasses()) {
+            logger.debug("クラスを訪問: {}", classNode.getName());
+            visitor.visitClass(classNode);
+          }
+        });
+
+    TypeInfo typeInfo = visitor.getFoundTypeInfo();
+    if (typeInfo != null) {
+      logger.debug("ASTで型情報を発見: {}", typeInfo.name());
+      return Either.right(typeInfo);
+    }
+
+    logger.debug("ASTで見つからなかったため、シンボルテーブルから検索");
+    // ASTで見つからない場合は、シンボルテーブルから検索
+    return findTypeInfoFromSymbolTable(uri, position, moduleNode);
   }
 
   /**
@@ -140,9 +216,11 @@ public class GroovyTypeInfoService implements TypeInfoService {
    *
    * @param uri ファイルのURI
    * @param position 位置情報
+   * @param moduleNode ライブラリの型の解決に使うモジュールノード
    * @return 型情報、またはエラー
    */
-  private Either<String, TypeInfo> findTypeInfoFromSymbolTable(String uri, Position position) {
+  private Either<String, TypeInfo> findTypeInfoFromSymbolTable(
+      String uri, Position position, ModuleNode moduleNode) {
     // カーソル位置の単語を取得
     Either<String, String> wordResult = getWordAtPosition(uri, position);
     if (wordResult.isLeft()) {
@@ -170,9 +248,99 @@ public class GroovyTypeInfoService implements TypeInfoService {
       return Either.right(createTypeInfoFromSymbol(symbol));
     }
 
+    // クラスパス上の型の索引から検索
+    Option<LibraryType> libraryType = resolveLibraryType(word, moduleNode);
+    if (libraryType.isDefined()) {
+      return Either.right(createTypeInfoFromLibraryType(libraryType.get()));
+    }
+
     return Either.left("識別子 '" + word + "' の定義が見つかりません");
   }
 
+  /**
+   * 単純名をインポートに従ってクラスパス上の型に解決
+   *
+   * <p>明示的なインポート、スターインポート、デフォルトインポートの順に索引を引きます。
+   *
+   * @param simpleName 単純名
+   * @param moduleNode モジュールノード
+   * @return 型の情報
+   */
+  private Option<LibraryType> resolveLibraryType(String simpleName, ModuleNode moduleNode) {
+    if (!typeIndexService.isReady() || !Character.isUpperCase(simpleName.charAt(0))) {
+      return Option.none();
+    }
+
+    for (var importNode : moduleNode.getImports()) {
+      if (importNode.getAlias().equals(simpleName)) {
+        return typeIndexService.findClass(importNode.getType().getName());
+      }
+    }
+
+    var candidatePackages = new ArrayList<String>();
+    for (var starImport : moduleNode.getStarImports()) {
+      String packageName = starImport.getPackageName();
+      if (packageName != null) {
+        candidatePackages.add(
+            packageName.endsWith(".")
+                ? packageName.substring(0, packageName.length() - 1)
+                : packageName);
+      }
+    }
+    candidatePackages.addAll(DefaultImports.PACKAGES);
+    candidatePackages.add("java.math");
+
+    for (var packageName : candidatePackages) {
+      var found = typeIndexService.findClass(packageName + "." + simpleName);
+      if (found.isDefined()) {
+        return found;
+      }
+    }
+    return Option.none();
+  }
+
+  /**
+   * ライブラリの型から型情報を作成
+   *
+   * @param type 型の情報
+   * @return 型情報
+   */
+  private TypeInfo createTypeInfoFromLibraryType(LibraryType type) {
+    return libraryTypeInfoCache.get(type.qualifiedName(), name -> buildLibraryTypeInfo(type));
+  }
+
+  private TypeInfo buildLibraryTypeInfo(LibraryType type) {
+    var doc = new StringBuilder();
+    if (!type.packageName().isEmpty()) {
+      doc.append("Package: ").append(type.packageName()).append("\n\n");
+    }
+    String superClass = type.superClass();
+    if (superClass != null) {
+      doc.append("extends ")
+          .append(superClass.substring(LibraryType.simpleNameStart(superClass)))
+          .append("\n\n");
+    }
+
+    var members =
+        type.members().stream()
+            .filter(member -> !member.isConstructor())
+            .map(LibraryType.Member::signature)
+            .distinct()
+            .toList();
+    if (!members.isEmpty()) {
+      doc.append("**メンバー**:\n");
+      members.stream()
+          .limit(MAX_LIBRARY_MEMBERS)
+          .forEach(signature -> doc.append("- `").append(signature).append("`\n"));
+      if (members.size() > MAX_LIBRARY_MEMBERS) {
+        doc.append("- … 他").append(members.size() - MAX_LIBRARY_MEMBERS).append("件\n");
+      }
+    }
+
+    TypeInfo.Kind kind = type.isEnum() ? TypeInfo.Kind.ENUM : TypeInfo.Kind.CLASS;
+    return new TypeInfo(type.simpleName(), type.qualifiedName(), kind, doc.toString().trim(), null);
+  }
+
   /**
    * カーソル位置の単語を取得
    *
@@ -234,6 +402,10 @@ public class GroovyTypeInfoService implements TypeInfoService {
    * @return 型情報
    */
   private TypeInfo createTypeInfoFromSymbol(SymbolDefinition symbol) {
+    return symbolTypeInfoCache.get(symbol, this::buildSymbolTypeInfo);
+  }
+
+  private TypeInfo buildSymbolTypeInfo(SymbolDefinition symbol) {
     TypeInfo.Kind kind =
         switch (symbol.definitionType()) {
           case CLASS -> TypeInfo.Kind.CLASS;
@@ -300,15 +472,17 @@ public class GroovyTypeInfoService implements TypeInfoService {
   private class TypeInfoVisitor extends ClassCodeVisitorSupport {
     private final Position targetPosition;
     private final String uri;
+    private final ModuleNode moduleNode;
     private @Nullable TypeInfo foundTypeInfo;
     private final Map<String, ClassNode> variableTypes = new HashMap<>(); // 変数名と型のマッピング
     private @Nullable AstInfo astInfo; // AST情報をキャッシュ
 
-    public TypeInfoVisitor(Position targetPosition, String uri) {
+    public TypeInfoVisitor(Position targetPosition, String uri, ModuleNode moduleNode) {
       // LSPの位置は0ベース、Groovyは1ベースなので+1で変換
       this.targetPosition =
           new Position(targetPosition.getLine() + 1, targetPosition.getCharacter() + 1);
       this.uri = uri;
+      this.moduleNode = moduleNode;
       logger.debug(
           "TypeInfoVisitor initialized - Original position: {}:{}, Adjusted position: {}:{}",
           targetPosition.getLine(),
@@ -1201,6 +1375,19 @@ public class GroovyTypeInfoService implements TypeInfoService {
         ClassNode recordedType = variableTypes.get(varName);
         ClassNode typeToUse = recordedType != null ? recordedType : expression.getType();
 
+        // シンボルテーブルから詳細情報を取得
+        Option<SymbolDefinition> symbolOption =
+            scopeManager.findSymbolAt(uri, targetPosition, varName);
+
+        // 宣言の見つからない名前は、クラスパス上の型（クラス名の参照）として解決を試みる
+        if (recordedType == null && symbolOption.isEmpty()) {
+          Option<LibraryType> libraryType = resolveLibraryType(varName, moduleNode);
+          if (libraryType.isDefined()) {
+            foundTypeInfo = createTypeInfoFromLibraryType(libraryType.get());
+            return;
+          }
+        }
+
         // デバッグログ
         logger.debug(
             "変数参照: {} (記録された型: {}, 式の型: {}) at {}:{}",
@@ -1210,10 +1397,6 @@ public class GroovyTypeInfoService implements TypeInfoService {
             expression.getLineNumber(),
             expression.getColumnNumber());
 
-        // シンボルテーブルから詳細情報を取得
-        Option<SymbolDefinition> symbolOption =
-            scopeManager.findSymbolAt(uri, targetPosition, varName);
-
         String documentation = null;
         if (symbolOption.isDefined()) {
           documentation = createDocumentation(symbolOption.get());
@@ -2064,8 +2247,8 @@ public class GroovyTypeInfoService implements TypeInfoService {
         case "Object":
           return ClassHelper.OBJECT_TYPE;
         default:
-          // その他のクラスの場合、ClassNodeを生成
-          return new ClassNode(typeName, 0, ClassHelper.OBJECT_TYPE);
+          // その他のクラスの場合、シンボル抽出と共有するキャッシュから解決
+          return classResolutionCache.classNode(typeName);
       }
     }
 
@@ -0,0 +1,25 @@
+package com.groovylsp.infrastructure.cache;
+
+/**
+ * キャッシュの統計情報
+ *
+ * @param hitCount ヒット数
+ * @param missCount ミス数（期限切れを含む）
+ * @param evictionCount 容量超過による追い出し数
+ * @param expirationCount 有効期限切れによる破棄数
+ * @param size 現在のエントリ数
+ */
+public record CacheStats(
+    long hitCount, long missCount, long evictionCount, long expirationCount, long size) {
+
+  /** 要求数 */
+  public long requestCount() {
+    return hitCount + missCount;
+  }
+
+  /** ヒット率（要求がない場合は1.0） */
+  public double hitRate() {
+    long requests = requestCount();
+    return requests == 0 ? 1.0 : (double) hitCount / requests;
+  }
+}
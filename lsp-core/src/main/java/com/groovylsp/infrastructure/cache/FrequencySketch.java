@@ -0,0 +1,110 @@
+package com.groovylsp.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * キーの出現頻度を近似するCount-Min Sketch（TinyLFUの頻度推定）
+ *
+ * <p>4ビットのカウンターを1つのlongに16個詰め、4段のハッシュで更新します。 更新回数が標本数に達すると全カウンターを半分にし、古い頻度を減衰させます。
+ *
+ * <p>更新はCASのみで行い、ロックを取りません。 リセットと並行した更新が失われることはありますが、頻度は近似値のため許容します。
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+  private static final int MAX_COUNT = 15;
+
+  private final AtomicLongArray table;
+  private final int tableMask;
+  private final int sampleSize;
+  private final AtomicInteger additions = new AtomicInteger();
+  private final AtomicBoolean resetting = new AtomicBoolean();
+
+  /**
+   * @param maximumSize キャッシュの最大エントリ数
+   */
+  FrequencySketch(int maximumSize) {
+    int length = ceilingPowerOfTwo(Math.max(maximumSize, 16));
+    this.table = new AtomicLongArray(length);
+    this.tableMask = length - 1;
+    this.sampleSize = (int) Math.min(10L * Math.max(maximumSize, 1), Integer.MAX_VALUE / 2);
+  }
+
+  /** キーの推定頻度（0〜15） */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_COUNT;
+    for (int depth = 0; depth < SEEDS.length; depth++) {
+      long value = table.get(indexOf(hash, depth));
+      frequency = Math.min(frequency, (int) ((value >>> offsetOf(hash, depth)) & 0xF));
+    }
+    return frequency;
+  }
+
+  /** キーの頻度を1つ増やす */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int depth = 0; depth < SEEDS.length; depth++) {
+      added |= incrementAt(indexOf(hash, depth), offsetOf(hash, depth));
+    }
+    if (added && additions.incrementAndGet() >= sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int offset) {
+    while (true) {
+      long value = table.get(index);
+      if (((value >>> offset) & 0xF) == MAX_COUNT) {
+        return false;
+      }
+      if (table.compareAndSet(index, value, value + (1L << offset))) {
+        return true;
+      }
+    }
+  }
+
+  /** すべてのカウンターを半分にする（同時に呼ばれた場合は1回だけ行う） */
+  private void reset() {
+    if (!resetting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      for (int i = 0; i < table.length(); i++) {
+        long value;
+        do {
+          value = table.get(i);
+        } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+      }
+      additions.set(additions.get() / 2);
+    } finally {
+      resetting.set(false);
+    }
+  }
+
+  private int indexOf(int hash, int depth) {
+    long value = (hash + SEEDS[depth]) * SEEDS[depth];
+    value += value >>> 32;
+    return (int) value & tableMask;
+  }
+
+  /** 段ごとにハッシュの異なるビットからlong内のカウンターの位置を選ぶ */
+  private static int offsetOf(int hash, int depth) {
+    return ((hash >>> (depth << 3)) & 0xF) << 2;
+  }
+
+  private static int spread(int hash) {
+    int value = hash * 0x9E3779B9;
+    return value ^ (value >>> 16);
+  }
+
+  private static int ceilingPowerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+}
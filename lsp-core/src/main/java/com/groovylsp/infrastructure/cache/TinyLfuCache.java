@@ -0,0 +1,447 @@
+package com.groovylsp.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * W-TinyLFU方式で追い出しを行う、上限付きの並行キャッシュ
+ *
+ * <p>エントリはConcurrentHashMapに保持し、参照はロックを取らずに行います。 追い出しの順序はハッシュで分割したセグメントごとに管理し、
+ * 各セグメントは直近の追加を受け止めるウィンドウ（LRU）と、試用・保護の2段からなるメイン領域（SLRU）で構成します。 ウィンドウから溢れたエントリは、{@link
+ * FrequencySketch}で推定した頻度がメイン領域の追い出し候補より高い場合にだけ入れ替わります。
+ *
+ * <p>参照時の順序の更新はセグメントのロックを{@code tryLock}で取れた場合にだけ行い、取れなければ省略します。 そのため参照がロックで待たされることはありません。
+ * 値の読み込み関数もロックの外で呼び出します（同じキーの読み込みが同時に走った場合は先に登録された値を使います）。
+ *
+ * <p>エントリごとの有効期限を指定でき、否定的な結果だけを短時間キャッシュするといった用途に使えます。
+ *
+ * @param <K> キーの型
+ * @param <V> 値の型
+ */
+public final class TinyLfuCache<K, V> {
+
+  /** 有効期限なしを表す値 */
+  public static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+  private static final int WINDOW_PERCENT = 1;
+  private static final int PROTECTED_PERCENT = 80;
+  private static final int MIN_SEGMENT_CAPACITY = 64;
+  private static final int MAX_SEGMENTS = 16;
+
+  private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final List<Segment> segments;
+  private final FrequencySketch sketch;
+  private final ToLongFunction<? super V> timeToLive;
+  private final LongSupplier ticker;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+
+  /**
+   * 有効期限のないキャッシュを作成
+   *
+   * @param maximumSize 最大エントリ数（目安）
+   */
+  public TinyLfuCache(int maximumSize) {
+    this(maximumSize, value -> NO_EXPIRATION, System::nanoTime);
+  }
+
+  /**
+   * @param maximumSize 最大エントリ数（目安）
+   * @param timeToLive 値ごとの有効期間（ナノ秒）。期限がない場合は {@link #NO_EXPIRATION}
+   * @param ticker 現在時刻（ナノ秒）
+   */
+  public TinyLfuCache(int maximumSize, ToLongFunction<? super V> timeToLive, LongSupplier ticker) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    this.timeToLive = timeToLive;
+    this.ticker = ticker;
+    this.sketch = new FrequencySketch(maximumSize);
+
+    int segmentCount =
+        Integer.highestOneBit(
+            Math.max(1, Math.min(MAX_SEGMENTS, maximumSize / MIN_SEGMENT_CAPACITY)));
+    var created = new ArrayList<Segment>(segmentCount);
+    for (int i = 0; i < segmentCount; i++) {
+      created.add(
+          new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0)));
+    }
+    this.segments = List.copyOf(created);
+  }
+
+  /**
+   * キャッシュ済みの値を取得
+   *
+   * @param key キー
+   * @return 値。ない場合や期限切れの場合はnull
+   */
+  public @Nullable V getIfPresent(K key) {
+    sketch.increment(key);
+    var node = data.get(key);
+    if (node == null) {
+      misses.increment();
+      return null;
+    }
+    if (node.isExpired(ticker.getAsLong())) {
+      if (removeNode(node)) {
+        expirations.increment();
+      }
+      misses.increment();
+      return null;
+    }
+
+    hits.increment();
+    segmentFor(node.key).recordAccess(node);
+    return node.value;
+  }
+
+  /**
+   * キャッシュ済みの値をアクセスとして記録せずに取得
+   *
+   * <p>統計情報・頻度・追い出しの順序のいずれも更新しないため、先読みの要否の判定のような 利用者の要求ではない確認に使います。
+   *
+   * @param key キー
+   * @return 値。ない場合や期限切れの場合はnull
+   */
+  public @Nullable V peek(K key) {
+    var node = data.get(key);
+    if (node == null || node.isExpired(ticker.getAsLong())) {
+      return null;
+    }
+    return node.value;
+  }
+
+  /**
+   * キャッシュ済みの値を取得し、なければ読み込んで登録する
+   *
+   * <p>読み込み関数はロックを保持せずに呼び出されます。
+   *
+   * @param key キー
+   * @param loader 値の読み込み関数
+   * @return 値
+   */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    var cached = getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    V loaded = loader.apply(key);
+    return putIfAbsent(key, loaded);
+  }
+
+  /**
+   * 値を登録する（既存の値は置き換える）
+   *
+   * @param key キー
+   * @param value 値
+   */
+  public void put(K key, V value) {
+    var node = new Node<>(key, value, expiresAt(value));
+    var previous = data.put(key, node);
+    var segment = segmentFor(key);
+    if (previous != null) {
+      segment.remove(previous);
+    }
+    segment.add(node);
+  }
+
+  /**
+   * キーのエントリを破棄
+   *
+   * @param key キー
+   */
+  public void invalidate(K key) {
+    var node = data.get(key);
+    if (node != null) {
+      removeNode(node);
+    }
+  }
+
+  /** すべてのエントリを破棄 */
+  public void invalidateAll() {
+    for (var node : data.values()) {
+      removeNode(node);
+    }
+  }
+
+  /** 現在のエントリ数（期限切れで未回収のものを含む） */
+  public long size() {
+    return data.size();
+  }
+
+  /** 統計情報のスナップショット */
+  public CacheStats stats() {
+    return new CacheStats(
+        hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), data.size());
+  }
+
+  private V putIfAbsent(K key, V value) {
+    var node = new Node<>(key, value, expiresAt(value));
+    while (true) {
+      var existing = data.putIfAbsent(key, node);
+      if (existing == null) {
+        segmentFor(key).add(node);
+        return value;
+      }
+      if (!existing.isExpired(ticker.getAsLong())) {
+        return existing.value;
+      }
+      if (removeNode(existing)) {
+        expirations.increment();
+      }
+    }
+  }
+
+  private boolean removeNode(Node<K, V> node) {
+    if (!data.remove(node.key, node)) {
+      return false;
+    }
+    segmentFor(node.key).remove(node);
+    return true;
+  }
+
+  private long expiresAt(V value) {
+    long ttl = timeToLive.applyAsLong(value);
+    if (ttl == NO_EXPIRATION) {
+      return NO_EXPIRATION;
+    }
+    long now = ticker.getAsLong();
+    // オーバーフローした場合は期限なしとして扱う
+    long expiresAt = now + ttl;
+    return expiresAt < now ? NO_EXPIRATION : expiresAt;
+  }
+
+  private Segment segmentFor(Object key) {
+    int hash = key.hashCode();
+    hash ^= hash >>> 16;
+    return segments.get(hash & (segments.size() - 1));
+  }
+
+  /** エントリ（前後のリンクはセグメントのロックで保護する） */
+  private static final class Node<K, V> {
+    final K key;
+    final V value;
+    final long expiresAt;
+
+    @Nullable Node<K, V> previous;
+    @Nullable Node<K, V> next;
+    @Nullable Queue queue;
+
+    Node(K key, V value, long expiresAt) {
+      this.key = key;
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return expiresAt != NO_EXPIRATION && now - expiresAt >= 0;
+    }
+  }
+
+  /** エントリが属する領域 */
+  private enum Queue {
+    WINDOW,
+    PROBATION,
+    PROTECTED
+  }
+
+  /** 追い出し順序を管理する二重連結リスト（先頭が最も古い） */
+  private static final class AccessOrder<K, V> {
+    private @Nullable Node<K, V> first;
+    private @Nullable Node<K, V> last;
+    private int size;
+
+    @Nullable Node<K, V> peekFirst() {
+      return first;
+    }
+
+    void addLast(Node<K, V> node) {
+      node.previous = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+      size++;
+    }
+
+    void unlink(Node<K, V> node) {
+      var previous = node.previous;
+      var next = node.next;
+      if (previous == null) {
+        first = next;
+      } else {
+        previous.next = next;
+      }
+      if (next == null) {
+        last = previous;
+      } else {
+        next.previous = previous;
+      }
+      node.previous = null;
+      node.next = null;
+      size--;
+    }
+
+    void moveToLast(Node<K, V> node) {
+      if (last != node) {
+        unlink(node);
+        addLast(node);
+      }
+    }
+  }
+
+  /** キャッシュの一部の追い出しを担うセグメント */
+  private final class Segment {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int capacity;
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedQueue = new AccessOrder<>();
+
+    Segment(int capacity) {
+      this.capacity = Math.max(1, capacity);
+      this.windowCapacity = Math.max(1, this.capacity * WINDOW_PERCENT / 100);
+      this.protectedCapacity = (this.capacity - windowCapacity) * PROTECTED_PERCENT / 100;
+    }
+
+    void add(Node<K, V> node) {
+      lock.lock();
+      try {
+        // ロックを取るまでの間に破棄・置換されたエントリは登録しない
+        if (data.get(node.key) != node || node.queue != null) {
+          return;
+        }
+        node.queue = Queue.WINDOW;
+        window.addLast(node);
+        if (window.size > windowCapacity) {
+          var candidate = window.peekFirst();
+          if (candidate != null) {
+            admit(candidate);
+          }
+        }
+        evictOverflow();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** ウィンドウから溢れたエントリをメイン領域に入れるか、頻度を比べて判断する */
+    private void admit(Node<K, V> candidate) {
+      window.unlink(candidate);
+      if (totalSize() + 1 <= capacity) {
+        candidate.queue = Queue.PROBATION;
+        probation.addLast(candidate);
+        return;
+      }
+
+      var victim = probation.peekFirst();
+      if (victim == null) {
+        victim = protectedQueue.peekFirst();
+      }
+      if (victim != null && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+        candidate.queue = null;
+        evict(candidate);
+        return;
+      }
+      candidate.queue = Queue.PROBATION;
+      probation.addLast(candidate);
+    }
+
+    /** 容量を超えている分を古い順に追い出す */
+    private void evictOverflow() {
+      while (totalSize() > capacity) {
+        var victim = probation.peekFirst();
+        if (victim == null) {
+          victim = protectedQueue.peekFirst();
+        }
+        if (victim == null) {
+          victim = window.peekFirst();
+        }
+        if (victim == null) {
+          return;
+        }
+        unlinkFromQueue(victim);
+        evict(victim);
+      }
+    }
+
+    private void evict(Node<K, V> node) {
+      if (data.remove(node.key, node)) {
+        evictions.increment();
+      }
+    }
+
+    void recordAccess(Node<K, V> node) {
+      // 参照を待たせないため、ロックが取れない場合は順序の更新を省略する
+      if (!lock.tryLock()) {
+        return;
+      }
+      try {
+        var queue = node.queue;
+        if (queue == null) {
+          return;
+        }
+        switch (queue) {
+          case WINDOW -> window.moveToLast(node);
+          case PROTECTED -> protectedQueue.moveToLast(node);
+          case PROBATION -> {
+            probation.unlink(node);
+            node.queue = Queue.PROTECTED;
+            protectedQueue.addLast(node);
+            if (protectedQueue.size > protectedCapacity) {
+              var demoted = protectedQueue.peekFirst();
+              if (demoted != null) {
+                protectedQueue.unlink(demoted);
+                demoted.queue = Queue.PROBATION;
+                probation.addLast(demoted);
+              }
+            }
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void remove(Node<K, V> node) {
+      lock.lock();
+      try {
+        unlinkFromQueue(node);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void unlinkFromQueue(Node<K, V> node) {
+      var queue = node.queue;
+      if (queue == null) {
+        return;
+      }
+      switch (queue) {
+        case WINDOW -> window.unlink(node);
+        case PROBATION -> probation.unlink(node);
+        case PROTECTED -> protectedQueue.unlink(node);
+      }
+      node.queue = null;
+    }
+
+    private int totalSize() {
+      return window.size + probation.size + protectedQueue.size;
+    }
+  }
+}
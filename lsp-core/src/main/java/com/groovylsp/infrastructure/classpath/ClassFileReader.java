@@ -0,0 +1,162 @@
+package com.groovylsp.infrastructure.classpath;
+
+import com.groovylsp.domain.model.LibraryType;
+import io.vavr.control.Option;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * クラスファイルのバイト列から型の情報を読み取る
+ *
+ * <p>定数プール・アクセスフラグ・フィールド・メソッドの表だけを読み、クラスのロードや静的初期化は行いません。
+ * 索引の対象はpublicな型とそのpublic/protectedなメンバーに限ります。
+ */
+final class ClassFileReader {
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_PROTECTED = 0x0004;
+  private static final int ACC_BRIDGE = 0x0040;
+  private static final int ACC_SYNTHETIC = 0x1000;
+  private static final int ACC_MODULE = 0x8000;
+
+  // 定数プールのタグ
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_FLOAT = 4;
+  private static final int CONSTANT_LONG = 5;
+  private static final int CONSTANT_DOUBLE = 6;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_STRING = 8;
+  private static final int CONSTANT_FIELDREF = 9;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_INTERFACE_METHODREF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+  private static final int CONSTANT_METHOD_HANDLE = 15;
+  private static final int CONSTANT_METHOD_TYPE = 16;
+  private static final int CONSTANT_DYNAMIC = 17;
+  private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+  private static final int CONSTANT_MODULE = 19;
+  private static final int CONSTANT_PACKAGE = 20;
+
+  private ClassFileReader() {
+    // ユーティリティクラスのため、インスタンス化を防ぐ
+  }
+
+  /**
+   * クラスファイルを読み取る
+   *
+   * @param bytes クラスファイルの内容
+   * @return 型の情報。索引の対象外（非public、合成、匿名クラス、module-info）の場合は空
+   * @throws IOException クラスファイルの形式が不正な場合
+   */
+  static Option<LibraryType> read(byte[] bytes) throws IOException {
+    var in = new DataInputStream(new ByteArrayInputStream(bytes));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("クラスファイルではありません");
+    }
+    in.readUnsignedShort(); // minor_version
+    in.readUnsignedShort(); // major_version
+
+    int constantPoolCount = in.readUnsignedShort();
+    var utf8 = new String[constantPoolCount];
+    var classNameIndexes = new int[constantPoolCount];
+    for (int i = 1; i < constantPoolCount; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case CONSTANT_UTF8 -> utf8[i] = in.readUTF();
+        case CONSTANT_CLASS -> classNameIndexes[i] = in.readUnsignedShort();
+        case CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> in
+            .skipNBytes(2);
+        case CONSTANT_METHOD_HANDLE -> in.skipNBytes(3);
+        case CONSTANT_INTEGER,
+            CONSTANT_FLOAT,
+            CONSTANT_FIELDREF,
+            CONSTANT_METHODREF,
+            CONSTANT_INTERFACE_METHODREF,
+            CONSTANT_NAME_AND_TYPE,
+            CONSTANT_DYNAMIC,
+            CONSTANT_INVOKE_DYNAMIC -> in.skipNBytes(4);
+        case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+          in.skipNBytes(8);
+          i++; // 8バイトの定数は2つ分のエントリを使う
+        }
+        default -> throw new IOException("不明な定数プールのタグです: " + tag);
+      }
+    }
+
+    int accessFlags = in.readUnsignedShort();
+    int thisClass = in.readUnsignedShort();
+    int superClass = in.readUnsignedShort();
+    if ((accessFlags & ACC_PUBLIC) == 0 || (accessFlags & (ACC_SYNTHETIC | ACC_MODULE)) != 0) {
+      return Option.none();
+    }
+
+    String qualifiedName = toQualifiedName(utf8[classNameIndexes[thisClass]]);
+    if (isAnonymousOrLocal(qualifiedName)) {
+      return Option.none();
+    }
+    @Nullable String superName =
+        superClass == 0 ? null : toQualifiedName(utf8[classNameIndexes[superClass]]);
+    if ("java.lang.Object".equals(superName)) {
+      superName = null;
+    }
+
+    int interfaceCount = in.readUnsignedShort();
+    in.skipNBytes(2L * interfaceCount);
+
+    var members = new ArrayList<LibraryType.Member>();
+    readMembers(in, utf8, LibraryType.Member.Kind.FIELD, members);
+    readMembers(in, utf8, LibraryType.Member.Kind.METHOD, members);
+    return Option.of(new LibraryType(qualifiedName, accessFlags, superName, members));
+  }
+
+  private static void readMembers(
+      DataInputStream in, String[] utf8, LibraryType.Member.Kind kind, List<LibraryType.Member> out)
+      throws IOException {
+    int count = in.readUnsignedShort();
+    for (int i = 0; i < count; i++) {
+      int accessFlags = in.readUnsignedShort();
+      String name = utf8[in.readUnsignedShort()];
+      String descriptor = utf8[in.readUnsignedShort()];
+      skipAttributes(in);
+
+      boolean visible = (accessFlags & (ACC_PUBLIC | ACC_PROTECTED)) != 0;
+      boolean generated =
+          (accessFlags & ACC_SYNTHETIC) != 0
+              || (kind == LibraryType.Member.Kind.METHOD && (accessFlags & ACC_BRIDGE) != 0);
+      if (visible && !generated && !"<clinit>".equals(name)) {
+        out.add(new LibraryType.Member(kind, name, descriptor, accessFlags));
+      }
+    }
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    int count = in.readUnsignedShort();
+    for (int i = 0; i < count; i++) {
+      in.readUnsignedShort(); // attribute_name_index
+      in.skipNBytes(Integer.toUnsignedLong(in.readInt()));
+    }
+  }
+
+  private static String toQualifiedName(String internalName) {
+    return internalName.replace('/', '.');
+  }
+
+  /** {@code Outer$1} や {@code Outer$1Local} のような匿名・ローカルクラスかどうか */
+  private static boolean isAnonymousOrLocal(String qualifiedName) {
+    int index = qualifiedName.indexOf('$');
+    while (index >= 0 && index + 1 < qualifiedName.length()) {
+      if (Character.isDigit(qualifiedName.charAt(index + 1))) {
+        return true;
+      }
+      index = qualifiedName.indexOf('$', index + 1);
+    }
+    return false;
+  }
+}
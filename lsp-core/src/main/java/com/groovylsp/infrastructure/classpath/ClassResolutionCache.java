@@ -0,0 +1,102 @@
+package com.groovylsp.infrastructure.classpath;
+
+import com.groovylsp.domain.service.TypeIndexService;
+import com.groovylsp.infrastructure.cache.CacheStats;
+import com.groovylsp.infrastructure.cache.TinyLfuCache;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * クラス名の解決結果のキャッシュ
+ *
+ * <p>シンボル抽出と型情報の抽出で共有し、同じクラス名の解決を繰り返さないようにします。 解決は型の索引が利用可能であれば索引を引き、
+ * 構築中はクラスを初期化せずにロードできるかで判断します。いずれもキャッシュのロックの外で行います。
+ *
+ * <p>見つからなかった結果は、索引の構築完了やプロジェクトのクラスの追加で変わり得るため、短い有効期限付きでキャッシュします。
+ *
+ * <p>返すClassNodeは複数のスレッドで共有されるため、読み取り専用として扱ってください。
+ */
+public class ClassResolutionCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClassResolutionCache.class);
+
+  /** キャッシュする最大件数 */
+  static final int MAXIMUM_SIZE = 4096;
+
+  /** 見つからなかった結果の有効期限 */
+  static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+
+  private final TypeIndexService typeIndexService;
+  private final TinyLfuCache<String, Resolution> cache;
+
+  public ClassResolutionCache(TypeIndexService typeIndexService) {
+    this(typeIndexService, System::nanoTime);
+  }
+
+  ClassResolutionCache(TypeIndexService typeIndexService, LongSupplier ticker) {
+    this.typeIndexService = typeIndexService;
+    this.cache =
+        new TinyLfuCache<>(
+            MAXIMUM_SIZE,
+            resolution -> resolution.exists() ? TinyLfuCache.NO_EXPIRATION : NEGATIVE_TTL.toNanos(),
+            ticker);
+  }
+
+  /**
+   * クラスが存在するかどうか
+   *
+   * @param qualifiedName 完全修飾クラス名
+   * @return クラスが存在する場合true
+   */
+  public boolean exists(String qualifiedName) {
+    return cache.get(qualifiedName, this::resolve).exists();
+  }
+
+  /**
+   * 型名に対応するClassNodeを取得
+   *
+   * <p>存在するクラスは {@link ClassHelper#make(String)} で作成し、 見つからない型名はObjectを継承する仮のクラスとして扱います。
+   *
+   * @param typeName 型名
+   * @return ClassNode
+   */
+  public ClassNode classNode(String typeName) {
+    return cache.get(typeName, this::resolve).classNode();
+  }
+
+  /** すべての解決結果を破棄する */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  /** キャッシュの統計情報 */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private Resolution resolve(String name) {
+    boolean exists =
+        typeIndexService.isReady() ? typeIndexService.containsClass(name) : isLoadable(name);
+    var classNode =
+        exists ? ClassHelper.make(name) : new ClassNode(name, 0, ClassHelper.OBJECT_TYPE);
+    return new Resolution(exists, classNode);
+  }
+
+  /** 静的初期化を行わずにクラスをロードできるかどうか */
+  private static boolean isLoadable(String className) {
+    try {
+      Class.forName(className, false, ClassResolutionCache.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      // プロジェクト固有のクラスは解決できないため、デバッグレベルでログ出力
+      logger.debug("Class not found in classpath: {}", className);
+      return false;
+    }
+  }
+
+  private record Resolution(boolean exists, ClassNode classNode) {}
+}
@@ -0,0 +1,158 @@
+package com.groovylsp.infrastructure.classpath;
+
+import groovy.lang.GroovyObject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 型の索引の対象となるクラスパスの要素を探す
+ *
+ * <p>以下の順に要素を返します。
+ *
+ * <ol>
+ *   <li>実行中のJDKのランタイムイメージ
+ *   <li>サーバーが同梱しているGroovyのランタイム（groovyパッケージのみ）
+ *   <li>Gradleのキャッシュ（{@code modules-2/files-2.1}）にあるjar。同じ成果物は最新のバージョンのみ
+ * </ol>
+ */
+public final class ClasspathLocator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClasspathLocator.class);
+
+  private static final Pattern VERSION_SEPARATOR = Pattern.compile("[.\\-]");
+
+  private ClasspathLocator() {
+    // ユーティリティクラスのため、インスタンス化を防ぐ
+  }
+
+  /** 既定のクラスパスの要素 */
+  public static List<ClasspathSource> defaultSources() {
+    var sources = new ArrayList<ClasspathSource>();
+    sources.add(ClasspathSource.jdk());
+    groovyRuntime().ifPresent(jar -> sources.add(ClasspathSource.jar(jar, List.of("groovy/"))));
+    sources.addAll(gradleCacheJars(gradleUserHome().resolve("caches/modules-2/files-2.1")));
+    return sources;
+  }
+
+  /** 索引ファイルの既定の保存先（システムプロパティ {@code groovy.lsp.cacheDir} で変更可能） */
+  public static Path defaultCacheDirectory() {
+    String configured = System.getProperty("groovy.lsp.cacheDir");
+    if (configured != null && !configured.isBlank()) {
+      return Paths.get(configured);
+    }
+    return Paths.get(System.getProperty("user.home"), ".cache", "groovy-lsp");
+  }
+
+  /**
+   * Gradleのキャッシュにあるjarを探す
+   *
+   * <p>キャッシュの構成は {@code <group>/<artifact>/<version>/<hash>/<artifact>-<version>.jar} です。
+   * ソースとJavadocのjarは除きます。
+   *
+   * @param filesDirectory {@code modules-2/files-2.1} ディレクトリ
+   * @return jarの一覧
+   */
+  static List<ClasspathSource> gradleCacheJars(Path filesDirectory) {
+    if (!Files.isDirectory(filesDirectory)) {
+      return List.of();
+    }
+
+    var sources = new ArrayList<ClasspathSource>();
+    try (var groups = Files.list(filesDirectory)) {
+      for (var group : groups.sorted().toList()) {
+        for (var artifact : listDirectories(group)) {
+          latestVersion(artifact)
+              .flatMap(ClasspathLocator::findBinaryJar)
+              .ifPresent(jar -> sources.add(ClasspathSource.jar(jar)));
+        }
+      }
+    } catch (IOException e) {
+      logger.warn("Gradleのキャッシュを走査できませんでした: {}", filesDirectory, e);
+    }
+    return sources;
+  }
+
+  private static Optional<Path> latestVersion(Path artifact) throws IOException {
+    return listDirectories(artifact).stream()
+        .max(
+            Comparator.comparing(
+                path -> path.getFileName().toString(), ClasspathLocator::compareVersions));
+  }
+
+  private static Optional<Path> findBinaryJar(Path versionDirectory) {
+    String prefix =
+        versionDirectory.getParent().getFileName() + "-" + versionDirectory.getFileName();
+    try (var files = Files.walk(versionDirectory, 2)) {
+      return files
+          .filter(path -> path.getFileName().toString().equals(prefix + ".jar"))
+          .findFirst();
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static List<Path> listDirectories(Path directory) throws IOException {
+    try (var children = Files.list(directory)) {
+      return children.filter(Files::isDirectory).sorted().toList();
+    }
+  }
+
+  /** 数値の部分は数値として比較する簡易的なバージョンの比較 */
+  static int compareVersions(String left, String right) {
+    String[] leftParts = VERSION_SEPARATOR.split(left);
+    String[] rightParts = VERSION_SEPARATOR.split(right);
+    for (int i = 0; i < Math.min(leftParts.length, rightParts.length); i++) {
+      int result = comparePart(leftParts[i], rightParts[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(leftParts.length, rightParts.length);
+  }
+
+  private static int comparePart(String left, String right) {
+    boolean leftNumeric = !left.isEmpty() && left.chars().allMatch(Character::isDigit);
+    boolean rightNumeric = !right.isEmpty() && right.chars().allMatch(Character::isDigit);
+    if (leftNumeric && rightNumeric) {
+      return left.length() != right.length()
+          ? Integer.compare(left.length(), right.length())
+          : left.compareTo(right);
+    }
+    // 数値はプレリリースの修飾子（alpha、rcなど）より新しいとみなす
+    if (leftNumeric != rightNumeric) {
+      return leftNumeric ? 1 : -1;
+    }
+    return left.compareTo(right);
+  }
+
+  private static Path gradleUserHome() {
+    String gradleUserHome = System.getenv("GRADLE_USER_HOME");
+    if (gradleUserHome != null && !gradleUserHome.isBlank()) {
+      return Paths.get(gradleUserHome);
+    }
+    return Paths.get(System.getProperty("user.home"), ".gradle");
+  }
+
+  private static Optional<Path> groovyRuntime() {
+    try {
+      var codeSource = GroovyObject.class.getProtectionDomain().getCodeSource();
+      if (codeSource == null) {
+        return Optional.empty();
+      }
+      var path = Paths.get(codeSource.getLocation().toURI());
+      return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    } catch (Exception e) {
+      logger.debug("Groovyのランタイムの場所を特定できませんでした", e);
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.groovylsp.infrastructure.classpath;
+
+import com.groovylsp.domain.model.LibraryType;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * クラスパスの要素を走査してクラスファイルを読み取る
+ *
+ * <p>同じ完全修飾名の型が複数の要素にある場合は、先に走査した要素のものを採用します。 読み取れない要素やクラスファイルはログに記録して読み飛ばします。
+ */
+final class ClasspathScanner {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClasspathScanner.class);
+
+  // 利用者が参照すべきでない内部パッケージ
+  private static final List<String> EXCLUDED_PREFIXES =
+      List.of("sun/", "com/sun/proxy/", "jdk/internal/");
+
+  private final Map<String, LibraryType> types = new LinkedHashMap<>();
+
+  /**
+   * 要素を順に走査する
+   *
+   * @param sources クラスパスの要素
+   * @return 走査した型の一覧
+   */
+  static Collection<LibraryType> scan(List<ClasspathSource> sources) {
+    var scanner = new ClasspathScanner();
+    for (var source : sources) {
+      try {
+        var jar = source.jar();
+        if (jar == null) {
+          scanner.scanRuntimeImage(source);
+        } else {
+          scanner.scanJar(jar, source);
+        }
+      } catch (IOException | RuntimeException e) {
+        logger.warn("クラスパスの走査に失敗しました: {}", source, e);
+      }
+    }
+    return scanner.types.values();
+  }
+
+  private void scanRuntimeImage(ClasspathSource source) throws IOException {
+    var fileSystem = runtimeImage();
+    var modules = fileSystem.getPath("/modules");
+    try (var paths = Files.walk(modules)) {
+      for (var path : (Iterable<Path>) paths::iterator) {
+        if (path.getNameCount() < 3 || !Files.isRegularFile(path)) {
+          continue;
+        }
+        // /modules/<モジュール名>/<パッケージ>/<クラス>.class
+        String entryName = path.subpath(2, path.getNameCount()).toString();
+        if (isCandidate(entryName, source)) {
+          add(entryName, Files.readAllBytes(path));
+        }
+      }
+    }
+  }
+
+  private void scanJar(Path jar, ClasspathSource source) throws IOException {
+    try (var zip = new ZipFile(jar.toFile())) {
+      var entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        var entry = entries.nextElement();
+        String entryName = entry.getName();
+        if (entry.isDirectory()
+            || entryName.startsWith("META-INF/")
+            || !isCandidate(entryName, source)) {
+          continue;
+        }
+        try (var in = zip.getInputStream(entry)) {
+          add(entryName, in.readAllBytes());
+        }
+      }
+    }
+  }
+
+  private boolean isCandidate(String entryName, ClasspathSource source) {
+    if (!entryName.endsWith(".class")
+        || entryName.endsWith("module-info.class")
+        || entryName.endsWith("package-info.class")
+        || !source.includes(entryName)) {
+      return false;
+    }
+    for (var prefix : EXCLUDED_PREFIXES) {
+      if (entryName.startsWith(prefix)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void add(String entryName, byte[] bytes) {
+    try {
+      ClassFileReader.read(bytes)
+          .filter(type -> !types.containsKey(type.qualifiedName()))
+          .forEach(type -> types.put(type.qualifiedName(), type));
+    } catch (IOException | RuntimeException e) {
+      logger.debug("クラスファイルを読み取れませんでした: {}", entryName, e);
+    }
+  }
+
+  private static FileSystem runtimeImage() throws IOException {
+    var uri = URI.create("jrt:/");
+    try {
+      return FileSystems.getFileSystem(uri);
+    } catch (FileSystemNotFoundException e) {
+      return FileSystems.newFileSystem(uri, Map.of());
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.groovylsp.infrastructure.classpath;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * 型の索引の対象となるクラスパスの要素
+ *
+ * @param jar jarファイル（JDKのランタイムイメージの場合はnull）
+ * @param packagePrefixes 対象とするパッケージの接頭辞（{@code /} 区切り、空の場合はすべて）
+ */
+public record ClasspathSource(@Nullable Path jar, List<String> packagePrefixes) {
+
+  public ClasspathSource {
+    packagePrefixes = List.copyOf(packagePrefixes);
+  }
+
+  /** 実行中のJDKのランタイムイメージ（jrt:/） */
+  public static ClasspathSource jdk() {
+    return new ClasspathSource(null, List.of());
+  }
+
+  /** jarファイル全体 */
+  public static ClasspathSource jar(Path jar) {
+    return new ClasspathSource(jar, List.of());
+  }
+
+  /** jarファイルのうち指定されたパッケージ配下のみ */
+  public static ClasspathSource jar(Path jar, List<String> packagePrefixes) {
+    return new ClasspathSource(jar, packagePrefixes);
+  }
+
+  /**
+   * クラスファイルのパスが対象に含まれるかどうか
+   *
+   * @param entryName {@code /} 区切りのクラスファイルのパス
+   * @return 含まれる場合true
+   */
+  boolean includes(String entryName) {
+    if (packagePrefixes.isEmpty()) {
+      return true;
+    }
+    for (var prefix : packagePrefixes) {
+      if (entryName.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,216 @@
+package com.groovylsp.infrastructure.classpath;
+
+import com.groovylsp.domain.model.LibraryType;
+import com.groovylsp.domain.service.TypeIndexService;
+import io.vavr.collection.List;
+import io.vavr.control.Option;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * メモリマップした索引ファイルによる型の索引サービス
+ *
+ * <p>クラスパスの要素（パス・サイズ・更新日時）とJDKのバージョンから求めたフィンガープリントを索引ファイル名に含め、
+ * 一致するファイルがあれば走査せずに再利用します。構築は優先度の低いデーモンスレッドで行い、完了した表を volatileなフィールドに公開します。以降の検索はロックを取りません。
+ */
+public class MappedTypeIndexService implements TypeIndexService {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedTypeIndexService.class);
+
+  private static final String FILE_PREFIX = "types-";
+  private static final String FILE_SUFFIX = ".idx";
+
+  private final @Nullable Path cacheDirectory;
+  private final Supplier<java.util.List<ClasspathSource>> sources;
+  private final AtomicReference<@Nullable CompletableFuture<Void>> indexing =
+      new AtomicReference<>();
+
+  private volatile @Nullable TypeIndexTable table;
+
+  /**
+   * @param cacheDirectory 索引ファイルの保存先
+   * @param sources 索引の対象となるクラスパスの要素
+   */
+  public MappedTypeIndexService(
+      Path cacheDirectory, Supplier<java.util.List<ClasspathSource>> sources) {
+    this.cacheDirectory = cacheDirectory;
+    this.sources = sources;
+  }
+
+  private MappedTypeIndexService() {
+    this.cacheDirectory = null;
+    this.sources = java.util.List::of;
+  }
+
+  /**
+   * 索引を構築しないサービス
+   *
+   * <p>常に未構築の状態のため、利用側は従来の解決方法にフォールバックします。
+   *
+   * @return サービス
+   */
+  public static TypeIndexService disabled() {
+    return new MappedTypeIndexService();
+  }
+
+  @Override
+  public CompletableFuture<Void> startIndexing() {
+    var created = new CompletableFuture<Void>();
+    var existing = indexing.compareAndExchange(null, created);
+    if (existing != null) {
+      return existing;
+    }
+
+    var directory = cacheDirectory;
+    if (directory == null) {
+      created.complete(null);
+      return created;
+    }
+
+    var thread =
+        new Thread(
+            () -> {
+              try {
+                table = loadOrBuild(directory);
+                created.complete(null);
+              } catch (Throwable e) {
+                logger.warn("型の索引の構築に失敗しました", e);
+                created.completeExceptionally(e);
+              }
+            },
+            "groovy-lsp-type-indexer");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+    return created;
+  }
+
+  @Override
+  public boolean isReady() {
+    return table != null;
+  }
+
+  @Override
+  public boolean containsClass(String qualifiedName) {
+    var current = table;
+    return current != null && current.contains(qualifiedName);
+  }
+
+  @Override
+  public Option<LibraryType> findClass(String qualifiedName) {
+    var current = table;
+    return current == null ? Option.none() : Option.of(current.find(qualifiedName));
+  }
+
+  @Override
+  public List<String> findClassesBySimpleName(String simpleName) {
+    var current = table;
+    return current == null ? List.empty() : List.ofAll(current.findBySimpleName(simpleName));
+  }
+
+  @Override
+  public List<PackageChild> findPackageChildren(String packageName, String prefix, int limit) {
+    var current = table;
+    return current == null
+        ? List.empty()
+        : List.ofAll(current.findPackageChildren(packageName, prefix, limit));
+  }
+
+  private TypeIndexTable loadOrBuild(Path directory) throws IOException {
+    var classpath = sources.get();
+    var indexFile = directory.resolve(FILE_PREFIX + fingerprint(classpath) + FILE_SUFFIX);
+    if (Files.isRegularFile(indexFile)) {
+      try {
+        var loaded = TypeIndexTable.open(indexFile);
+        logger.info("型の索引を読み込みました: {}件 ({})", loaded.size(), indexFile);
+        return loaded;
+      } catch (IOException e) {
+        logger.warn("型の索引ファイルが壊れているため再構築します: {}", indexFile, e);
+      }
+    }
+
+    long start = System.nanoTime();
+    var types = ClasspathScanner.scan(classpath);
+    Files.createDirectories(directory);
+    var temporary = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+    try {
+      TypeIndexTable.write(temporary, types);
+      Files.move(
+          temporary,
+          indexFile,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+    deleteStaleIndexes(directory, indexFile);
+
+    var built = TypeIndexTable.open(indexFile);
+    logger.info("型の索引を構築しました: {}件 ({}ms)", built.size(), (System.nanoTime() - start) / 1_000_000);
+    return built;
+  }
+
+  private static void deleteStaleIndexes(Path directory, Path current) {
+    try (var files = Files.list(directory)) {
+      files
+          .filter(path -> !path.equals(current))
+          .filter(
+              path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+              })
+          .forEach(
+              path -> {
+                try {
+                  Files.deleteIfExists(path);
+                } catch (IOException e) {
+                  logger.debug("古い型の索引を削除できませんでした: {}", path, e);
+                }
+              });
+    } catch (IOException e) {
+      logger.debug("古い型の索引の確認に失敗しました: {}", directory, e);
+    }
+  }
+
+  /** クラスパスの内容が変わると変化するフィンガープリント */
+  static String fingerprint(java.util.List<ClasspathSource> classpath) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    var text = new StringBuilder();
+    text.append(TypeIndexTable.FORMAT_VERSION).append('\n');
+    text.append(System.getProperty("java.home")).append('\n');
+    text.append(Runtime.version()).append('\n');
+    for (var source : classpath) {
+      var jar = source.jar();
+      if (jar == null) {
+        text.append("jrt:/");
+      } else {
+        text.append(jar.toAbsolutePath())
+            .append('|')
+            .append(Files.size(jar))
+            .append('|')
+            .append(Files.getLastModifiedTime(jar).toMillis());
+      }
+      text.append('|').append(String.join(",", source.packagePrefixes())).append('\n');
+    }
+    byte[] hash = digest.digest(text.toString().getBytes(StandardCharsets.UTF_8));
+    return HexFormat.of().formatHex(hash, 0, 16);
+  }
+}
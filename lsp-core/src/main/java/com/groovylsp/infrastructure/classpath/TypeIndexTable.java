@@ -0,0 +1,314 @@
+package com.groovylsp.infrastructure.classpath;
+
+import com.groovylsp.domain.model.LibraryType;
+import com.groovylsp.domain.service.TypeIndexService.PackageChild;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * 型の索引をファイルに書き出し、メモリマップして検索する整列済みの表
+ *
+ * <p>ファイルの構成（ビッグエンディアン）は以下の通りです。
+ *
+ * <pre>
+ * int   MAGIC, FORMAT_VERSION, 型の数n
+ * int[n] 完全修飾名のUTF-8バイト列の順に並べたエントリのオフセット
+ * int[n] 単純名（同じ場合は完全修飾名）の順に並べたエントリの番号
+ * エントリ: u2 名前の長さ, 名前, u2 単純名の開始位置, u2 アクセスフラグ, u2 スーパークラス名の長さ, スーパークラス名,
+ *           u2 メンバー数, メンバー（u1 種類, u2 アクセスフラグ, u2 名前の長さ, 名前, u2 記述子の長さ, 記述子）
+ * </pre>
+ *
+ * <p>検索はバッファの絶対位置での読み取りだけで行うため、複数のスレッドから同時に呼び出せます。
+ */
+final class TypeIndexTable {
+
+  static final int MAGIC = 0x47545958; // "GTYX"
+  static final int FORMAT_VERSION = 1;
+
+  private static final int HEADER_SIZE = 12;
+
+  private static final Comparator<byte[]> BYTES_ORDER = Arrays::compareUnsigned;
+
+  private final ByteBuffer buffer;
+  private final int count;
+
+  private TypeIndexTable(ByteBuffer buffer) throws IOException {
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException("型の索引ファイルの形式が不正です");
+    }
+    this.buffer = buffer;
+    this.count = buffer.getInt(8);
+  }
+
+  /**
+   * 索引ファイルを読み取り専用でメモリマップする
+   *
+   * @param path 索引ファイル
+   * @return 表
+   * @throws IOException 読み取りに失敗した場合や形式が不正な場合
+   */
+  static TypeIndexTable open(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new TypeIndexTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * 型の一覧を索引ファイルに書き出す
+   *
+   * @param path 出力先
+   * @param types 型の一覧（完全修飾名は重複しないこと）
+   * @throws IOException 書き出しに失敗した場合
+   */
+  static void write(Path path, Collection<LibraryType> types) throws IOException {
+    var entries = new ArrayList<Entry>(types.size());
+    for (var type : types) {
+      entries.add(Entry.of(type));
+    }
+    entries.sort(Comparator.comparing(Entry::name, BYTES_ORDER));
+
+    var simpleNameOrder = new Integer[entries.size()];
+    for (int i = 0; i < simpleNameOrder.length; i++) {
+      simpleNameOrder[i] = i;
+    }
+    Arrays.sort(
+        simpleNameOrder,
+        Comparator.<Integer, byte[]>comparing(i -> entries.get(i).simpleName(), BYTES_ORDER)
+            .thenComparing(i -> i));
+
+    try (var out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(entries.size());
+
+      int offset = HEADER_SIZE + 8 * entries.size();
+      for (var entry : entries) {
+        out.writeInt(offset);
+        offset += entry.bytes().length;
+      }
+      for (int index : simpleNameOrder) {
+        out.writeInt(index);
+      }
+      for (var entry : entries) {
+        out.write(entry.bytes());
+      }
+    }
+  }
+
+  /** 索引に含まれる型の数 */
+  int size() {
+    return count;
+  }
+
+  boolean contains(String qualifiedName) {
+    return indexOf(utf8(qualifiedName)) >= 0;
+  }
+
+  /**
+   * 型の情報を取得
+   *
+   * @param qualifiedName 完全修飾名
+   * @return 型の情報。見つからない場合はnull
+   */
+  @Nullable LibraryType find(String qualifiedName) {
+    int index = indexOf(utf8(qualifiedName));
+    return index >= 0 ? decode(entryOffset(index)) : null;
+  }
+
+  /** 単純名が一致する型の完全修飾名（名前順） */
+  List<String> findBySimpleName(String simpleName) {
+    byte[] key = utf8(simpleName);
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareSimpleName(entryOffset(simpleNameOrder(mid)), key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    var result = new ArrayList<String>();
+    for (int i = low; i < count; i++) {
+      int offset = entryOffset(simpleNameOrder(i));
+      if (compareSimpleName(offset, key) != 0) {
+        break;
+      }
+      result.add(readString(offset));
+    }
+    return result;
+  }
+
+  /** パッケージ直下のサブパッケージとクラス（名前順、ネストしたクラスは除く） */
+  List<PackageChild> findPackageChildren(String packageName, String prefix, int limit) {
+    String base = packageName.isEmpty() ? "" : packageName + ".";
+    byte[] key = utf8(base + prefix);
+
+    var result = new ArrayList<PackageChild>();
+    int index = lowerBound(key);
+    while (index < count && result.size() < limit) {
+      int offset = entryOffset(index);
+      if (!startsWith(offset, key)) {
+        break;
+      }
+
+      String name = readString(offset);
+      String relative = name.substring(base.length());
+      int dot = relative.indexOf('.');
+      if (dot >= 0) {
+        String child = relative.substring(0, dot);
+        result.add(new PackageChild(child, base + child, true));
+        // 同じサブパッケージのエントリを読み飛ばす（'.'の次の文字'/'で下限を取る）
+        index = lowerBound(utf8(base + child + "/"));
+      } else {
+        if (relative.indexOf('$') < 0) {
+          result.add(new PackageChild(relative, name, false));
+        }
+        index++;
+      }
+    }
+    return result;
+  }
+
+  private int entryOffset(int index) {
+    return buffer.getInt(HEADER_SIZE + 4 * index);
+  }
+
+  private int simpleNameOrder(int index) {
+    return buffer.getInt(HEADER_SIZE + 4 * count + 4 * index);
+  }
+
+  private int indexOf(byte[] key) {
+    int index = lowerBound(key);
+    return index < count && compareName(entryOffset(index), key) == 0 ? index : -1;
+  }
+
+  /** 完全修飾名がkey以上となる最初のエントリの番号 */
+  private int lowerBound(byte[] key) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareName(entryOffset(mid), key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int compareName(int offset, byte[] key) {
+    return compareBytes(offset + 2, unsignedShort(offset), key);
+  }
+
+  private int compareSimpleName(int offset, byte[] key) {
+    int nameLength = unsignedShort(offset);
+    int simpleStart = unsignedShort(offset + 2 + nameLength);
+    return compareBytes(offset + 2 + simpleStart, nameLength - simpleStart, key);
+  }
+
+  private boolean startsWith(int offset, byte[] prefix) {
+    int length = unsignedShort(offset);
+    return length >= prefix.length && compareBytes(offset + 2, prefix.length, prefix) == 0;
+  }
+
+  private int compareBytes(int start, int length, byte[] key) {
+    int common = Math.min(length, key.length);
+    for (int i = 0; i < common; i++) {
+      int diff = Byte.toUnsignedInt(buffer.get(start + i)) - Byte.toUnsignedInt(key[i]);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - key.length;
+  }
+
+  private LibraryType decode(int offset) {
+    int position = offset;
+    String name = readString(position);
+    position += 2 + unsignedShort(position);
+    position += 2; // 単純名の開始位置
+    int modifiers = unsignedShort(position);
+    position += 2;
+    String superClass = readString(position);
+    position += 2 + unsignedShort(position);
+
+    int memberCount = unsignedShort(position);
+    position += 2;
+    var members = new ArrayList<LibraryType.Member>(memberCount);
+    for (int i = 0; i < memberCount; i++) {
+      var kind = LibraryType.Member.Kind.values()[buffer.get(position)];
+      int memberModifiers = unsignedShort(position + 1);
+      position += 3;
+      String memberName = readString(position);
+      position += 2 + unsignedShort(position);
+      String descriptor = readString(position);
+      position += 2 + unsignedShort(position);
+      members.add(new LibraryType.Member(kind, memberName, descriptor, memberModifiers));
+    }
+    return new LibraryType(name, modifiers, superClass.isEmpty() ? null : superClass, members);
+  }
+
+  private String readString(int offset) {
+    var bytes = new byte[unsignedShort(offset)];
+    buffer.get(offset + 2, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int unsignedShort(int offset) {
+    return Short.toUnsignedInt(buffer.getShort(offset));
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** 書き出し用に符号化したエントリ */
+  private record Entry(byte[] name, byte[] simpleName, byte[] bytes) {
+
+    static Entry of(LibraryType type) throws IOException {
+      byte[] name = utf8(type.qualifiedName());
+      int simpleStart =
+          utf8(type.qualifiedName().substring(0, LibraryType.simpleNameStart(type.qualifiedName())))
+              .length;
+
+      var bytes = new ByteArrayOutputStream(64 + 32 * type.members().size());
+      var out = new DataOutputStream(bytes);
+      writeBytes(out, name);
+      out.writeShort(simpleStart);
+      out.writeShort(type.modifiers());
+      writeBytes(out, utf8(type.superClass() != null ? type.superClass() : ""));
+      out.writeShort(type.members().size());
+      for (var member : type.members()) {
+        out.writeByte(member.kind().ordinal());
+        out.writeShort(member.modifiers());
+        writeBytes(out, utf8(member.name()));
+        writeBytes(out, utf8(member.descriptor()));
+      }
+      return new Entry(
+          name, Arrays.copyOfRange(name, simpleStart, name.length), bytes.toByteArray());
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+      out.writeShort(value.length);
+      out.write(value);
+    }
+  }
+}
@@ -1,28 +1,60 @@
 package com.groovylsp.infrastructure.di;
 
+import com.groovylsp.application.usecase.CompletionUseCase;
+import com.groovylsp.application.usecase.ConfigurationUseCase;
+import com.groovylsp.application.usecase.DefinitionUseCase;
 import com.groovylsp.application.usecase.DiagnosticUseCase;
 import com.groovylsp.application.usecase.DocumentSymbolUseCase;
+import com.groovylsp.application.usecase.FoldingRangeUseCase;
 import com.groovylsp.application.usecase.HoverUseCase;
+import com.groovylsp.application.usecase.ReferencesUseCase;
+import com.groovylsp.application.usecase.SelectionRangeUseCase;
+import com.groovylsp.application.usecase.SemanticTokensUseCase;
 import com.groovylsp.application.usecase.TextDocumentSyncUseCase;
+import com.groovylsp.application.usecase.WorkspaceIndexUseCase;
+import com.groovylsp.application.usecase.WorkspaceSymbolUseCase;
+import com.groovylsp.domain.model.DependencyGraph;
+import com.groovylsp.domain.model.OccurrenceIndex;
 import com.groovylsp.domain.model.ScopeManager;
 import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.repository.ConfigRepository;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import com.groovylsp.domain.service.AstAnalysisService;
 import com.groovylsp.domain.service.BracketValidationService;
 import com.groovylsp.domain.service.DefinitionFinderService;
-import com.groovylsp.domain.service.LineCountService;
+import com.groovylsp.domain.service.LexicalAnalysisService;
+import com.groovylsp.domain.service.SelectionRangeService;
+import com.groovylsp.domain.service.SemanticTokensService;
 import com.groovylsp.domain.service.SymbolExtractionService;
 import com.groovylsp.domain.service.SymbolTableBuilderService;
+import com.groovylsp.domain.service.TypeIndexService;
 import com.groovylsp.domain.service.TypeInfoService;
+import com.groovylsp.infrastructure.ast.GroovySelectionRangeService;
 import com.groovylsp.infrastructure.ast.GroovySymbolExtractionService;
 import com.groovylsp.infrastructure.ast.GroovyTypeInfoService;
+import com.groovylsp.infrastructure.classpath.ClassResolutionCache;
+import com.groovylsp.infrastructure.classpath.ClasspathLocator;
+import com.groovylsp.infrastructure.classpath.MappedTypeIndexService;
+import com.groovylsp.infrastructure.jfr.RecordingController;
+import com.groovylsp.infrastructure.memory.MemoryPressureMonitor;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.metrics.SlowRequestLog;
 import com.groovylsp.infrastructure.parser.DocumentContentService;
+import com.groovylsp.infrastructure.parser.FileContentStore;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.GroovyAstParser.ParserConfiguration;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.infrastructure.parser.ParserWarmup;
 import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
+import com.groovylsp.infrastructure.repository.JsonConfigRepository;
+import com.groovylsp.infrastructure.semantic.GroovySemanticTokensService;
 import com.groovylsp.infrastructure.symbol.GroovyDefinitionFinderService;
 import com.groovylsp.infrastructure.symbol.GroovySymbolTableBuilderService;
+import com.groovylsp.presentation.server.DiagnosticPublisher;
 import com.groovylsp.presentation.server.GroovyTextDocumentService;
 import com.groovylsp.presentation.server.GroovyWorkspaceService;
+import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import javax.inject.Singleton;
@@ -39,32 +71,122 @@ public class ServerModule {
 
   @Provides
   @Singleton
-  public LineCountService provideLineCountService() {
-    return new LineCountService();
+  public BracketValidationService provideBracketValidationService() {
+    return new BracketValidationService();
   }
 
   @Provides
   @Singleton
-  public BracketValidationService provideBracketValidationService() {
-    return new BracketValidationService();
+  public ServerMetrics provideServerMetrics() {
+    return new ServerMetrics();
+  }
+
+  @Provides
+  @Singleton
+  public RecordingController provideRecordingController(ServerMetrics metrics) {
+    return new RecordingController(
+        metrics, ClasspathLocator.defaultCacheDirectory().resolve("recordings"));
+  }
+
+  @Provides
+  @Singleton
+  public SlowRequestLog provideSlowRequestLog(ServerMetrics metrics) {
+    return SlowRequestLog.fromSystemProperties(
+        metrics, ClasspathLocator.defaultCacheDirectory().resolve("slow-requests"));
+  }
+
+  @Provides
+  @Singleton
+  public LexicalAnalysisService provideLexicalAnalysisService(
+      BracketValidationService bracketValidationService, ServerMetrics metrics) {
+    return new LexicalAnalysisService(bracketValidationService, metrics);
+  }
+
+  @Provides
+  @Singleton
+  public WorkspaceConfiguration provideWorkspaceConfiguration() {
+    return new WorkspaceConfiguration();
+  }
+
+  @Provides
+  @Singleton
+  public ConfigRepository provideConfigRepository() {
+    return new JsonConfigRepository();
+  }
+
+  @Provides
+  @Singleton
+  public GroovyAstParser provideGroovyAstParser(
+      ServerMetrics metrics, WorkspaceConfiguration workspaceConfiguration) {
+    // 大きさの上限を超えるファイルはコンパイラに渡さない
+    return new GroovyAstParser(
+        ParserConfiguration.defaultConfig(), metrics, workspaceConfiguration);
+  }
+
+  @Provides
+  @Singleton
+  public ParserWarmup provideParserWarmup(ServerMetrics metrics) {
+    return new ParserWarmup(ParserConfiguration.defaultConfig(), metrics);
+  }
+
+  @Provides
+  @Singleton
+  public MemoryPressureMonitor provideMemoryPressureMonitor(ServerMetrics metrics) {
+    var monitor = new MemoryPressureMonitor();
+    metrics.registerGauge("memory.pressureEvents", monitor::pressureCount);
+    return monitor;
+  }
+
+  @Provides
+  @Singleton
+  public ParseResultCache provideParseResultCache(
+      GroovyAstParser parser, MemoryPressureMonitor memoryPressureMonitor, ServerMetrics metrics) {
+    var cache = new ParseResultCache(parser, ParseResultCache.budgetFromSystemProperties());
+    metrics.registerCache("parseResult", cache::stats);
+    metrics.registerGauge("memory.astRetainedBytes", cache::retainedBytes);
+    // 逼迫した場合は直近に使われたドキュメントのASTだけを残す
+    memoryPressureMonitor.addListener(() -> cache.trim(1));
+    memoryPressureMonitor.start();
+    return cache;
   }
 
   @Provides
   @Singleton
-  public GroovyAstParser provideGroovyAstParser() {
-    return new GroovyAstParser();
+  public AstAnalysisService provideAstAnalysisService(
+      ParseResultCache parseResultCache,
+      ServerMetrics metrics,
+      WorkspaceConfiguration workspaceConfiguration,
+      MemoryPressureMonitor memoryPressureMonitor) {
+    var service = new AstAnalysisService(parseResultCache, metrics, workspaceConfiguration);
+    metrics.registerCache("astSummary", service::summaryStats);
+    // 構文解析を省略する上限が変わった場合は、保持しているASTとAST情報を使わない
+    workspaceConfiguration.addListener(service::invalidateAll);
+    // 逼迫した場合はAST情報も破棄する（ASTはParseResultCacheのリスナーが減らす）
+    memoryPressureMonitor.addListener(service::trimSummaries);
+    return service;
   }
 
   @Provides
   @Singleton
-  public AstAnalysisService provideAstAnalysisService(GroovyAstParser parser) {
-    return new AstAnalysisService(parser);
+  public TypeIndexService provideTypeIndexService() {
+    return new MappedTypeIndexService(
+        ClasspathLocator.defaultCacheDirectory(), ClasspathLocator::defaultSources);
   }
 
   @Provides
   @Singleton
-  public SymbolExtractionService provideSymbolExtractionService(GroovyAstParser parser) {
-    return new GroovySymbolExtractionService(parser);
+  public ClassResolutionCache provideClassResolutionCache(
+      TypeIndexService typeIndexService, ServerMetrics metrics) {
+    var cache = new ClassResolutionCache(typeIndexService);
+    metrics.registerCache("classResolution", cache::stats);
+    return cache;
+  }
+
+  @Provides
+  @Singleton
+  public SymbolExtractionService provideSymbolExtractionService(
+      GroovyAstParser parser, ClassResolutionCache classResolutionCache) {
+    return new GroovySymbolExtractionService(parser, classResolutionCache);
   }
 
   @Provides
@@ -74,40 +196,209 @@ public class ServerModule {
       SymbolTable symbolTable,
       ScopeManager scopeManager,
       DocumentContentService documentContentService,
-      AstAnalysisService astAnalysisService) {
+      AstAnalysisService astAnalysisService,
+      TypeIndexService typeIndexService,
+      ClassResolutionCache classResolutionCache,
+      ServerMetrics metrics) {
     return new GroovyTypeInfoService(
-        parser, symbolTable, scopeManager, documentContentService, astAnalysisService);
+        parser,
+        symbolTable,
+        scopeManager,
+        documentContentService,
+        astAnalysisService,
+        typeIndexService,
+        classResolutionCache,
+        metrics);
   }
 
   @Provides
   @Singleton
   public DocumentSymbolUseCase provideDocumentSymbolUseCase(
-      SymbolExtractionService symbolExtractionService, TextDocumentRepository repository) {
-    return new DocumentSymbolUseCase(symbolExtractionService, repository);
+      SymbolExtractionService symbolExtractionService,
+      TextDocumentRepository repository,
+      ServerMetrics metrics) {
+    var useCase = new DocumentSymbolUseCase(symbolExtractionService, repository);
+    metrics.registerCache("documentSymbol", useCase::cacheStats);
+    return useCase;
   }
 
   @Provides
   @Singleton
   public HoverUseCase provideHoverUseCase(
-      TextDocumentRepository repository, TypeInfoService typeInfoService) {
-    return new HoverUseCase(repository, typeInfoService);
+      TextDocumentRepository repository, TypeInfoService typeInfoService, ServerMetrics metrics) {
+    var useCase = new HoverUseCase(repository, typeInfoService);
+    metrics.registerCache("hover", useCase::cacheStats);
+    metrics.registerGauge("queue.hoverPrefetcher", useCase::pendingPrefetchCount);
+    return useCase;
+  }
+
+  @Provides
+  @Singleton
+  public SemanticTokensService provideSemanticTokensService(AstAnalysisService astAnalysisService) {
+    return new GroovySemanticTokensService(astAnalysisService);
+  }
+
+  @Provides
+  @Singleton
+  public SemanticTokensUseCase provideSemanticTokensUseCase(
+      TextDocumentRepository repository, SemanticTokensService semanticTokensService) {
+    return new SemanticTokensUseCase(repository, semanticTokensService);
+  }
+
+  @Provides
+  @Singleton
+  public FoldingRangeUseCase provideFoldingRangeUseCase(
+      TextDocumentRepository repository, LexicalAnalysisService lexicalAnalysisService) {
+    return new FoldingRangeUseCase(repository, lexicalAnalysisService);
+  }
+
+  @Provides
+  @Singleton
+  public SelectionRangeService provideSelectionRangeService(ParseResultCache parseResultCache) {
+    return new GroovySelectionRangeService(parseResultCache);
+  }
+
+  @Provides
+  @Singleton
+  public SelectionRangeUseCase provideSelectionRangeUseCase(
+      TextDocumentRepository repository, SelectionRangeService selectionRangeService) {
+    return new SelectionRangeUseCase(repository, selectionRangeService);
+  }
+
+  @Provides
+  @Singleton
+  public DefinitionUseCase provideDefinitionUseCase(
+      TextDocumentRepository repository,
+      AstAnalysisService astAnalysisService,
+      SymbolTableBuilderService symbolTableBuilderService,
+      SymbolTable symbolTable,
+      ScopeManager scopeManager,
+      DefinitionFinderService definitionFinderService,
+      OccurrenceIndex occurrenceIndex,
+      DependencyGraph dependencyGraph,
+      FileContentStore contentStore,
+      ServerMetrics metrics) {
+    var useCase =
+        new DefinitionUseCase(
+            repository,
+            astAnalysisService,
+            symbolTableBuilderService,
+            symbolTable,
+            scopeManager,
+            definitionFinderService,
+            occurrenceIndex,
+            dependencyGraph,
+            contentStore,
+            metrics);
+    metrics.registerGauge("queue.symbolIndexer", useCase::pendingIndexCount);
+    return useCase;
+  }
+
+  @Provides
+  @Singleton
+  public CompletionUseCase provideCompletionUseCase(
+      TextDocumentRepository repository,
+      ScopeManager scopeManager,
+      SymbolTable symbolTable,
+      DefinitionUseCase definitionUseCase,
+      TypeIndexService typeIndexService) {
+    return new CompletionUseCase(
+        repository, scopeManager, symbolTable, definitionUseCase, typeIndexService);
+  }
+
+  @Provides
+  @Singleton
+  public ReferencesUseCase provideReferencesUseCase(
+      DefinitionUseCase definitionUseCase, OccurrenceIndex occurrenceIndex) {
+    return new ReferencesUseCase(definitionUseCase, occurrenceIndex);
   }
 
   @Provides
   @Singleton
   public GroovyTextDocumentService provideTextDocumentService(
       TextDocumentSyncUseCase syncUseCase,
-      DiagnosticUseCase diagnosticUseCase,
-      DocumentSymbolUseCase documentSymbolUseCase,
-      HoverUseCase hoverUseCase) {
-    return new GroovyTextDocumentService(
-        syncUseCase, diagnosticUseCase, documentSymbolUseCase, hoverUseCase);
+      Lazy<DiagnosticUseCase> diagnosticUseCase,
+      Lazy<DocumentSymbolUseCase> documentSymbolUseCase,
+      Lazy<HoverUseCase> hoverUseCase,
+      Lazy<SemanticTokensUseCase> semanticTokensUseCase,
+      Lazy<FoldingRangeUseCase> foldingRangeUseCase,
+      Lazy<SelectionRangeUseCase> selectionRangeUseCase,
+      Lazy<DefinitionUseCase> definitionUseCase,
+      Lazy<ReferencesUseCase> referencesUseCase,
+      Lazy<CompletionUseCase> completionUseCase,
+      Lazy<WorkspaceIndexUseCase> workspaceIndexUseCase,
+      DiagnosticPublisher diagnosticPublisher,
+      ServerMetrics metrics,
+      SlowRequestLog slowRequestLog,
+      WorkspaceConfiguration workspaceConfiguration) {
+    // 機能ごとのユースケースは initialize の後にバックグラウンドで作成する
+    var service =
+        new GroovyTextDocumentService(
+            syncUseCase,
+            diagnosticUseCase,
+            documentSymbolUseCase,
+            hoverUseCase,
+            semanticTokensUseCase,
+            foldingRangeUseCase,
+            selectionRangeUseCase,
+            definitionUseCase,
+            referencesUseCase,
+            completionUseCase,
+            workspaceIndexUseCase,
+            diagnosticPublisher,
+            metrics,
+            slowRequestLog,
+            workspaceConfiguration);
+    // 除外パターンや大きさの上限が変わった場合は、開いているドキュメントの診断と索引をやり直す
+    workspaceConfiguration.addListener(service::configurationChanged);
+    return service;
+  }
+
+  @Provides
+  @Singleton
+  public DiagnosticPublisher provideDiagnosticPublisher() {
+    return new DiagnosticPublisher();
+  }
+
+  @Provides
+  @Singleton
+  public GroovyWorkspaceService provideWorkspaceService(
+      ServerMetrics metrics,
+      Lazy<WorkspaceSymbolUseCase> workspaceSymbolUseCase,
+      Lazy<WorkspaceIndexUseCase> workspaceIndexUseCase,
+      ConfigurationUseCase configurationUseCase) {
+    return new GroovyWorkspaceService(
+        metrics, workspaceSymbolUseCase, workspaceIndexUseCase, configurationUseCase);
+  }
+
+  @Provides
+  @Singleton
+  public WorkspaceIndexUseCase provideWorkspaceIndexUseCase(
+      TextDocumentRepository repository,
+      AstAnalysisService astAnalysisService,
+      DefinitionUseCase definitionUseCase,
+      FileContentStore contentStore,
+      WorkspaceConfiguration workspaceConfiguration,
+      Lazy<HoverUseCase> hoverUseCase,
+      ServerMetrics metrics) {
+    var useCase =
+        new WorkspaceIndexUseCase(
+            repository,
+            astAnalysisService,
+            definitionUseCase,
+            contentStore,
+            workspaceConfiguration,
+            metrics);
+    // ディスク上の変更で宣言が変わった場合は、依存する開いているドキュメントのホバー結果を破棄する
+    useCase.addListener(dependents -> hoverUseCase.get().dependenciesChanged(dependents));
+    metrics.registerGauge("queue.watchedFiles", useCase::pendingFileCount);
+    return useCase;
   }
 
   @Provides
   @Singleton
-  public GroovyWorkspaceService provideWorkspaceService() {
-    return new GroovyWorkspaceService();
+  public WorkspaceSymbolUseCase provideWorkspaceSymbolUseCase(SymbolTable symbolTable) {
+    return new WorkspaceSymbolUseCase(symbolTable);
   }
 
   @Provides
@@ -124,8 +415,29 @@ public class ServerModule {
 
   @Provides
   @Singleton
-  public DocumentContentService provideDocumentContentService(TextDocumentRepository repository) {
-    return new DocumentContentService(repository);
+  public OccurrenceIndex provideOccurrenceIndex() {
+    return new OccurrenceIndex();
+  }
+
+  @Provides
+  @Singleton
+  public DependencyGraph provideDependencyGraph() {
+    return new DependencyGraph();
+  }
+
+  @Provides
+  @Singleton
+  public FileContentStore provideFileContentStore(ServerMetrics metrics) {
+    var store = new FileContentStore();
+    metrics.registerCache("fileContent", store::stats);
+    return store;
+  }
+
+  @Provides
+  @Singleton
+  public DocumentContentService provideDocumentContentService(
+      TextDocumentRepository repository, FileContentStore fileContentStore) {
+    return new DocumentContentService(repository, fileContentStore);
   }
 
   @Provides
@@ -0,0 +1,29 @@
+package com.groovylsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jspecify.annotations.Nullable;
+
+/** AST解析（{@code AstAnalysisService.analyze}）のイベント */
+@Name("com.groovylsp.AstAnalysis")
+@Label("Groovy AST Analysis")
+@Category({"Groovy LSP", "Analysis"})
+@Description("パース結果をドメインモデルに変換した処理（キャッシュ済みのパース結果の再利用を含む）")
+public final class AstAnalysisEvent extends Event {
+
+  @Label("URI")
+  public @Nullable String uri;
+
+  @Label("Source Length")
+  @Description("ソースコードの文字数")
+  public long sourceLength;
+
+  @Label("Class Count")
+  public int classCount;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
@@ -0,0 +1,37 @@
+package com.groovylsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * キャッシュの累積のヒット数・ミス数の定期イベント
+ *
+ * <p>キャッシュへのアクセスごとにイベントを記録すると負荷が大きいため、記録中に一定間隔で累積値を記録します。
+ */
+@Name("com.groovylsp.CacheStatistics")
+@Label("Groovy LSP Cache Statistics")
+@Category({"Groovy LSP", "Cache"})
+@Description("キャッシュの累積のヒット数・ミス数・追い出し数と現在の件数")
+@Period("1 s")
+public final class CacheStatisticsEvent extends Event {
+
+  @Label("Cache")
+  public @Nullable String cache;
+
+  @Label("Hits")
+  public long hits;
+
+  @Label("Misses")
+  public long misses;
+
+  @Label("Evictions")
+  public long evictions;
+
+  @Label("Size")
+  public long size;
+}
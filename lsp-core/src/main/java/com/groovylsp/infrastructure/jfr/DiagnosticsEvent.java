@@ -0,0 +1,28 @@
+package com.groovylsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jspecify.annotations.Nullable;
+
+/** ドキュメントの診断（{@code DiagnosticUseCase.diagnose}）のイベント */
+@Name("com.groovylsp.Diagnostics")
+@Label("Groovy Diagnostics")
+@Category({"Groovy LSP", "Analysis"})
+@Description("字句解析とAST解析によるドキュメントの診断")
+public final class DiagnosticsEvent extends Event {
+
+  @Label("URI")
+  public @Nullable String uri;
+
+  @Label("Version")
+  public int version;
+
+  @Label("Diagnostic Count")
+  public int diagnosticCount;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
@@ -0,0 +1,33 @@
+package com.groovylsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jspecify.annotations.Nullable;
+
+/** Groovyソースのパース（{@code GroovyAstParser.parse}）のイベント */
+@Name("com.groovylsp.Parse")
+@Label("Groovy Parse")
+@Category({"Groovy LSP", "Analysis"})
+@Description("GroovyソースコードをASTに変換した処理")
+public final class ParseEvent extends Event {
+
+  @Label("File Name")
+  public @Nullable String fileName;
+
+  @Label("Source Length")
+  @Description("ソースコードの文字数")
+  public long sourceLength;
+
+  @Label("Compile Phase")
+  @Description("コンパイルを打ち切ったフェーズ")
+  public @Nullable String phase;
+
+  @Label("Error Count")
+  public int errorCount;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
@@ -0,0 +1,182 @@
+package com.groovylsp.infrastructure.jfr;
+
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import io.vavr.control.Either;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java Flight Recorderの記録の開始・停止
+ *
+ * <p>JDK標準の {@code default} 設定（GCやスレッドなど）に加えて、サーバー独自のイベントを有効にしてファイルに記録します。 記録は {@code
+ * groovy/startRecording}・{@code groovy/stopRecording} リクエストか、起動時のシステムプロパティ {@value #FILE_PROPERTY}
+ * で開始できます。記録を停止せずにプロセスが終了した場合も、終了時にファイルへ書き出します。
+ */
+public class RecordingController {
+
+  private static final Logger logger = LoggerFactory.getLogger(RecordingController.class);
+
+  /** 起動時に記録を開始する場合の記録先を指定するシステムプロパティ */
+  public static final String FILE_PROPERTY = "groovy.lsp.jfr.file";
+
+  private static final List<Class<? extends Event>> EVENTS =
+      List.of(
+          ParseEvent.class,
+          AstAnalysisEvent.class,
+          DiagnosticsEvent.class,
+          RequestEvent.class,
+          CacheStatisticsEvent.class);
+
+  private static final DateTimeFormatter FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final ServerMetrics metrics;
+  private final Path defaultDirectory;
+  private @Nullable Recording recording;
+  private @Nullable Path destination;
+  private boolean periodicEventRegistered;
+
+  /**
+   * @param metrics キャッシュの統計の取得元
+   * @param defaultDirectory 記録先が指定されなかった場合に記録を保存するディレクトリ
+   */
+  public RecordingController(ServerMetrics metrics, Path defaultDirectory) {
+    this.metrics = metrics;
+    this.defaultDirectory = defaultDirectory;
+  }
+
+  /**
+   * システムプロパティで記録先が指定されていれば記録を開始する
+   *
+   * @return 記録の状態
+   */
+  public RecordingStatus startConfigured() {
+    String configured = System.getProperty(FILE_PROPERTY);
+    if (configured == null || configured.isBlank()) {
+      return status();
+    }
+    return start(configured)
+        .peekLeft(error -> logger.warn("起動時の記録を開始できませんでした: {}", error))
+        .getOrElse(this::status);
+  }
+
+  /**
+   * 記録を開始する
+   *
+   * @param requestedDestination 記録先のファイル（nullの場合は既定のディレクトリに日時入りのファイル名で保存）
+   * @return 記録の状態、またはエラー
+   */
+  public synchronized Either<String, RecordingStatus> start(@Nullable String requestedDestination) {
+    if (recording != null) {
+      return Either.left("すでに記録中です: " + destination);
+    }
+    if (!FlightRecorder.isAvailable()) {
+      return Either.left("このJVMではJava Flight Recorderを利用できません");
+    }
+    // 起動時にJFRを初期化しないよう、定期イベントは最初の記録の開始時に登録する
+    if (!periodicEventRegistered) {
+      FlightRecorder.addPeriodicEvent(CacheStatisticsEvent.class, this::emitCacheStatistics);
+      periodicEventRegistered = true;
+    }
+
+    Path file =
+        requestedDestination == null || requestedDestination.isBlank()
+            ? defaultDirectory.resolve(
+                "groovy-lsp-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr")
+            : Paths.get(requestedDestination);
+    try {
+      var parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      var started = new Recording(Configuration.getConfiguration("default"));
+      started.setName("groovy-lsp");
+      for (var event : EVENTS) {
+        started.enable(event);
+      }
+      started.setToDisk(true);
+      started.setDumpOnExit(true);
+      started.setDestination(file);
+      started.start();
+      recording = started;
+      destination = file;
+      logger.info("Java Flight Recorderの記録を開始しました: {}", file);
+      return Either.right(status());
+    } catch (IOException | ParseException | RuntimeException e) {
+      return Either.left("記録を開始できませんでした: " + e.getMessage());
+    }
+  }
+
+  /**
+   * 記録を停止してファイルに書き出す
+   *
+   * @return 停止後の状態（書き出したファイルを含む）、またはエラー
+   */
+  public synchronized Either<String, RecordingStatus> stop() {
+    var current = recording;
+    var file = destination;
+    if (current == null || file == null) {
+      return Either.left("記録していません");
+    }
+    recording = null;
+    destination = null;
+    try {
+      current.stop();
+      logger.info("Java Flight Recorderの記録を書き出しました: {}", file);
+      return Either.right(new RecordingStatus(false, file.toString()));
+    } catch (RuntimeException e) {
+      return Either.left("記録を停止できませんでした: " + e.getMessage());
+    } finally {
+      current.close();
+    }
+  }
+
+  /** 現在の記録の状態 */
+  public synchronized RecordingStatus status() {
+    var file = destination;
+    return new RecordingStatus(recording != null, file == null ? null : file.toString());
+  }
+
+  private void emitCacheStatistics() {
+    metrics
+        .cacheStats()
+        .forEach(
+            (name, stats) -> {
+              var event = new CacheStatisticsEvent();
+              event.cache = name;
+              event.hits = stats.hitCount();
+              event.misses = stats.missCount();
+              event.evictions = stats.evictionCount();
+              event.size = stats.size();
+              event.commit();
+            });
+  }
+
+  /**
+   * {@code groovy/startRecording} リクエストのパラメータ
+   *
+   * @param destination 記録先のファイル（省略時は既定のディレクトリ）
+   */
+  public record RecordingParams(@Nullable String destination) {}
+
+  /**
+   * 記録の状態
+   *
+   * @param recording 記録中かどうか
+   * @param destination 記録先のファイル
+   */
+  public record RecordingStatus(boolean recording, @Nullable String destination) {}
+}
@@ -0,0 +1,29 @@
+package com.groovylsp.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jspecify.annotations.Nullable;
+
+/** LSPリクエストの受け付けから応答までのイベント */
+@Name("com.groovylsp.Request")
+@Label("LSP Request")
+@Category({"Groovy LSP", "Request"})
+@Description("LSPリクエストの受け付けから応答（またはキャンセル）まで")
+public final class RequestEvent extends Event {
+
+  @Label("Method")
+  public @Nullable String method;
+
+  @Label("URI")
+  public @Nullable String uri;
+
+  @Label("Version")
+  @Description("受け付け時点のドキュメントのバージョン（開かれていない場合は-1）")
+  public int version;
+
+  @Label("Cancelled")
+  public boolean cancelled;
+}
@@ -2,12 +2,23 @@ package com.groovylsp.infrastructure.lexer;
 
 import com.groovylsp.domain.lexer.Token;
 import com.groovylsp.domain.lexer.TokenType;
+import com.groovylsp.infrastructure.lexer.GroovyStringLexer.StringKind;
 import io.vavr.collection.List;
 import io.vavr.control.Either;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
-
-/** Groovyの字句解析器 */
+import java.util.function.Consumer;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Groovyの字句解析器
+ *
+ * <p>モードスタックを持つストリーミング字句解析器です。GString（${expression}）の補間部分はコードとして字句解析し、 補間の外側の文字列部分は {@link
+ * TokenType#GSTRING_BEGIN}、{@link TokenType#GSTRING_PART}、{@link TokenType#GSTRING_END}
+ * として返します。トリプルクォート、スラッシュ、ドルスラッシュ文字列とシバン行にも対応します。
+ */
 public class GroovyLexer {
 
   // Groovyのキーワード数に基づいた初期容量
@@ -23,12 +34,20 @@ public class GroovyLexer {
   }
 
   private final String source;
+  private final GroovyStringLexer stringLexer;
+  // コードモードのスタック。先頭が現在のモードで、最下段はトップレベルのコード
+  private final ArrayDeque<CodeMode> modes = new ArrayDeque<>();
+  private @Nullable TokenType lastSignificantType;
+  // 閉じられていなかったスラッシュ文字列の最小の開始位置。これ以降の '/' も閉じられないため走査しない
+  private int unclosedSlashyStart = Integer.MAX_VALUE;
   private int position;
   private int line;
   private int column;
 
   public GroovyLexer(String source) {
     this.source = source;
+    this.stringLexer = new GroovyStringLexer(source);
+    this.modes.push(new CodeMode(null));
     this.position = 0;
     this.line = 1;
     this.column = 1;
@@ -36,20 +55,37 @@ public class GroovyLexer {
 
   /** ソースコード全体を字句解析してトークンリストを返す */
   public Either<String, List<Token>> tokenize() {
+    var tokens = new ArrayList<Token>();
+    return forEachToken(tokens::add).map(count -> List.ofAll(tokens));
+  }
+
+  /**
+   * ソースコードを先頭から字句解析し、トークンを生成順に受け渡す
+   *
+   * <p>トークンリストを実体化しないため、1回の走査で複数の解析を行う場合に使用します。 空白トークンは渡されず、最後にEOFトークンが渡されます。
+   *
+   * @param consumer トークンを受け取るコンシューマー
+   * @return 受け渡したトークン数（EOFを含む）またはエラーメッセージ
+   */
+  public Either<String, Integer> forEachToken(Consumer<Token> consumer) {
     try {
-      List<Token> tokens = List.empty();
+      int count = 0;
 
       while (!isAtEnd()) {
         Token token = nextToken();
         if (token.type() != TokenType.WHITESPACE) {
-          tokens = tokens.append(token);
+          if (token.type() != TokenType.COMMENT) {
+            lastSignificantType = token.type();
+          }
+          consumer.accept(token);
+          count++;
         }
       }
 
-      // EOFトークンを追加
-      tokens = tokens.append(new Token(TokenType.EOF, "", position, position, line, column));
+      // EOFトークンを渡す
+      consumer.accept(new Token(TokenType.EOF, "", position, position, line, column));
 
-      return Either.right(tokens);
+      return Either.right(count + 1);
     } catch (StringIndexOutOfBoundsException e) {
       return Either.left("字句解析エラー: 予期しない入力終了 - 位置: " + position);
     } catch (Exception e) {
@@ -59,6 +95,12 @@ public class GroovyLexer {
 
   /** 次のトークンを取得 */
   private Token nextToken() {
+    // シバン行はコメントとして扱う
+    if (position == 0 && source.startsWith("#!")) {
+      advance(); // '#'を消費
+      return scanLineComment(0, 1, 1);
+    }
+
     skipWhitespace();
 
     if (isAtEnd()) {
@@ -69,6 +111,13 @@ public class GroovyLexer {
     int startLine = line;
     int startColumn = column;
 
+    // 文字列リテラル
+    var stringKind = stringLexer.detectQuote(position);
+    if (stringKind != null) {
+      advanceBy(stringKind.opener().length());
+      return scanStringContent(stringKind, false, startPosition, startLine, startColumn);
+    }
+
     char c = advance();
 
     // 識別子またはキーワード
@@ -81,11 +130,6 @@ public class GroovyLexer {
       return scanNumber(startPosition, startLine, startColumn);
     }
 
-    // 文字列リテラル
-    if (c == '"' || c == '\'') {
-      return scanString(c, startPosition, startLine, startColumn);
-    }
-
     // 演算子と区切り文字
     switch (c) {
       case '+':
@@ -100,6 +144,8 @@ public class GroovyLexer {
           return scanLineComment(startPosition, startLine, startColumn);
         } else if (peek() == '*') {
           return scanBlockComment(startPosition, startLine, startColumn);
+        } else if (isSlashyStringAllowed()) {
+          return scanSlashyString(startPosition, startLine, startColumn);
         }
         return new Token(TokenType.DIVIDE, "/", startPosition, position, startLine, startColumn);
       case '%':
@@ -156,9 +202,18 @@ public class GroovyLexer {
         return new Token(
             TokenType.RIGHT_PAREN, ")", startPosition, position, startLine, startColumn);
       case '{':
+        modes.element().braceDepth++;
         return new Token(
             TokenType.LEFT_BRACE, "{", startPosition, position, startLine, startColumn);
       case '}':
+        var mode = modes.element();
+        if (mode.interpolatedKind != null && mode.braceDepth == 0) {
+          // 補間の終了。閉じ括弧を含めて文字列の続きをスキャンする
+          modes.pop();
+          return scanStringContent(
+              mode.interpolatedKind, true, startPosition, startLine, startColumn);
+        }
+        mode.braceDepth--;
         return new Token(
             TokenType.RIGHT_BRACE, "}", startPosition, position, startLine, startColumn);
       case '[':
@@ -214,38 +269,92 @@ public class GroovyLexer {
         TokenType.NUMBER_LITERAL, text, startPosition, position, startLine, startColumn);
   }
 
-  /** 文字列リテラルをスキャン */
-  private Token scanString(char quote, int startPosition, int startLine, int startColumn) {
+  /**
+   * 文字列リテラルの本体をスキャン
+   *
+   * <p>補間の開始（${）に達した場合は補間用のコードモードをプッシュし、そこまでを1つのトークンとして返します。
+   *
+   * @param kind 文字列の種類
+   * @param continuation 補間の終了後の続きをスキャンする場合はtrue
+   */
+  private Token scanStringContent(
+      StringKind kind, boolean continuation, int startPosition, int startLine, int startColumn) {
     while (!isAtEnd()) {
-      if (peek() == '\n') {
-        line++;
-        column = 1;
+      if (stringLexer.isInterpolationStart(kind, position)) {
+        advanceBy(2); // '${'を消費
+        modes.push(new CodeMode(kind));
+        var type = continuation ? TokenType.GSTRING_PART : TokenType.GSTRING_BEGIN;
+        return createToken(type, startPosition, startLine, startColumn);
       }
-      if (peek() == '\\') {
-        advance(); // バックスラッシュを消費
-        if (!isAtEnd()) {
-          advance(); // エスケープされた文字を消費
-        }
-      } else if (peek() == quote) {
-        break; // 閉じクォートが見つかった
-      } else {
-        advance();
+      if (stringLexer.isCloser(kind, position)) {
+        advanceBy(kind.closer().length());
+        var type = continuation ? TokenType.GSTRING_END : TokenType.STRING_LITERAL;
+        return createToken(type, startPosition, startLine, startColumn);
       }
+      int escapeLength = stringLexer.escapeLength(kind, position);
+      advanceBy(Math.max(1, escapeLength));
     }
 
-    if (isAtEnd()) {
-      // エラー: 閉じられていない文字列
-      String text = source.substring(startPosition, position);
-      return new Token(
-          TokenType.ERROR_UNCLOSED_STRING, text, startPosition, position, startLine, startColumn);
+    // エラー: 閉じられていない文字列
+    return createToken(TokenType.ERROR_UNCLOSED_STRING, startPosition, startLine, startColumn);
+  }
+
+  /**
+   * スラッシュ文字列をスキャン
+   *
+   * <p>閉じられていない場合は除算演算子として扱います。 閉じられないまま末尾に達した場合、それより後の '/' はすべてエスケープされているため、後続の '/'
+   * からは走査せずに除算とします。 これにより、閉じられていない '/' が多数並ぶ場合も走査は全体で線形に収まります。
+   */
+  private Token scanSlashyString(int startPosition, int startLine, int startColumn) {
+    if (startPosition >= unclosedSlashyStart) {
+      return new Token(TokenType.DIVIDE, "/", startPosition, position, startLine, startColumn);
+    }
+    int savedColumn = column;
+    int savedLine = line;
+    var token = scanStringContent(StringKind.SLASHY, false, startPosition, startLine, startColumn);
+    if (token.type() != TokenType.ERROR_UNCLOSED_STRING) {
+      return token;
     }
+    unclosedSlashyStart = startPosition;
+    position = startPosition + 1;
+    line = savedLine;
+    column = savedColumn;
+    return new Token(TokenType.DIVIDE, "/", startPosition, position, startLine, startColumn);
+  }
 
-    // 閉じクォートを消費
-    advance();
+  /**
+   * 現在位置の '/' がスラッシュ文字列の開始になり得るかを判定
+   *
+   * <p>直前のトークンが値（識別子、リテラル、閉じ括弧など）の場合は除算とみなします。 空白や '=' が続く場合も除算とみなします。
+   */
+  private boolean isSlashyStringAllowed() {
+    char next = peek();
+    if (next == '\0' || next == '=' || Character.isWhitespace(next)) {
+      return false;
+    }
+    if (lastSignificantType == null) {
+      return true;
+    }
+    return switch (lastSignificantType) {
+      case IDENTIFIER,
+          NUMBER_LITERAL,
+          STRING_LITERAL,
+          GSTRING_END,
+          RIGHT_PAREN,
+          RIGHT_BRACKET,
+          RIGHT_BRACE,
+          THIS,
+          SUPER,
+          NULL,
+          TRUE,
+          FALSE -> false;
+      default -> true;
+    };
+  }
 
+  private Token createToken(TokenType type, int startPosition, int startLine, int startColumn) {
     String text = source.substring(startPosition, position);
-    return new Token(
-        TokenType.STRING_LITERAL, text, startPosition, position, startLine, startColumn);
+    return new Token(type, text, startPosition, position, startLine, startColumn);
   }
 
   /** 行コメントをスキャン */
@@ -272,10 +381,6 @@ public class GroovyLexer {
         advance(); // '/'を消費
         break;
       }
-      if (peek() == '\n') {
-        line++;
-        column = 1;
-      }
       advance();
     }
 
@@ -297,12 +402,8 @@ public class GroovyLexer {
         case ' ':
         case '\r':
         case '\t':
-          advance();
-          break;
         case '\n':
           advance();
-          line++;
-          column = 1;
           break;
         default:
           return;
@@ -317,10 +418,21 @@ public class GroovyLexer {
   private char advance() {
     char c = source.charAt(position);
     position++;
-    column++;
+    if (c == '\n') {
+      line++;
+      column = 1;
+    } else {
+      column++;
+    }
     return c;
   }
 
+  private void advanceBy(int count) {
+    for (int i = 0; i < count && !isAtEnd(); i++) {
+      advance();
+    }
+  }
+
   private char peek() {
     if (isAtEnd()) {
       return '\0';
@@ -346,4 +458,14 @@ public class GroovyLexer {
   private boolean isAlphaNumeric(char c) {
     return isAlpha(c) || isDigit(c);
   }
+
+  /** コードモード。補間内のコードの場合は補間元の文字列の種類と括弧の深さを保持する */
+  private static final class CodeMode {
+    private final @Nullable StringKind interpolatedKind;
+    private int braceDepth;
+
+    CodeMode(@Nullable StringKind interpolatedKind) {
+      this.interpolatedKind = interpolatedKind;
+    }
+  }
 }
@@ -1,38 +1,86 @@
 package com.groovylsp.infrastructure.lexer;
 
-import com.groovylsp.domain.lexer.Token;
-import com.groovylsp.domain.lexer.TokenType;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Groovy固有の文字列リテラル処理を行うヘルパークラス
  *
- * <p>今後の拡張に備えて： - GString（"Hello ${name}"）のサポート - トリプルクォート文字列（'''...''' や """..."""） -
- * スラッシュ文字列（/pattern/）
+ * <p>文字列の種類ごとの開始・終了デリミタ、エスケープ、補間（${expression}）の可否を判定します。 字句解析の状態（モードスタック）は {@link GroovyLexer}
+ * が管理します。
  */
 public class GroovyStringLexer {
 
+  /** 文字列リテラルの種類 */
+  public enum StringKind {
+    /** 'text' */
+    SINGLE_QUOTE("'", "'", false),
+    /** "text ${expr}" */
+    DOUBLE_QUOTE("\"", "\"", true),
+    /** '''text''' */
+    TRIPLE_SINGLE_QUOTE("'''", "'''", false),
+    /** """text ${expr}""" */
+    TRIPLE_DOUBLE_QUOTE("\"\"\"", "\"\"\"", true),
+    /** /pattern ${expr}/ */
+    SLASHY("/", "/", true),
+    /** $/pattern ${expr}/$ */
+    DOLLAR_SLASHY("$/", "/$", true);
+
+    private final String opener;
+    private final String closer;
+    private final boolean interpolated;
+
+    StringKind(String opener, String closer, boolean interpolated) {
+      this.opener = opener;
+      this.closer = closer;
+      this.interpolated = interpolated;
+    }
+
+    public String opener() {
+      return opener;
+    }
+
+    public String closer() {
+      return closer;
+    }
+
+    /** ${expression} による補間が可能かどうか */
+    public boolean isInterpolated() {
+      return interpolated;
+    }
+  }
+
   private final String source;
-  private final int startPosition;
-  private final int startLine;
-  private final int startColumn;
 
-  public GroovyStringLexer(String source, int startPosition, int startLine, int startColumn) {
+  public GroovyStringLexer(String source) {
     this.source = source;
-    this.startPosition = startPosition;
-    this.startLine = startLine;
-    this.startColumn = startColumn;
   }
 
-  /** GString内の式を解析する準備 現在は通常の文字列として扱うが、将来的には${expression}を個別のトークンに分解 */
-  public Token scanGString(int currentPosition) {
-    // TODO: GString実装時に${expression}の解析を追加
-    // 現在は通常の文字列リテラルとして扱う
-    String text = source.substring(startPosition, currentPosition);
-    return new Token(
-        TokenType.STRING_LITERAL, text, startPosition, currentPosition, startLine, startColumn);
+  /**
+   * 指定位置から始まるクォート文字列の種類を判定する
+   *
+   * <p>スラッシュ文字列は直前のトークンに依存するため、ここでは判定しません。
+   *
+   * @param position 判定位置
+   * @return 文字列の種類。文字列の開始でない場合はnull
+   */
+  public @Nullable StringKind detectQuote(int position) {
+    if (position >= source.length()) {
+      return null;
+    }
+    char c = source.charAt(position);
+    if (c == '\'') {
+      return isTripleQuote(position) ? StringKind.TRIPLE_SINGLE_QUOTE : StringKind.SINGLE_QUOTE;
+    }
+    if (c == '"') {
+      return isTripleQuote(position) ? StringKind.TRIPLE_DOUBLE_QUOTE : StringKind.DOUBLE_QUOTE;
+    }
+    if (c == '$' && charAt(position + 1) == '/') {
+      return StringKind.DOLLAR_SLASHY;
+    }
+    return null;
   }
 
-  /** トリプルクォート文字列の解析準備 */
+  /** トリプルクォート文字列の開始または終了かどうか */
   public boolean isTripleQuote(int position) {
     if (position + 2 >= source.length()) {
       return false;
@@ -42,4 +90,37 @@ public class GroovyStringLexer {
         && source.charAt(position + 1) == c
         && source.charAt(position + 2) == c;
   }
+
+  /** 指定位置が文字列の終了デリミタかどうか */
+  public boolean isCloser(StringKind kind, int position) {
+    return source.startsWith(kind.closer(), position);
+  }
+
+  /** 指定位置が補間の開始（${）かどうか */
+  public boolean isInterpolationStart(StringKind kind, int position) {
+    return kind.isInterpolated() && charAt(position) == '$' && charAt(position + 1) == '{';
+  }
+
+  /**
+   * 指定位置のエスケープシーケンスの長さを返す
+   *
+   * <p>クォート文字列はバックスラッシュで任意の1文字を、スラッシュ文字列は「\/」のみを、 ドルスラッシュ文字列は「$$」と「$/」をエスケープします。
+   *
+   * @return エスケープシーケンスの長さ。エスケープでない場合は0
+   */
+  public int escapeLength(StringKind kind, int position) {
+    char c = charAt(position);
+    char next = charAt(position + 1);
+    boolean escaped =
+        switch (kind) {
+          case SINGLE_QUOTE, DOUBLE_QUOTE, TRIPLE_SINGLE_QUOTE, TRIPLE_DOUBLE_QUOTE -> c == '\\';
+          case SLASHY -> c == '\\' && next == '/';
+          case DOLLAR_SLASHY -> c == '$' && (next == '$' || next == '/');
+        };
+    return escaped ? Math.min(2, source.length() - position) : 0;
+  }
+
+  private char charAt(int position) {
+    return position < source.length() ? source.charAt(position) : '\0';
+  }
 }
@@ -0,0 +1,127 @@
+package com.groovylsp.infrastructure.memory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ヒープの逼迫の監視
+ *
+ * <p>ヒープのメモリプールにGC後の使用量のしきい値を設定し、しきい値を超えた通知を受けたら登録したリスナーを呼び出します。
+ * GC後の使用量で判定するため、回収できるゴミが多いだけの状態では通知しません。リスナーはJMXの通知スレッドで呼ばれるため、短時間で終わる処理にしてください。
+ */
+public class MemoryPressureMonitor {
+
+  private static final Logger logger = LoggerFactory.getLogger(MemoryPressureMonitor.class);
+
+  /** しきい値（最大サイズに対する割合）を指定するシステムプロパティ */
+  public static final String THRESHOLD_PROPERTY = "groovy.lsp.memory.pressureThreshold";
+
+  /** しきい値の既定値 */
+  static final double DEFAULT_THRESHOLD_RATIO = 0.75;
+
+  private final double thresholdRatio;
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final LongAdder pressureCount = new LongAdder();
+
+  public MemoryPressureMonitor() {
+    this(thresholdFromSystemProperties());
+  }
+
+  /**
+   * @param thresholdRatio しきい値（各メモリプールの最大サイズに対する割合）
+   */
+  public MemoryPressureMonitor(double thresholdRatio) {
+    this.thresholdRatio = thresholdRatio;
+  }
+
+  /**
+   * 逼迫したときに呼び出すリスナーを登録する
+   *
+   * @param listener リスナー
+   */
+  public void addListener(Runnable listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * 監視を開始する
+   *
+   * <p>2回目以降の呼び出しは何もしません。
+   */
+  public void start() {
+    if (!started.compareAndSet(false, true)) {
+      return;
+    }
+    int monitored = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      long max = pool.getUsage().getMax();
+      if (pool.getType() != MemoryType.HEAP
+          || !pool.isCollectionUsageThresholdSupported()
+          || max <= 0) {
+        continue;
+      }
+      pool.setCollectionUsageThreshold((long) (max * thresholdRatio));
+      monitored++;
+    }
+    if (monitored == 0) {
+      logger.debug("使用量のしきい値を設定できるメモリプールがないため、メモリの逼迫を監視しません");
+      return;
+    }
+    var emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+    emitter.addNotificationListener((notification, handback) -> handle(notification), null, null);
+    logger.debug("メモリの逼迫の監視を開始しました: プール数={}, しきい値={}", monitored, thresholdRatio);
+  }
+
+  /** しきい値を超えた回数 */
+  public long pressureCount() {
+    return pressureCount.sum();
+  }
+
+  private void handle(Notification notification) {
+    if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(
+        notification.getType())) {
+      onPressure();
+    }
+  }
+
+  /** 登録したリスナーを呼び出す */
+  void onPressure() {
+    pressureCount.increment();
+    logger.info("ヒープの使用量がしきい値を超えたため、キャッシュを縮小します");
+    for (var listener : listeners) {
+      try {
+        listener.run();
+      } catch (RuntimeException e) {
+        logger.warn("メモリの逼迫に対する処理に失敗しました", e);
+      }
+    }
+  }
+
+  private static double thresholdFromSystemProperties() {
+    String configured = System.getProperty(THRESHOLD_PROPERTY);
+    if (configured == null || configured.isBlank()) {
+      return DEFAULT_THRESHOLD_RATIO;
+    }
+    try {
+      double ratio = Double.parseDouble(configured.trim());
+      if (ratio > 0 && ratio < 1) {
+        return ratio;
+      }
+    } catch (NumberFormatException e) {
+      // 下で既定値を使う
+    }
+    logger.warn("{}の値が不正なため既定値を使います: {}", THRESHOLD_PROPERTY, configured);
+    return DEFAULT_THRESHOLD_RATIO;
+  }
+}
@@ -0,0 +1,118 @@
+package com.groovylsp.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 処理時間の分布を記録するヒストグラム
+ *
+ * <p>HdrHistogramと同様に、2のべき乗ごとの区間をさらに32等分したバケットに記録します。 値の相対誤差は約3%で、1ナノ秒から約146年までを
+ * 固定サイズの配列で表せます。記録はロックを取らず、バケットのカウンタを原子的に加算するだけです。
+ *
+ * <p>スナップショットは記録と並行して作成できますが、その間の記録が一部だけ反映される場合があります。
+ */
+public final class LatencyHistogram {
+
+  // 2のべき乗ごとの区間を 2^SUB_BUCKET_BITS 個に分割する
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * 処理時間を記録する
+   *
+   * @param nanos 処理時間（ナノ秒）。負の値は0として扱います
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketIndex(value));
+    totalCount.increment();
+    totalNanos.add(value);
+    long currentMax = maxNanos.get();
+    while (value > currentMax && !maxNanos.compareAndSet(currentMax, value)) {
+      currentMax = maxNanos.get();
+    }
+  }
+
+  /** 記録した値の統計を作成する */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      copy[i] = counts.get(i);
+      count += copy[i];
+    }
+    if (count == 0) {
+      return new Snapshot(0, 0, 0, 0, 0, 0);
+    }
+
+    long max = maxNanos.get();
+    return new Snapshot(
+        count,
+        totalNanos.sum() / (double) totalCount.sum() / NANOS_PER_MILLI,
+        percentile(copy, count, 0.50, max) / NANOS_PER_MILLI,
+        percentile(copy, count, 0.90, max) / NANOS_PER_MILLI,
+        percentile(copy, count, 0.99, max) / NANOS_PER_MILLI,
+        max / NANOS_PER_MILLI);
+  }
+
+  /** 値が属するバケットの番号 */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /** バケットに属する値の上限 */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lower = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lower + (1L << shift) - 1;
+  }
+
+  private static long percentile(long[] counts, long total, double quantile, long max) {
+    long rank = Math.max(1, (long) Math.ceil(total * quantile));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        // バケットの上限は実際の最大値を超えることがあるため、最大値で抑える
+        return Math.min(bucketUpperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * ヒストグラムの統計
+   *
+   * @param count 記録数
+   * @param meanMillis 平均（ミリ秒）
+   * @param p50Millis 50パーセンタイル（ミリ秒）
+   * @param p90Millis 90パーセンタイル（ミリ秒）
+   * @param p99Millis 99パーセンタイル（ミリ秒）
+   * @param maxMillis 最大値（ミリ秒）
+   */
+  public record Snapshot(
+      long count,
+      double meanMillis,
+      double p50Millis,
+      double p90Millis,
+      double p99Millis,
+      double maxMillis) {}
+}
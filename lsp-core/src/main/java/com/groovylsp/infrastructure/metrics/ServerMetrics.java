@@ -0,0 +1,208 @@
+package com.groovylsp.infrastructure.metrics;
+
+import com.groovylsp.infrastructure.cache.CacheStats;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * サーバーの処理時間とカウンタの集計
+ *
+ * <p>LSPの各リクエストと内部の処理段階（パース、AST変換、字句解析など）の処理時間をヒストグラムに、 キャッシュのヒット数などをカウンタに記録します。
+ * キューの長さやキャッシュの統計のように問い合わせ時点の値を持つものはゲージとして登録します。
+ *
+ * <p>記録はロックを取らないため、本番環境で常時有効にしておけます。集計結果は {@code groovy/serverStats} リクエストで取得できます。
+ */
+public class ServerMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(ServerMetrics.class);
+
+  private final long startNanos = System.nanoTime();
+  private final long processStartMillis =
+      ProcessHandle.current()
+          .info()
+          .startInstant()
+          .map(Instant::toEpochMilli)
+          .orElseGet(System::currentTimeMillis);
+  private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Supplier<CacheStats>> caches = new ConcurrentHashMap<>();
+  private final ThreadLocal<@Nullable Map<String, Long>> phaseTrace = new ThreadLocal<>();
+
+  /**
+   * 処理時間を計測しながら処理を実行する
+   *
+   * <p>処理が例外で終了した場合も計測します。
+   *
+   * @param name 計測の名前
+   * @param action 処理
+   * @return 処理の結果
+   */
+  public <T> T time(String name, Supplier<T> action) {
+    long start = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      record(name, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * 処理時間を計測しながら処理を実行する
+   *
+   * @param name 計測の名前
+   * @param action 処理
+   */
+  public void time(String name, Runnable action) {
+    long start = System.nanoTime();
+    try {
+      action.run();
+    } finally {
+      record(name, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * 処理時間を記録する
+   *
+   * @param name 計測の名前
+   * @param nanos 処理時間（ナノ秒）
+   */
+  public void record(String name, long nanos) {
+    latencies.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+    var trace = phaseTrace.get();
+    if (trace != null) {
+      trace.merge(name, nanos, Long::sum);
+    }
+  }
+
+  /**
+   * プロセスの起動からの経過時間を、初回だけゲージとして記録する
+   *
+   * <p>初回の診断やホバーまでの時間のように、起動時の性能を測るために使います。
+   *
+   * @param name ゲージの名前
+   * @return 初回の記録だった場合true
+   */
+  public boolean milestone(String name) {
+    if (gauges.containsKey(name)) {
+      return false;
+    }
+    long elapsedMillis = System.currentTimeMillis() - processStartMillis;
+    boolean first = gauges.putIfAbsent(name, () -> elapsedMillis) == null;
+    if (first) {
+      logger.info("{}: {}ms", name, elapsedMillis);
+    }
+    return first;
+  }
+
+  /**
+   * 処理を実行し、その間に同じスレッドで記録された処理時間を名前ごとに集める
+   *
+   * <p>1件のリクエストがどの処理段階で時間を使ったかを調べるために使います。入れ子にした場合は内側の処理の時間も外側に含めます。
+   *
+   * @param action 処理
+   * @return 処理の結果と処理時間の内訳
+   */
+  public <T> Traced<T> trace(Supplier<T> action) {
+    var outer = phaseTrace.get();
+    var phases = new LinkedHashMap<String, Long>();
+    phaseTrace.set(phases);
+    long start = System.nanoTime();
+    try {
+      T result = action.get();
+      return new Traced<>(result, System.nanoTime() - start, phases);
+    } finally {
+      phaseTrace.set(outer);
+      if (outer != null) {
+        phases.forEach((name, nanos) -> outer.merge(name, nanos, Long::sum));
+      }
+    }
+  }
+
+  /**
+   * カウンタを1増やす
+   *
+   * @param name カウンタの名前
+   */
+  public void increment(String name) {
+    counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+  }
+
+  /**
+   * 問い合わせ時点の値を返すゲージを登録する
+   *
+   * @param name ゲージの名前
+   * @param value 値を返す関数
+   */
+  public void registerGauge(String name, LongSupplier value) {
+    gauges.put(name, value);
+  }
+
+  /**
+   * キャッシュの統計をゲージとして登録する
+   *
+   * @param name キャッシュの名前
+   * @param stats 統計を返す関数
+   */
+  public void registerCache(String name, Supplier<CacheStats> stats) {
+    caches.put(name, stats);
+    String prefix = "cache." + name + ".";
+    registerGauge(prefix + "hits", () -> stats.get().hitCount());
+    registerGauge(prefix + "misses", () -> stats.get().missCount());
+    registerGauge(prefix + "evictions", () -> stats.get().evictionCount());
+    registerGauge(prefix + "size", () -> stats.get().size());
+  }
+
+  /** 登録したキャッシュごとの現時点の統計 */
+  public Map<String, CacheStats> cacheStats() {
+    var result = new TreeMap<String, CacheStats>();
+    caches.forEach((name, stats) -> result.put(name, stats.get()));
+    return result;
+  }
+
+  /** 現時点の集計結果を作成する */
+  public ServerStats snapshot() {
+    var latencySnapshots = new TreeMap<String, LatencyHistogram.Snapshot>();
+    latencies.forEach((name, histogram) -> latencySnapshots.put(name, histogram.snapshot()));
+    var counterValues = new TreeMap<String, Long>();
+    counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+    var gaugeValues = new TreeMap<String, Long>();
+    gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+    return new ServerStats(
+        (System.nanoTime() - startNanos) / 1_000_000, latencySnapshots, counterValues, gaugeValues);
+  }
+
+  /**
+   * {@link #trace(Supplier)} の結果
+   *
+   * @param result 処理の結果
+   * @param totalNanos 処理全体の時間（ナノ秒）
+   * @param phaseNanos 記録された処理時間の名前ごとの合計（ナノ秒、記録した順）
+   */
+  public record Traced<T>(T result, long totalNanos, Map<String, Long> phaseNanos) {}
+
+  /**
+   * {@code groovy/serverStats} リクエストの応答
+   *
+   * @param uptimeMillis 起動からの経過時間（ミリ秒）
+   * @param latencies 計測の名前ごとの処理時間の統計
+   * @param counters カウンタの値
+   * @param gauges ゲージの値
+   */
+  public record ServerStats(
+      long uptimeMillis,
+      Map<String, LatencyHistogram.Snapshot> latencies,
+      Map<String, Long> counters,
+      Map<String, Long> gauges) {}
+}
@@ -0,0 +1,284 @@
+package com.groovylsp.infrastructure.metrics;
+
+import com.google.gson.JsonObject;
+import com.groovylsp.domain.model.TextDocument;
+import io.vavr.control.Option;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.eclipse.lsp4j.Position;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 遅いリクエストの記録
+ *
+ * <p>ホバーや診断の処理時間がしきい値を超えた場合に、メソッド名・処理段階ごとの時間・対象ドキュメントのURIと大きさ・カーソル位置を
+ * 1件ずつJSONファイルとしてローカルのディレクトリに書き出します。
+ *
+ * <p>ドキュメントの内容はソースコードをディスクに残すことになるため、{@link #CAPTURE_CONTENT_PROPERTY}で明示的に有効にした場合だけ含めます。
+ * 内容を含めたファイルはそのまま再現ケースやベンチマークの入力に使えます。
+ *
+ * <p>書き出しは専用のデーモンスレッドで行い、リクエストの応答を遅らせません。ファイル数と合計サイズの上限を超えた場合は古いものから削除します。
+ */
+public class SlowRequestLog {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlowRequestLog.class);
+
+  /** しきい値（ミリ秒）を指定するシステムプロパティ。0以下の場合は記録しない */
+  public static final String THRESHOLD_PROPERTY = "groovy.lsp.slowRequest.thresholdMillis";
+
+  /** 記録先のディレクトリを指定するシステムプロパティ */
+  public static final String DIRECTORY_PROPERTY = "groovy.lsp.slowRequest.dir";
+
+  /** ドキュメントの内容を記録に含めるかを指定するシステムプロパティ（既定は含めない） */
+  public static final String CAPTURE_CONTENT_PROPERTY = "groovy.lsp.slowRequest.captureContent";
+
+  /** しきい値の既定値（ミリ秒） */
+  static final long DEFAULT_THRESHOLD_MILLIS = 500;
+
+  /** 保持するファイル数の上限 */
+  static final int MAX_FILES = 50;
+
+  /** 保持するファイルの合計サイズの上限 */
+  static final long MAX_TOTAL_BYTES = 16L * 1024 * 1024;
+
+  /** 1件に含めるドキュメントの最大文字数 */
+  static final int MAX_CONTENT_LENGTH = 256 * 1024;
+
+  private static final String FILE_PREFIX = "slow-";
+  private static final String FILE_SUFFIX = ".json";
+  private static final DateTimeFormatter FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+  private final ServerMetrics metrics;
+  private final @Nullable Path directory;
+  private final long thresholdNanos;
+  private final boolean captureContent;
+  private final int maxFiles;
+  private final long maxTotalBytes;
+  private final Executor writer;
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * @param metrics 処理時間の記録元
+   * @param directory 記録先のディレクトリ
+   * @param thresholdMillis しきい値（ミリ秒）。0以下の場合は記録しない
+   */
+  public SlowRequestLog(ServerMetrics metrics, Path directory, long thresholdMillis) {
+    this(metrics, directory, thresholdMillis, false);
+  }
+
+  /**
+   * @param metrics 処理時間の記録元
+   * @param directory 記録先のディレクトリ
+   * @param thresholdMillis しきい値（ミリ秒）。0以下の場合は記録しない
+   * @param captureContent ドキュメントの内容を記録に含める場合true
+   */
+  public SlowRequestLog(
+      ServerMetrics metrics, Path directory, long thresholdMillis, boolean captureContent) {
+    this(
+        metrics,
+        directory,
+        thresholdMillis,
+        captureContent,
+        MAX_FILES,
+        MAX_TOTAL_BYTES,
+        newWriter());
+  }
+
+  SlowRequestLog(
+      ServerMetrics metrics,
+      @Nullable Path directory,
+      long thresholdMillis,
+      boolean captureContent,
+      int maxFiles,
+      long maxTotalBytes,
+      Executor writer) {
+    this.metrics = metrics;
+    this.directory = thresholdMillis > 0 ? directory : null;
+    this.thresholdNanos = thresholdMillis * 1_000_000;
+    this.captureContent = captureContent;
+    this.maxFiles = maxFiles;
+    this.maxTotalBytes = maxTotalBytes;
+    this.writer = writer;
+  }
+
+  /**
+   * システムプロパティの設定で作成する
+   *
+   * @param metrics 処理時間の記録元
+   * @param defaultDirectory 記録先が指定されなかった場合のディレクトリ
+   * @return 記録
+   */
+  public static SlowRequestLog fromSystemProperties(ServerMetrics metrics, Path defaultDirectory) {
+    long threshold = DEFAULT_THRESHOLD_MILLIS;
+    String configuredThreshold = System.getProperty(THRESHOLD_PROPERTY);
+    if (configuredThreshold != null && !configuredThreshold.isBlank()) {
+      try {
+        threshold = Long.parseLong(configuredThreshold.trim());
+      } catch (NumberFormatException e) {
+        logger.warn("{}の値が不正なため既定値を使います: {}", THRESHOLD_PROPERTY, configuredThreshold);
+      }
+    }
+    String configuredDirectory = System.getProperty(DIRECTORY_PROPERTY);
+    Path target =
+        configuredDirectory == null || configuredDirectory.isBlank()
+            ? defaultDirectory
+            : Paths.get(configuredDirectory);
+    return new SlowRequestLog(
+        metrics, target, threshold, Boolean.getBoolean(CAPTURE_CONTENT_PROPERTY));
+  }
+
+  /**
+   * 何も記録しない
+   *
+   * @param metrics 処理時間の記録先
+   * @return 記録
+   */
+  public static SlowRequestLog disabled(ServerMetrics metrics) {
+    return new SlowRequestLog(metrics, null, 0, false, MAX_FILES, MAX_TOTAL_BYTES, Runnable::run);
+  }
+
+  /** 記録が有効かどうか */
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  /**
+   * 処理を実行し、しきい値を超えた場合は入力とともに記録する
+   *
+   * <p>ドキュメントは処理の開始時点のものを記録します。処理が例外で終了した場合は記録しません。
+   *
+   * @param method LSPのメソッド名
+   * @param document 対象のドキュメントを返す関数（記録が有効な場合だけ呼び出す）
+   * @param position カーソル位置（位置を伴わないリクエストの場合はnull）
+   * @param action 処理
+   * @return 処理の結果
+   */
+  public <T> T capture(
+      String method,
+      Supplier<Option<TextDocument>> document,
+      @Nullable Position position,
+      Supplier<T> action) {
+    var target = directory;
+    if (target == null) {
+      return action.get();
+    }
+
+    var snapshot = document.get();
+    var traced = metrics.trace(action);
+    if (traced.totalNanos() >= thresholdNanos) {
+      metrics.increment("slowRequest.captured");
+      var record = toJson(method, snapshot.getOrNull(), position, traced);
+      writer.execute(() -> write(target, method, record));
+    }
+    return traced.result();
+  }
+
+  private JsonObject toJson(
+      String method,
+      @Nullable TextDocument document,
+      @Nullable Position position,
+      ServerMetrics.Traced<?> traced) {
+    var json = new JsonObject();
+    json.addProperty("timestamp", System.currentTimeMillis());
+    json.addProperty("method", method);
+    json.addProperty("totalMillis", traced.totalNanos() / 1_000_000.0);
+    json.addProperty("thresholdMillis", thresholdNanos / 1_000_000);
+
+    var phases = new JsonObject();
+    traced.phaseNanos().forEach((name, nanos) -> phases.addProperty(name, nanos / 1_000_000.0));
+    json.add("phases", phases);
+
+    if (position != null) {
+      var cursor = new JsonObject();
+      cursor.addProperty("line", position.getLine());
+      cursor.addProperty("character", position.getCharacter());
+      json.add("position", cursor);
+    }
+    if (document != null) {
+      String content = document.content();
+      boolean truncated = content.length() > MAX_CONTENT_LENGTH;
+      json.addProperty("uri", document.uri().toString());
+      json.addProperty("version", document.version());
+      json.addProperty("languageId", document.languageId());
+      json.addProperty("contentLength", content.length());
+      if (captureContent) {
+        json.addProperty("truncated", truncated);
+        json.addProperty("content", truncated ? content.substring(0, MAX_CONTENT_LENGTH) : content);
+      }
+    }
+    return json;
+  }
+
+  private void write(Path target, String method, JsonObject record) {
+    String name =
+        FILE_PREFIX
+            + LocalDateTime.now().format(FILE_TIMESTAMP)
+            + String.format("-%06d-", sequence.incrementAndGet())
+            + method.replaceAll("[^A-Za-z0-9]+", "_")
+            + FILE_SUFFIX;
+    try {
+      Files.createDirectories(target);
+      Files.writeString(target.resolve(name), record.toString(), StandardCharsets.UTF_8);
+      logger.debug("遅いリクエストを記録しました: {}", name);
+      rotate(target);
+    } catch (IOException e) {
+      logger.warn("遅いリクエストを記録できませんでした: {}", target, e);
+    }
+  }
+
+  /** 上限を超えた分を古いファイルから削除する */
+  private void rotate(Path target) throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (var listing = Files.list(target)) {
+      listing
+          .filter(
+              path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+              })
+          .forEach(files::add);
+    }
+    // ファイル名は日時と連番で始まるため、名前順が書き出した順になる
+    files.sort(Comparator.comparing(path -> path.getFileName().toString()));
+
+    long totalBytes = 0;
+    for (var file : files) {
+      totalBytes += Files.size(file);
+    }
+    int remaining = files.size();
+    for (var file : files) {
+      if (remaining <= maxFiles && totalBytes <= maxTotalBytes) {
+        break;
+      }
+      long size = Files.size(file);
+      Files.deleteIfExists(file);
+      totalBytes -= size;
+      remaining--;
+    }
+  }
+
+  private static Executor newWriter() {
+    return Executors.newSingleThreadExecutor(
+        runnable -> {
+          var thread = new Thread(runnable, "groovy-lsp-slow-request-writer");
+          thread.setDaemon(true);
+          thread.setPriority(Thread.MIN_PRIORITY);
+          return thread;
+        });
+  }
+}
@@ -1,19 +1,31 @@
 package com.groovylsp.infrastructure.parser;
 
+import com.groovylsp.domain.model.TextDocument;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import io.vavr.control.Option;
 import io.vavr.control.Try;
 import java.net.URI;
 import javax.inject.Inject;
 
-/** ドキュメントのコンテンツを取得するサービス */
+/**
+ * ドキュメントのコンテンツを取得するサービス
+ *
+ * <p>エディタで開いているドキュメントはその内容を、開いていないワークスペースのファイルはディスク上の内容を返します。
+ */
 public class DocumentContentService {
 
   private final TextDocumentRepository textDocumentRepository;
+  private final FileContentStore fileContentStore;
 
-  @Inject
   public DocumentContentService(TextDocumentRepository textDocumentRepository) {
+    this(textDocumentRepository, new FileContentStore());
+  }
+
+  @Inject
+  public DocumentContentService(
+      TextDocumentRepository textDocumentRepository, FileContentStore fileContentStore) {
     this.textDocumentRepository = textDocumentRepository;
+    this.fileContentStore = fileContentStore;
   }
 
   /**
@@ -23,9 +35,18 @@ public class DocumentContentService {
    * @return ドキュメントの内容
    */
   public Option<String> getContent(String uri) {
-    return Try.of(() -> URI.create(uri))
-        .toOption()
-        .flatMap(textDocumentRepository::findByUri)
-        .map(doc -> doc.content());
+    return getDocument(uri)
+        .map(doc -> doc.content())
+        .orElse(() -> fileContentStore.getContent(uri));
+  }
+
+  /**
+   * 指定URIのドキュメントを取得
+   *
+   * @param uri ファイルURI
+   * @return ドキュメント
+   */
+  public Option<TextDocument> getDocument(String uri) {
+    return Try.of(() -> URI.create(uri)).toOption().flatMap(textDocumentRepository::findByUri);
   }
 }
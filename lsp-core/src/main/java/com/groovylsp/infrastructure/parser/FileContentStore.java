@@ -0,0 +1,151 @@
+package com.groovylsp.infrastructure.parser;
+
+import com.groovylsp.infrastructure.cache.CacheStats;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * エディタで開いていないワークスペースのファイルの内容を提供するストア
+ *
+ * <p>ファイルは読み込んだ時点でUTF-8の文字列にデコードし、ファイルのハンドルやマップした領域を保持しません。 そのため、読み込んだファイルを他のプロセスが削除・上書きするのを妨げません。
+ *
+ * <p>読み込んだ内容はパスごとに更新日時とサイズを添えて保持し、どちらかが変わった場合は読み込み直します。
+ * 保持する量は文字列の推定サイズの合計で制限し、上限を超えた場合は最後に使われてから時間が経ったものから破棄します。 上限より大きいファイルは保持しません。
+ *
+ * <p>スレッドセーフ: 複数のスレッドから同時に使用できます。
+ */
+public class FileContentStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(FileContentStore.class);
+
+  /** 保持する内容の推定サイズの既定の上限（バイト） */
+  static final long DEFAULT_BUDGET_BYTES = 32L * 1024 * 1024;
+
+  private final long budgetBytes;
+
+  /** アクセス順のエントリ（{@code this} のロックで保護する） */
+  private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long retainedBytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  public FileContentStore() {
+    this(DEFAULT_BUDGET_BYTES);
+  }
+
+  /**
+   * @param budgetBytes 保持する内容の推定サイズの上限（バイト）
+   */
+  public FileContentStore(long budgetBytes) {
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * URIのファイルの内容を取得
+   *
+   * @param uri ファイルURI（file スキーム以外は対象外）
+   * @return ファイルの内容。読めない場合はNone
+   */
+  public Option<String> getContent(String uri) {
+    return Try.of(() -> URI.create(uri))
+        .filter(parsed -> "file".equals(parsed.getScheme()))
+        .mapTry(Path::of)
+        .toOption()
+        .flatMap(this::getContent);
+  }
+
+  /**
+   * パスのファイルの内容を取得
+   *
+   * @param path ファイルのパス
+   * @return ファイルの内容。読めない場合はNone
+   */
+  public Option<String> getContent(Path path) {
+    try {
+      var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      if (!attributes.isRegularFile() || attributes.size() > Integer.MAX_VALUE) {
+        return Option.none();
+      }
+      long modified = attributes.lastModifiedTime().toMillis();
+      synchronized (this) {
+        var cached = entries.get(path);
+        if (cached != null
+            && cached.modifiedMillis() == modified
+            && cached.size() == attributes.size()) {
+          hits++;
+          return Option.some(cached.content());
+        }
+        misses++;
+      }
+
+      // 不正なバイト列は置換文字になる
+      var content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+      store(path, new Entry(content, modified, attributes.size()));
+      return Option.some(content);
+    } catch (IOException | UnsupportedOperationException e) {
+      logger.debug("ファイルを読み込めませんでした: {}", path, e);
+      invalidate(path);
+      return Option.none();
+    }
+  }
+
+  /**
+   * パスの内容を破棄する
+   *
+   * @param path ファイルのパス
+   */
+  public synchronized void invalidate(Path path) {
+    var removed = entries.remove(path);
+    if (removed != null) {
+      retainedBytes -= removed.estimatedBytes();
+    }
+  }
+
+  /** 保持している内容の推定サイズ（バイト） */
+  public synchronized long retainedBytes() {
+    return retainedBytes;
+  }
+
+  /** キャッシュの統計情報 */
+  public synchronized CacheStats stats() {
+    return new CacheStats(hits, misses, evictions, 0, entries.size());
+  }
+
+  private synchronized void store(Path path, Entry entry) {
+    invalidate(path);
+    if (entry.estimatedBytes() > budgetBytes) {
+      return;
+    }
+    entries.put(path, entry);
+    retainedBytes += entry.estimatedBytes();
+    // 最後に使われてから時間が経ったものから破棄する
+    Iterator<Map.Entry<Path, Entry>> oldest = entries.entrySet().iterator();
+    while (retainedBytes > budgetBytes && oldest.hasNext()) {
+      var evicted = oldest.next().getValue();
+      oldest.remove();
+      retainedBytes -= evicted.estimatedBytes();
+      evictions++;
+    }
+  }
+
+  private record Entry(String content, long modifiedMillis, long size) {
+
+    /** 文字列の推定サイズ（1文字2バイトとして見積もる） */
+    long estimatedBytes() {
+      return (long) content.length() * Character.BYTES;
+    }
+  }
+}
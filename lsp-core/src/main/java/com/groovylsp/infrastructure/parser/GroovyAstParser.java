@@ -1,5 +1,8 @@
 package com.groovylsp.infrastructure.parser;
 
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.jfr.ParseEvent;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import groovy.lang.GroovyClassLoader;
 import io.vavr.control.Either;
 import java.io.IOException;
@@ -33,6 +36,8 @@ public class GroovyAstParser implements AutoCloseable {
   private static final Logger logger = LoggerFactory.getLogger(GroovyAstParser.class);
 
   private final ParserConfiguration configuration;
+  private final ServerMetrics metrics;
+  private final WorkspaceConfiguration workspaceConfiguration;
   private final Map<Thread, GroovyClassLoader> threadLocalClassLoaders = new ConcurrentHashMap<>();
 
   /** デフォルト設定でパーサーを作成 */
@@ -42,7 +47,27 @@ public class GroovyAstParser implements AutoCloseable {
 
   /** カスタム設定でパーサーを作成 */
   public GroovyAstParser(ParserConfiguration configuration) {
+    this(configuration, new ServerMetrics());
+  }
+
+  /** カスタム設定と処理時間の記録先を指定してパーサーを作成 */
+  public GroovyAstParser(ParserConfiguration configuration, ServerMetrics metrics) {
+    this(configuration, metrics, WorkspaceConfiguration.unlimited());
+  }
+
+  /**
+   * 構文解析を行うファイルの大きさの上限を指定してパーサーを作成
+   *
+   * <p>{@link WorkspaceConfiguration#isLexicalOnly(CharSequence)}
+   * に当てはまるソースコードは、Groovyのコンパイラに渡さずにエラーを返します。
+   */
+  public GroovyAstParser(
+      ParserConfiguration configuration,
+      ServerMetrics metrics,
+      WorkspaceConfiguration workspaceConfiguration) {
     this.configuration = configuration;
+    this.metrics = metrics;
+    this.workspaceConfiguration = workspaceConfiguration;
   }
 
   /**
@@ -53,6 +78,36 @@ public class GroovyAstParser implements AutoCloseable {
    * @return 解析結果（成功時: ParseResult、失敗時: ParseError）
    */
   public Either<ParseError, ParseResult> parse(String fileName, String sourceCode) {
+    if (workspaceConfiguration.isLexicalOnly(sourceCode)) {
+      // 生成コードなどの巨大なファイルはコンパイラに渡さない
+      metrics.increment("parse.skippedLexicalOnly");
+      return Either.left(
+          new ParseError(
+              "ファイルが大きすぎるため構文解析を省略しました: " + fileName + " (" + sourceCode.length() + "文字)", null));
+    }
+    var event = new ParseEvent();
+    event.begin();
+    var result = metrics.time("phase.parse", () -> doParse(fileName, sourceCode));
+    if (event.shouldCommit()) {
+      event.fileName = fileName;
+      event.sourceLength = sourceCode.length();
+      event.phase = Phases.getDescription(Phases.CONVERSION);
+      event.succeeded = result.isRight();
+      event.errorCount =
+          result
+              .map(
+                  parseResult ->
+                      (int)
+                          parseResult.diagnostics().stream()
+                              .filter(diag -> diag.severity() == ParseDiagnostic.Severity.ERROR)
+                              .count())
+              .getOrElse(0);
+      event.commit();
+    }
+    return result;
+  }
+
+  private Either<ParseError, ParseResult> doParse(String fileName, String sourceCode) {
     List<ParseDiagnostic> diagnostics = new ArrayList<>();
 
     // スレッドごとに独立したClassLoaderを使用
@@ -0,0 +1,217 @@
+package com.groovylsp.infrastructure.parser;
+
+import com.groovylsp.infrastructure.cache.CacheStats;
+import com.groovylsp.infrastructure.parser.GroovyAstParser.ParseError;
+import com.groovylsp.infrastructure.parser.GroovyAstParser.ParseResult;
+import io.vavr.control.Either;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ドキュメントごとのパース結果のキャッシュ
+ *
+ * <p>URIごとに最後にパースしたソースコードとその結果を保持し、同じ内容に対するパースを省略します。 診断、セマンティックトークン、選択範囲などの機能が同じ AST
+ * を共有するために使用します。キャッシュしたASTは読み取り専用として扱ってください。
+ *
+ * <p>ASTはヒープで最も大きなオブジェクトになるため、保持する量をソースコードの長さから見積もったバイト数の上限で制限します。
+ * 上限を超えた場合は最後に使われてから時間が経ったものから破棄し、表示中や編集中のドキュメントのASTを優先して残します。
+ * 破棄したASTは次に必要になった時にパースし直します。メモリが逼迫した場合は {@link #trim(int)} で直近のものだけに減らせます。
+ *
+ * <p>スレッドセーフ: 複数のスレッドから同時に使用できます。
+ */
+public class ParseResultCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParseResultCache.class);
+
+  /** 上限を設けない場合の値 */
+  public static final long UNLIMITED = Long.MAX_VALUE;
+
+  /** 上限（MB）を指定するシステムプロパティ。指定がなければ最大ヒープの4分の1 */
+  public static final String BUDGET_PROPERTY = "groovy.lsp.astCache.budgetMb";
+
+  /**
+   * ソースコード1文字あたりのASTの推定サイズ（バイト）
+   *
+   * <p>パース結果はModuleNodeからSourceUnitまでを参照するため、実測でソースコードの約190倍になります。
+   */
+  static final long ESTIMATED_BYTES_PER_CHAR = 200;
+
+  private final GroovyAstParser parser;
+  private final long budgetBytes;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong retainedBytes = new AtomicLong();
+  private final AtomicLong accessClock = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public ParseResultCache(GroovyAstParser parser) {
+    this(parser, UNLIMITED);
+  }
+
+  /**
+   * @param parser パーサー
+   * @param budgetBytes 保持するASTの推定サイズの上限（バイト）
+   */
+  public ParseResultCache(GroovyAstParser parser, long budgetBytes) {
+    this.parser = parser;
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * システムプロパティの設定で上限を決める
+   *
+   * @return 保持するASTの推定サイズの上限（バイト）
+   */
+  public static long budgetFromSystemProperties() {
+    String configured = System.getProperty(BUDGET_PROPERTY);
+    if (configured != null && !configured.isBlank()) {
+      try {
+        return Long.parseLong(configured.trim()) * 1024 * 1024;
+      } catch (NumberFormatException e) {
+        logger.warn("{}の値が不正なため既定値を使います: {}", BUDGET_PROPERTY, configured);
+      }
+    }
+    return Runtime.getRuntime().maxMemory() / 4;
+  }
+
+  /**
+   * キャッシュ済みのパース結果を返し、なければパースする
+   *
+   * @param uri ドキュメントURI（キャッシュのキー）
+   * @param fileName パーサーに渡すファイル名
+   * @param sourceCode ソースコード
+   * @return 解析結果（成功時: ParseResult、失敗時: ParseError）
+   */
+  public Either<ParseError, ParseResult> parse(String uri, String fileName, String sourceCode) {
+    var cached = entries.get(uri);
+    if (cached != null && cached.sourceCode.equals(sourceCode)) {
+      hits.increment();
+      cached.lastAccess = accessClock.incrementAndGet();
+      return Either.right(cached.result);
+    }
+    misses.increment();
+
+    var result = parser.parse(fileName, sourceCode);
+    // 失敗した結果はキャッシュしない
+    result.peek(parseResult -> store(uri, sourceCode, parseResult));
+    return result;
+  }
+
+  /**
+   * キャッシュを参照も更新もせずにパースする
+   *
+   * <p>エディタで開いていないファイルのように、一度だけ解析するソースコードに使います。 開いているドキュメントのASTを追い出さず、統計情報にも数えません。
+   *
+   * @param fileName パーサーに渡すファイル名
+   * @param sourceCode ソースコード
+   * @return 解析結果（成功時: ParseResult、失敗時: ParseError）
+   */
+  public Either<ParseError, ParseResult> parseUncached(String fileName, String sourceCode) {
+    return parser.parse(fileName, sourceCode);
+  }
+
+  /**
+   * URIのキャッシュを破棄する
+   *
+   * @param uri ドキュメントURI
+   */
+  public void invalidate(String uri) {
+    var removed = entries.remove(uri);
+    if (removed != null) {
+      retainedBytes.addAndGet(-removed.estimatedBytes);
+    }
+  }
+
+  /** すべてのキャッシュを破棄する */
+  public synchronized void invalidateAll() {
+    for (var entry : new ArrayList<>(entries.entrySet())) {
+      if (entries.remove(entry.getKey(), entry.getValue())) {
+        retainedBytes.addAndGet(-entry.getValue().estimatedBytes);
+      }
+    }
+  }
+
+  /**
+   * 直近に使われたものだけを残してASTを破棄する
+   *
+   * @param keep 残す件数
+   * @return 破棄した件数
+   */
+  public synchronized int trim(int keep) {
+    var candidates = new ArrayList<>(entries.entrySet());
+    candidates.sort(Comparator.comparingLong(entry -> -entry.getValue().lastAccess));
+    int evicted = 0;
+    for (int i = keep; i < candidates.size(); i++) {
+      if (evict(candidates.get(i))) {
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /** 保持しているASTの推定サイズ（バイト） */
+  public long retainedBytes() {
+    return retainedBytes.get();
+  }
+
+  /** キャッシュの統計情報 */
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), 0, entries.size());
+  }
+
+  private void store(String uri, String sourceCode, ParseResult parseResult) {
+    var entry =
+        new Entry(
+            sourceCode,
+            parseResult,
+            sourceCode.length() * ESTIMATED_BYTES_PER_CHAR,
+            accessClock.incrementAndGet());
+    var previous = entries.put(uri, entry);
+    retainedBytes.addAndGet(
+        entry.estimatedBytes - (previous == null ? 0 : previous.estimatedBytes));
+    if (retainedBytes.get() > budgetBytes) {
+      enforceBudget();
+    }
+  }
+
+  /** 上限に収まるまで、最後に使われてから時間が経ったものから破棄する（直近の1件は残す） */
+  private synchronized void enforceBudget() {
+    var candidates = new ArrayList<>(entries.entrySet());
+    candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+    for (int i = 0; i < candidates.size() - 1 && retainedBytes.get() > budgetBytes; i++) {
+      evict(candidates.get(i));
+    }
+  }
+
+  private boolean evict(Map.Entry<String, Entry> candidate) {
+    // 破棄を決めた後に更新されたエントリは残す
+    if (entries.remove(candidate.getKey(), candidate.getValue())) {
+      retainedBytes.addAndGet(-candidate.getValue().estimatedBytes);
+      evictions.increment();
+      return true;
+    }
+    return false;
+  }
+
+  private static final class Entry {
+    private final String sourceCode;
+    private final ParseResult result;
+    private final long estimatedBytes;
+    private volatile long lastAccess;
+
+    private Entry(String sourceCode, ParseResult result, long estimatedBytes, long lastAccess) {
+      this.sourceCode = sourceCode;
+      this.result = result;
+      this.estimatedBytes = estimatedBytes;
+      this.lastAccess = lastAccess;
+    }
+  }
+}
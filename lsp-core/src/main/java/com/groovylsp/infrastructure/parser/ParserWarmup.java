@@ -0,0 +1,145 @@
+package com.groovylsp.infrastructure.parser;
+
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groovyコンパイラのウォームアップ
+ *
+ * <p>起動直後の最初の診断やホバーは、GroovyのANTLR4パーサーなどのクラスロードとJITコンパイルの時間を含むため遅くなります。
+ * 初期化時に代表的なGroovyコードをバックグラウンドで数回パースしておき、最初のリクエストまでにその時間を済ませます。
+ *
+ * <p>システムプロパティ {@value #ENABLED_PROPERTY} に {@code false} を指定すると無効になります。
+ */
+public class ParserWarmup {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParserWarmup.class);
+
+  /** ウォームアップの有効・無効を指定するシステムプロパティ */
+  public static final String ENABLED_PROPERTY = "groovy.lsp.warmup";
+
+  /** パースする回数 */
+  static final int ITERATIONS = 3;
+
+  /** 構文の主要な要素を一通り含むソースコード */
+  public static final String SNIPPET =
+      """
+      package warmup
+
+      import groovy.transform.CompileStatic
+      import java.util.concurrent.ConcurrentHashMap
+
+      @CompileStatic
+      class Repository<T> implements Iterable<T> {
+          private final Map<String, T> items = new ConcurrentHashMap<>()
+          String name = 'default'
+          static final int LIMIT = 10
+
+          Repository(String name) {
+              this.name = name
+          }
+
+          void put(String key, T value) {
+              if (items.size() >= LIMIT) {
+                  throw new IllegalStateException("full: ${name}")
+              }
+              items[key] = value
+          }
+
+          Optional<T> find(String key) {
+              Optional.ofNullable(items.get(key))
+          }
+
+          @Override
+          Iterator<T> iterator() {
+              items.values().iterator()
+          }
+      }
+
+      trait Named {
+          abstract String getName()
+          String describe() { "name=$name" }
+      }
+
+      enum Status { ACTIVE, INACTIVE }
+
+      interface Listener {
+          void onEvent(String event)
+      }
+
+      def repository = new Repository<Integer>('numbers')
+      (1..5).each { int i -> repository.put("n$i", i * 2) }
+      def evens = repository.findAll { it % 2 == 0 }.collect { it as String }
+      def summary = [count: evens.size(), status: Status.ACTIVE]
+      switch (summary.status) {
+          case Status.ACTIVE:
+              println summary
+              break
+          default:
+              println 'inactive'
+      }
+      try {
+          repository.put('overflow', 99)
+      } catch (IllegalStateException e) {
+          println e.message
+      } finally {
+          println repository.name
+      }
+      """;
+
+  private final GroovyAstParser.ParserConfiguration configuration;
+  private final ServerMetrics metrics;
+  private final AtomicReference<@Nullable CompletableFuture<Void>> running =
+      new AtomicReference<>();
+
+  /**
+   * @param configuration サーバーが使うパーサーの設定
+   * @param metrics ウォームアップ全体の処理時間の記録先
+   */
+  public ParserWarmup(GroovyAstParser.ParserConfiguration configuration, ServerMetrics metrics) {
+    this.configuration = configuration;
+    this.metrics = metrics;
+  }
+
+  /**
+   * ウォームアップをバックグラウンドで開始する
+   *
+   * <p>2回目以降の呼び出しでは最初に開始した処理を返します。
+   *
+   * @return ウォームアップの完了
+   */
+  public CompletableFuture<Void> start() {
+    var created = new CompletableFuture<Void>();
+    var existing = running.compareAndExchange(null, created);
+    if (existing != null) {
+      return existing;
+    }
+    if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+      created.complete(null);
+      return created;
+    }
+
+    CompletableFuture.runAsync(() -> metrics.time("phase.warmup", this::run))
+        .whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                logger.debug("パーサーのウォームアップに失敗しました", error);
+              }
+              created.complete(null);
+            });
+    return created;
+  }
+
+  private void run() {
+    // リクエストの処理時間の統計に混ざらないよう、専用のパーサーと記録先を使う
+    try (var parser = new GroovyAstParser(configuration, new ServerMetrics())) {
+      for (int i = 0; i < ITERATIONS; i++) {
+        parser.parse("Warmup.groovy", SNIPPET);
+      }
+    }
+  }
+}
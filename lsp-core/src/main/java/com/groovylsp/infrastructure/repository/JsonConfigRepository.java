@@ -0,0 +1,144 @@
+package com.groovylsp.infrastructure.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.groovylsp.domain.model.GlobMatcher;
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.repository.ConfigRepository;
+import io.vavr.control.Either;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * ワークスペースのJSON設定ファイルから設定を読み込むリポジトリ
+ *
+ * <p>ワークスペースのルートの {@value #CONFIG_FILE_NAME} を読み込みます。ファイルがない場合はデフォルトの設定です。 形式はクライアントの設定（{@code
+ * groovy-lsp.files.*}）と同じで、指定しなかった項目はデフォルトの値を使います。
+ *
+ * <pre>{@code
+ * {
+ *   "files": {
+ *     "exclude": ["build/**", "src/generated"],
+ *     "extensions": [".groovy", ".gradle"],
+ *     "maxFileSize": 1000000,
+ *     "maxLineLength": 10000
+ *   }
+ * }
+ * }</pre>
+ */
+@Singleton
+public class JsonConfigRepository implements ConfigRepository {
+
+  /** 設定ファイル名 */
+  public static final String CONFIG_FILE_NAME = ".groovy-lsp.json";
+
+  /** クライアントの設定のセクション名 */
+  public static final String SETTINGS_SECTION = "groovy-lsp";
+
+  private static final Gson GSON = new Gson();
+
+  @Inject
+  public JsonConfigRepository() {}
+
+  @Override
+  public Either<String, GroovyLspConfig> loadConfig(Path workspaceRoot) {
+    var file = workspaceRoot.resolve(CONFIG_FILE_NAME);
+    if (!Files.isRegularFile(file)) {
+      return Either.right(GroovyLspConfig.DEFAULT);
+    }
+    try {
+      var json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8));
+      return overlay(json, GroovyLspConfig.DEFAULT)
+          .mapLeft(error -> CONFIG_FILE_NAME + ": " + error);
+    } catch (IOException e) {
+      return Either.left("設定ファイルを読み込めませんでした: " + file + " (" + e.getMessage() + ")");
+    } catch (JsonParseException e) {
+      return Either.left("設定ファイルの形式が正しくありません: " + file + " (" + e.getMessage() + ")");
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>workspace/didChangeConfiguration の {@code settings} は、{@value #SETTINGS_SECTION}
+   * セクションで包まれていてもいなくても構いません。Gsonの {@link JsonElement} のほか、それに変換できるオブジェクトも受け付けます。 指定のない項目は {@code
+   * base} の値を使い、値の型や除外パターンが正しくない場合はエラーメッセージを返します。
+   */
+  @Override
+  public Either<String, GroovyLspConfig> applySettings(
+      @Nullable Object settings, GroovyLspConfig base) {
+    return overlay(settings, base);
+  }
+
+  private static Either<String, GroovyLspConfig> overlay(
+      @Nullable Object settings, GroovyLspConfig base) {
+    var json = settings instanceof JsonElement element ? element : GSON.toJsonTree(settings);
+    if (!json.isJsonObject()) {
+      return Either.right(base);
+    }
+    var root = json.getAsJsonObject();
+    if (root.get(SETTINGS_SECTION) instanceof JsonObject section) {
+      root = section;
+    }
+    if (!(root.get("files") instanceof JsonObject files)) {
+      return Either.right(base);
+    }
+
+    try {
+      var extensions = stringSet(files, "extensions", base.enabledFileExtensions());
+      var excludes = stringSet(files, "exclude", base.excludePatterns());
+      long maxFileSize = positiveNumber(files, "maxFileSize", base.maxFileSize());
+      int maxLineLength =
+          Math.toIntExact(positiveNumber(files, "maxLineLength", base.maxLineLength()));
+      // 正しくないパターンはここで報告する
+      GlobMatcher.compile(excludes);
+      return Either.right(new GroovyLspConfig(extensions, excludes, maxFileSize, maxLineLength));
+    } catch (IllegalArgumentException | IllegalStateException | ArithmeticException e) {
+      return Either.left(e.getMessage());
+    }
+  }
+
+  private static Set<String> stringSet(JsonObject files, String name, Set<String> defaultValue) {
+    var value = files.get(name);
+    if (value == null || value.isJsonNull()) {
+      return defaultValue;
+    }
+    if (!(value instanceof JsonArray array)) {
+      throw new IllegalArgumentException("files." + name + " は文字列の配列で指定してください");
+    }
+    var result = new LinkedHashSet<String>();
+    for (var element : array) {
+      if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
+        throw new IllegalArgumentException("files." + name + " は文字列の配列で指定してください");
+      }
+      result.add(element.getAsString());
+    }
+    return result;
+  }
+
+  private static long positiveNumber(JsonObject files, String name, long defaultValue) {
+    var value = files.get(name);
+    if (value == null || value.isJsonNull()) {
+      return defaultValue;
+    }
+    if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+      throw new IllegalArgumentException("files." + name + " は正の整数で指定してください");
+    }
+    long number = value.getAsLong();
+    if (number <= 0) {
+      throw new IllegalArgumentException("files." + name + " は正の整数で指定してください");
+    }
+    return number;
+  }
+}
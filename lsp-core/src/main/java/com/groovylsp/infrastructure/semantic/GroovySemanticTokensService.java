@@ -0,0 +1,337 @@
+package com.groovylsp.infrastructure.semantic;
+
+import com.groovylsp.domain.constant.SemanticTokenLegend;
+import com.groovylsp.domain.lexer.Token;
+import com.groovylsp.domain.lexer.TokenType;
+import com.groovylsp.domain.model.AstInfo;
+import com.groovylsp.domain.model.ClassInfo;
+import com.groovylsp.domain.model.EncodedSemanticTokens;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.domain.service.SemanticTokensService;
+import com.groovylsp.infrastructure.lexer.GroovyLexer;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * GroovyLexerのトークンストリームからセマンティックトークンを計算するサービス
+ *
+ * <p>キーワード、リテラル、コメント、演算子は字句解析の結果だけで分類し、 識別子はAST解析で得られたクラス・メソッド・フィールド・パラメータ名で分類します。
+ * 結果はURIごとに最新と直前の2世代を保持し、差分応答に使用します。
+ */
+@Singleton
+public class GroovySemanticTokensService implements SemanticTokensService {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroovySemanticTokensService.class);
+
+  // 修飾子ビットを格納する位置（下位16ビットはトークンタイプ）
+  private static final int MODIFIER_SHIFT = 16;
+  private static final int TYPE_MASK = (1 << MODIFIER_SHIFT) - 1;
+
+  private final AstAnalysisService astAnalysisService;
+  private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+  private final AtomicLong resultIdSequence = new AtomicLong();
+
+  @Inject
+  public GroovySemanticTokensService(AstAnalysisService astAnalysisService) {
+    this.astAnalysisService = astAnalysisService;
+  }
+
+  @Override
+  public Either<String, EncodedSemanticTokens> getTokens(TextDocument document) {
+    String uri = document.uri().toString();
+    var entry = cache.get(uri);
+    if (entry != null && entry.matches(document)) {
+      return Either.right(entry.current());
+    }
+
+    return encode(uri, document.content())
+        .peek(
+            tokens -> {
+              cache.compute(
+                  uri,
+                  (key, old) ->
+                      new CacheEntry(
+                          document.version(),
+                          document.content(),
+                          tokens,
+                          old == null ? null : old.current()));
+              logger.debug(
+                  "Computed {} semantic tokens for {} (version: {})",
+                  tokens.tokenCount(),
+                  uri,
+                  document.version());
+            });
+  }
+
+  @Override
+  public Option<EncodedSemanticTokens> findResult(String uri, String resultId) {
+    var entry = cache.get(uri);
+    if (entry == null) {
+      return Option.none();
+    }
+    if (entry.current().resultId().equals(resultId)) {
+      return Option.of(entry.current());
+    }
+    var previous = entry.previous();
+    if (previous != null && previous.resultId().equals(resultId)) {
+      return Option.of(previous);
+    }
+    return Option.none();
+  }
+
+  @Override
+  public void invalidate(String uri) {
+    cache.remove(uri);
+  }
+
+  private Either<String, EncodedSemanticTokens> encode(String uri, String content) {
+    var symbolKinds =
+        astAnalysisService
+            .analyze(uri, content)
+            .map(GroovySemanticTokensService::collectSymbolKinds)
+            .getOrElse(Map.of());
+    var encoder = new TokenEncoder(content, symbolKinds);
+
+    return new GroovyLexer(content)
+        .forEachToken(encoder::accept)
+        .map(count -> new EncodedSemanticTokens(nextResultId(), encoder.toArray()));
+  }
+
+  private String nextResultId() {
+    return Long.toString(resultIdSequence.incrementAndGet());
+  }
+
+  /**
+   * AST情報から識別子名ごとの分類を作成
+   *
+   * <p>分類は名前だけで引くため、同じ名前が異なる種類や修飾子で宣言されている場合はどれとも決められません。 そのような名前は分類に含めず、参照箇所は分類しないままにします。
+   */
+  private static Map<String, Integer> collectSymbolKinds(AstInfo astInfo) {
+    var kinds = new HashMap<String, Integer>();
+    var ambiguous = new HashSet<String>();
+    for (var classInfo : astInfo.classes()) {
+      int type =
+          switch (classInfo.type()) {
+            case INTERFACE, TRAIT -> SemanticTokenLegend.INTERFACE;
+            case ENUM -> SemanticTokenLegend.ENUM;
+            case CLASS, ANNOTATION -> SemanticTokenLegend.CLASS;
+            case SCRIPT -> -1;
+          };
+      if (type >= 0) {
+        put(kinds, ambiguous, simpleName(classInfo), type);
+      }
+    }
+    for (var classInfo : astInfo.classes()) {
+      for (var method : classInfo.methods()) {
+        if (!method.name().startsWith("<")) {
+          int modifiers = method.isStatic() ? SemanticTokenLegend.MODIFIER_STATIC : 0;
+          put(kinds, ambiguous, method.name(), pack(SemanticTokenLegend.METHOD, modifiers));
+        }
+      }
+    }
+    for (var classInfo : astInfo.classes()) {
+      for (var field : classInfo.fields()) {
+        int modifiers = 0;
+        if (Modifier.isStatic(field.modifiers())) {
+          modifiers |= SemanticTokenLegend.MODIFIER_STATIC;
+        }
+        if (Modifier.isFinal(field.modifiers())) {
+          modifiers |= SemanticTokenLegend.MODIFIER_READONLY;
+        }
+        put(kinds, ambiguous, field.name(), pack(SemanticTokenLegend.PROPERTY, modifiers));
+      }
+    }
+    for (var classInfo : astInfo.classes()) {
+      for (var method : classInfo.methods()) {
+        for (var parameter : method.parameters()) {
+          put(kinds, ambiguous, parameter.name(), SemanticTokenLegend.PARAMETER);
+        }
+      }
+    }
+    kinds.keySet().removeAll(ambiguous);
+    return kinds;
+  }
+
+  /** 名前の分類を登録し、既に異なる分類で登録されていれば曖昧な名前として記録 */
+  private static void put(
+      Map<String, Integer> kinds, Set<String> ambiguous, String name, int packed) {
+    Integer previous = kinds.putIfAbsent(name, packed);
+    if (previous != null && previous != packed) {
+      ambiguous.add(name);
+    }
+  }
+
+  /** 内部クラスを含むクラスの単純名を取得 */
+  private static String simpleName(ClassInfo classInfo) {
+    String name = classInfo.name();
+    return name.substring(name.lastIndexOf('$') + 1);
+  }
+
+  private static int pack(int type, int modifiers) {
+    return type | (modifiers << MODIFIER_SHIFT);
+  }
+
+  /** トークンを分類してLSPの相対位置形式にエンコードする */
+  private static final class TokenEncoder {
+
+    private final String content;
+    private final Map<String, Integer> symbolKinds;
+    private int[] data = new int[256];
+    private int size;
+    private int cursor;
+    private int line;
+    private int lineStart;
+    private int lastLine;
+    private int lastCharacter;
+    private @Nullable TokenType previousType;
+
+    TokenEncoder(String content, Map<String, Integer> symbolKinds) {
+      this.content = content;
+      this.symbolKinds = symbolKinds;
+    }
+
+    void accept(Token token) {
+      if (token.type() == TokenType.EOF) {
+        return;
+      }
+      int classification = classify(token);
+      if (token.type() != TokenType.COMMENT) {
+        previousType = token.type();
+      }
+      if (classification >= 0) {
+        emit(token.startPosition(), token.endPosition(), classification);
+      }
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(data, size);
+    }
+
+    private int classify(Token token) {
+      if (token.isKeyword()) {
+        return SemanticTokenLegend.KEYWORD;
+      }
+      return switch (token.type()) {
+        case STRING_LITERAL, GSTRING_BEGIN -> token.text().startsWith("/")
+                || token.text().startsWith("$/")
+            ? SemanticTokenLegend.REGEXP
+            : SemanticTokenLegend.STRING;
+        case GSTRING_PART, GSTRING_END, ERROR_UNCLOSED_STRING -> SemanticTokenLegend.STRING;
+        case NUMBER_LITERAL -> SemanticTokenLegend.NUMBER;
+        case COMMENT, ERROR_UNCLOSED_COMMENT -> SemanticTokenLegend.COMMENT;
+        case PLUS,
+            MINUS,
+            MULTIPLY,
+            DIVIDE,
+            MODULO,
+            ASSIGN,
+            EQUALS,
+            NOT_EQUALS,
+            LESS_THAN,
+            GREATER_THAN,
+            LESS_THAN_OR_EQUAL,
+            GREATER_THAN_OR_EQUAL,
+            AND,
+            OR,
+            NOT -> SemanticTokenLegend.OPERATOR;
+        case IDENTIFIER -> classifyIdentifier(token.text());
+        default -> -1;
+      };
+    }
+
+    private int classifyIdentifier(String name) {
+      // class/interface/enumキーワードの直後は型の宣言
+      int declaredType =
+          previousType == null
+              ? -1
+              : switch (previousType) {
+                case CLASS -> SemanticTokenLegend.CLASS;
+                case INTERFACE -> SemanticTokenLegend.INTERFACE;
+                case ENUM -> SemanticTokenLegend.ENUM;
+                default -> -1;
+              };
+      Integer known = symbolKinds.get(name);
+      if (declaredType >= 0) {
+        int type = known != null ? known & TYPE_MASK : declaredType;
+        return pack(type, SemanticTokenLegend.MODIFIER_DECLARATION);
+      }
+      return known != null ? known : -1;
+    }
+
+    /** トークンを行ごとに分割して追加する（複数行トークンはクライアントが扱えないため） */
+    private void emit(int start, int end, int classification) {
+      advanceTo(start);
+      int segmentStart = start;
+      for (int i = start; i < end; i++) {
+        if (content.charAt(i) == '\n') {
+          append(segmentStart, i, classification);
+          line++;
+          lineStart = i + 1;
+          segmentStart = i + 1;
+        }
+      }
+      append(segmentStart, end, classification);
+      cursor = end;
+    }
+
+    private void advanceTo(int position) {
+      for (; cursor < position; cursor++) {
+        if (content.charAt(cursor) == '\n') {
+          line++;
+          lineStart = cursor + 1;
+        }
+      }
+    }
+
+    private void append(int from, int to, int classification) {
+      int length = to - from;
+      if (length > 0 && content.charAt(to - 1) == '\r') {
+        length--;
+      }
+      if (length <= 0) {
+        return;
+      }
+      int character = from - lineStart;
+      int deltaLine = line - lastLine;
+      int deltaCharacter = deltaLine == 0 ? character - lastCharacter : character;
+
+      if (size + EncodedSemanticTokens.INTS_PER_TOKEN > data.length) {
+        data = Arrays.copyOf(data, data.length * 2);
+      }
+      data[size++] = deltaLine;
+      data[size++] = deltaCharacter;
+      data[size++] = length;
+      data[size++] = classification & TYPE_MASK;
+      data[size++] = classification >>> MODIFIER_SHIFT;
+      lastLine = line;
+      lastCharacter = character;
+    }
+  }
+
+  /** URIごとのキャッシュエントリ */
+  private record CacheEntry(
+      int version,
+      String content,
+      EncodedSemanticTokens current,
+      @Nullable EncodedSemanticTokens previous) {
+
+    boolean matches(TextDocument document) {
+      return version == document.version() && content.equals(document.content());
+    }
+  }
+}
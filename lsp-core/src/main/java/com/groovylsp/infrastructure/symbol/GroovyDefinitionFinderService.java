@@ -1,23 +1,39 @@
 package com.groovylsp.infrastructure.symbol;
 
 import com.groovylsp.domain.constant.ErrorMessages;
+import com.groovylsp.domain.lexer.TokenType;
+import com.groovylsp.domain.model.OccurrenceTable;
 import com.groovylsp.domain.model.ScopeManager;
 import com.groovylsp.domain.model.SymbolDefinition;
 import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
 import com.groovylsp.domain.service.DefinitionFinderService;
+import com.groovylsp.infrastructure.lexer.GroovyLexer;
 import com.groovylsp.infrastructure.parser.DocumentContentService;
 import io.vavr.collection.List;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.inject.Inject;
 import org.eclipse.lsp4j.Position;
-
-/** Groovyソースコードの定義検索サービスの実装 */
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groovyソースコードの定義検索サービスの実装
+ *
+ * <p>字句解析で得た識別子をシンボルテーブルとスコープ情報で解決し、URIごとに出現テーブルとして保持します。
+ * 位置からの検索は出現テーブルの参照だけで行い、テーブルが古い場合のみその場で作り直します。
+ */
 public class GroovyDefinitionFinderService implements DefinitionFinderService {
 
+  private static final Logger logger = LoggerFactory.getLogger(GroovyDefinitionFinderService.class);
+
   private final SymbolTable symbolTable;
   private final ScopeManager scopeManager;
   private final DocumentContentService documentContentService;
+  private final ConcurrentMap<String, OccurrenceTable> occurrenceTables = new ConcurrentHashMap<>();
 
   @Inject
   public GroovyDefinitionFinderService(
@@ -31,19 +47,19 @@ public class GroovyDefinitionFinderService implements DefinitionFinderService {
 
   @Override
   public Either<String, List<SymbolDefinition>> findDefinition(String uri, Position position) {
-    // カーソル位置の単語を取得
-    Either<String, String> wordResult = getWordAtPosition(uri, position);
-    if (wordResult.isLeft()) {
-      return Either.left(wordResult.getLeft());
-    }
-
-    String word = wordResult.get();
-    if (word.isEmpty()) {
-      return Either.right(List.empty());
-    }
-
-    // シンボル名から定義を検索
-    return findDefinitionByName(word, uri, position);
+    return documentContentService
+        .getDocument(uri)
+        .toEither(String.format(ErrorMessages.DOCUMENT_NOT_FOUND, uri))
+        .flatMap(
+            document -> {
+              var table = occurrenceTables.get(uri);
+              if (table != null && table.isFor(document.content())) {
+                return Either.right(table);
+              }
+              // 事前計算が間に合っていない場合はその場で作成する
+              return index(document);
+            })
+        .map(table -> table.findAt(position));
   }
 
   @Override
@@ -76,39 +92,44 @@ public class GroovyDefinitionFinderService implements DefinitionFinderService {
         .toEither(String.format(ErrorMessages.DEFINITION_NOT_FOUND, qualifiedName));
   }
 
-  /** 指定位置の単語を取得 */
-  private Either<String, String> getWordAtPosition(String uri, Position position) {
-    return documentContentService
-        .getContent(uri)
-        .toEither(String.format(ErrorMessages.DOCUMENT_NOT_FOUND, uri))
-        .map(
-            content -> {
-              String[] lines = content.split("\n");
-              if (position.getLine() >= lines.length) {
-                return "";
-              }
-
-              String line = lines[position.getLine()];
-              int pos = position.getCharacter();
-
-              // 単語の開始位置を見つける
-              int start = pos;
-              while (start > 0 && isWordChar(line.charAt(start - 1))) {
-                start--;
-              }
-
-              // 単語の終了位置を見つける
-              int end = pos;
-              while (end < line.length() && isWordChar(line.charAt(end))) {
-                end++;
+  @Override
+  public Either<String, OccurrenceTable> index(TextDocument document) {
+    String uri = document.uri().toString();
+    String content = document.content();
+    var builder = OccurrenceTable.builder(document.version(), content);
+
+    return new GroovyLexer(content)
+        .forEachToken(
+            token -> {
+              if (token.type() == TokenType.IDENTIFIER) {
+                var position = new Position(token.line() - 1, token.column() - 1);
+                findDefinitionByName(token.text(), uri, position)
+                    .peek(definitions -> builder.add(token.startPosition(), definitions));
               }
-
-              return line.substring(start, end);
+            })
+        .map(
+            count -> {
+              var table = builder.build();
+              // 新しいバージョンのテーブルを古いもので上書きしない
+              occurrenceTables.merge(
+                  uri, table, (old, next) -> next.version() >= old.version() ? next : old);
+              logger.debug(
+                  "Indexed {} of {} tokens for {} (version: {})",
+                  table.size(),
+                  count,
+                  uri,
+                  document.version());
+              return table;
             });
   }
 
-  /** 文字が単語の一部かどうかを判定 */
-  private boolean isWordChar(char c) {
-    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  @Override
+  public Option<OccurrenceTable> findOccurrenceTable(String uri) {
+    return Option.of(occurrenceTables.get(uri));
+  }
+
+  @Override
+  public void invalidate(String uri) {
+    occurrenceTables.remove(uri);
   }
 }
@@ -0,0 +1,216 @@
+package com.groovylsp.presentation.server;
+
+import com.groovylsp.domain.model.DiagnosticItem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 診断結果をクライアントへ送信するパブリッシャー
+ *
+ * <p>URIごとに最後に送信した診断セットのフィンガープリントを保持し、内容が変わらない送信は省略します。
+ * 直前の送信から短い時間窓の中で発生した送信は保留され、時間窓の終わりに最新の1件だけが送信されます。
+ * LSPのDiagnosticへの変換は実際に送信する時にのみ行います。
+ */
+public class DiagnosticPublisher implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(DiagnosticPublisher.class);
+
+  /** 送信をまとめる時間窓のデフォルト値（ミリ秒） */
+  public static final long DEFAULT_BATCH_WINDOW_MILLIS = 50;
+
+  private final long batchWindowNanos;
+  private final ScheduledExecutorService scheduler;
+  private final ConcurrentMap<String, UriState> states = new ConcurrentHashMap<>();
+
+  /** デフォルトの時間窓でパブリッシャーを作成 */
+  public DiagnosticPublisher() {
+    this(DEFAULT_BATCH_WINDOW_MILLIS);
+  }
+
+  /**
+   * 時間窓を指定してパブリッシャーを作成
+   *
+   * @param batchWindowMillis 送信をまとめる時間窓（ミリ秒）
+   */
+  public DiagnosticPublisher(long batchWindowMillis) {
+    this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "groovy-lsp-diagnostics-publisher");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * 診断結果を送信する
+   *
+   * <p>前回送信した内容と同じ場合は何もしません。時間窓内の連続した送信は最後の1件にまとめられます。
+   *
+   * @param client 送信先のクライアント
+   * @param uri ドキュメントURI
+   * @param items 診断アイテムのリスト
+   */
+  public void publish(LanguageClient client, String uri, List<DiagnosticItem> items) {
+    var fingerprint = Fingerprint.of(items);
+    var state = states.computeIfAbsent(uri, key -> new UriState());
+
+    synchronized (state) {
+      if (state.pending == null && fingerprint.equals(state.lastPublished)) {
+        logger.debug("Diagnostics unchanged, skipping publish for {}", uri);
+        return;
+      }
+
+      long now = System.nanoTime();
+      long elapsed = now - state.lastSentAt;
+      if (!state.flushScheduled && (state.lastPublished == null || elapsed >= batchWindowNanos)) {
+        send(client, uri, fingerprint, state, now);
+        return;
+      }
+
+      // 時間窓内の送信は保留し、時間窓の終わりに最新の結果だけを送信する
+      state.pending = fingerprint;
+      state.pendingClient = client;
+      if (!state.flushScheduled) {
+        state.flushScheduled = true;
+        long delay = Math.max(0, batchWindowNanos - elapsed);
+        var unused = scheduler.schedule(() -> flush(uri, state), delay, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /**
+   * URIに関する送信履歴を破棄する
+   *
+   * <p>ドキュメントを閉じた時に呼び出し、次回の送信が必ず行われるようにします。
+   *
+   * @param uri ドキュメントURI
+   */
+  public void forget(String uri) {
+    var state = states.remove(uri);
+    if (state != null) {
+      synchronized (state) {
+        state.pending = null;
+        state.pendingClient = null;
+      }
+    }
+  }
+
+  /** 保留中の診断を送信 */
+  private void flush(String uri, UriState state) {
+    synchronized (state) {
+      state.flushScheduled = false;
+      var pending = state.pending;
+      var client = state.pendingClient;
+      state.pending = null;
+      state.pendingClient = null;
+      if (pending == null || client == null) {
+        return;
+      }
+      if (pending.equals(state.lastPublished)) {
+        logger.debug("Batched diagnostics unchanged, skipping publish for {}", uri);
+        return;
+      }
+      send(client, uri, pending, state, System.nanoTime());
+    }
+  }
+
+  private void send(
+      LanguageClient client, String uri, Fingerprint fingerprint, UriState state, long now) {
+    var diagnostics = convertToLspDiagnostics(fingerprint.items());
+    client.publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
+    state.lastPublished = fingerprint;
+    state.lastSentAt = now;
+    logger.debug("Published {} diagnostics for {}", diagnostics.size(), uri);
+  }
+
+  /**
+   * ドメインモデルの診断結果をLSPのDiagnosticに変換する。
+   *
+   * @param items 診断アイテムのリスト
+   * @return LSPのDiagnosticリスト
+   */
+  private List<Diagnostic> convertToLspDiagnostics(List<DiagnosticItem> items) {
+    var diagnostics = new ArrayList<Diagnostic>(items.size());
+    for (var item : items) {
+      var diagnostic = new Diagnostic();
+      diagnostic.setRange(
+          new Range(
+              new Position(item.startPosition().line(), item.startPosition().character()),
+              new Position(item.endPosition().line(), item.endPosition().character())));
+      diagnostic.setSeverity(convertSeverity(item.severity()));
+      diagnostic.setMessage(item.message());
+      diagnostic.setSource(item.source());
+      diagnostics.add(diagnostic);
+    }
+    return diagnostics;
+  }
+
+  /**
+   * 診断の重要度をLSPのDiagnosticSeverityに変換する。
+   *
+   * @param severity ドメインモデルの重要度
+   * @return LSPのDiagnosticSeverity
+   */
+  private DiagnosticSeverity convertSeverity(DiagnosticItem.DiagnosticSeverity severity) {
+    return switch (severity) {
+      case ERROR -> DiagnosticSeverity.Error;
+      case WARNING -> DiagnosticSeverity.Warning;
+      case INFORMATION -> DiagnosticSeverity.Information;
+      case HINT -> DiagnosticSeverity.Hint;
+    };
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    states.clear();
+  }
+
+  /**
+   * 送信済み診断セットのフィンガープリント
+   *
+   * <p>ハッシュ値で高速に不一致を判定し、一致した場合のみ要素ごとに比較します。
+   */
+  private record Fingerprint(int hash, List<DiagnosticItem> items) {
+
+    static Fingerprint of(List<DiagnosticItem> items) {
+      var copy = List.copyOf(items);
+      return new Fingerprint(copy.hashCode(), copy);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      return obj instanceof Fingerprint other && hash == other.hash && items.equals(other.items);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /** URIごとの送信状態 */
+  private static final class UriState {
+    private @Nullable Fingerprint lastPublished;
+    private long lastSentAt;
+    private @Nullable Fingerprint pending;
+    private @Nullable LanguageClient pendingClient;
+    private boolean flushScheduled;
+  }
+}
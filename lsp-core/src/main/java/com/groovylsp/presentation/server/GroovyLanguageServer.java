@@ -1,37 +1,91 @@
 package com.groovylsp.presentation.server;
 
+import com.groovylsp.domain.constant.SemanticTokenLegend;
+import com.groovylsp.domain.service.TypeIndexService;
+import com.groovylsp.infrastructure.jfr.RecordingController;
+import com.groovylsp.infrastructure.jfr.RecordingController.RecordingParams;
+import com.groovylsp.infrastructure.jfr.RecordingController.RecordingStatus;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.metrics.ServerMetrics.ServerStats;
+import com.groovylsp.infrastructure.parser.ParserWarmup;
+import java.net.URI;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
+import org.eclipse.lsp4j.FileSystemWatcher;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.InitializedParams;
+import org.eclipse.lsp4j.Registration;
+import org.eclipse.lsp4j.RegistrationParams;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.eclipse.lsp4j.SemanticTokensServerFull;
+import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.WorkspaceSymbolOptions;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** Groovy Language Serverの主要実装。 */
 @Singleton
 public class GroovyLanguageServer implements LanguageServer, LanguageClientAware {
 
+  private static final Logger logger = LoggerFactory.getLogger(GroovyLanguageServer.class);
+
   private @Nullable LanguageClient client;
 
   private final GroovyTextDocumentService textDocumentService;
   private final GroovyWorkspaceService workspaceService;
+  private final TypeIndexService typeIndexService;
+  private final ServerMetrics metrics;
+  private final RecordingController recordingController;
+  private final ParserWarmup parserWarmup;
+
+  /** クライアントがファイルの監視の動的登録に対応しているかどうか */
+  private volatile boolean watchedFilesRegistrationSupported;
 
   @Inject
   public GroovyLanguageServer(
-      GroovyTextDocumentService textDocumentService, GroovyWorkspaceService workspaceService) {
+      GroovyTextDocumentService textDocumentService,
+      GroovyWorkspaceService workspaceService,
+      TypeIndexService typeIndexService,
+      ServerMetrics metrics,
+      RecordingController recordingController,
+      ParserWarmup parserWarmup) {
     this.textDocumentService = textDocumentService;
     this.workspaceService = workspaceService;
+    this.typeIndexService = typeIndexService;
+    this.metrics = metrics;
+    this.recordingController = recordingController;
+    this.parserWarmup = parserWarmup;
   }
 
   @Override
   public CompletableFuture<InitializeResult> initialize(InitializeParams params) {
+    // 最初のdidOpenまでの間に、各機能のサービスの作成とGroovyパーサーのクラスロードとコンパイルを済ませておく
+    textDocumentService.initializeServices();
+    parserWarmup.start();
+
+    // 除外パターンとファイルの大きさの上限は、最初のdidOpenより前に反映しておく
+    workspaceRoot(params).ifPresent(workspaceService::loadWorkspaceConfiguration);
+
     var capabilities = new ServerCapabilities();
 
     // テキストドキュメント同期機能
@@ -43,18 +97,150 @@ public class GroovyLanguageServer implements LanguageServer, LanguageClientAware
     // ホバー機能
     capabilities.setHoverProvider(true);
 
+    // セマンティックトークン機能（全体・差分・範囲）
+    var semanticTokensOptions =
+        new SemanticTokensWithRegistrationOptions(
+            new SemanticTokensLegend(
+                SemanticTokenLegend.TOKEN_TYPES, SemanticTokenLegend.TOKEN_MODIFIERS),
+            new SemanticTokensServerFull(true),
+            true);
+    capabilities.setSemanticTokensProvider(semanticTokensOptions);
+
+    // 折りたたみ範囲機能
+    capabilities.setFoldingRangeProvider(true);
+
+    // 選択範囲機能
+    capabilities.setSelectionRangeProvider(true);
+
+    // 定義ジャンプ機能（定義・宣言・型定義）
+    capabilities.setDefinitionProvider(true);
+    capabilities.setDeclarationProvider(true);
+    capabilities.setTypeDefinitionProvider(true);
+
+    // 参照検索とドキュメントハイライト
+    capabilities.setReferencesProvider(true);
+    capabilities.setDocumentHighlightProvider(true);
+
+    // 補完機能（ドキュメントはcompletionItem/resolveで遅延取得）
+    capabilities.setCompletionProvider(new CompletionOptions(true, List.of(".")));
+
+    // ワークスペースシンボル（範囲はworkspaceSymbol/resolveで遅延取得）
+    capabilities.setWorkspaceSymbolProvider(Either.forRight(new WorkspaceSymbolOptions(true)));
+    workspaceService.setLocationResolveSupported(supportsLocationResolve(params));
+    watchedFilesRegistrationSupported = supportsWatchedFilesRegistration(params);
+
     var result = new InitializeResult(capabilities);
     return CompletableFuture.completedFuture(result);
   }
 
+  /** ワークスペースのルートディレクトリ（最初のワークスペースフォルダ、なければrootUri） */
+  @SuppressWarnings("deprecation")
+  private static Optional<Path> workspaceRoot(InitializeParams params) {
+    var folders = params.getWorkspaceFolders();
+    String uri =
+        folders != null && !folders.isEmpty() ? folders.get(0).getUri() : params.getRootUri();
+    if (uri == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Path.of(URI.create(uri)));
+    } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+      logger.warn("ワークスペースのルートを特定できませんでした: {}", uri);
+      return Optional.empty();
+    }
+  }
+
+  /** クライアントがworkspaceSymbol/resolveでlocation.rangeを取得できるかどうか */
+  private static boolean supportsLocationResolve(InitializeParams params) {
+    var capabilities = params.getCapabilities();
+    var workspace = capabilities == null ? null : capabilities.getWorkspace();
+    var symbol = workspace == null ? null : workspace.getSymbol();
+    var resolveSupport = symbol == null ? null : symbol.getResolveSupport();
+    return resolveSupport != null
+        && resolveSupport.getProperties() != null
+        && resolveSupport.getProperties().contains("location.range");
+  }
+
+  /** クライアントがworkspace/didChangeWatchedFilesの動的登録に対応しているかどうか */
+  private static boolean supportsWatchedFilesRegistration(InitializeParams params) {
+    var capabilities = params.getCapabilities();
+    var workspace = capabilities == null ? null : capabilities.getWorkspace();
+    var watchedFiles = workspace == null ? null : workspace.getDidChangeWatchedFiles();
+    return watchedFiles != null && Boolean.TRUE.equals(watchedFiles.getDynamicRegistration());
+  }
+
   @Override
   public void initialized(InitializedParams params) {
     // クライアントがInitializeResultを受信した後、他のリクエスト/通知の前に呼び出される
     // ここで動的機能を登録し、初期化後のセットアップを実行できる
+
+    // クラスパス上の型の索引をバックグラウンドで構築（完了までは従来の解決方法で応答する）
+    typeIndexService.startIndexing();
+
+    // システムプロパティで指定されていればJFRの記録を開始
+    recordingController.startConfigured();
+
+    // ブランチの切り替えなどエディタ外での変更を索引に反映するため、Groovyファイルの監視を登録
+    var currentClient = client;
+    if (watchedFilesRegistrationSupported && currentClient != null) {
+      var options =
+          new DidChangeWatchedFilesRegistrationOptions(
+              List.of(new FileSystemWatcher(Either.forLeft("**/*.groovy"))));
+      currentClient.registerCapability(
+          new RegistrationParams(
+              List.of(
+                  new Registration(
+                      "groovy-lsp-watched-files", "workspace/didChangeWatchedFiles", options))));
+    }
+  }
+
+  /**
+   * サーバーの処理時間とカウンタの集計を返す独自リクエスト
+   *
+   * @return 集計結果
+   */
+  @JsonRequest("groovy/serverStats")
+  public CompletableFuture<ServerStats> serverStats() {
+    return CompletableFuture.completedFuture(metrics.snapshot());
+  }
+
+  /**
+   * Java Flight Recorderの記録を開始する独自リクエスト
+   *
+   * @param params 記録先の指定（省略時は既定のディレクトリ）
+   * @return 記録の状態
+   */
+  @JsonRequest("groovy/startRecording")
+  public CompletableFuture<RecordingStatus> startRecording(@Nullable RecordingParams params) {
+    return CompletableFuture.supplyAsync(
+        () ->
+            recordingController
+                .start(params == null ? null : params.destination())
+                .getOrElseThrow(GroovyLanguageServer::requestFailed));
+  }
+
+  /**
+   * Java Flight Recorderの記録を停止してファイルに書き出す独自リクエスト
+   *
+   * @return 停止後の状態（書き出したファイルを含む）
+   */
+  @JsonRequest("groovy/stopRecording")
+  public CompletableFuture<RecordingStatus> stopRecording() {
+    return CompletableFuture.supplyAsync(
+        () -> recordingController.stop().getOrElseThrow(GroovyLanguageServer::requestFailed));
+  }
+
+  private static ResponseErrorException requestFailed(String message) {
+    return new ResponseErrorException(
+        new ResponseError(ResponseErrorCode.RequestFailed, message, null));
   }
 
   @Override
   public CompletableFuture<Object> shutdown() {
+    // 記録中であればファイルに書き出してから終了する
+    if (recordingController.status().recording()) {
+      recordingController.stop();
+    }
     // クリーンシャットダウン
     return CompletableFuture.completedFuture(null);
   }
@@ -79,6 +265,7 @@ public class GroovyLanguageServer implements LanguageServer, LanguageClientAware
   public void connect(LanguageClient client) {
     this.client = client;
     this.textDocumentService.connect(client);
+    this.workspaceService.connect(client);
   }
 
   public @Nullable LanguageClient getClient() {
@@ -1,31 +1,62 @@
 package com.groovylsp.presentation.server;
 
+import com.groovylsp.application.usecase.CompletionUseCase;
+import com.groovylsp.application.usecase.DefinitionUseCase;
 import com.groovylsp.application.usecase.DiagnosticUseCase;
 import com.groovylsp.application.usecase.DocumentSymbolUseCase;
+import com.groovylsp.application.usecase.FoldingRangeUseCase;
 import com.groovylsp.application.usecase.HoverUseCase;
+import com.groovylsp.application.usecase.ReferencesUseCase;
+import com.groovylsp.application.usecase.SelectionRangeUseCase;
+import com.groovylsp.application.usecase.SemanticTokensUseCase;
 import com.groovylsp.application.usecase.TextDocumentSyncUseCase;
-import com.groovylsp.domain.model.DiagnosticItem;
-import com.groovylsp.domain.model.DiagnosticResult;
-import com.groovylsp.domain.util.FileTypeUtil;
-import java.util.ArrayList;
+import com.groovylsp.application.usecase.WorkspaceIndexUseCase;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.jfr.RequestEvent;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.metrics.SlowRequestLog;
+import dagger.Lazy;
+import io.vavr.control.Option;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import org.eclipse.lsp4j.Diagnostic;
-import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.DeclarationParams;
+import org.eclipse.lsp4j.DefinitionParams;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentHighlight;
+import org.eclipse.lsp4j.DocumentHighlightParams;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.FoldingRange;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.HoverParams;
-import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.PublishDiagnosticsParams;
-import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.LocationLink;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.SelectionRange;
+import org.eclipse.lsp4j.SelectionRangeParams;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.TypeDefinitionParams;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
@@ -42,60 +73,163 @@ public class GroovyTextDocumentService implements TextDocumentService, LanguageC
 
   private @Nullable LanguageClient client;
   private final TextDocumentSyncUseCase syncUseCase;
-  private final DiagnosticUseCase diagnosticUseCase;
-  private final DocumentSymbolUseCase documentSymbolUseCase;
-  private final HoverUseCase hoverUseCase;
+  private final TrackedLazy<DiagnosticUseCase> diagnosticUseCase;
+  private final TrackedLazy<DocumentSymbolUseCase> documentSymbolUseCase;
+  private final TrackedLazy<HoverUseCase> hoverUseCase;
+  private final TrackedLazy<SemanticTokensUseCase> semanticTokensUseCase;
+  private final Lazy<FoldingRangeUseCase> foldingRangeUseCase;
+  private final TrackedLazy<SelectionRangeUseCase> selectionRangeUseCase;
+  private final TrackedLazy<DefinitionUseCase> definitionUseCase;
+  private final Lazy<ReferencesUseCase> referencesUseCase;
+  private final TrackedLazy<CompletionUseCase> completionUseCase;
+  private final Lazy<WorkspaceIndexUseCase> workspaceIndexUseCase;
+  private final DiagnosticPublisher diagnosticPublisher;
+  private final ServerMetrics metrics;
+  private final SlowRequestLog slowRequestLog;
+  private final WorkspaceConfiguration workspaceConfiguration;
 
+  /**
+   * 機能ごとのユースケースを初回の利用時に作成するサービスを作成する
+   *
+   * <p>ユースケースはGroovyのAST関連のクラスや索引を伴い作成に時間がかかるため、{@code initialize} の応答を待たせないよう {@link
+   * #initializeServices()} でバックグラウンドで作成します。 ドキュメントの変更や終了に伴うキャッシュの破棄は、作成済みのユースケースだけに行います。
+   *
+   * @param workspaceConfiguration 対象のファイルと構文解析を省略するファイルの判定に使う設定
+   */
   @Inject
   public GroovyTextDocumentService(
       TextDocumentSyncUseCase syncUseCase,
-      DiagnosticUseCase diagnosticUseCase,
-      DocumentSymbolUseCase documentSymbolUseCase,
-      HoverUseCase hoverUseCase) {
+      Lazy<DiagnosticUseCase> diagnosticUseCase,
+      Lazy<DocumentSymbolUseCase> documentSymbolUseCase,
+      Lazy<HoverUseCase> hoverUseCase,
+      Lazy<SemanticTokensUseCase> semanticTokensUseCase,
+      Lazy<FoldingRangeUseCase> foldingRangeUseCase,
+      Lazy<SelectionRangeUseCase> selectionRangeUseCase,
+      Lazy<DefinitionUseCase> definitionUseCase,
+      Lazy<ReferencesUseCase> referencesUseCase,
+      Lazy<CompletionUseCase> completionUseCase,
+      Lazy<WorkspaceIndexUseCase> workspaceIndexUseCase,
+      DiagnosticPublisher diagnosticPublisher,
+      ServerMetrics metrics,
+      SlowRequestLog slowRequestLog,
+      WorkspaceConfiguration workspaceConfiguration) {
     this.syncUseCase = syncUseCase;
-    this.diagnosticUseCase = diagnosticUseCase;
-    this.documentSymbolUseCase = documentSymbolUseCase;
-    this.hoverUseCase = hoverUseCase;
+    this.diagnosticUseCase = new TrackedLazy<>(diagnosticUseCase);
+    this.documentSymbolUseCase = new TrackedLazy<>(documentSymbolUseCase);
+    this.hoverUseCase = new TrackedLazy<>(hoverUseCase);
+    this.semanticTokensUseCase = new TrackedLazy<>(semanticTokensUseCase);
+    this.foldingRangeUseCase = foldingRangeUseCase;
+    this.selectionRangeUseCase = new TrackedLazy<>(selectionRangeUseCase);
+    this.definitionUseCase = new TrackedLazy<>(definitionUseCase);
+    this.referencesUseCase = referencesUseCase;
+    this.completionUseCase = new TrackedLazy<>(completionUseCase);
+    this.workspaceIndexUseCase = workspaceIndexUseCase;
+    this.diagnosticPublisher = diagnosticPublisher;
+    this.metrics = metrics;
+    this.slowRequestLog = slowRequestLog;
+    this.workspaceConfiguration = workspaceConfiguration;
+  }
+
+  /**
+   * 機能ごとのユースケースをバックグラウンドで作成する
+   *
+   * <p>最初のdidOpenで使う診断と索引から順に作成します。作成中に同じユースケースが必要になったリクエストは、作成の完了を待って処理します。
+   *
+   * @return すべてのユースケースの作成の完了
+   */
+  public CompletableFuture<Void> initializeServices() {
+    List<Lazy<?>> services =
+        List.of(
+            diagnosticUseCase,
+            definitionUseCase,
+            hoverUseCase,
+            semanticTokensUseCase,
+            documentSymbolUseCase,
+            foldingRangeUseCase,
+            selectionRangeUseCase,
+            referencesUseCase,
+            completionUseCase);
+    return CompletableFuture.runAsync(
+        () -> metrics.time("phase.serviceInitialization", () -> services.forEach(Lazy::get)),
+        runnable -> {
+          var thread = new Thread(runnable, "groovy-lsp-service-initializer");
+          thread.setDaemon(true);
+          thread.start();
+        });
   }
 
   @Override
   public void didOpen(DidOpenTextDocumentParams params) {
-    syncUseCase
-        .openDocument(params)
-        .peek(
-            document -> {
-              logger.info("Successfully opened document: {}", document.uri());
-              runDiagnostics(document);
-            })
-        .peekLeft(error -> logger.error("Failed to open document: {}", error));
+    metrics.time(
+        "textDocument/didOpen",
+        () -> {
+          syncUseCase
+              .openDocument(params)
+              .peek(
+                  document -> {
+                    logger.debug("Successfully opened document: {}", document.uri());
+                    runDiagnostics(document);
+                    scheduleIndex(document);
+                  })
+              .peekLeft(error -> logger.error("Failed to open document: {}", error));
+        });
   }
 
   @Override
   public void didChange(DidChangeTextDocumentParams params) {
-    syncUseCase
-        .changeDocument(params)
-        .peek(
-            document -> {
-              logger.info(
-                  "Successfully changed document: {} (version: {})",
-                  document.uri(),
-                  document.version());
-              runDiagnostics(document);
-            })
-        .peekLeft(error -> logger.error("Failed to change document: {}", error));
+    metrics.time(
+        "textDocument/didChange",
+        () -> {
+          syncUseCase
+              .changeDocument(params)
+              .peek(
+                  document -> {
+                    logger.debug(
+                        "Successfully changed document: {} (version: {})",
+                        document.uri(),
+                        document.version());
+                    hoverUseCase.ifCreated(hover -> hover.documentChanged(document.uri()));
+                    runDiagnostics(document);
+                    scheduleIndex(document);
+                  })
+              .peekLeft(error -> logger.error("Failed to change document: {}", error));
+        });
   }
 
   @Override
   public void didClose(DidCloseTextDocumentParams params) {
-    syncUseCase
-        .closeDocument(params)
-        .peek(uri -> logger.info("Successfully closed document: {}", uri))
-        .peekLeft(error -> logger.error("Failed to close document: {}", error));
+    metrics.time(
+        "textDocument/didClose",
+        () -> {
+          syncUseCase
+              .closeDocument(params)
+              .peek(
+                  uri -> {
+                    logger.debug("Successfully closed document: {}", uri);
+                    diagnosticPublisher.forget(uri.toString());
+                    // 作成されていないユースケースには破棄するキャッシュがないため、作成を待たない
+                    diagnosticUseCase.ifCreated(useCase -> useCase.release(uri));
+                    semanticTokensUseCase.ifCreated(useCase -> useCase.release(uri));
+                    documentSymbolUseCase.ifCreated(useCase -> useCase.release(uri));
+                    selectionRangeUseCase.ifCreated(useCase -> useCase.release(uri));
+                    if (workspaceConfiguration.isTarget(uri)) {
+                      // 索引にはエディタの内容が残っているため、ディスク上の内容で取り込み直す
+                      // （依存元のホバー結果はWorkspaceIndexUseCaseのリスナーが破棄する）
+                      definitionUseCase.ifCreated(
+                          unused -> workspaceIndexUseCase.get().documentClosed(uri));
+                    } else {
+                      releaseIndex(uri);
+                    }
+                    completionUseCase.ifCreated(useCase -> useCase.release(uri));
+                    hoverUseCase.ifCreated(hover -> hover.documentChanged(uri));
+                  })
+              .peekLeft(error -> logger.error("Failed to close document: {}", error));
+        });
   }
 
   @Override
   public void didSave(DidSaveTextDocumentParams params) {
-    logger.info("Document saved: {}", params.getTextDocument().getUri());
+    logger.debug("Document saved: {}", params.getTextDocument().getUri());
   }
 
   @Override
@@ -110,79 +244,119 @@ public class GroovyTextDocumentService implements TextDocumentService, LanguageC
   /**
    * ドキュメントの診断を実行し、結果をクライアントに送信する。
    *
+   * <p>送信内容が前回と同じ場合や短時間に連続した場合の抑制はDiagnosticPublisherに委ねる。
+   *
    * @param document 診断対象のドキュメント
    */
-  private void runDiagnostics(com.groovylsp.domain.model.TextDocument document) {
+  private void runDiagnostics(TextDocument document) {
     var currentClient = client;
     if (currentClient == null) {
       logger.warn("Language client not connected, skipping diagnostics");
       return;
     }
 
-    // Groovyファイルでない場合は診断をスキップ
-    if (!FileTypeUtil.isGroovyFile(document.uri())) {
-      logger.debug("Skipping diagnostics for non-Groovy file: {}", document.uri());
+    var uri = document.uri().toString();
+
+    // 対象外のファイル（拡張子が有効でないか除外パターンに一致）は診断をスキップ
+    if (!workspaceConfiguration.isTarget(document.uri())) {
+      logger.debug("Skipping diagnostics for excluded file: {}", document.uri());
       // 診断結果をクリア（既存の診断があれば削除）
-      var params = new PublishDiagnosticsParams(document.uri().toString(), List.of());
-      currentClient.publishDiagnostics(params);
+      diagnosticPublisher.publish(currentClient, uri, List.of());
       return;
     }
 
-    diagnosticUseCase
-        .diagnose(document)
+    metrics
+        .time(
+            "phase.diagnostics",
+            () ->
+                slowRequestLog.capture(
+                    "textDocument/publishDiagnostics",
+                    () -> Option.of(document),
+                    null,
+                    () -> diagnosticUseCase.get().diagnose(document)))
         .peek(
             result -> {
-              var diagnostics = convertToLspDiagnostics(result);
-              var params = new PublishDiagnosticsParams(document.uri().toString(), diagnostics);
-              currentClient.publishDiagnostics(params);
-              logger.info("Published {} diagnostics for {}", diagnostics.size(), document.uri());
+              diagnosticPublisher.publish(currentClient, uri, result.diagnostics());
+              metrics.milestone("startup.firstDiagnosticsMillis");
             })
         .peekLeft(error -> logger.error("Failed to run diagnostics: {}", error));
   }
 
   /**
-   * ドメインモデルの診断結果をLSPのDiagnosticに変換する。
+   * 設定の変更を開いているドキュメントに反映する
    *
-   * @param result 診断結果
-   * @return LSPのDiagnosticリスト
+   * <p>診断をやり直し、対象になったドキュメントは索引に取り込み、対象外になったドキュメントは索引から取り除きます。
    */
-  private List<Diagnostic> convertToLspDiagnostics(DiagnosticResult result) {
-    var diagnostics = new ArrayList<Diagnostic>();
-    for (var item : result.diagnostics()) {
-      var diagnostic = new Diagnostic();
-      diagnostic.setRange(
-          new Range(
-              new Position(item.startPosition().line(), item.startPosition().character()),
-              new Position(item.endPosition().line(), item.endPosition().character())));
-      diagnostic.setSeverity(convertSeverity(item.severity()));
-      diagnostic.setMessage(item.message());
-      diagnostic.setSource(item.source());
-      diagnostics.add(diagnostic);
+  public void configurationChanged() {
+    for (var document : syncUseCase.findAllDocuments()) {
+      runDiagnostics(document);
+      if (isIndexTarget(document)) {
+        scheduleIndex(document);
+      } else {
+        releaseIndex(document.uri());
+      }
     }
-    return diagnostics;
   }
 
   /**
-   * 診断の重要度をLSPのDiagnosticSeverityに変換する。
+   * ドキュメントを索引から取り除き、依存元のホバー結果を破棄する
    *
-   * @param severity ドメインモデルの重要度
-   * @return LSPのDiagnosticSeverity
+   * <p>索引がまだ作成されていなければ、取り除くものがないため何もしません。
    */
-  private DiagnosticSeverity convertSeverity(DiagnosticItem.DiagnosticSeverity severity) {
-    return switch (severity) {
-      case ERROR -> DiagnosticSeverity.Error;
-      case WARNING -> DiagnosticSeverity.Warning;
-      case INFORMATION -> DiagnosticSeverity.Information;
-      case HINT -> DiagnosticSeverity.Hint;
-    };
+  private void releaseIndex(URI uri) {
+    definitionUseCase.ifCreated(
+        definition ->
+            definition
+                .release(uri)
+                .thenAccept(
+                    dependents ->
+                        hoverUseCase.ifCreated(hover -> hover.dependenciesChanged(dependents))));
+  }
+
+  /**
+   * 定義ジャンプ用の索引構築をバックグラウンドで予約する。
+   *
+   * @param document 対象のドキュメント
+   */
+  private void scheduleIndex(TextDocument document) {
+    if (isIndexTarget(document)) {
+      // 索引の構築前に計算したホバー結果は古い索引を参照しているため、完了後にもう一度破棄する。
+      // 宣言が変わった場合は、依存するドキュメントのホバー結果も破棄する
+      definitionUseCase
+          .get()
+          .scheduleIndex(document)
+          .thenAccept(
+              dependents -> {
+                hoverUseCase.get().documentChanged(document.uri());
+                hoverUseCase.get().dependenciesChanged(dependents);
+                hoverUseCase.get().prefetch(document);
+              });
+    }
+  }
+
+  /** 索引の対象かどうか。構文解析を省略するファイルは索引に取り込まない */
+  private boolean isIndexTarget(TextDocument document) {
+    return workspaceConfiguration.isTarget(document.uri())
+        && !workspaceConfiguration.isLexicalOnly(document.content());
   }
 
   @Override
   public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(
       DocumentSymbolParams params) {
-    return CompletableFuture.supplyAsync(
+    return measured(
+        "textDocument/documentSymbol",
+        params.getTextDocument().getUri(),
         () -> {
-          var result = documentSymbolUseCase.getDocumentSymbols(params);
+          // 部分結果のトークンがある場合は、大きなドキュメントのシンボルを分けて先に送る
+          var token = params.getPartialResultToken();
+          var currentClient = client;
+          Consumer<List<DocumentSymbol>> partialResults =
+              token == null || currentClient == null
+                  ? null
+                  : symbols ->
+                      currentClient.notifyProgress(
+                          new ProgressParams(token, Either.forRight(symbols)));
+          var result = documentSymbolUseCase.get().getDocumentSymbols(params, partialResults);
           return result
               .map(
                   symbols ->
@@ -199,9 +373,17 @@ public class GroovyTextDocumentService implements TextDocumentService, LanguageC
 
   @Override
   public CompletableFuture<Hover> hover(HoverParams params) {
-    return CompletableFuture.supplyAsync(
+    return measured(
+        "textDocument/hover",
+        params.getTextDocument().getUri(),
         () -> {
-          var result = hoverUseCase.getHover(params);
+          var result =
+              slowRequestLog.capture(
+                  "textDocument/hover",
+                  () -> findDocument(params.getTextDocument().getUri()),
+                  params.getPosition(),
+                  () -> hoverUseCase.get().getHover(params));
+          metrics.milestone("startup.firstHoverMillis");
           return result.getOrElseGet(
               error -> {
                 logger.error("ホバー情報の取得に失敗しました: {}", error);
@@ -209,4 +391,248 @@ public class GroovyTextDocumentService implements TextDocumentService, LanguageC
               });
         });
   }
+
+  @Override
+  public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
+    return measured(
+        "textDocument/semanticTokens/full",
+        params.getTextDocument().getUri(),
+        () ->
+            semanticTokensUseCase
+                .get()
+                .getFullTokens(params)
+                .getOrElseGet(
+                    error -> {
+                      logger.error("セマンティックトークンの取得に失敗しました: {}", error);
+                      return new SemanticTokens(List.of());
+                    }));
+  }
+
+  @Override
+  public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+      SemanticTokensDeltaParams params) {
+    return measured(
+        "textDocument/semanticTokens/full/delta",
+        params.getTextDocument().getUri(),
+        () ->
+            semanticTokensUseCase
+                .get()
+                .getTokensDelta(params)
+                .getOrElseGet(
+                    error -> {
+                      logger.error("セマンティックトークンの差分の取得に失敗しました: {}", error);
+                      return Either.forLeft(new SemanticTokens(List.of()));
+                    }));
+  }
+
+  @Override
+  public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params) {
+    return measured(
+        "textDocument/semanticTokens/range",
+        params.getTextDocument().getUri(),
+        () ->
+            semanticTokensUseCase
+                .get()
+                .getRangeTokens(params)
+                .getOrElseGet(
+                    error -> {
+                      logger.error("範囲のセマンティックトークンの取得に失敗しました: {}", error);
+                      return new SemanticTokens(List.of());
+                    }));
+  }
+
+  @Override
+  public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeRequestParams params) {
+    return measured(
+        "textDocument/foldingRange",
+        params.getTextDocument().getUri(),
+        () ->
+            foldingRangeUseCase
+                .get()
+                .getFoldingRanges(params)
+                .getOrElseGet(
+                    error -> {
+                      logger.error("折りたたみ範囲の取得に失敗しました: {}", error);
+                      return List.of();
+                    }));
+  }
+
+  @Override
+  public CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params) {
+    return measured(
+        "textDocument/selectionRange",
+        params.getTextDocument().getUri(),
+        () ->
+            selectionRangeUseCase
+                .get()
+                .getSelectionRanges(params)
+                .getOrElseGet(
+                    error -> {
+                      logger.error("選択範囲の取得に失敗しました: {}", error);
+                      return List.of();
+                    }));
+  }
+
+  @Override
+  public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
+      definition(DefinitionParams params) {
+    return measured(
+        "textDocument/definition",
+        params.getTextDocument().getUri(),
+        () ->
+            trackingCursor(
+                params,
+                () -> toLocationResult(definitionUseCase.get().getDefinition(params), "定義")));
+  }
+
+  @Override
+  public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
+      declaration(DeclarationParams params) {
+    // Groovyでは宣言と定義は同じ位置になる
+    return measured(
+        "textDocument/declaration",
+        params.getTextDocument().getUri(),
+        () ->
+            trackingCursor(
+                params,
+                () -> toLocationResult(definitionUseCase.get().getDefinition(params), "宣言")));
+  }
+
+  @Override
+  public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
+      typeDefinition(TypeDefinitionParams params) {
+    return measured(
+        "textDocument/typeDefinition",
+        params.getTextDocument().getUri(),
+        () ->
+            trackingCursor(
+                params,
+                () -> toLocationResult(definitionUseCase.get().getTypeDefinition(params), "型定義")));
+  }
+
+  @Override
+  public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
+    return measured(
+        "textDocument/references",
+        params.getTextDocument().getUri(),
+        () ->
+            referencesUseCase
+                .get()
+                .getReferences(params)
+                .getOrElseGet(
+                    error -> {
+                      logger.error("参照の取得に失敗しました: {}", error);
+                      return List.of();
+                    }));
+  }
+
+  @Override
+  public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(
+      DocumentHighlightParams params) {
+    return measured(
+        "textDocument/documentHighlight",
+        params.getTextDocument().getUri(),
+        () ->
+            trackingCursor(
+                params,
+                () ->
+                    referencesUseCase
+                        .get()
+                        .getDocumentHighlights(params)
+                        .getOrElseGet(
+                            error -> {
+                              logger.error("ハイライト範囲の取得に失敗しました: {}", error);
+                              return List.of();
+                            })));
+  }
+
+  @Override
+  public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(
+      CompletionParams params) {
+    return measured(
+        "textDocument/completion",
+        params.getTextDocument().getUri(),
+        () ->
+            Either.forRight(
+                completionUseCase
+                    .get()
+                    .getCompletion(params)
+                    .getOrElseGet(
+                        error -> {
+                          logger.error("補完候補の取得に失敗しました: {}", error);
+                          return new CompletionList(List.of());
+                        })));
+  }
+
+  @Override
+  public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+    unresolved.setData(ResolveDataConverter.toPlain(unresolved.getData()));
+    return measured(
+        "completionItem/resolve", null, () -> completionUseCase.get().resolve(unresolved));
+  }
+
+  /**
+   * リクエストを非同期に実行し、受け付けから完了までの時間を記録する
+   *
+   * <p>あわせてJFRの {@link RequestEvent} を記録します。クライアントがキャンセルした場合に検出できるよう、 記録の処理は返すFutureとは別に登録します。
+   *
+   * @param method LSPのメソッド名
+   * @param uri 対象のドキュメントのURI（ドキュメントを対象としない場合はnull）
+   * @param request リクエストの処理
+   * @return 処理結果
+   */
+  private <T> CompletableFuture<T> measured(
+      String method, @Nullable String uri, Supplier<T> request) {
+    long start = System.nanoTime();
+    var event = new RequestEvent();
+    event.begin();
+    // 処理中に届いた変更のバージョンではなく、要求を受け付けた時点のバージョンを記録する
+    int version = uri != null && event.isEnabled() ? documentVersion(uri) : -1;
+    var future = CompletableFuture.supplyAsync(request);
+    future.whenComplete(
+        (result, error) -> {
+          metrics.record(method, System.nanoTime() - start);
+          if (event.shouldCommit()) {
+            event.method = method;
+            event.uri = uri;
+            event.version = version;
+            event.cancelled = error instanceof CancellationException;
+            event.commit();
+          }
+        });
+    return future;
+  }
+
+  private int documentVersion(String uri) {
+    return findDocument(uri).map(TextDocument::version).getOrElse(-1);
+  }
+
+  private Option<TextDocument> findDocument(String uri) {
+    try {
+      return syncUseCase.findDocument(URI.create(uri));
+    } catch (IllegalArgumentException e) {
+      return Option.none();
+    }
+  }
+
+  /** カーソル位置を伴う要求を、ホバーの先読みに通知しながら実行する */
+  private <T> T trackingCursor(TextDocumentPositionParams params, Supplier<T> request) {
+    String uri = params.getTextDocument().getUri();
+    hoverUseCase.get().beginRequest(uri, params.getPosition());
+    try {
+      return request.get();
+    } finally {
+      hoverUseCase.get().endRequest(uri);
+    }
+  }
+
+  private Either<List<? extends Location>, List<? extends LocationLink>> toLocationResult(
+      io.vavr.control.Either<String, List<Location>> result, String label) {
+    return Either.forLeft(
+        result.getOrElseGet(
+            error -> {
+              logger.error("{}の取得に失敗しました: {}", label, error);
+              return List.of();
+            }));
+  }
 }
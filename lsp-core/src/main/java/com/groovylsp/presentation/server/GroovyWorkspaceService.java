@@ -1,19 +1,128 @@
 package com.groovylsp.presentation.server;
 
+import com.groovylsp.application.usecase.ConfigurationUseCase;
+import com.groovylsp.application.usecase.WorkspaceIndexUseCase;
+import com.groovylsp.application.usecase.WorkspaceSymbolUseCase;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import dagger.Lazy;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.lsp4j.services.LanguageClientAware;
 import org.eclipse.lsp4j.services.WorkspaceService;
+import org.jspecify.annotations.Nullable;
 
 /** Groovyプロジェクト用のワークスペースサービス実装。 */
-public class GroovyWorkspaceService implements WorkspaceService {
+public class GroovyWorkspaceService implements WorkspaceService, LanguageClientAware {
+
+  private final ServerMetrics metrics;
+  private final Lazy<WorkspaceSymbolUseCase> workspaceSymbolUseCase;
+  private final Lazy<WorkspaceIndexUseCase> workspaceIndexUseCase;
+  private final ConfigurationUseCase configurationUseCase;
+
+  private @Nullable LanguageClient client;
+
+  /** クライアントがworkspaceSymbol/resolveで範囲を取得できるかどうか */
+  private volatile boolean locationResolveSupported;
+
+  /**
+   * @param configurationUseCase 設定ファイルとクライアントの設定を反映するユースケース
+   */
+  public GroovyWorkspaceService(
+      ServerMetrics metrics,
+      Lazy<WorkspaceSymbolUseCase> workspaceSymbolUseCase,
+      Lazy<WorkspaceIndexUseCase> workspaceIndexUseCase,
+      ConfigurationUseCase configurationUseCase) {
+    this.metrics = metrics;
+    this.workspaceSymbolUseCase = workspaceSymbolUseCase;
+    this.workspaceIndexUseCase = workspaceIndexUseCase;
+    this.configurationUseCase = configurationUseCase;
+  }
+
+  @Override
+  public void connect(LanguageClient client) {
+    this.client = client;
+  }
+
+  /**
+   * クライアントがワークスペースシンボルの範囲の遅延取得に対応しているかを設定する
+   *
+   * @param supported 対応している場合true（応答にはURIだけを含める）
+   */
+  public void setLocationResolveSupported(boolean supported) {
+    this.locationResolveSupported = supported;
+  }
+
+  /**
+   * ワークスペースの設定ファイルを読み込む
+   *
+   * @param workspaceRoot ワークスペースのルートディレクトリ
+   */
+  public void loadWorkspaceConfiguration(Path workspaceRoot) {
+    metrics.time(
+        "phase.loadConfiguration", () -> configurationUseCase.loadWorkspace(workspaceRoot));
+  }
 
   @Override
   public void didChangeConfiguration(DidChangeConfigurationParams params) {
-    // 将来のマイルストーンで実装予定
+    // 設定が変わった場合は、WorkspaceConfigurationのリスナーが開いているドキュメントに反映する
+    metrics.time(
+        "workspace/didChangeConfiguration",
+        () -> configurationUseCase.applySettings(params.getSettings()));
   }
 
   @Override
   public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
-    // 将来のマイルストーンで実装予定
+    // 通知はまとめてからバックグラウンドで処理する（処理時間はphase.watchedFilesBatchとして記録される）
+    workspaceIndexUseCase.get().enqueue(params.getChanges());
+  }
+
+  @Override
+  public CompletableFuture<
+          Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>>
+      symbol(WorkspaceSymbolParams params) {
+    // 部分結果のトークンがある場合は、照合の終わった分から先に送る
+    var token = params.getPartialResultToken();
+    var currentClient = client;
+    Consumer<List<WorkspaceSymbol>> partialResults =
+        token == null || currentClient == null
+            ? null
+            : symbols ->
+                currentClient.notifyProgress(new ProgressParams(token, Either.forRight(symbols)));
+    boolean lazyLocations = locationResolveSupported;
+    return measured(
+        "workspace/symbol",
+        CompletableFutures.computeAsync(
+            cancelChecker ->
+                Either.forRight(
+                    workspaceSymbolUseCase
+                        .get()
+                        .search(params, lazyLocations, cancelChecker, partialResults))));
+  }
+
+  @Override
+  public CompletableFuture<WorkspaceSymbol> resolveWorkspaceSymbol(
+      WorkspaceSymbol workspaceSymbol) {
+    workspaceSymbol.setData(ResolveDataConverter.toPlain(workspaceSymbol.getData()));
+    return measured(
+        "workspaceSymbol/resolve",
+        CompletableFuture.supplyAsync(() -> workspaceSymbolUseCase.get().resolve(workspaceSymbol)));
+  }
+
+  /** 受け付けから完了（キャンセルを含む）までの時間を記録する */
+  private <T> CompletableFuture<T> measured(String method, CompletableFuture<T> future) {
+    long start = System.nanoTime();
+    future.whenComplete((result, error) -> metrics.record(method, System.nanoTime() - start));
+    return future;
   }
 }
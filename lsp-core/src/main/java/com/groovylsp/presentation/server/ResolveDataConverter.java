@@ -0,0 +1,29 @@
+package com.groovylsp.presentation.server;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * resolveリクエストでクライアントから戻ってきたdataの変換
+ *
+ * <p>応答に設定したdataは文字列ですが、JSON経由で戻ってくるとGsonの{@link JsonElement}になります。
+ * ユースケースにGsonの型を渡さないよう、ここで文字列に戻します。
+ */
+final class ResolveDataConverter {
+
+  private ResolveDataConverter() {}
+
+  /**
+   * dataを文字列に戻す
+   *
+   * @param data クライアントから戻ってきたdata
+   * @return 文字列のJSONプリミティブの場合はその文字列、それ以外はそのまま
+   */
+  static @Nullable Object toPlain(@Nullable Object data) {
+    if (data instanceof JsonPrimitive primitive && primitive.isString()) {
+      return primitive.getAsString();
+    }
+    return data;
+  }
+}
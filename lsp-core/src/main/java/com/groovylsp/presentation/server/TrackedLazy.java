@@ -0,0 +1,45 @@
+package com.groovylsp.presentation.server;
+
+import dagger.Lazy;
+import java.util.function.Consumer;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * 作成済みかどうかを確認できる {@link Lazy}
+ *
+ * <p>ドキュメントの変更や終了に伴うキャッシュの破棄は、ユースケースが作成されていなければ破棄するものがありません。
+ * メッセージのスレッドでユースケースの作成を待たないよう、作成済みの場合だけ実行します。
+ *
+ * @param <T> ユースケースの型
+ */
+final class TrackedLazy<T> implements Lazy<T> {
+
+  private final Lazy<T> delegate;
+  private volatile @Nullable T instance;
+
+  TrackedLazy(Lazy<T> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public T get() {
+    var current = instance;
+    if (current == null) {
+      current = delegate.get();
+      instance = current;
+    }
+    return current;
+  }
+
+  /**
+   * 作成済みの場合だけ処理する
+   *
+   * @param action 作成済みのインスタンスを受け取る処理
+   */
+  void ifCreated(Consumer<? super T> action) {
+    var current = instance;
+    if (current != null) {
+      action.accept(current);
+    }
+  }
+}
@@ -0,0 +1,279 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.groovylsp.domain.model.DependencyGraph;
+import com.groovylsp.domain.model.LibraryType;
+import com.groovylsp.domain.model.OccurrenceIndex;
+import com.groovylsp.domain.model.ScopeManager;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.domain.service.TypeIndexService;
+import com.groovylsp.domain.service.TypeIndexService.PackageChild;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.DocumentContentService;
+import com.groovylsp.infrastructure.parser.FileContentStore;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
+import com.groovylsp.infrastructure.symbol.GroovyDefinitionFinderService;
+import com.groovylsp.infrastructure.symbol.GroovySymbolTableBuilderService;
+import com.groovylsp.testing.FastTest;
+import io.vavr.control.Option;
+import java.net.URI;
+import java.util.List;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** CompletionUseCaseのテスト */
+@FastTest
+class CompletionUseCaseTest {
+
+  private static final String URI_STRING = "file:///test/Greeter.groovy";
+
+  private static final String CONTENT =
+      """
+      class Greeter {
+          String name
+
+          String greet(Person person) {
+              println person.nickname
+              return name
+          }
+      }
+
+      class Person {
+          String nickname
+          int age
+      }
+      """;
+
+  private InMemoryTextDocumentRepository repository;
+  private SymbolTable symbolTable;
+  private DefinitionUseCase definitionUseCase;
+  private TypeIndexService typeIndexService;
+  private CompletionUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryTextDocumentRepository();
+    symbolTable = spy(new SymbolTable());
+    var scopeManager = new ScopeManager();
+    definitionUseCase =
+        new DefinitionUseCase(
+            repository,
+            new AstAnalysisService(
+                new ParseResultCache(new GroovyAstParser()),
+                new ServerMetrics(),
+                WorkspaceConfiguration.unlimited()),
+            new GroovySymbolTableBuilderService(),
+            symbolTable,
+            scopeManager,
+            new GroovyDefinitionFinderService(
+                symbolTable, scopeManager, new DocumentContentService(repository)),
+            new OccurrenceIndex(),
+            new DependencyGraph(),
+            new FileContentStore(),
+            new ServerMetrics());
+    typeIndexService = mock(TypeIndexService.class);
+    useCase =
+        new CompletionUseCase(
+            repository, scopeManager, symbolTable, definitionUseCase, typeIndexService);
+  }
+
+  @AfterEach
+  void tearDown() {
+    definitionUseCase.close();
+  }
+
+  @Test
+  void 接頭辞に一致するスコープのシンボルとデフォルトインポートのクラスを返す() {
+    // Arrange
+    open(CONTENT);
+
+    // Act
+    var result = useCase.getCompletion(params(5, 17));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().isIncomplete()).isFalse();
+    assertThat(labels(result.get())).containsExactly("name");
+
+    // Act
+    var classes = useCase.getCompletion(params(5, 15));
+
+    // Assert
+    assertThat(labels(classes.get()))
+        .contains("name", "greet", "person", "Greeter", "Person", "def", "return", "String");
+    // ローカル・パラメータ、メンバー、クラス、キーワード、デフォルトインポートの順
+    assertThat(labels(classes.get()).indexOf("person"))
+        .isLessThan(labels(classes.get()).indexOf("name"));
+    assertThat(labels(classes.get()).indexOf("Person"))
+        .isLessThan(labels(classes.get()).indexOf("def"));
+    assertThat(labels(classes.get()).indexOf("def"))
+        .isLessThan(labels(classes.get()).indexOf("String"));
+  }
+
+  @Test
+  void レシーバーの型のメンバーを返す() {
+    // Arrange
+    open(CONTENT);
+
+    // Act
+    var result = useCase.getCompletion(params(4, 25));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().getItems())
+        .singleElement()
+        .satisfies(
+            item -> {
+              assertThat(item.getLabel()).isEqualTo("nickname");
+              assertThat(item.getKind()).isEqualTo(CompletionItemKind.Field);
+            });
+  }
+
+  @Test
+  void 編集中の内容でもthisの後に構築済みのクラスのメンバーを返す() {
+    // Arrange
+    open(CONTENT);
+    repository.save(
+        new TextDocument(
+            URI.create(URI_STRING),
+            "groovy",
+            2,
+            CONTENT.replace("        return name", "        return this.")));
+
+    // Act
+    var result = useCase.getCompletion(params(5, 20));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(labels(result.get())).containsExactlyInAnyOrder("name", "greet");
+  }
+
+  @Test
+  void 接頭辞が伸びた場合は前回の候補を絞り込み再収集しない() {
+    // Arrange
+    open(CONTENT);
+    useCase.getCompletion(params(5, 16));
+
+    // Act
+    var result = useCase.getCompletion(params(5, 17));
+
+    // Assert
+    assertThat(labels(result.get())).containsExactly("name");
+    verify(symbolTable, times(1)).findClassesByPrefix("n", CompletionUseCase.MAX_ITEMS + 1);
+  }
+
+  @Test
+  void 上限を超える場合はisIncompleteを設定し入力が進むと完全な結果を返す() {
+    // Arrange
+    var content = new StringBuilder("class Big {\n");
+    for (int i = 0; i < 200; i++) {
+      content.append("    String field").append(i).append('\n');
+    }
+    content.append("    void run() {\n        field1\n    }\n}\n");
+    open(content.toString());
+
+    // Act
+    var all = useCase.getCompletion(params(202, 8));
+    var narrowed = useCase.getCompletion(params(202, 14));
+
+    // Assert
+    assertThat(all.get().isIncomplete()).isTrue();
+    assertThat(all.get().getItems()).hasSize(CompletionUseCase.MAX_ITEMS);
+    assertThat(narrowed.get().isIncomplete()).isFalse();
+    assertThat(narrowed.get().getItems()).hasSize(111);
+  }
+
+  @Test
+  void ドキュメントは解決時にのみ設定する() {
+    // Arrange
+    open(CONTENT);
+    var item = useCase.getCompletion(params(5, 17)).get().getItems().get(0);
+
+    // Act
+    assertThat(item.getDocumentation()).isNull();
+    var resolved = useCase.resolve(item);
+
+    // Assert
+    assertThat(resolved.getDocumentation().getRight())
+        .extracting(MarkupContent::getValue)
+        .asString()
+        .contains("Greeter.name", "Greeter.groovy:2");
+  }
+
+  @Test
+  void import文では型の索引からパッケージとクラスを返す() {
+    // Arrange
+    open("import java.util.co\n\nclass Sample {}\n");
+    when(typeIndexService.findPackageChildren("java.util", "co", CompletionUseCase.MAX_ITEMS + 1))
+        .thenReturn(
+            io.vavr.collection.List.of(
+                new PackageChild("concurrent", "java.util.concurrent", true),
+                new PackageChild("Collection", "java.util.Collection", false)));
+    when(typeIndexService.findClass("java.util.Collection"))
+        .thenReturn(
+            Option.of(
+                new LibraryType(
+                    "java.util.Collection",
+                    LibraryType.ACC_INTERFACE,
+                    null,
+                    List.of(
+                        new LibraryType.Member(
+                            LibraryType.Member.Kind.METHOD, "size", "()I", 0x0401)))));
+
+    // Act
+    var result = useCase.getCompletion(params(0, 19));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().getItems())
+        .extracting(CompletionItem::getLabel, CompletionItem::getKind)
+        .containsExactly(
+            tuple("concurrent", CompletionItemKind.Module),
+            tuple("Collection", CompletionItemKind.Class));
+
+    // Act
+    var resolved = useCase.resolve(result.get().getItems().get(1));
+
+    // Assert
+    assertThat(resolved.getDocumentation().getRight().getValue())
+        .contains("java.util.Collection", "int size()");
+  }
+
+  private void open(String content) {
+    var document = new TextDocument(URI.create(URI_STRING), "groovy", 1, content);
+    repository.save(document);
+    // 索引の構築が完了するまで待つ
+    definitionUseCase.findDefinitions(
+        new TextDocumentPositionParams(new TextDocumentIdentifier(URI_STRING), new Position(0, 0)));
+  }
+
+  private static CompletionParams params(int line, int character) {
+    return new CompletionParams(
+        new TextDocumentIdentifier(URI_STRING), new Position(line, character));
+  }
+
+  private static List<String> labels(CompletionList list) {
+    return list.getItems().stream().map(CompletionItem::getLabel).toList();
+  }
+}
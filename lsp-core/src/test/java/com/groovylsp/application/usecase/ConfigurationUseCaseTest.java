@@ -0,0 +1,95 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.JsonParser;
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.repository.JsonConfigRepository;
+import com.groovylsp.testing.FastTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** ConfigurationUseCaseのテスト */
+@FastTest
+class ConfigurationUseCaseTest {
+
+  @TempDir Path tempDir;
+
+  private WorkspaceConfiguration configuration;
+  private ConfigurationUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    configuration = new WorkspaceConfiguration();
+    useCase = new ConfigurationUseCase(new JsonConfigRepository(), configuration);
+  }
+
+  @Test
+  void ワークスペースの設定ファイルを反映する() throws Exception {
+    // Arrange
+    Files.writeString(
+        tempDir.resolve(JsonConfigRepository.CONFIG_FILE_NAME),
+        "{ \"files\": { \"exclude\": [\"build/**\"] } }");
+
+    // Act
+    var result = useCase.loadWorkspace(tempDir);
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(configuration.isTarget(tempDir.resolve("build/Foo.groovy").toUri())).isFalse();
+    assertThat(configuration.isTarget(tempDir.resolve("app/build/Foo.groovy").toUri())).isTrue();
+  }
+
+  @Test
+  void クライアントの設定を設定ファイルの設定に重ねる() throws Exception {
+    // Arrange
+    Files.writeString(
+        tempDir.resolve(JsonConfigRepository.CONFIG_FILE_NAME),
+        "{ \"files\": { \"exclude\": [\"build/**\"], \"maxFileSize\": 5000 } }");
+    useCase.loadWorkspace(tempDir);
+
+    // Act
+    useCase.applySettings(
+        JsonParser.parseString("{ \"groovy-lsp\": { \"files\": { \"maxLineLength\": 300 } } }"));
+
+    // Assert
+    var current = configuration.current();
+    assertThat(current.excludePatterns()).containsExactly("build/**");
+    assertThat(current.maxFileSize()).isEqualTo(5000);
+    assertThat(current.maxLineLength()).isEqualTo(300);
+  }
+
+  @Test
+  void 正しくないクライアントの設定は反映せずに元の設定を使い続ける() {
+    // Arrange
+    useCase.applySettings(JsonParser.parseString("{ \"files\": { \"exclude\": [\"out\"] } }"));
+
+    // Act
+    var result =
+        useCase.applySettings(
+            JsonParser.parseString("{ \"files\": { \"maxFileSize\": \"big\" } }"));
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+    assertThat(configuration.current().excludePatterns()).containsExactly("out");
+    assertThat(configuration.current().maxFileSize())
+        .isEqualTo(GroovyLspConfig.DEFAULT_MAX_FILE_SIZE);
+  }
+
+  @Test
+  void 正しくない設定ファイルはデフォルトの設定で続ける() throws Exception {
+    // Arrange
+    Files.writeString(tempDir.resolve(JsonConfigRepository.CONFIG_FILE_NAME), "not json");
+
+    // Act
+    var result = useCase.loadWorkspace(tempDir);
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+    assertThat(configuration.current()).isEqualTo(GroovyLspConfig.DEFAULT);
+  }
+}
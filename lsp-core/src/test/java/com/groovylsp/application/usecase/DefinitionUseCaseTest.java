@@ -0,0 +1,342 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.groovylsp.domain.model.DependencyGraph;
+import com.groovylsp.domain.model.OccurrenceIndex;
+import com.groovylsp.domain.model.ScopeManager;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.DocumentContentService;
+import com.groovylsp.infrastructure.parser.FileContentStore;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
+import com.groovylsp.infrastructure.symbol.GroovyDefinitionFinderService;
+import com.groovylsp.infrastructure.symbol.GroovySymbolTableBuilderService;
+import com.groovylsp.testing.FastTest;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** DefinitionUseCaseのテスト */
+@FastTest
+class DefinitionUseCaseTest {
+
+  private static final String URI_STRING = "file:///test/Greeter.groovy";
+
+  private static final String CONTENT =
+      """
+      class Greeter {
+          String name
+
+          String greet(Person person) {
+              return name + person
+          }
+
+          void run() {
+              greet(null)
+          }
+      }
+
+      class Person {
+      }
+      """;
+
+  @TempDir Path tempDir;
+
+  private InMemoryTextDocumentRepository repository;
+  private GroovyAstParser parser;
+  private DefinitionUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryTextDocumentRepository();
+    parser = spy(new GroovyAstParser());
+    // シンボルテーブルとスコープは定義検索サービスと共有する
+    var symbolTable = new SymbolTable();
+    var scopeManager = new ScopeManager();
+    useCase =
+        new DefinitionUseCase(
+            repository,
+            new AstAnalysisService(
+                new ParseResultCache(parser),
+                new ServerMetrics(),
+                WorkspaceConfiguration.unlimited()),
+            new GroovySymbolTableBuilderService(),
+            symbolTable,
+            scopeManager,
+            new GroovyDefinitionFinderService(
+                symbolTable, scopeManager, new DocumentContentService(repository)),
+            new OccurrenceIndex(),
+            new DependencyGraph(),
+            new FileContentStore(),
+            new ServerMetrics());
+  }
+
+  @AfterEach
+  void tearDown() {
+    useCase.close();
+  }
+
+  @Test
+  void メソッド呼び出しからメソッドの定義へジャンプできる() {
+    // Arrange
+    repository.save(new TextDocument(URI.create(URI_STRING), "groovy", 1, CONTENT));
+
+    // Act
+    var result = useCase.getDefinition(params(8, 9));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .singleElement()
+        .satisfies(location -> assertThat(startLine(location)).isEqualTo(3));
+  }
+
+  @Test
+  void フィールドの参照からフィールドの定義へジャンプできる() {
+    // Arrange
+    repository.save(new TextDocument(URI.create(URI_STRING), "groovy", 1, CONTENT));
+
+    // Act
+    var result = useCase.getDefinition(params(4, 17));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .singleElement()
+        .satisfies(location -> assertThat(startLine(location)).isEqualTo(1));
+  }
+
+  @Test
+  void パラメータの参照から型のクラス定義へジャンプできる() {
+    // Arrange
+    repository.save(new TextDocument(URI.create(URI_STRING), "groovy", 1, CONTENT));
+
+    // Act
+    var result = useCase.getTypeDefinition(params(4, 24));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .singleElement()
+        .satisfies(location -> assertThat(startLine(location)).isEqualTo(12));
+  }
+
+  @Test
+  void 事前に構築した索引を使いリクエスト時にパースしない() {
+    // Arrange
+    var document = new TextDocument(URI.create(URI_STRING), "groovy", 1, CONTENT);
+    repository.save(document);
+    useCase.scheduleIndex(document);
+
+    // Act
+    useCase.getDefinition(params(8, 9));
+    useCase.getDefinition(params(4, 17));
+    useCase.getTypeDefinition(params(4, 24));
+
+    // Assert
+    verify(parser, times(1)).parse(anyString(), anyString());
+  }
+
+  @Test
+  void ドキュメントが更新された場合は新しい内容で索引を作り直す() {
+    // Arrange
+    repository.save(new TextDocument(URI.create(URI_STRING), "groovy", 1, CONTENT));
+    useCase.getDefinition(params(8, 9));
+    repository.save(new TextDocument(URI.create(URI_STRING), "groovy", 2, "\n\n" + CONTENT));
+
+    // Act
+    var result = useCase.getDefinition(params(10, 9));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .singleElement()
+        .satisfies(location -> assertThat(startLine(location)).isEqualTo(5));
+  }
+
+  @Test
+  void 宣言が変わった場合だけ依存するドキュメントの索引を構築し直す() {
+    // Arrange
+    var person = URI.create("file:///test/model/Person.groovy");
+    var service = URI.create("file:///test/service/PersonService.groovy");
+    String personSource = "package model\nclass Person { String greet() { 'hi' } }";
+    var serviceDocument =
+        new TextDocument(
+            service,
+            "groovy",
+            1,
+            "package service\nimport model.Person\nclass PersonService { Person find() { null } }");
+    repository.save(serviceDocument);
+    useCase.scheduleIndex(serviceDocument).join();
+    var personV1 = new TextDocument(person, "groovy", 1, personSource);
+    repository.save(personV1);
+    useCase.scheduleIndex(personV1).join();
+
+    // Act
+    var personV2 = new TextDocument(person, "groovy", 2, personSource.replace("'hi'", "'hello'"));
+    repository.save(personV2);
+    var bodyOnly = useCase.scheduleIndex(personV2).join();
+    var personV3 =
+        new TextDocument(person, "groovy", 3, personSource.replace("greet()", "greet(String to)"));
+    repository.save(personV3);
+    var signatureChanged = useCase.scheduleIndex(personV3).join();
+    useCase.scheduleIndex(personV3).join();
+
+    // Assert
+    assertThat(bodyOnly).isEmpty();
+    assertThat(signatureChanged).containsExactly(service);
+    assertThat(useCase.pendingIndexCount()).isZero();
+  }
+
+  @Test
+  void 開いていない依存元はディスクの内容で索引を構築し直す() throws IOException {
+    // Arrange
+    var person = URI.create("file:///test/model/Person.groovy");
+    String personSource = "package model\nclass Person { String greet() { 'hi' } }";
+    String serviceSource =
+        "package service\nimport model.Person\nclass PersonService { Person find() { null } }";
+    var service = Files.writeString(tempDir.resolve("PersonService.groovy"), serviceSource);
+    var serviceDocument = new TextDocument(service.toUri(), "groovy", 1, serviceSource);
+    repository.save(serviceDocument);
+    useCase.scheduleIndex(serviceDocument).join();
+    repository.remove(service.toUri());
+    var personV1 = new TextDocument(person, "groovy", 1, personSource);
+    repository.save(personV1);
+    useCase.scheduleIndex(personV1).join();
+
+    // Act
+    var personV2 =
+        new TextDocument(person, "groovy", 2, personSource.replace("greet()", "greet(String to)"));
+    repository.save(personV2);
+    var dependents = useCase.scheduleIndex(personV2).join();
+    useCase.scheduleIndex(personV2).join();
+
+    // Assert
+    assertThat(dependents).containsExactly(service.toUri());
+    verify(parser, times(2)).parse(eq("PersonService.groovy"), eq(serviceSource));
+    assertThat(useCase.isIndexed(service.toUri())).isTrue();
+  }
+
+  @Test
+  void 宣言が同じ場合はシンボルテーブルを構築し直さず出現テーブルだけを作り直す() {
+    // Arrange
+    var metrics = new ServerMetrics();
+    var symbolTable = new SymbolTable();
+    var scopeManager = new ScopeManager();
+    var builder = spy(new GroovySymbolTableBuilderService());
+    var measuredUseCase =
+        new DefinitionUseCase(
+            repository,
+            new AstAnalysisService(
+                new ParseResultCache(parser),
+                new ServerMetrics(),
+                WorkspaceConfiguration.unlimited()),
+            builder,
+            symbolTable,
+            scopeManager,
+            new GroovyDefinitionFinderService(
+                symbolTable, scopeManager, new DocumentContentService(repository)),
+            new OccurrenceIndex(),
+            new DependencyGraph(),
+            new FileContentStore(),
+            metrics);
+    var v1 = new TextDocument(URI.create(URI_STRING), "groovy", 1, CONTENT);
+    repository.save(v1);
+    measuredUseCase.scheduleIndex(v1).join();
+
+    // Act
+    var v2 =
+        new TextDocument(
+            URI.create(URI_STRING), "groovy", 2, CONTENT.replace("greet(null)", "greet(nul)"));
+    repository.save(v2);
+    measuredUseCase.scheduleIndex(v2).join();
+    var result = measuredUseCase.getDefinition(params(8, 9));
+
+    // Assert
+    verify(builder, times(1)).buildSymbolTable(any(), anyString(), any());
+    assertThat(metrics.snapshot().counters()).containsEntry("index.declarationsUnchanged", 1L);
+    assertThat(result.get()).singleElement().satisfies(l -> assertThat(startLine(l)).isEqualTo(3));
+    measuredUseCase.close();
+  }
+
+  @Test
+  void 別のファイルで宣言されたメソッドの戻り値の型へジャンプできる() {
+    // Arrange
+    var model = URI.create("file:///test/model/Person.groovy");
+    var modelDocument =
+        new TextDocument(
+            model,
+            "groovy",
+            1,
+            "package model\nclass Person {\n    Address home() { null }\n}\nclass Address {\n}\n");
+    repository.save(modelDocument);
+    useCase.scheduleIndex(modelDocument).join();
+    repository.save(
+        new TextDocument(
+            URI.create(URI_STRING),
+            "groovy",
+            1,
+            "package model\n"
+                + "class Greeter {\n"
+                + "    void run(Person person) {\n"
+                + "        person.home()\n"
+                + "    }\n"
+                + "}\n"));
+
+    // Act
+    var definition = useCase.getDefinition(params(3, 16));
+    var typeDefinition = useCase.getTypeDefinition(params(3, 16));
+
+    // Assert
+    assertThat(definition.get())
+        .singleElement()
+        .satisfies(location -> assertThat(location.getUri()).isEqualTo(model.toString()));
+    assertThat(typeDefinition.isRight()).isTrue();
+    assertThat(typeDefinition.get())
+        .singleElement()
+        .satisfies(
+            location -> {
+              assertThat(location.getUri()).isEqualTo(model.toString());
+              assertThat(startLine(location)).isEqualTo(4);
+            });
+  }
+
+  @Test
+  void ドキュメントが見つからない場合はエラーを返す() {
+    // Act
+    var result = useCase.getDefinition(params(0, 0));
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+  }
+
+  private static TextDocumentPositionParams params(int line, int character) {
+    return new TextDocumentPositionParams(
+        new TextDocumentIdentifier(URI_STRING), new Position(line, character));
+  }
+
+  private static int startLine(Location location) {
+    return location.getRange().getStart().getLine();
+  }
+}
@@ -3,47 +3,45 @@ package com.groovylsp.application.usecase;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.groovylsp.domain.model.AstInfo;
 import com.groovylsp.domain.model.DiagnosticItem;
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.model.LexicalAnalysisResult;
 import com.groovylsp.domain.model.LineCountResult;
 import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
 import com.groovylsp.domain.service.AstAnalysisService;
-import com.groovylsp.domain.service.BracketValidationService;
-import com.groovylsp.domain.service.LineCountService;
+import com.groovylsp.domain.service.LexicalAnalysisService;
 import com.groovylsp.testing.FastTest;
 import io.vavr.control.Either;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 @FastTest
 class DiagnosticUseCaseTest {
 
-  private LineCountService lineCountService;
-  private BracketValidationService bracketValidationService;
+  private LexicalAnalysisService lexicalAnalysisService;
   private AstAnalysisService astAnalysisService;
 
   private DiagnosticUseCase diagnosticUseCase;
 
   @BeforeEach
   void setUp() {
-    lineCountService = mock(LineCountService.class);
-    bracketValidationService = mock(BracketValidationService.class);
+    lexicalAnalysisService = mock(LexicalAnalysisService.class);
     astAnalysisService = mock(AstAnalysisService.class);
 
-    // デフォルトで括弧チェックは空のリストを返すように設定
-    when(bracketValidationService.validate(any()))
-        .thenReturn(Either.right(io.vavr.collection.List.empty()));
-
     // デフォルトでASTチェックはエラーなしを返すように設定
     when(astAnalysisService.analyze(any(), any()))
         .thenReturn(Either.right(new AstInfo("", List.of(), List.of(), "", List.of())));
 
-    diagnosticUseCase =
-        new DiagnosticUseCase(lineCountService, bracketValidationService, astAnalysisService);
+    diagnosticUseCase = new DiagnosticUseCase(lexicalAnalysisService, astAnalysisService);
   }
 
   @Test
@@ -54,7 +52,8 @@ class DiagnosticUseCaseTest {
     var document = new TextDocument(uri, "groovy", 1, content);
     var lineCountResult = new LineCountResult(1, 0, 0, 1);
 
-    when(lineCountService.countLines(content)).thenReturn(Either.right(lineCountResult));
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
 
     // When
     var result = diagnosticUseCase.diagnose(document);
@@ -85,7 +84,8 @@ class DiagnosticUseCaseTest {
     var document = new TextDocument(uri, "groovy", 1, content);
     var lineCountResult = new LineCountResult(4, 1, 1, 2);
 
-    when(lineCountService.countLines(content)).thenReturn(Either.right(lineCountResult));
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
 
     // When
     var result = diagnosticUseCase.diagnose(document);
@@ -105,7 +105,8 @@ class DiagnosticUseCaseTest {
     var document = new TextDocument(uri, "groovy", 1, content);
     var lineCountResult = LineCountResult.empty();
 
-    when(lineCountService.countLines(content)).thenReturn(Either.right(lineCountResult));
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
 
     // When
     var result = diagnosticUseCase.diagnose(document);
@@ -118,21 +119,31 @@ class DiagnosticUseCaseTest {
   }
 
   @Test
-  void 行カウントエラー時はエラーを返す() throws Exception {
+  void 字句解析エラー時もAST解析による診断を返す() throws Exception {
     // Given
     var uri = URI.create("file:///test.groovy");
     var content = "invalid content";
     var document = new TextDocument(uri, "groovy", 1, content);
-    var errorMessage = "解析エラー";
+    var syntaxError =
+        new DiagnosticItem(
+            new DiagnosticItem.DocumentPosition(0, 8),
+            new DiagnosticItem.DocumentPosition(0, 15),
+            DiagnosticItem.DiagnosticSeverity.ERROR,
+            "unexpected token",
+            "groovy-syntax");
 
-    when(lineCountService.countLines(content)).thenReturn(Either.left(errorMessage));
+    when(lexicalAnalysisService.analyze(content)).thenReturn(Either.left("解析エラー"));
+    when(astAnalysisService.analyze(uri.toString(), content))
+        .thenReturn(
+            Either.right(
+                new AstInfo(uri.toString(), List.of(), List.of(syntaxError), "", List.of())));
 
     // When
     var result = diagnosticUseCase.diagnose(document);
 
     // Then
-    assertThat(result.isLeft()).isTrue();
-    assertThat(result.getLeft()).isEqualTo("行カウントに失敗しました: " + errorMessage);
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().diagnostics()).containsExactly(syntaxError);
   }
 
   @Test
@@ -143,7 +154,8 @@ class DiagnosticUseCaseTest {
     var document = new TextDocument(uri, "groovy", 1, content);
     var lineCountResult = new LineCountResult(1, 0, 0, 1);
 
-    when(lineCountService.countLines(content)).thenReturn(Either.right(lineCountResult));
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
 
     // When
     var result = diagnosticUseCase.diagnose(document);
@@ -175,7 +187,8 @@ class DiagnosticUseCaseTest {
 
     var astInfo = new AstInfo(uri.toString(), List.of(), List.of(syntaxError), "", List.of());
 
-    when(lineCountService.countLines(content)).thenReturn(Either.right(lineCountResult));
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
     when(astAnalysisService.analyze(uri.toString(), content)).thenReturn(Either.right(astInfo));
 
     // When
@@ -221,7 +234,8 @@ class DiagnosticUseCaseTest {
     var astInfo =
         new AstInfo(uri.toString(), List.of(), List.of(syntaxError1, syntaxError2), "", List.of());
 
-    when(lineCountService.countLines(content)).thenReturn(Either.right(lineCountResult));
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
     when(astAnalysisService.analyze(uri.toString(), content)).thenReturn(Either.right(astInfo));
 
     // When
@@ -236,4 +250,30 @@ class DiagnosticUseCaseTest {
             .toList();
     assertThat(errorDiagnostics).hasSize(2);
   }
+
+  @Test
+  void 大きさの上限を超えるファイルは構文解析を行わずに字句解析だけで診断する() throws Exception {
+    // Given
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 100, 10_000));
+    var useCase = new DiagnosticUseCase(lexicalAnalysisService, astAnalysisService, configuration);
+    var uri = URI.create("file:///Generated.groovy");
+    var content = "def value = 1\n".repeat(10);
+    var document = new TextDocument(uri, "groovy", 1, content);
+    var lineCountResult = new LineCountResult(10, 10, 0, 0);
+    when(lexicalAnalysisService.analyze(content))
+        .thenReturn(Either.right(new LexicalAnalysisResult(lineCountResult, List.of(), List.of())));
+
+    // When
+    var result = useCase.diagnose(document);
+
+    // Then
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().diagnostics())
+        .extracting(DiagnosticItem::source)
+        .containsExactly("groovy-lsp-line-count", "groovy-lsp-lexical-only");
+    verify(astAnalysisService, never()).analyze(any(), any());
+  }
 }
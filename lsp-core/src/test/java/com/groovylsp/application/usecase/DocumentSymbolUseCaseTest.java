@@ -3,6 +3,8 @@ package com.groovylsp.application.usecase;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.groovylsp.domain.model.Symbol;
@@ -13,6 +15,7 @@ import com.groovylsp.testing.FastTest;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.DocumentSymbolParams;
@@ -186,4 +189,128 @@ class DocumentSymbolUseCaseTest {
     List<DocumentSymbol> documentSymbols = result.get();
     assertThat(documentSymbols).isEmpty();
   }
+
+  @Test
+  @DisplayName("同じバージョンではシンボルを抽出し直さずキャッシュした結果を返す")
+  void getDocumentSymbolsReusesResultForSameVersion() {
+    // given
+    String uri = "file:///test/Cached.groovy";
+    var params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+    var document = new TextDocument(URI.create(uri), "groovy", 1, "class Cached { }");
+    when(repository.findByUri(URI.create(uri))).thenReturn(Option.of(document));
+    when(symbolExtractionService.extractSymbols(anyString(), anyString()))
+        .thenReturn(Either.right(List.of(classSymbol("Cached", 0))));
+
+    // when
+    var first = useCase.getDocumentSymbols(params).get();
+    var second = useCase.getDocumentSymbols(params).get();
+
+    // then
+    assertThat(second).isSameAs(first);
+    verify(symbolExtractionService, times(1)).extractSymbols(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("バージョンが変わっても内容が同じトップレベルのシンボルは変換結果を使い回す")
+  void getDocumentSymbolsReusesUnchangedSubtrees() {
+    // given
+    String uri = "file:///test/Reuse.groovy";
+    var params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+    var unchanged = classSymbol("Unchanged", 0);
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, "v1")))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 2, "v2")));
+    when(symbolExtractionService.extractSymbols(anyString(), anyString()))
+        .thenReturn(Either.right(List.of(unchanged, classSymbol("Edited", 5))))
+        .thenReturn(Either.right(List.of(unchanged, classSymbol("Edited", 6))));
+
+    // when
+    var before = useCase.getDocumentSymbols(params).get();
+    var after = useCase.getDocumentSymbols(params).get();
+
+    // then
+    verify(symbolExtractionService, times(2)).extractSymbols(anyString(), anyString());
+    assertThat(after.get(0)).isSameAs(before.get(0));
+    assertThat(after.get(1)).isNotSameAs(before.get(1));
+    assertThat(after.get(1).getRange().getStart().getLine()).isEqualTo(6);
+  }
+
+  @Test
+  @DisplayName("シンボルが多い場合はすべて部分結果として分けて送り、戻り値は空にする")
+  void getDocumentSymbolsStreamsPartialResults() {
+    // given
+    String uri = "file:///test/Large.groovy";
+    var params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, "large")));
+    int classCount = DocumentSymbolUseCase.PARTIAL_RESULT_BATCH_SIZE * 2 + 1;
+    var symbols = new ArrayList<Symbol>();
+    for (int i = 0; i < classCount; i++) {
+      symbols.add(classSymbol("Class" + i, i));
+    }
+    when(symbolExtractionService.extractSymbols(anyString(), anyString()))
+        .thenReturn(Either.right(symbols));
+    var partialResults = new ArrayList<List<DocumentSymbol>>();
+
+    // when
+    var remaining = useCase.getDocumentSymbols(params, partialResults::add).get();
+    var cached = useCase.getDocumentSymbols(params, partialResults::add).get();
+
+    // then
+    assertThat(partialResults).hasSize(3);
+    assertThat(partialResults.subList(0, 2))
+        .allSatisfy(
+            batch -> assertThat(batch).hasSize(DocumentSymbolUseCase.PARTIAL_RESULT_BATCH_SIZE));
+    assertThat(partialResults.get(2))
+        .singleElement()
+        .satisfies(s -> assertThat(s.getName()).isEqualTo("Class" + (classCount - 1)));
+    assertThat(remaining).isEmpty();
+    assertThat(cached).hasSize(classCount);
+  }
+
+  @Test
+  @DisplayName("シンボルが少ない場合は部分結果を使わずに全体を返す")
+  void getDocumentSymbolsReturnsSmallResultAtOnce() {
+    // given
+    String uri = "file:///test/Small.groovy";
+    var params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, "small")));
+    when(symbolExtractionService.extractSymbols(anyString(), anyString()))
+        .thenReturn(Either.right(List.of(classSymbol("Small", 0))));
+    var partialResults = new ArrayList<List<DocumentSymbol>>();
+
+    // when
+    var result = useCase.getDocumentSymbols(params, partialResults::add).get();
+
+    // then
+    assertThat(partialResults).isEmpty();
+    assertThat(result).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("ドキュメントを閉じるとキャッシュを破棄する")
+  void releaseDropsCachedResult() {
+    // given
+    String uri = "file:///test/Closed.groovy";
+    var params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, "closed")));
+    when(symbolExtractionService.extractSymbols(anyString(), anyString()))
+        .thenReturn(Either.right(List.of(classSymbol("Closed", 0))));
+    useCase.getDocumentSymbols(params);
+
+    // when
+    useCase.release(URI.create(uri));
+    useCase.getDocumentSymbols(params);
+
+    // then
+    verify(symbolExtractionService, times(2)).extractSymbols(anyString(), anyString());
+  }
+
+  private static Symbol classSymbol(String name, int line) {
+    var range = new Range(new Position(line, 0), new Position(line, 20));
+    var selectionRange = new Range(new Position(line, 6), new Position(line, 6 + name.length()));
+    return Symbol.create(name, SymbolKind.Class, range, selectionRange, "");
+  }
 }
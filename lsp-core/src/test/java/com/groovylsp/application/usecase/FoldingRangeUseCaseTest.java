@@ -0,0 +1,77 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.BracketValidationService;
+import com.groovylsp.domain.service.LexicalAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.testing.FastTest;
+import io.vavr.control.Option;
+import java.net.URI;
+import org.eclipse.lsp4j.FoldingRange;
+import org.eclipse.lsp4j.FoldingRangeKind;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** FoldingRangeUseCaseのテスト */
+@FastTest
+class FoldingRangeUseCaseTest {
+
+  private static final String URI_STRING = "file:///test/Sample.groovy";
+
+  private TextDocumentRepository repository;
+  private FoldingRangeUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(TextDocumentRepository.class);
+    useCase =
+        new FoldingRangeUseCase(
+            repository,
+            new LexicalAnalysisService(new BracketValidationService(), new ServerMetrics()));
+  }
+
+  @Test
+  void 折りたたみ領域をLSPの折りたたみ範囲に変換する() {
+    // Arrange
+    var content = "import a.B\nimport a.C\n/*\n doc\n*/\nclass D {\n  def x\n}\n";
+    when(repository.findByUri(URI.create(URI_STRING)))
+        .thenReturn(Option.of(new TextDocument(URI.create(URI_STRING), "groovy", 1, content)));
+
+    // Act
+    var result = useCase.getFoldingRanges(params());
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .extracting(FoldingRange::getStartLine, FoldingRange::getEndLine, FoldingRange::getKind)
+        .containsExactly(
+            tuple(0, 1, FoldingRangeKind.Imports),
+            tuple(2, 4, FoldingRangeKind.Comment),
+            tuple(5, 6, null));
+  }
+
+  @Test
+  void ドキュメントが見つからない場合はエラーを返す() {
+    // Arrange
+    when(repository.findByUri(URI.create(URI_STRING))).thenReturn(Option.none());
+
+    // Act
+    var result = useCase.getFoldingRanges(params());
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+    assertThat(result.getLeft()).contains("ドキュメントが見つかりません");
+  }
+
+  private FoldingRangeRequestParams params() {
+    return new FoldingRangeRequestParams(new TextDocumentIdentifier(URI_STRING));
+  }
+}
@@ -1,7 +1,13 @@
 package com.groovylsp.application.usecase;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.groovylsp.domain.model.TextDocument;
@@ -11,6 +17,8 @@ import com.groovylsp.testing.FastTest;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.MarkupContent;
@@ -156,4 +164,187 @@ class HoverUseCaseTest {
     assertThat(contents.getValue()).contains("public add(int a, int b): int");
     assertThat(contents.getValue()).contains("```");
   }
+
+  @Test
+  @DisplayName("同じ識別子への繰り返しのホバーはキャッシュから返す")
+  void getHoverCachedForSameIdentifier() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    String content = "class Calculator { int value = 10 }";
+    var document = new TextDocument(URI.create(uri), "groovy", 1, content);
+    when(repository.findByUri(URI.create(uri))).thenReturn(Option.of(document));
+    var typeInfo =
+        new TypeInfoService.TypeInfo(
+            "value", "int", TypeInfoService.TypeInfo.Kind.FIELD, null, "private");
+    when(typeInfoService.getTypeInfoAt(anyString(), anyString(), any(Position.class)))
+        .thenReturn(Either.right(typeInfo));
+
+    // when
+    Hover first = useCase.getHover(hoverParams(uri, new Position(0, 23))).get();
+    Hover second = useCase.getHover(hoverParams(uri, new Position(0, 26))).get();
+
+    // then
+    assertThat(second).isSameAs(first);
+    verify(typeInfoService, times(1)).getTypeInfoAt(anyString(), anyString(), any(Position.class));
+    assertThat(useCase.cacheStats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("依存先の宣言が変わった場合とドキュメントが変更された場合はホバー情報を再計算する")
+  void getHoverRecomputedAfterDocumentChange() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    String content = "class Calculator { int value = 10 }";
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, content)));
+    var typeInfo =
+        new TypeInfoService.TypeInfo(
+            "value", "int", TypeInfoService.TypeInfo.Kind.FIELD, null, "private");
+    when(typeInfoService.getTypeInfoAt(anyString(), anyString(), any(Position.class)))
+        .thenReturn(Either.right(typeInfo));
+    var params = hoverParams(uri, new Position(0, 23));
+    useCase.getHover(params);
+
+    // when
+    useCase.dependenciesChanged(List.of(URI.create(uri)));
+    useCase.getHover(params);
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 2, content)));
+    useCase.getHover(params);
+
+    // then
+    verify(typeInfoService, times(3)).getTypeInfoAt(anyString(), anyString(), any(Position.class));
+  }
+
+  @Test
+  @DisplayName("他のドキュメントの変更だけではホバー情報を破棄しない")
+  void getHoverKeptAfterUnrelatedDocumentChange() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    String content = "class Calculator { int value = 10 }";
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, content)));
+    var typeInfo =
+        new TypeInfoService.TypeInfo(
+            "value", "int", TypeInfoService.TypeInfo.Kind.FIELD, null, "private");
+    when(typeInfoService.getTypeInfoAt(anyString(), anyString(), any(Position.class)))
+        .thenReturn(Either.right(typeInfo));
+    var params = hoverParams(uri, new Position(0, 23));
+    useCase.getHover(params);
+
+    // when
+    useCase.documentChanged(URI.create("file:///test/Other.groovy"));
+    useCase.dependenciesChanged(List.of(URI.create("file:///test/Another.groovy")));
+    useCase.getHover(params);
+
+    // then
+    verify(typeInfoService, times(1)).getTypeInfoAt(anyString(), anyString(), any(Position.class));
+  }
+
+  @Test
+  @DisplayName("識別子の上でない位置はキャッシュしない")
+  void getHoverNotCachedOutsideIdentifier() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    String content = "class Calculator { int value = 10 }";
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, content)));
+    when(typeInfoService.getTypeInfoAt(anyString(), anyString(), any(Position.class)))
+        .thenReturn(Either.left("識別子が見つかりません"));
+    var params = hoverParams(uri, new Position(0, 17)); // "{"の位置
+
+    // when
+    useCase.getHover(params);
+    useCase.getHover(params);
+
+    // then
+    verify(typeInfoService, times(2)).getTypeInfoAt(anyString(), anyString(), any(Position.class));
+  }
+
+  @Test
+  @DisplayName("型情報を取得できなかった結果はキャッシュせず、索引の構築後に再計算する")
+  void getHoverNotCachedWithoutTypeInfo() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    String content = "class Calculator { Person owner }";
+    when(repository.findByUri(URI.create(uri)))
+        .thenReturn(Option.of(new TextDocument(URI.create(uri), "groovy", 1, content)));
+    var typeInfo =
+        new TypeInfoService.TypeInfo(
+            "Person", "Person", TypeInfoService.TypeInfo.Kind.CLASS, null, null);
+    when(typeInfoService.getTypeInfoAt(anyString(), anyString(), any(Position.class)))
+        .thenReturn(Either.left("定義が見つかりません: Person"))
+        .thenReturn(Either.right(typeInfo));
+    var params = hoverParams(uri, new Position(0, 21));
+    useCase.getHover(params);
+
+    // when
+    Hover hover = useCase.getHover(params).get();
+
+    // then
+    assertThat(hover.getContents().getRight().getValue()).contains("class Person");
+    verify(typeInfoService, times(2)).getTypeInfoAt(anyString(), anyString(), any(Position.class));
+  }
+
+  @Test
+  @DisplayName("カーソル位置の周辺の識別子のホバー情報を先読みする")
+  void prefetchAroundCursor() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    String content =
+        """
+        class Calculator {
+          int value = 10
+          def total = value * 2
+        }
+        """;
+    var document = new TextDocument(URI.create(uri), "groovy", 1, content);
+    when(repository.findByUri(URI.create(uri))).thenReturn(Option.of(document));
+    var typeInfo =
+        new TypeInfoService.TypeInfo(
+            "value", "int", TypeInfoService.TypeInfo.Kind.FIELD, null, "private");
+    when(typeInfoService.getTypeInfoAt(anyString(), anyString(), any(Position.class)))
+        .thenReturn(Either.right(typeInfo));
+    when(typeInfoService.getTypeInfosAt(anyString(), anyString(), anyList(), any()))
+        .thenAnswer(
+            invocation -> {
+              List<Position> positions = invocation.getArgument(2);
+              var results = new LinkedHashMap<Position, Either<String, TypeInfoService.TypeInfo>>();
+              positions.forEach(position -> results.put(position, Either.right(typeInfo)));
+              return results;
+            });
+    useCase.getHover(hoverParams(uri, new Position(1, 8))); // "value"の位置
+
+    // when
+    useCase.prefetch(document).join();
+    Hover hover = useCase.getHover(hoverParams(uri, new Position(2, 8))).get(); // "total"の位置
+
+    // then
+    assertThat(hover).isNotNull();
+    verify(typeInfoService, times(1)).getTypeInfoAt(anyString(), anyString(), any(Position.class));
+  }
+
+  @Test
+  @DisplayName("対話的な要求の実行中は先読みしない")
+  void prefetchYieldsToInteractiveRequest() {
+    // given
+    String uri = "file:///test/Calculator.groovy";
+    var document =
+        new TextDocument(URI.create(uri), "groovy", 1, "class Calculator { int value = 10 }");
+    when(repository.findByUri(URI.create(uri))).thenReturn(Option.of(document));
+    useCase.beginRequest(uri, new Position(0, 23));
+
+    // when
+    useCase.prefetch(document).join();
+
+    // then
+    verify(typeInfoService, never()).getTypeInfosAt(anyString(), anyString(), anyList(), any());
+  }
+
+  private static HoverParams hoverParams(String uri, Position position) {
+    var params = new HoverParams();
+    params.setTextDocument(new TextDocumentIdentifier(uri));
+    params.setPosition(position);
+    return params;
+  }
 }
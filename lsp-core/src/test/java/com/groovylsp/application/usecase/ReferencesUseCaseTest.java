@@ -0,0 +1,187 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.groovylsp.domain.model.DependencyGraph;
+import com.groovylsp.domain.model.OccurrenceIndex;
+import com.groovylsp.domain.model.ScopeManager;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.DocumentContentService;
+import com.groovylsp.infrastructure.parser.FileContentStore;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
+import com.groovylsp.infrastructure.symbol.GroovyDefinitionFinderService;
+import com.groovylsp.infrastructure.symbol.GroovySymbolTableBuilderService;
+import com.groovylsp.testing.FastTest;
+import java.net.URI;
+import org.eclipse.lsp4j.DocumentHighlight;
+import org.eclipse.lsp4j.DocumentHighlightParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ReferenceContext;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** ReferencesUseCaseのテスト */
+@FastTest
+class ReferencesUseCaseTest {
+
+  private static final String GREETER_URI = "file:///test/Greeter.groovy";
+  private static final String CALLER_URI = "file:///test/Caller.groovy";
+
+  private static final String GREETER =
+      """
+      class Greeter {
+          String greet(String name) {
+              return name
+          }
+
+          void run() {
+              greet(null)
+              greet(null)
+          }
+      }
+      """;
+
+  private static final String CALLER =
+      """
+      class Caller {
+          void call(Greeter greeter) {
+              greeter.greet(null)
+          }
+      }
+      """;
+
+  private InMemoryTextDocumentRepository repository;
+  private GroovyAstParser parser;
+  private DefinitionUseCase definitionUseCase;
+  private ReferencesUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryTextDocumentRepository();
+    parser = spy(new GroovyAstParser());
+    var symbolTable = new SymbolTable();
+    var scopeManager = new ScopeManager();
+    var occurrenceIndex = new OccurrenceIndex();
+    definitionUseCase =
+        new DefinitionUseCase(
+            repository,
+            new AstAnalysisService(
+                new ParseResultCache(parser),
+                new ServerMetrics(),
+                WorkspaceConfiguration.unlimited()),
+            new GroovySymbolTableBuilderService(),
+            symbolTable,
+            scopeManager,
+            new GroovyDefinitionFinderService(
+                symbolTable, scopeManager, new DocumentContentService(repository)),
+            occurrenceIndex,
+            new DependencyGraph(),
+            new FileContentStore(),
+            new ServerMetrics());
+    useCase = new ReferencesUseCase(definitionUseCase, occurrenceIndex);
+
+    // 呼び出し側は定義側のシンボルが登録された後に索引を構築する
+    var greeter = new TextDocument(URI.create(GREETER_URI), "groovy", 1, GREETER);
+    var caller = new TextDocument(URI.create(CALLER_URI), "groovy", 1, CALLER);
+    repository.save(greeter);
+    repository.save(caller);
+    definitionUseCase.scheduleIndex(greeter).join();
+    definitionUseCase.scheduleIndex(caller).join();
+  }
+
+  @AfterEach
+  void tearDown() {
+    definitionUseCase.close();
+  }
+
+  @Test
+  void ワークスペース全体の参照を宣言を含めて返す() {
+    // Act
+    var result = useCase.getReferences(referenceParams(1, 12, true));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .containsExactlyInAnyOrder(
+            new Location(GREETER_URI, range(1, 11, 16)),
+            new Location(GREETER_URI, range(6, 8, 13)),
+            new Location(GREETER_URI, range(7, 8, 13)),
+            new Location(CALLER_URI, range(2, 16, 21)));
+  }
+
+  @Test
+  void 宣言を含めない場合は宣言位置を除く() {
+    // Act
+    var result = useCase.getReferences(referenceParams(6, 9, false));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get()).hasSize(3).doesNotContain(new Location(GREETER_URI, range(1, 11, 16)));
+  }
+
+  @Test
+  void ドキュメント内の出現だけをハイライトする() {
+    // Act
+    var result =
+        useCase.getDocumentHighlights(
+            new DocumentHighlightParams(
+                new TextDocumentIdentifier(GREETER_URI), new Position(6, 9)));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get())
+        .extracting(DocumentHighlight::getRange)
+        .containsExactly(range(1, 11, 16), range(6, 8, 13), range(7, 8, 13));
+  }
+
+  @Test
+  void 参照検索では他のファイルを再解析しない() {
+    // Act
+    useCase.getReferences(referenceParams(1, 12, true));
+    useCase.getReferences(referenceParams(6, 9, false));
+
+    // Assert
+    verify(parser, times(2)).parse(anyString(), anyString());
+  }
+
+  @Test
+  void 閉じたファイルの出現は参照から除かれる() {
+    // Arrange
+    repository.remove(URI.create(CALLER_URI));
+    definitionUseCase.release(URI.create(CALLER_URI)).join();
+
+    // Act
+    var result = useCase.getReferences(referenceParams(1, 12, false));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get()).extracting(Location::getUri).containsOnly(GREETER_URI).hasSize(2);
+  }
+
+  private static ReferenceParams referenceParams(
+      int line, int character, boolean includeDeclaration) {
+    return new ReferenceParams(
+        new TextDocumentIdentifier(GREETER_URI),
+        new Position(line, character),
+        new ReferenceContext(includeDeclaration));
+  }
+
+  private static Range range(int line, int startCharacter, int endCharacter) {
+    return new Range(new Position(line, startCharacter), new Position(line, endCharacter));
+  }
+}
@@ -0,0 +1,85 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.SelectionRangeService;
+import com.groovylsp.testing.FastTest;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+import java.net.URI;
+import java.util.List;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SelectionRange;
+import org.eclipse.lsp4j.SelectionRangeParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** SelectionRangeUseCaseのテスト */
+@FastTest
+class SelectionRangeUseCaseTest {
+
+  private static final String URI_STRING = "file:///test/Sample.groovy";
+
+  private TextDocumentRepository repository;
+  private SelectionRangeService selectionRangeService;
+  private SelectionRangeUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(TextDocumentRepository.class);
+    selectionRangeService = mock(SelectionRangeService.class);
+    useCase = new SelectionRangeUseCase(repository, selectionRangeService);
+  }
+
+  @Test
+  void ドキュメントの内容と位置をサービスに渡す() {
+    // Arrange
+    var positions = List.of(new Position(0, 4));
+    var expected =
+        List.of(new SelectionRange(new Range(new Position(0, 4), new Position(0, 5)), null));
+    when(repository.findByUri(URI.create(URI_STRING)))
+        .thenReturn(Option.of(new TextDocument(URI.create(URI_STRING), "groovy", 1, "def x = 1")));
+    when(selectionRangeService.getSelectionRanges(URI_STRING, "def x = 1", positions))
+        .thenReturn(Either.right(expected));
+
+    // Act
+    var result =
+        useCase.getSelectionRanges(
+            new SelectionRangeParams(new TextDocumentIdentifier(URI_STRING), positions));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get()).isEqualTo(expected);
+  }
+
+  @Test
+  void ドキュメントが見つからない場合はエラーを返す() {
+    // Arrange
+    when(repository.findByUri(URI.create(URI_STRING))).thenReturn(Option.none());
+
+    // Act
+    var result =
+        useCase.getSelectionRanges(
+            new SelectionRangeParams(
+                new TextDocumentIdentifier(URI_STRING), List.of(new Position(0, 0))));
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+  }
+
+  @Test
+  void リリース時にキャッシュを破棄する() {
+    // Act
+    useCase.release(URI.create(URI_STRING));
+
+    // Assert
+    verify(selectionRangeService).invalidate(URI_STRING);
+  }
+}
@@ -0,0 +1,124 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.groovylsp.domain.model.EncodedSemanticTokens;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.repository.TextDocumentRepository;
+import com.groovylsp.domain.service.SemanticTokensService;
+import com.groovylsp.testing.FastTest;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+import java.net.URI;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** SemanticTokensUseCaseのテスト */
+@FastTest
+class SemanticTokensUseCaseTest {
+
+  private static final String URI_STRING = "file:///test/Sample.groovy";
+
+  private TextDocumentRepository repository;
+  private SemanticTokensService semanticTokensService;
+  private SemanticTokensUseCase useCase;
+  private TextDocument document;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(TextDocumentRepository.class);
+    semanticTokensService = mock(SemanticTokensService.class);
+    useCase = new SemanticTokensUseCase(repository, semanticTokensService);
+
+    document = new TextDocument(URI.create(URI_STRING), "groovy", 2, "def x = 1");
+    when(repository.findByUri(URI.create(URI_STRING))).thenReturn(Option.of(document));
+  }
+
+  @Test
+  void ドキュメント全体のトークンを返す() {
+    var tokens = new EncodedSemanticTokens("1", new int[] {0, 0, 3, 0, 0});
+    when(semanticTokensService.getTokens(document)).thenReturn(Either.right(tokens));
+
+    var result = useCase.getFullTokens(new SemanticTokensParams(identifier()));
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().getResultId()).isEqualTo("1");
+    assertThat(result.get().getData()).containsExactly(0, 0, 3, 0, 0);
+  }
+
+  @Test
+  void 前回の結果がある場合は差分だけを返す() {
+    var previous = new EncodedSemanticTokens("1", new int[] {0, 0, 3, 0, 0, 0, 4, 1, 5, 0});
+    var current = new EncodedSemanticTokens("2", new int[] {0, 0, 3, 0, 0, 0, 4, 2, 5, 0});
+    when(semanticTokensService.getTokens(document)).thenReturn(Either.right(current));
+    when(semanticTokensService.findResult(URI_STRING, "1")).thenReturn(Option.of(previous));
+
+    var result = useCase.getTokensDelta(new SemanticTokensDeltaParams(identifier(), "1"));
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().isRight()).isTrue();
+    var delta = result.get().getRight();
+    assertThat(delta.getResultId()).isEqualTo("2");
+    assertThat(delta.getEdits()).hasSize(1);
+    assertThat(delta.getEdits().get(0).getStart()).isEqualTo(7);
+    assertThat(delta.getEdits().get(0).getDeleteCount()).isEqualTo(1);
+    assertThat(delta.getEdits().get(0).getData()).containsExactly(2);
+  }
+
+  @Test
+  void 前回の結果がない場合は全体を返す() {
+    var current = new EncodedSemanticTokens("5", new int[] {0, 0, 3, 0, 0});
+    when(semanticTokensService.getTokens(document)).thenReturn(Either.right(current));
+    when(semanticTokensService.findResult(URI_STRING, "1")).thenReturn(Option.none());
+
+    var result = useCase.getTokensDelta(new SemanticTokensDeltaParams(identifier(), "1"));
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().isLeft()).isTrue();
+    assertThat(result.get().getLeft().getResultId()).isEqualTo("5");
+  }
+
+  @Test
+  void 範囲内のトークンだけを返す() {
+    var tokens =
+        new EncodedSemanticTokens(
+            "1", new int[] {0, 0, 3, 0, 0, 1, 2, 1, 5, 0, 0, 4, 1, 2, 0, 2, 0, 3, 0, 0});
+    when(semanticTokensService.getTokens(document)).thenReturn(Either.right(tokens));
+
+    var range = new Range(new Position(1, 0), new Position(1, 10));
+    var result = useCase.getRangeTokens(new SemanticTokensRangeParams(identifier(), range));
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().getData()).containsExactly(1, 2, 1, 5, 0, 0, 4, 1, 2, 0);
+  }
+
+  @Test
+  void ドキュメントが存在しない場合はエラーを返す() {
+    when(repository.findByUri(URI.create(URI_STRING))).thenReturn(Option.none());
+
+    var result = useCase.getFullTokens(new SemanticTokensParams(identifier()));
+
+    assertThat(result.isLeft()).isTrue();
+    assertThat(result.getLeft()).contains("ドキュメントが見つかりません");
+  }
+
+  @Test
+  void 保持データの破棄をサービスに委譲する() {
+    useCase.release(URI.create(URI_STRING));
+
+    verify(semanticTokensService).invalidate(URI_STRING);
+  }
+
+  private static TextDocumentIdentifier identifier() {
+    return new TextDocumentIdentifier(URI_STRING);
+  }
+}
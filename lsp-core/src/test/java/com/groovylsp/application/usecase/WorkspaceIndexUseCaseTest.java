@@ -0,0 +1,294 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.model.DependencyGraph;
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.model.OccurrenceIndex;
+import com.groovylsp.domain.model.ScopeManager;
+import com.groovylsp.domain.model.SymbolDefinition;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.DocumentContentService;
+import com.groovylsp.infrastructure.parser.FileContentStore;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
+import com.groovylsp.infrastructure.symbol.GroovyDefinitionFinderService;
+import com.groovylsp.infrastructure.symbol.GroovySymbolTableBuilderService;
+import com.groovylsp.testing.FastTest;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** WorkspaceIndexUseCaseのテスト */
+@FastTest
+class WorkspaceIndexUseCaseTest {
+
+  @TempDir Path tempDir;
+
+  private InMemoryTextDocumentRepository repository;
+  private SymbolTable symbolTable;
+  private ServerMetrics metrics;
+  private DefinitionUseCase definitionUseCase;
+  private WorkspaceConfiguration workspaceConfiguration;
+  private WorkspaceIndexUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryTextDocumentRepository();
+    symbolTable = new SymbolTable();
+    metrics = new ServerMetrics();
+    workspaceConfiguration = new WorkspaceConfiguration();
+    var scopeManager = new ScopeManager();
+    var contentStore = new FileContentStore();
+    var astAnalysisService =
+        new AstAnalysisService(
+            new ParseResultCache(new GroovyAstParser()),
+            new ServerMetrics(),
+            WorkspaceConfiguration.unlimited());
+    definitionUseCase =
+        new DefinitionUseCase(
+            repository,
+            astAnalysisService,
+            new GroovySymbolTableBuilderService(),
+            symbolTable,
+            scopeManager,
+            new GroovyDefinitionFinderService(
+                symbolTable, scopeManager, new DocumentContentService(repository)),
+            new OccurrenceIndex(),
+            new DependencyGraph(),
+            contentStore,
+            metrics);
+    useCase =
+        new WorkspaceIndexUseCase(
+            repository,
+            astAnalysisService,
+            definitionUseCase,
+            contentStore,
+            workspaceConfiguration,
+            metrics,
+            2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    useCase.close();
+    definitionUseCase.close();
+  }
+
+  @Test
+  void 作成されたファイルをディスクから読み込んで索引に取り込む() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    var address = write("Address.groovy", "class Address { String city }");
+
+    // Act
+    useCase.enqueue(List.of(created(person), created(address)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).containsExactlyInAnyOrder("Person", "Address");
+    assertThat(counter("watchedFiles.reindexed")).isEqualTo(2);
+  }
+
+  @Test
+  void 同じファイルの通知は1回だけ処理し内容が同じ場合は省略する() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    useCase.enqueue(List.of(created(person), changed(person), changed(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Act
+    useCase.enqueue(List.of(changed(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(counter("watchedFiles.reindexed")).isEqualTo(1);
+    assertThat(counter("watchedFiles.unchanged")).isEqualTo(1);
+  }
+
+  @Test
+  void 内容が変わったファイルは索引を構築し直す() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    useCase.enqueue(List.of(created(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Act
+    Files.writeString(person, "class Human { String name }");
+    useCase.enqueue(List.of(changed(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).containsExactly("Human");
+  }
+
+  @Test
+  void 削除されたファイルは索引から取り除く() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    useCase.enqueue(List.of(created(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Act
+    Files.delete(person);
+    useCase.enqueue(List.of(new FileEvent(person.toUri().toString(), FileChangeType.Deleted)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).isEmpty();
+    assertThat(definitionUseCase.isIndexed(person.toUri())).isFalse();
+  }
+
+  @Test
+  void エディタで開いているファイルはディスクの内容で上書きしない() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    var document = new TextDocument(person.toUri(), "groovy", 3, "class EditedPerson { }");
+    repository.save(document);
+    definitionUseCase.scheduleIndex(document).get(5, TimeUnit.SECONDS);
+
+    // Act
+    useCase.enqueue(List.of(changed(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).containsExactly("EditedPerson");
+    assertThat(counter("watchedFiles.openDocumentSkipped")).isEqualTo(1);
+  }
+
+  @Test
+  void 閉じたファイルはディスクの内容で索引に取り込み直す() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    useCase.enqueue(List.of(created(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+    var document = new TextDocument(person.toUri(), "groovy", 3, "class EditedPerson { }");
+    repository.save(document);
+    definitionUseCase.scheduleIndex(document).get(5, TimeUnit.SECONDS);
+    repository.remove(person.toUri());
+
+    // Act
+    useCase.documentClosed(person.toUri());
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).containsExactly("Person");
+    assertThat(counter("watchedFiles.unchanged")).isZero();
+  }
+
+  @Test
+  void 閉じたファイルが削除されている場合は索引から取り除く() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    var document = new TextDocument(person.toUri(), "groovy", 3, "class EditedPerson { }");
+    definitionUseCase.scheduleIndex(document).get(5, TimeUnit.SECONDS);
+    Files.delete(person);
+
+    // Act
+    useCase.documentClosed(person.toUri());
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).isEmpty();
+    assertThat(definitionUseCase.isIndexed(person.toUri())).isFalse();
+  }
+
+  @Test
+  void 続けて届いた通知をまとめて処理しリスナーに通知する() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    var address = write("Address.groovy", "class Address { String city }");
+    var notified = new CompletableFuture<List<URI>>();
+    useCase.addListener(notified::complete);
+
+    // Act
+    useCase.enqueue(List.of(created(person)));
+    useCase.enqueue(
+        List.of(created(address), new FileEvent("file:///README.md", FileChangeType.Created)));
+    notified.get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).containsExactlyInAnyOrder("Person", "Address");
+    assertThat(useCase.pendingFileCount()).isZero();
+  }
+
+  @Test
+  void 除外パターンに一致するファイルは読み込まない() throws Exception {
+    // Arrange
+    workspaceConfiguration.setWorkspaceRoot(tempDir);
+    workspaceConfiguration.update(
+        new GroovyLspConfig(
+            GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of("generated/**")));
+    Files.createDirectories(tempDir.resolve("generated"));
+    var person = write("Person.groovy", "class Person { String name }");
+    var generated = write("generated/Generated.groovy", "class Generated { }");
+
+    // Act
+    useCase.enqueue(List.of(created(person), created(generated)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).containsExactly("Person");
+    assertThat(counter("watchedFiles.reindexed")).isEqualTo(1);
+  }
+
+  @Test
+  void 大きすぎて構文解析しない内容に変わったファイルは索引から取り除く() throws Exception {
+    // Arrange
+    var person = write("Person.groovy", "class Person { String name }");
+    useCase.enqueue(List.of(created(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+    workspaceConfiguration.update(
+        new GroovyLspConfig(GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 100, 1_000));
+
+    // Act
+    write("Person.groovy", "class Person { String name }\n" + "// padding\n".repeat(20));
+    useCase.enqueue(List.of(changed(person)));
+    useCase.flush().get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(classNames()).isEmpty();
+    assertThat(definitionUseCase.isIndexed(person.toUri())).isFalse();
+    assertThat(counter("watchedFiles.lexicalOnly")).isEqualTo(1);
+  }
+
+  private Path write(String fileName, String content) throws IOException {
+    return Files.writeString(tempDir.resolve(fileName), content);
+  }
+
+  private static FileEvent created(Path path) {
+    return new FileEvent(path.toUri().toString(), FileChangeType.Created);
+  }
+
+  private static FileEvent changed(Path path) {
+    return new FileEvent(path.toUri().toString(), FileChangeType.Changed);
+  }
+
+  private List<String> classNames() {
+    return symbolTable
+        .getAllSymbols()
+        .filter(symbol -> symbol.definitionType() == SymbolDefinition.DefinitionType.CLASS)
+        .map(SymbolDefinition::name)
+        .toJavaList();
+  }
+
+  private long counter(String name) {
+    return metrics.snapshot().counters().getOrDefault(name, 0L);
+  }
+}
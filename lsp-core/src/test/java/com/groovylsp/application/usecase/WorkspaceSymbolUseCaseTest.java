@@ -0,0 +1,224 @@
+package com.groovylsp.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groovylsp.domain.model.SymbolDefinition;
+import com.groovylsp.domain.model.SymbolDefinition.DefinitionType;
+import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.testing.FastTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** WorkspaceSymbolUseCaseのテスト */
+@FastTest
+class WorkspaceSymbolUseCaseTest {
+
+  private static final String PERSON_URI = "file:///workspace/model/Person.groovy";
+  private static final String SERVICE_URI = "file:///workspace/service/PersonService.groovy";
+  private static final CancelChecker NEVER_CANCELLED = () -> {};
+
+  private SymbolTable symbolTable;
+  private WorkspaceSymbolUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    symbolTable = new SymbolTable();
+    symbolTable.addSymbol(
+        definition("Person", "model.Person", null, PERSON_URI, 0, DefinitionType.CLASS));
+    symbolTable.addSymbol(
+        definition(
+            "name", "model.Person.name", "model.Person", PERSON_URI, 1, DefinitionType.FIELD));
+    symbolTable.addSymbol(
+        definition(
+            "PersonService", "service.PersonService", null, SERVICE_URI, 0, DefinitionType.CLASS));
+    symbolTable.addSymbol(
+        definition(
+            "findPerson",
+            "service.PersonService.findPerson",
+            "service.PersonService",
+            SERVICE_URI,
+            2,
+            DefinitionType.METHOD));
+    symbolTable.addSymbol(
+        definition(
+            "person",
+            "service.PersonService.person",
+            null,
+            SERVICE_URI,
+            3,
+            DefinitionType.LOCAL_VARIABLE));
+    useCase = new WorkspaceSymbolUseCase(symbolTable, Runnable::run);
+  }
+
+  @Test
+  void 接頭辞とキャメルケースに一致するシンボルをよく一致する順に返す() {
+    // Act
+    var result = useCase.search(new WorkspaceSymbolParams("Pers"), false, NEVER_CANCELLED, null);
+    var camelCase = useCase.search(new WorkspaceSymbolParams("PS"), false, NEVER_CANCELLED, null);
+
+    // Assert
+    assertThat(result)
+        .extracting(WorkspaceSymbol::getName)
+        .containsExactly("Person", "PersonService");
+    assertThat(result.get(0).getContainerName()).isEqualTo("model");
+    assertThat(result.get(0).getLocation().getLeft().getUri()).isEqualTo(PERSON_URI);
+    assertThat(camelCase).extracting(WorkspaceSymbol::getName).containsExactly("PersonService");
+  }
+
+  @Test
+  void ローカル変数は検索しない() {
+    // Act
+    var result = useCase.search(new WorkspaceSymbolParams("person"), false, NEVER_CANCELLED, null);
+
+    // Assert
+    assertThat(result)
+        .extracting(WorkspaceSymbol::getName)
+        .containsExactly("Person", "PersonService");
+  }
+
+  @Test
+  void 範囲を遅延取得する場合はresolveで選択されたシンボルの範囲を設定する() {
+    // Arrange
+    var result = useCase.search(new WorkspaceSymbolParams("find"), true, NEVER_CANCELLED, null);
+    var symbol = result.get(0);
+
+    // Act
+    var resolved = useCase.resolve(symbol);
+
+    // Assert
+    assertThat(symbol.getContainerName()).isEqualTo("service.PersonService");
+    assertThat(resolved.getLocation().isLeft()).isTrue();
+    assertThat(resolved.getLocation().getLeft().getUri()).isEqualTo(SERVICE_URI);
+    assertThat(resolved.getLocation().getLeft().getRange().getStart().getLine()).isEqualTo(2);
+  }
+
+  @Test
+  void 結果は上限の件数で打ち切る() {
+    // Arrange
+    addMethods(WorkspaceSymbolUseCase.MAX_RESULTS + 10);
+
+    // Act
+    var result = useCase.search(new WorkspaceSymbolParams("method"), false, NEVER_CANCELLED, null);
+
+    // Assert
+    assertThat(result).hasSize(WorkspaceSymbolUseCase.MAX_RESULTS);
+  }
+
+  @Test
+  void 複数のチャンクがある場合は部分結果として先に送る() {
+    // Arrange
+    addMethods(WorkspaceSymbolUseCase.CHUNK_SIZE + 1);
+    var partialResults = new ArrayList<List<WorkspaceSymbol>>();
+
+    // Act
+    var result =
+        useCase.search(
+            new WorkspaceSymbolParams("method"), false, NEVER_CANCELLED, partialResults::add);
+
+    // Assert
+    assertThat(result).isEmpty();
+    assertThat(partialResults).isNotEmpty();
+    assertThat(partialResults.stream().mapToInt(List::size).sum())
+        .isEqualTo(WorkspaceSymbolUseCase.MAX_RESULTS);
+  }
+
+  @Test
+  void 部分結果でも他のチャンクのよりよく一致するシンボルを上限の件数に含める() {
+    // Arrange
+    for (int i = 0; i < WorkspaceSymbolUseCase.CHUNK_SIZE; i++) {
+      symbolTable.addSymbol(
+          definition(
+              "Method" + i,
+              "service.Generated.Method" + i,
+              "service.Generated",
+              "file:///workspace/service/Generated.groovy",
+              i,
+              DefinitionType.METHOD));
+    }
+    for (int i = 0; i < 10; i++) {
+      symbolTable.addSymbol(
+          definition(
+              "method" + i,
+              "service.Generated.method" + i,
+              "service.Generated",
+              "file:///workspace/service/Generated.groovy",
+              WorkspaceSymbolUseCase.CHUNK_SIZE + i,
+              DefinitionType.METHOD));
+    }
+    var partialResults = new ArrayList<List<WorkspaceSymbol>>();
+
+    // Act
+    useCase.search(
+        new WorkspaceSymbolParams("method"), false, NEVER_CANCELLED, partialResults::add);
+
+    // Assert
+    var names =
+        partialResults.stream().flatMap(List::stream).map(WorkspaceSymbol::getName).toList();
+    assertThat(names).hasSize(WorkspaceSymbolUseCase.MAX_RESULTS);
+    assertThat(names.subList(0, 10)).allMatch(name -> name.startsWith("method"));
+    assertThat(names.subList(10, names.size())).allMatch(name -> name.startsWith("Method"));
+  }
+
+  @Test
+  void キャンセルされた場合は検索を中断する() {
+    // Arrange
+    CancelChecker cancelled =
+        new CancelChecker() {
+          @Override
+          public void checkCanceled() {
+            throw new CancellationException();
+          }
+
+          @Override
+          public boolean isCanceled() {
+            return true;
+          }
+        };
+
+    // Act & Assert
+    assertThatThrownBy(() -> useCase.search(new WorkspaceSymbolParams("P"), false, cancelled, null))
+        .isInstanceOf(CancellationException.class);
+  }
+
+  private void addMethods(int count) {
+    for (int i = 0; i < count; i++) {
+      symbolTable.addSymbol(
+          definition(
+              "method" + i,
+              "service.Generated.method" + i,
+              "service.Generated",
+              "file:///workspace/service/Generated.groovy",
+              i,
+              DefinitionType.METHOD));
+    }
+  }
+
+  private static SymbolDefinition definition(
+      String name,
+      String qualifiedName,
+      String containingClass,
+      String uri,
+      int line,
+      DefinitionType type) {
+    var range = new Range(new Position(line, 0), new Position(line, 40));
+    var selectionRange = new Range(new Position(line, 4), new Position(line, 4 + name.length()));
+    var kind =
+        switch (type) {
+          case CLASS -> SymbolKind.Class;
+          case METHOD -> SymbolKind.Method;
+          default -> SymbolKind.Field;
+        };
+    return new SymbolDefinition(
+        name, qualifiedName, kind, uri, range, selectionRange, containingClass, type);
+  }
+}
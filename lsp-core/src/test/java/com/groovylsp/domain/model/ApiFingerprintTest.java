@@ -0,0 +1,102 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** ApiFingerprintのテスト */
+@FastTest
+class ApiFingerprintTest {
+
+  private static final String SOURCE =
+      """
+      package sample
+      class Greeter {
+          String name
+          String greet(String to) {
+              return "hi " + to
+          }
+          int count() { 1 }
+      }
+      """;
+
+  private AstAnalysisService analysisService;
+
+  @BeforeEach
+  void setUp() {
+    analysisService =
+        new AstAnalysisService(
+            new ParseResultCache(new GroovyAstParser()),
+            new ServerMetrics(),
+            WorkspaceConfiguration.unlimited());
+  }
+
+  @Test
+  void メソッドの本体だけの変更ではどちらも変わらない() {
+    // Act
+    var before = fingerprint(SOURCE);
+    var after = fingerprint(SOURCE.replace("\"hi \"", "\"hello \""));
+
+    // Assert
+    assertThat(after).isEqualTo(before);
+  }
+
+  @Test
+  void 行の追加で宣言の位置が変わるとoutlineだけが変わる() {
+    // Act
+    var before = fingerprint(SOURCE);
+    var after =
+        fingerprint(SOURCE.replace("return \"hi \" + to", "def text = \"hi \"\n return text + to"));
+
+    // Assert
+    assertThat(after.sameApi(before)).isTrue();
+    assertThat(after.outline()).isNotEqualTo(before.outline());
+  }
+
+  @Test
+  void シグネチャやフィールドの型が変わるとapiが変わる() {
+    // Act
+    var before = fingerprint(SOURCE);
+    var parameterChanged = fingerprint(SOURCE.replace("greet(String to)", "greet(Object to)"));
+    var returnTypeChanged = fingerprint(SOURCE.replace("int count()", "long count()"));
+    var fieldChanged = fingerprint(SOURCE.replace("String name", "Object name"));
+    var superTypeChanged =
+        fingerprint(SOURCE.replace("class Greeter {", "class Greeter extends Base {"));
+
+    // Assert
+    assertThat(parameterChanged.sameApi(before)).isFalse();
+    assertThat(returnTypeChanged.sameApi(before)).isFalse();
+    assertThat(fieldChanged.sameApi(before)).isFalse();
+    assertThat(superTypeChanged.sameApi(before)).isFalse();
+  }
+
+  @Test
+  void メンバーの並び順はapiに影響しない() {
+    // Arrange
+    String reordered =
+        """
+        package sample
+        class Greeter {
+            int count() { 1 }
+            String greet(String to) {
+                return "hi " + to
+            }
+            String name
+        }
+        """;
+
+    // Act & Assert
+    assertThat(fingerprint(reordered).sameApi(fingerprint(SOURCE))).isTrue();
+  }
+
+  private ApiFingerprint fingerprint(String source) {
+    return ApiFingerprint.of(
+        analysisService.analyze("file:///sample/Greeter.groovy", source).get());
+  }
+}
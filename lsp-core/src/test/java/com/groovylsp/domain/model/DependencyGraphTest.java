@@ -0,0 +1,128 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** DependencyGraphのテスト */
+@FastTest
+class DependencyGraphTest {
+
+  private static final String MODEL = "file:///src/model/Person.groovy";
+  private static final String SERVICE = "file:///src/service/PersonService.groovy";
+  private static final String CONTROLLER = "file:///src/web/PersonController.groovy";
+  private static final String HELPER = "file:///src/service/Helper.groovy";
+  private static final String UNRELATED = "file:///src/other/Unrelated.groovy";
+
+  private static final String PERSON =
+      """
+      package model
+      class Person {
+          String name
+          String greet() { return "hi " + name }
+      }
+      """;
+
+  private AstAnalysisService analysisService;
+  private DependencyGraph graph;
+
+  @BeforeEach
+  void setUp() {
+    analysisService =
+        new AstAnalysisService(
+            new ParseResultCache(new GroovyAstParser()),
+            new ServerMetrics(),
+            WorkspaceConfiguration.unlimited());
+    graph = new DependencyGraph();
+    update(
+        SERVICE,
+        """
+        package service
+        import model.Person
+        class PersonService { Person find() { null } }
+        """);
+    update(HELPER, """
+        package service
+        class Helper {}
+        """);
+    update(
+        CONTROLLER,
+        """
+        package web
+        import service.*
+        class PersonController { PersonService service }
+        """);
+    update(UNRELATED, """
+        package other
+        class Unrelated {}
+        """);
+  }
+
+  @Test
+  void 新しいファイルを取り込んだ時は依存するファイルを返さない() {
+    // Act
+    var dependents = update(MODEL, PERSON);
+
+    // Assert
+    assertThat(dependents).isEmpty();
+    assertThat(graph.directDependentsOf(MODEL)).containsExactly(SERVICE);
+  }
+
+  @Test
+  void メソッドの本体だけの変更では依存するファイルを返さない() {
+    // Arrange
+    update(MODEL, PERSON);
+
+    // Act
+    var dependents = update(MODEL, PERSON.replace("\"hi \"", "\"hello \""));
+
+    // Assert
+    assertThat(dependents).isEmpty();
+  }
+
+  @Test
+  void メソッドのシグネチャが変わると直接依存するファイルだけを返す() {
+    // Arrange
+    update(MODEL, PERSON);
+
+    // Act
+    var dependents = update(MODEL, PERSON.replace("String greet()", "String greet(String to)"));
+
+    // Assert
+    assertThat(dependents).containsExactly(SERVICE);
+  }
+
+  @Test
+  void 同じパッケージのファイルとスターインポートしたファイルも依存元になる() {
+    // Act
+    var dependents = update(HELPER, "package service\nclass Helper { int count }");
+
+    // Assert
+    assertThat(dependents).containsExactlyInAnyOrder(SERVICE, CONTROLLER);
+    assertThat(dependents).doesNotContain(UNRELATED);
+  }
+
+  @Test
+  void 取り除くと依存していたファイルを返し以降は依存関係に含めない() {
+    // Arrange
+    update(MODEL, PERSON);
+
+    // Act
+    var dependents = graph.remove(MODEL);
+
+    // Assert
+    assertThat(dependents).containsExactly(SERVICE);
+    assertThat(graph.size()).isEqualTo(4);
+    assertThat(graph.directDependentsOf(MODEL)).isEmpty();
+  }
+
+  private java.util.List<String> update(String uri, String source) {
+    return graph.update(uri, analysisService.analyze(uri, source).get());
+  }
+}
@@ -0,0 +1,49 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.Test;
+
+@FastTest
+class EncodedSemanticTokensTest {
+
+  @Test
+  void 内容が同じ場合は編集なし() {
+    var previous = new EncodedSemanticTokens("1", new int[] {0, 0, 3, 0, 0});
+    var current = new EncodedSemanticTokens("2", new int[] {0, 0, 3, 0, 0});
+
+    assertThat(current.diffFrom(previous)).isEmpty();
+  }
+
+  @Test
+  void 末尾へのトークン追加は挿入だけの編集になる() {
+    var previous = new EncodedSemanticTokens("1", new int[] {0, 0, 3, 0, 0});
+    var current = new EncodedSemanticTokens("2", new int[] {0, 0, 3, 0, 0, 1, 0, 2, 1, 0});
+
+    var edits = current.diffFrom(previous);
+
+    assertThat(edits).containsExactly(new SemanticTokensEdit(5, 0, new int[] {1, 0, 2, 1, 0}));
+  }
+
+  @Test
+  void 先頭のトークン削除は削除だけの編集になる() {
+    var previous = new EncodedSemanticTokens("1", new int[] {0, 0, 3, 0, 0, 1, 0, 2, 1, 0});
+    var current = new EncodedSemanticTokens("2", new int[] {1, 0, 2, 1, 0});
+
+    var edits = current.diffFrom(previous);
+
+    assertThat(edits).containsExactly(new SemanticTokensEdit(0, 5, new int[0]));
+  }
+
+  @Test
+  void 行範囲で絞り込むと先頭トークンの位置を絶対位置で再エンコードする() {
+    var tokens =
+        new EncodedSemanticTokens(
+            "1", new int[] {0, 0, 3, 0, 0, 2, 4, 1, 5, 0, 0, 3, 2, 1, 0, 1, 0, 3, 0, 0});
+
+    assertThat(tokens.restrictToLines(2, 2)).containsExactly(2, 4, 1, 5, 0, 0, 3, 2, 1, 0);
+    assertThat(tokens.restrictToLines(3, 10)).containsExactly(3, 0, 3, 0, 0);
+    assertThat(tokens.restrictToLines(5, 10)).isEmpty();
+  }
+}
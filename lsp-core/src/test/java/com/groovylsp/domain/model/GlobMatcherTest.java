@@ -0,0 +1,132 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groovylsp.testing.FastTest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** GlobMatcherのテスト */
+@FastTest
+class GlobMatcherTest {
+
+  @Test
+  void パターンがない場合はどのパスにも一致しない() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of(" ", ""));
+
+    // Act & Assert
+    assertThat(matcher.isEmpty()).isTrue();
+    assertThat(matcher.matches("src/Person.groovy")).isFalse();
+  }
+
+  @Test
+  void パターンはルートからの相対パスの先頭から一致する() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("build/**"));
+
+    // Act & Assert
+    assertThat(matcher.matches("build/classes/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("app/build/Foo.groovy")).isFalse();
+    assertThat(matcher.matches("src/builder/Foo.groovy")).isFalse();
+  }
+
+  @Test
+  void アスタリスク2つとスラッシュで始まるパターンはどの階層からでも一致する() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("**/build/**"));
+
+    // Act & Assert
+    assertThat(matcher.matches("build/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("app/build/classes/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("/outside/build/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("app/builder/Foo.groovy")).isFalse();
+  }
+
+  @Test
+  void ディレクトリに一致した場合は配下のファイルにも一致する() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("generated"));
+
+    // Act & Assert
+    assertThat(matcher.matches("generated/deep/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("generated")).isTrue();
+    assertThat(matcher.matches("generatedSources/Foo.groovy")).isFalse();
+  }
+
+  @Test
+  void アスタリスク1つは区切りをまたがない() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("src/*.groovy"));
+
+    // Act & Assert
+    assertThat(matcher.matches("src/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("src/sub/Foo.groovy")).isFalse();
+  }
+
+  @Test
+  void アスタリスク2つとスラッシュは0個以上のディレクトリに一致する() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("src/**/*Spec.groovy"));
+
+    // Act & Assert
+    assertThat(matcher.matches("src/FooSpec.groovy")).isTrue();
+    assertThat(matcher.matches("src/a/b/FooSpec.groovy")).isTrue();
+    assertThat(matcher.matches("src/a/b/Foo.groovy")).isFalse();
+  }
+
+  @Test
+  void 波括弧と文字クラスと疑問符を使える() {
+    // Arrange
+    var matcher =
+        GlobMatcher.compile(List.of("*.{gradle,gvy}", "Test[0-9]?.groovy", "[!A]x.groovy"));
+
+    // Act & Assert
+    assertThat(matcher.matches("build.gradle")).isTrue();
+    assertThat(matcher.matches("script.gvy")).isTrue();
+    assertThat(matcher.matches("Test1a.groovy")).isTrue();
+    assertThat(matcher.matches("Testa1.groovy")).isFalse();
+    assertThat(matcher.matches("Bx.groovy")).isTrue();
+    assertThat(matcher.matches("Ax.groovy")).isFalse();
+  }
+
+  @Test
+  void 正規表現の記号はそのままの文字として扱う() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("a+b(1).groovy"));
+
+    // Act & Assert
+    assertThat(matcher.matches("a+b(1).groovy")).isTrue();
+    assertThat(matcher.matches("aab1.groovy")).isFalse();
+  }
+
+  @Test
+  void Windowsの区切りのパスとパターンも扱える() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("build\\**"));
+
+    // Act & Assert
+    assertThat(matcher.matches("build\\Foo.groovy")).isTrue();
+  }
+
+  @Test
+  void 複数のパターンのいずれかに一致すればよい() {
+    // Arrange
+    var matcher = GlobMatcher.compile(List.of("build/**", "out/**", "**/*.generated.groovy"));
+
+    // Act & Assert
+    assertThat(matcher.matches("out/Foo.groovy")).isTrue();
+    assertThat(matcher.matches("src/Foo.generated.groovy")).isTrue();
+    assertThat(matcher.matches("src/Foo.groovy")).isFalse();
+  }
+
+  @Test
+  void 括弧が対応していないパターンはエラーにする() {
+    // Act & Assert
+    assertThatThrownBy(() -> GlobMatcher.compile(List.of("{a,b")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> GlobMatcher.compile(List.of("[abc")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
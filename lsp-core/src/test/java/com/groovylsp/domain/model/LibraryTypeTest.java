@@ -0,0 +1,50 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** LibraryTypeのテスト */
+@FastTest
+class LibraryTypeTest {
+
+  @Test
+  void 型記述子を単純名のシグネチャに変換する() {
+    // Arrange
+    var method =
+        new LibraryType.Member(
+            LibraryType.Member.Kind.METHOD, "substring", "(II)Ljava/lang/String;", 0x0001);
+    var arrays =
+        new LibraryType.Member(
+            LibraryType.Member.Kind.METHOD,
+            "format",
+            "(Ljava/lang/String;[Ljava/lang/Object;)Ljava/lang/String;",
+            0x0089);
+    var field = new LibraryType.Member(LibraryType.Member.Kind.FIELD, "MAX_VALUE", "I", 0x0019);
+    var constructor =
+        new LibraryType.Member(
+            LibraryType.Member.Kind.METHOD, "<init>", "([CLjava/util/Map$Entry;)V", 0x0001);
+
+    // Act & Assert
+    assertThat(method.signature()).isEqualTo("String substring(int, int)");
+    assertThat(arrays.signature()).isEqualTo("String format(String, Object[])");
+    assertThat(field.signature()).isEqualTo("int MAX_VALUE");
+    assertThat(constructor.signature()).isEqualTo("(char[], Entry)");
+    assertThat(constructor.isConstructor()).isTrue();
+  }
+
+  @Test
+  void ネストしたクラスの単純名とパッケージ名を返す() {
+    // Arrange
+    var type =
+        new LibraryType("java.util.Map$Entry", LibraryType.ACC_INTERFACE | 0x0001, null, List.of());
+
+    // Act & Assert
+    assertThat(type.simpleName()).isEqualTo("Entry");
+    assertThat(type.packageName()).isEqualTo("java.util");
+    assertThat(type.isInterface()).isTrue();
+    assertThat(type.isEnum()).isFalse();
+  }
+}
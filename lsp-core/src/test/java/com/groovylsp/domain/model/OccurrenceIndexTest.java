@@ -0,0 +1,134 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import io.vavr.collection.List;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.jupiter.api.Test;
+
+/** OccurrenceIndexのテスト */
+@FastTest
+class OccurrenceIndexTest {
+
+  private static final String URI_A = "file:///test/A.groovy";
+  private static final String URI_B = "file:///test/B.groovy";
+
+  private final SymbolDefinition method =
+      new SymbolDefinition(
+          "run",
+          "Sample.run",
+          SymbolKind.Method,
+          URI_A,
+          range(0, 0, 0, 10),
+          range(0, 0, 0, 10),
+          "Sample",
+          SymbolDefinition.DefinitionType.METHOD);
+
+  private final SymbolDefinition local =
+      new SymbolDefinition(
+          "run",
+          "Sample.main.run",
+          SymbolKind.Variable,
+          URI_B,
+          range(1, 4, 1, 7),
+          range(1, 4, 1, 7),
+          "Sample",
+          SymbolDefinition.DefinitionType.LOCAL_VARIABLE);
+
+  @Test
+  void 差分符号化したポスティングリストを元のオフセットに復元できる() {
+    // Arrange
+    int[] offsets = {0, 5, 127, 128, 300, 70_000, 2_000_000};
+
+    // Act
+    var encoded = OccurrenceIndex.encode(offsets);
+
+    // Assert
+    assertThat(OccurrenceIndex.decode(encoded)).containsExactly(offsets);
+    assertThat(encoded.length).isLessThan(offsets.length * Integer.BYTES);
+  }
+
+  @Test
+  void 複数ファイルの出現位置を行と列に変換して返す() {
+    // Arrange
+    var index = new OccurrenceIndex();
+    index.update(URI_A, table(1, "run()\nrun()\n", 0, 6));
+    index.update(URI_B, table(1, "x\n  run()\n", 4));
+
+    // Act
+    var locations = index.findLocations(method);
+
+    // Assert
+    assertThat(locations)
+        .containsExactlyInAnyOrder(
+            new Location(URI_A, range(0, 0, 0, 3)),
+            new Location(URI_A, range(1, 0, 1, 3)),
+            new Location(URI_B, range(1, 2, 1, 5)));
+    assertThat(index.findRanges(method, URI_B)).containsExactly(range(1, 2, 1, 5));
+  }
+
+  @Test
+  void 更新時はそのファイルの古いポスティングだけを置き換える() {
+    // Arrange
+    var index = new OccurrenceIndex();
+    index.update(URI_A, table(1, "run()\nrun()\n", 0, 6));
+    index.update(URI_B, table(1, "run()\n", 0));
+
+    // Act
+    index.update(URI_A, table(2, "// none\n"));
+
+    // Assert
+    assertThat(index.findLocations(method)).containsExactly(new Location(URI_B, range(0, 0, 0, 3)));
+  }
+
+  @Test
+  void 古いバージョンでは上書きせず削除後は検索されない() {
+    // Arrange
+    var index = new OccurrenceIndex();
+    index.update(URI_A, table(3, "run()\n", 0));
+
+    // Act
+    index.update(URI_A, table(2, "// none\n"));
+
+    // Assert
+    assertThat(index.findRanges(method, URI_A)).containsExactly(range(0, 0, 0, 3));
+
+    // Act
+    index.remove(URI_A);
+
+    // Assert
+    assertThat(index.findLocations(method)).isEmpty();
+    assertThat(index.symbolCount()).isZero();
+  }
+
+  @Test
+  void ローカル変数は同名のメンバーと区別される() {
+    // Arrange
+    var index = new OccurrenceIndex();
+    var table = OccurrenceTable.builder(1, "x\ndef run = 1\n").add(6, List.of(local)).build();
+
+    // Act
+    index.update(URI_B, table);
+
+    // Assert
+    assertThat(OccurrenceIndex.keyOf(local)).isNotEqualTo(OccurrenceIndex.keyOf(method));
+    assertThat(index.findRanges(local, URI_B)).containsExactly(range(1, 4, 1, 7));
+    assertThat(index.findLocations(method)).isEmpty();
+  }
+
+  private OccurrenceTable table(int version, String content, int... offsets) {
+    var builder = OccurrenceTable.builder(version, content);
+    for (int offset : offsets) {
+      builder.add(offset, List.of(method));
+    }
+    return builder.build();
+  }
+
+  private static Range range(int startLine, int startCharacter, int endLine, int endCharacter) {
+    return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+  }
+}
@@ -0,0 +1,62 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import io.vavr.collection.List;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.jupiter.api.Test;
+
+/** OccurrenceTableのテスト */
+@FastTest
+class OccurrenceTableTest {
+
+  private static final String CONTENT = "def value = 1\nprintln value\n";
+
+  private final SymbolDefinition definition =
+      new SymbolDefinition(
+          "value",
+          "Script.value",
+          SymbolKind.Variable,
+          "file:///test.groovy",
+          new Range(new Position(0, 4), new Position(0, 9)),
+          new Range(new Position(0, 4), new Position(0, 9)),
+          "Script",
+          SymbolDefinition.DefinitionType.LOCAL_VARIABLE);
+
+  @Test
+  void 識別子の先頭_途中_直後のどの位置からでも定義を引ける() {
+    // Arrange
+    var table = OccurrenceTable.builder(1, CONTENT).add(22, List.of(definition)).build();
+
+    // Act & Assert
+    assertThat(table.findAt(new Position(1, 8))).containsExactly(definition);
+    assertThat(table.findAt(new Position(1, 10))).containsExactly(definition);
+    assertThat(table.findAt(new Position(1, 13))).containsExactly(definition);
+  }
+
+  @Test
+  void 解決できなかった識別子や範囲外の位置は空を返す() {
+    // Arrange
+    var table = OccurrenceTable.builder(1, CONTENT).add(22, List.of(definition)).build();
+
+    // Act & Assert
+    assertThat(table.findAt(new Position(1, 3))).isEmpty();
+    assertThat(table.findAt(new Position(0, 0))).isEmpty();
+    assertThat(table.findAt(new Position(5, 0))).isEmpty();
+  }
+
+  @Test
+  void 空の定義は登録しない() {
+    // Arrange
+    var table = OccurrenceTable.builder(3, CONTENT).add(4, List.empty()).build();
+
+    // Assert
+    assertThat(table.size()).isZero();
+    assertThat(table.version()).isEqualTo(3);
+    assertThat(table.isFor(CONTENT)).isTrue();
+    assertThat(table.isFor(CONTENT + " ")).isFalse();
+  }
+}
@@ -0,0 +1,52 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.Test;
+
+/** SymbolQueryのテスト */
+@FastTest
+class SymbolQueryTest {
+
+  @Test
+  void 接頭辞の一致は大文字小文字まで一致するものを上位にする() {
+    // Arrange
+    var query = SymbolQuery.of("Person");
+
+    // Act & Assert
+    assertThat(query.rank("PersonService")).isEqualTo(0);
+    assertThat(query.rank("personName")).isEqualTo(1);
+    assertThat(query.rank("Address")).isEqualTo(SymbolQuery.NO_MATCH);
+  }
+
+  @Test
+  void 大文字で区切った検索文字列はキャメルケースの単語の先頭に一致する() {
+    // Arrange
+    var query = SymbolQuery.of("PSe");
+
+    // Act & Assert
+    assertThat(query.rank("PersonService")).isEqualTo(2);
+    assertThat(query.rank("PersonRepositoryServiceImpl")).isEqualTo(2);
+    assertThat(query.matches("PersonRepository")).isFalse();
+    assertThat(query.matches("APersonService")).isFalse();
+  }
+
+  @Test
+  void 小文字だけの検索文字列は単語の頭文字に一致する() {
+    // Arrange
+    var query = SymbolQuery.of("gfn");
+
+    // Act & Assert
+    assertThat(query.matches("getFullName")).isTrue();
+    assertThat(query.matches("MAX_FILE_NAME")).isFalse();
+    assertThat(SymbolQuery.of("mfn").matches("MAX_FILE_NAME")).isTrue();
+    assertThat(query.matches("getName")).isFalse();
+  }
+
+  @Test
+  void 空の検索文字列はすべてに一致する() {
+    // Act & Assert
+    assertThat(SymbolQuery.of("  ").matches("Anything")).isTrue();
+  }
+}
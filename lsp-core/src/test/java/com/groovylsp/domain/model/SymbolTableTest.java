@@ -238,4 +238,46 @@ class SymbolTableTest {
     assertTrue(classMembers.contains(fieldDef));
     assertFalse(classMembers.contains(otherClassMethod));
   }
+
+  @Test
+  void testFindClassesByPrefix() {
+    // Given
+    var range = new Range(new Position(0, 0), new Position(10, 0));
+    var person = classDefinition("file:///Person.groovy", "Person", range);
+    var personService = classDefinition("file:///PersonService.groovy", "PersonService", range);
+    var printer = classDefinition("file:///Printer.groovy", "Printer", range);
+    var personMethod =
+        new SymbolDefinition(
+            "personName",
+            "com.example.Printer.personName",
+            SymbolKind.Method,
+            "file:///Printer.groovy",
+            range,
+            range,
+            "com.example.Printer",
+            SymbolDefinition.DefinitionType.METHOD);
+
+    // When
+    symbolTable.addSymbols(List.of(printer, personService, person, personMethod));
+
+    // Then
+    assertEquals(List.of(person, personService), symbolTable.findClassesByPrefix("pers", 10));
+    assertEquals(List.of(person), symbolTable.findClassesByPrefix("Pers", 1));
+    assertEquals(3, symbolTable.findClassesByPrefix("", 10).size());
+
+    symbolTable.clearFile("file:///Person.groovy");
+    assertEquals(List.of(personService), symbolTable.findClassesByPrefix("pers", 10));
+  }
+
+  private static SymbolDefinition classDefinition(String uri, String name, Range range) {
+    return new SymbolDefinition(
+        name,
+        "com.example." + name,
+        SymbolKind.Class,
+        uri,
+        range,
+        range,
+        null,
+        SymbolDefinition.DefinitionType.CLASS);
+  }
 }
@@ -0,0 +1,118 @@
+package com.groovylsp.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** WorkspaceConfigurationのテスト */
+@FastTest
+class WorkspaceConfigurationTest {
+
+  @Test
+  void 有効な拡張子のファイルだけを対象にする() {
+    // Arrange
+    var configuration = new WorkspaceConfiguration();
+
+    // Act & Assert
+    assertThat(configuration.isTarget(URI.create("file:///work/Person.groovy"))).isTrue();
+    assertThat(configuration.isTarget(URI.create("file:///work/build.gradle"))).isTrue();
+    assertThat(configuration.isTarget(URI.create("file:///work/Person.GROOVY"))).isTrue();
+    assertThat(configuration.isTarget(URI.create("file:///work/Person.java"))).isFalse();
+    assertThat(configuration.isTarget(URI.create("file:///work/.groovy"))).isFalse();
+  }
+
+  @Test
+  void 除外パターンに一致するファイルは対象外にする() {
+    // Arrange
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of("build/**", "*.gradle")));
+    configuration.setWorkspaceRoot(Path.of("/work"));
+
+    // Act & Assert
+    assertThat(configuration.isTarget(URI.create("file:///work/build/Foo.groovy"))).isFalse();
+    assertThat(configuration.isTarget(URI.create("file:///work/settings.gradle"))).isFalse();
+    assertThat(configuration.isTarget(URI.create("file:///work/src/Foo.groovy"))).isTrue();
+  }
+
+  @Test
+  void 除外パターンはワークスペースのルートからの相対パスと照合する() {
+    // Arrange
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(),
+                Set.of("build/**", "**/generated/**")));
+    configuration.setWorkspaceRoot(Path.of("/work"));
+
+    // Act & Assert
+    assertThat(configuration.isTarget(URI.create("file:///work/app/build/Foo.groovy"))).isTrue();
+    assertThat(configuration.isTarget(URI.create("file:///home/build/Foo.groovy"))).isTrue();
+    assertThat(configuration.isTarget(URI.create("file:///work/app/generated/Foo.groovy")))
+        .isFalse();
+    assertThat(configuration.isTarget(URI.create("file:///home/generated/Foo.groovy"))).isFalse();
+  }
+
+  @Test
+  void 文字数が上限を超える内容は字句解析だけにする() {
+    // Arrange
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 100, 1_000));
+
+    // Act & Assert
+    assertThat(configuration.isLexicalOnly("a\n".repeat(50))).isFalse();
+    assertThat(configuration.isLexicalOnly("a\n".repeat(51))).isTrue();
+  }
+
+  @Test
+  void 行の長さが上限を超える内容は字句解析だけにする() {
+    // Arrange
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 1_000, 10));
+
+    // Act & Assert
+    assertThat(configuration.isLexicalOnly("0123456789\n0123456789\r\n0123456789")).isFalse();
+    assertThat(configuration.isLexicalOnly("short\n0123456789A\nshort")).isTrue();
+  }
+
+  @Test
+  void 設定が変わった場合だけリスナーに通知する() {
+    // Arrange
+    var configuration = new WorkspaceConfiguration();
+    var notified = new AtomicInteger();
+    configuration.addListener(notified::incrementAndGet);
+    var excluded =
+        new GroovyLspConfig(GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of("build"));
+
+    // Act
+    configuration.update(GroovyLspConfig.DEFAULT);
+    configuration.update(excluded);
+    configuration.update(excluded);
+    configuration.setWorkspaceRoot(Path.of("/work"));
+    configuration.setWorkspaceRoot(Path.of("/work"));
+
+    // Assert
+    assertThat(notified).hasValue(2);
+    assertThat(configuration.current()).isEqualTo(excluded);
+    assertThat(configuration.isTarget(URI.create("file:///work/build/Foo.groovy"))).isFalse();
+  }
+
+  @Test
+  void 上限を設けない設定は大きな内容も構文解析の対象にする() {
+    // Arrange
+    var configuration = WorkspaceConfiguration.unlimited();
+
+    // Act & Assert
+    assertThat(configuration.isLexicalOnly("x".repeat(2_000_000))).isFalse();
+  }
+}
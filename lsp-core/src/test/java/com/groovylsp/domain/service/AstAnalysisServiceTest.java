@@ -1,11 +1,20 @@
 package com.groovylsp.domain.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.groovylsp.domain.model.ClassInfo;
 import com.groovylsp.domain.model.DiagnosticItem;
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
 import com.groovylsp.testing.FastTest;
+import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,7 +31,9 @@ class AstAnalysisServiceTest {
   @BeforeEach
   void setUp() {
     parser = new GroovyAstParser();
-    service = new AstAnalysisService(parser);
+    service =
+        new AstAnalysisService(
+            new ParseResultCache(parser), new ServerMetrics(), WorkspaceConfiguration.unlimited());
   }
 
   @AfterEach
@@ -422,4 +433,116 @@ class AstAnalysisServiceTest {
               "java.util.List", "java.util.Map", "groovy.transform.CompileStatic");
     }
   }
+
+  @Nested
+  @DisplayName("AST情報の保持")
+  class SummaryRetention {
+
+    private static final String URI = "file:///test/Summary.groovy";
+    private static final String SOURCE = "class Summary { void run() {} }";
+
+    @Test
+    @DisplayName("ASTが破棄されても内容が同じならAST情報を再パースせずに返す")
+    void returnSummaryAfterAstEviction() {
+      // given
+      var spiedParser = spy(parser);
+      var parseResultCache = new ParseResultCache(spiedParser);
+      var retainingService =
+          new AstAnalysisService(
+              parseResultCache, new ServerMetrics(), WorkspaceConfiguration.unlimited());
+      var first = retainingService.analyze(URI, SOURCE).get();
+      parseResultCache.trim(0);
+
+      // when
+      var second = retainingService.analyze(URI, SOURCE);
+
+      // then
+      assertThat(second.get()).isSameAs(first);
+      verify(spiedParser, times(1)).parse(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("内容が変わった場合と閉じた場合は再パースする")
+    void reparseAfterChangeOrRelease() {
+      // given
+      var spiedParser = spy(parser);
+      var retainingService =
+          new AstAnalysisService(
+              new ParseResultCache(spiedParser),
+              new ServerMetrics(),
+              WorkspaceConfiguration.unlimited());
+
+      // when
+      retainingService.analyze(URI, SOURCE);
+      var changed = retainingService.analyze(URI, SOURCE + "\nclass Other {}");
+      retainingService.release(URI);
+      retainingService.analyze(URI, SOURCE);
+
+      // then
+      assertThat(changed.get().classes()).hasSize(2);
+      verify(spiedParser, times(3)).parse(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("メモリの逼迫でAST情報を破棄した後は再パースする")
+    void reparseAfterTrimSummaries() {
+      // given
+      var spiedParser = spy(parser);
+      var parseResultCache = new ParseResultCache(spiedParser);
+      var retainingService =
+          new AstAnalysisService(
+              parseResultCache, new ServerMetrics(), WorkspaceConfiguration.unlimited());
+      retainingService.analyze(URI, SOURCE);
+      parseResultCache.trim(0);
+
+      // when
+      retainingService.trimSummaries();
+      var result = retainingService.analyze(URI, SOURCE);
+
+      // then
+      assertThat(result.get().classes()).hasSize(1);
+      assertThat(retainingService.summaryStats().size()).isEqualTo(1);
+      verify(spiedParser, times(2)).parse(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("キャッシュを使わない解析はASTもAST情報も保持しない")
+    void analyzeUncachedDoesNotRetain() {
+      // given
+      var spiedParser = spy(parser);
+      var parseResultCache = new ParseResultCache(spiedParser);
+      var retainingService =
+          new AstAnalysisService(
+              parseResultCache, new ServerMetrics(), WorkspaceConfiguration.unlimited());
+
+      // when
+      var result = retainingService.analyzeUncached(URI, SOURCE);
+      retainingService.analyze(URI, SOURCE);
+
+      // then
+      assertThat(result.get().classes()).hasSize(1);
+      assertThat(parseResultCache.stats().hitCount()).isZero();
+      verify(spiedParser, times(2)).parse(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("上限を超える内容はキャッシュを参照せずに構文解析を省略する")
+    void skipLexicalOnlyBeforeCaches() {
+      // given
+      var configuration = new WorkspaceConfiguration();
+      var retainingService =
+          new AstAnalysisService(new ParseResultCache(parser), new ServerMetrics(), configuration);
+      retainingService.analyze(URI, SOURCE);
+
+      // when
+      configuration.update(
+          new GroovyLspConfig(
+              GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 10, 1_000));
+      var result = retainingService.analyze(URI, SOURCE);
+
+      // then
+      assertThat(result.isLeft()).isTrue();
+      assertThat(retainingService.summaryStats().hitCount()).isZero();
+    }
+  }
 }
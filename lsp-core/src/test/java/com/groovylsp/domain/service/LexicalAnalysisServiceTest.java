@@ -0,0 +1,184 @@
+package com.groovylsp.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.model.DiagnosticItem;
+import com.groovylsp.domain.model.FoldingRegion;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@FastTest
+class LexicalAnalysisServiceTest {
+
+  private LexicalAnalysisService lexicalAnalysisService;
+
+  @BeforeEach
+  void setUp() {
+    lexicalAnalysisService =
+        new LexicalAnalysisService(new BracketValidationService(), new ServerMetrics());
+  }
+
+  @Test
+  void 空のコンテンツの場合は空の結果を返す() {
+    var result = lexicalAnalysisService.analyze("");
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().lineCount().totalLines()).isEqualTo(0);
+    assertThat(result.get().bracketDiagnostics()).isEmpty();
+  }
+
+  @Test
+  void 混在したコンテンツを正しくカウントできる() {
+    var content =
+        """
+        // Groovyのサンプルコード
+        class HelloWorld {
+
+            /* メインメソッド */
+            static void main(String[] args) {
+                // 挨拶を出力
+                println 'Hello, World!'
+            }
+
+        }
+        """;
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    var lineCount = result.get().lineCount();
+    assertThat(lineCount.totalLines()).isEqualTo(11);
+    assertThat(lineCount.blankLines()).isEqualTo(3);
+    assertThat(lineCount.commentLines()).isEqualTo(3);
+    assertThat(lineCount.codeLines()).isEqualTo(5);
+  }
+
+  @Test
+  void インラインコメントを含む行はコード行として扱う() {
+    var content = "/* inline comment */ println 'Hello' // 末尾コメント";
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    var lineCount = result.get().lineCount();
+    assertThat(lineCount.totalLines()).isEqualTo(1);
+    assertThat(lineCount.commentLines()).isEqualTo(0);
+    assertThat(lineCount.codeLines()).isEqualTo(1);
+  }
+
+  @Test
+  void 文字列リテラル内のコメント記号はコメントとして扱わない() {
+    var content = "def url = 'http://example.com'\ndef pattern = \"/* not a comment */\"";
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    var lineCount = result.get().lineCount();
+    assertThat(lineCount.totalLines()).isEqualTo(2);
+    assertThat(lineCount.commentLines()).isEqualTo(0);
+    assertThat(lineCount.codeLines()).isEqualTo(2);
+  }
+
+  @Test
+  void 複数行コメントの終了後にコードがある行はコード行として扱う() {
+    var content = "/*\n * comment\n\n */ code";
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    var lineCount = result.get().lineCount();
+    assertThat(lineCount.totalLines()).isEqualTo(4);
+    assertThat(lineCount.commentLines()).isEqualTo(2);
+    assertThat(lineCount.blankLines()).isEqualTo(1);
+    assertThat(lineCount.codeLines()).isEqualTo(1);
+  }
+
+  @Test
+  void Windows形式の改行コードを正しく処理できる() {
+    var result = lexicalAnalysisService.analyze("line1\r\nline2\r\nline3");
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().lineCount().totalLines()).isEqualTo(3);
+    assertThat(result.get().lineCount().codeLines()).isEqualTo(3);
+  }
+
+  @Test
+  void 括弧の対応エラーを同じ走査で検出する() {
+    var content = "def list = [1, 2, 3\ndef s = '(not a bracket'";
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().bracketDiagnostics())
+        .singleElement()
+        .satisfies(
+            diagnostic -> {
+              assertThat(diagnostic.severity()).isEqualTo(DiagnosticItem.DiagnosticSeverity.ERROR);
+              assertThat(diagnostic.message()).isEqualTo("閉じ括弧 ']' が不足しています");
+              assertThat(diagnostic.startPosition().line()).isEqualTo(0);
+              assertThat(diagnostic.startPosition().character()).isEqualTo(11);
+            });
+  }
+
+  @Test
+  void 複数行にまたがる括弧のペアを閉じ括弧の前の行まで折りたたむ() {
+    var content =
+        """
+        class Sample {
+            def list = [1,
+                2]
+            void run() {
+                println 'run'
+            }
+        }
+        """;
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().foldingRegions())
+        .containsExactly(
+            new FoldingRegion(0, 5, FoldingRegion.Kind.BLOCK),
+            new FoldingRegion(3, 4, FoldingRegion.Kind.BLOCK));
+  }
+
+  @Test
+  void ブロックコメントと連続したインポート文を折りたたみ領域にする() {
+    var content =
+        """
+        /*
+         * ライセンス
+         */
+        package sample
+
+        import java.util.List
+        import java.util.Map
+
+        // 区切り
+        import static java.lang.Math.max
+        def x = 1
+        import java.io.File
+        """;
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().foldingRegions())
+        .containsExactly(
+            new FoldingRegion(0, 2, FoldingRegion.Kind.COMMENT),
+            new FoldingRegion(5, 9, FoldingRegion.Kind.IMPORTS));
+  }
+
+  @Test
+  void 同じ行から始まる折りたたみ領域は外側だけを残す() {
+    var content = "call([\n  1,\n  2\n],\n  3\n)";
+
+    var result = lexicalAnalysisService.analyze(content);
+
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().foldingRegions())
+        .containsExactly(new FoldingRegion(0, 4, FoldingRegion.Kind.BLOCK));
+  }
+}
@@ -0,0 +1,36 @@
+package com.groovylsp.domain.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Fnv1aHashのテスト")
+class Fnv1aHashTest {
+
+  @Test
+  @FastTest
+  @DisplayName("1バイトの取り込みはFNV-1aの既知の値と一致する")
+  void appendByteMatchesKnownValue() {
+    assertThat(Fnv1aHash.appendByte(Fnv1aHash.OFFSET_BASIS, 'a')).isEqualTo(0xaf63dc4c8601ec8cL);
+  }
+
+  @Test
+  @FastTest
+  @DisplayName("文字は下位バイトと上位バイトの2バイトとして取り込む")
+  void appendsCharAsTwoBytes() {
+    long expected = Fnv1aHash.appendByte(Fnv1aHash.appendByte(Fnv1aHash.OFFSET_BASIS, 0x61), 0);
+
+    assertThat(Fnv1aHash.hash("a")).isEqualTo(expected).isEqualTo(0x089be207b544f1e4L);
+    assertThat(Fnv1aHash.hash("")).isEqualTo(Fnv1aHash.OFFSET_BASIS);
+  }
+
+  @Test
+  @FastTest
+  @DisplayName("分けて取り込んでもまとめて計算した値と一致する")
+  void appendIsIncremental() {
+    assertThat(Fnv1aHash.append(Fnv1aHash.hash("class "), "Sample"))
+        .isEqualTo(Fnv1aHash.hash("class Sample"));
+  }
+}
@@ -4,12 +4,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.groovylsp.domain.model.ScopeManager;
 import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import com.groovylsp.domain.service.AstAnalysisService;
 import com.groovylsp.domain.service.SymbolTableBuilderService;
 import com.groovylsp.domain.service.TypeInfoService;
+import com.groovylsp.infrastructure.classpath.ClassResolutionCache;
+import com.groovylsp.infrastructure.classpath.MappedTypeIndexService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.DocumentContentService;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
 import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
 import com.groovylsp.infrastructure.symbol.GroovySymbolTableBuilderService;
 import com.groovylsp.testing.FastTest;
@@ -34,10 +39,19 @@ class GroovyFieldTypeDebugTest {
     var scopeManager = new ScopeManager();
     TextDocumentRepository repository = new InMemoryTextDocumentRepository();
     var documentContentService = new DocumentContentService(repository);
-    astAnalysisService = new AstAnalysisService(parser);
+    astAnalysisService =
+        new AstAnalysisService(
+            new ParseResultCache(parser), new ServerMetrics(), WorkspaceConfiguration.unlimited());
     typeInfoService =
         new GroovyTypeInfoService(
-            parser, symbolTable, scopeManager, documentContentService, astAnalysisService);
+            parser,
+            symbolTable,
+            scopeManager,
+            documentContentService,
+            astAnalysisService,
+            MappedTypeIndexService.disabled(),
+            new ClassResolutionCache(MappedTypeIndexService.disabled()),
+            new ServerMetrics());
     symbolTableBuilderService = new GroovySymbolTableBuilderService();
   }
 
@@ -0,0 +1,130 @@
+package com.groovylsp.infrastructure.ast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.testing.FastTest;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SelectionRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** GroovySelectionRangeServiceのテスト */
+@FastTest
+class GroovySelectionRangeServiceTest {
+
+  private static final String URI = "file:///test/Sample.groovy";
+
+  private static final String SOURCE =
+      """
+      class Sample {
+          int add(int a, int b) {
+              return a + b
+          }
+      }
+      """;
+
+  private GroovyAstParser parser;
+  private ParseResultCache parseResultCache;
+  private GroovySelectionRangeService service;
+
+  @BeforeEach
+  void setUp() {
+    parser = spy(new GroovyAstParser());
+    parseResultCache = new ParseResultCache(parser);
+    service = new GroovySelectionRangeService(parseResultCache);
+  }
+
+  @Test
+  void 位置を含むノードの範囲が内側から外側へ連結される() {
+    // Act
+    var result = service.getSelectionRanges(URI, SOURCE, List.of(new Position(2, 15)));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    var ranges = flatten(result.get().get(0));
+    // 変数a → 二項演算 → return文 → メソッド本体 → メソッド → クラス → ドキュメント全体
+    assertThat(ranges.get(0)).isEqualTo(range(2, 15, 2, 16));
+    assertThat(ranges.get(1)).isEqualTo(range(2, 15, 2, 20));
+    assertThat(ranges).contains(range(0, 0, 4, 1));
+    assertThat(ranges.get(ranges.size() - 1)).isEqualTo(range(0, 0, 5, 0));
+    for (int i = 1; i < ranges.size(); i++) {
+      assertThat(contains(ranges.get(i), ranges.get(i - 1))).isTrue();
+      assertThat(ranges.get(i)).isNotEqualTo(ranges.get(i - 1));
+    }
+  }
+
+  @Test
+  void 複数の位置に対して同じ順序で結果を返す() {
+    // Act
+    var result =
+        service.getSelectionRanges(URI, SOURCE, List.of(new Position(1, 16), new Position(2, 19)));
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get()).hasSize(2);
+    assertThat(result.get().get(0).getRange()).isEqualTo(range(1, 12, 1, 17));
+    assertThat(result.get().get(1).getRange()).isEqualTo(range(2, 19, 2, 20));
+  }
+
+  @Test
+  void 解析済みの内容に対しては再パースしない() {
+    // Arrange
+    new AstAnalysisService(
+            parseResultCache, new ServerMetrics(), WorkspaceConfiguration.unlimited())
+        .analyze(URI, SOURCE);
+
+    // Act
+    service.getSelectionRanges(URI, SOURCE, List.of(new Position(2, 15)));
+    service.getSelectionRanges(URI, SOURCE, List.of(new Position(1, 4)));
+
+    // Assert
+    verify(parser, times(1)).parse(anyString(), anyString());
+  }
+
+  @Test
+  void 内容が変わった場合とキャッシュを破棄した場合は再パースする() {
+    // Act
+    service.getSelectionRanges(URI, SOURCE, List.of(new Position(0, 0)));
+    service.getSelectionRanges(URI, SOURCE + "\n", List.of(new Position(0, 0)));
+    service.invalidate(URI);
+    service.getSelectionRanges(URI, SOURCE + "\n", List.of(new Position(0, 0)));
+
+    // Assert
+    verify(parser, times(3)).parse(anyString(), anyString());
+  }
+
+  private static List<Range> flatten(SelectionRange selectionRange) {
+    var ranges = new ArrayList<Range>();
+    for (var current = selectionRange; current != null; current = current.getParent()) {
+      ranges.add(current.getRange());
+    }
+    return ranges;
+  }
+
+  private static boolean contains(Range outer, Range inner) {
+    return compare(outer.getStart(), inner.getStart()) <= 0
+        && compare(inner.getEnd(), outer.getEnd()) <= 0;
+  }
+
+  private static int compare(Position a, Position b) {
+    return a.getLine() != b.getLine()
+        ? Integer.compare(a.getLine(), b.getLine())
+        : Integer.compare(a.getCharacter(), b.getCharacter());
+  }
+
+  private static Range range(int startLine, int startCharacter, int endLine, int endCharacter) {
+    return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+  }
+}
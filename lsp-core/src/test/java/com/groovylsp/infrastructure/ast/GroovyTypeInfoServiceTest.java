@@ -3,17 +3,30 @@ package com.groovylsp.infrastructure.ast;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.groovylsp.domain.model.LibraryType;
 import com.groovylsp.domain.model.ScopeManager;
 import com.groovylsp.domain.model.SymbolTable;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
 import com.groovylsp.domain.repository.TextDocumentRepository;
 import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.domain.service.TypeIndexService;
 import com.groovylsp.domain.service.TypeInfoService;
+import com.groovylsp.infrastructure.classpath.ClassResolutionCache;
+import com.groovylsp.infrastructure.classpath.MappedTypeIndexService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.DocumentContentService;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
 import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
 import com.groovylsp.testing.FastTest;
 import io.vavr.control.Either;
+import io.vavr.control.Option;
+import java.net.URI;
+import java.util.List;
 import org.eclipse.lsp4j.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,10 +47,72 @@ class GroovyTypeInfoServiceTest {
     scopeManager = new ScopeManager();
     TextDocumentRepository repository = new InMemoryTextDocumentRepository();
     documentContentService = new DocumentContentService(repository);
-    var astAnalysisService = new AstAnalysisService(parser);
+    var astAnalysisService =
+        new AstAnalysisService(
+            new ParseResultCache(parser), new ServerMetrics(), WorkspaceConfiguration.unlimited());
     service =
         new GroovyTypeInfoService(
-            parser, symbolTable, scopeManager, documentContentService, astAnalysisService);
+            parser,
+            symbolTable,
+            scopeManager,
+            documentContentService,
+            astAnalysisService,
+            MappedTypeIndexService.disabled(),
+            new ClassResolutionCache(MappedTypeIndexService.disabled()),
+            new ServerMetrics());
+  }
+
+  @Test
+  void スターインポートしたライブラリの型の情報を型の索引から取得できる() {
+    // given
+    String uri = "file:///test/Sample.groovy";
+    String content =
+        """
+        import java.util.concurrent.*
+
+        def unit = TimeUnit
+        """;
+    var parser = new GroovyAstParser();
+    var repository = new InMemoryTextDocumentRepository();
+    repository.save(new TextDocument(URI.create(uri), "groovy", 1, content));
+    var typeIndexService = mock(TypeIndexService.class);
+    when(typeIndexService.isReady()).thenReturn(true);
+    when(typeIndexService.findClass("java.util.concurrent.TimeUnit"))
+        .thenReturn(
+            Option.of(
+                new LibraryType(
+                    "java.util.concurrent.TimeUnit",
+                    LibraryType.ACC_ENUM | 0x0001,
+                    "java.lang.Enum",
+                    List.of(
+                        new LibraryType.Member(
+                            LibraryType.Member.Kind.METHOD, "toMillis", "(J)J", 0x0001)))));
+    var libraryAwareService =
+        new GroovyTypeInfoService(
+            parser,
+            new SymbolTable(),
+            new ScopeManager(),
+            new DocumentContentService(repository),
+            new AstAnalysisService(
+                new ParseResultCache(parser),
+                new ServerMetrics(),
+                WorkspaceConfiguration.unlimited()),
+            typeIndexService,
+            new ClassResolutionCache(typeIndexService),
+            new ServerMetrics());
+
+    // when - "TimeUnit"にカーソルを合わせる
+    Either<String, TypeInfoService.TypeInfo> result =
+        libraryAwareService.getTypeInfoAt(uri, content, new Position(2, 13));
+
+    // then
+    assertTrue(result.isRight(), () -> result.getLeft());
+    TypeInfoService.TypeInfo typeInfo = result.get();
+    assertEquals("java.util.concurrent.TimeUnit", typeInfo.type());
+    assertEquals(TypeInfoService.TypeInfo.Kind.ENUM, typeInfo.kind());
+    assertNotNull(typeInfo.documentation());
+    assertTrue(typeInfo.documentation().contains("extends Enum"));
+    assertTrue(typeInfo.documentation().contains("long toMillis(long)"));
   }
 
   @Test
@@ -64,6 +139,44 @@ class GroovyTypeInfoServiceTest {
     assertEquals(TypeInfoService.TypeInfo.Kind.LOCAL_VARIABLE, typeInfo.kind());
   }
 
+  @Test
+  void 複数の位置の型情報を一度に取得すると個別に取得した結果と一致する() {
+    // given
+    String content =
+        """
+        def main() {
+            String name = "test"
+            int age = 20
+        }
+        """;
+    var positions = List.of(new Position(1, 11), new Position(2, 8));
+
+    // when
+    var results = service.getTypeInfosAt("test.groovy", content, positions, () -> false);
+
+    // then
+    assertEquals(2, results.size());
+    for (var position : positions) {
+      assertEquals(
+          service.getTypeInfoAt("test.groovy", content, position).get(),
+          results.get(position).get());
+    }
+    assertEquals("String", results.get(positions.get(0)).get().type());
+  }
+
+  @Test
+  void 打ち切られた場合は残りの位置を解析しない() {
+    // given
+    String content = "def main() { String name = 'test' }";
+
+    // when
+    var results =
+        service.getTypeInfosAt("test.groovy", content, List.of(new Position(0, 20)), () -> true);
+
+    // then
+    assertTrue(results.isEmpty());
+  }
+
   @Test
   void プリミティブ型の変数の型情報を取得できる() {
     // given
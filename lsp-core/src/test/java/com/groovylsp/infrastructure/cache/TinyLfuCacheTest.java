@@ -0,0 +1,169 @@
+package com.groovylsp.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** TinyLfuCacheのテスト */
+@FastTest
+class TinyLfuCacheTest {
+
+  @Test
+  void 読み込んだ値を再利用しヒットとミスを数える() {
+    // Arrange
+    var cache = new TinyLfuCache<String, Integer>(100);
+    var loads = new AtomicInteger();
+
+    // Act
+    int first = cache.get("a", key -> loads.incrementAndGet());
+    int second = cache.get("a", key -> loads.incrementAndGet());
+
+    // Assert
+    assertThat(first).isEqualTo(1);
+    assertThat(second).isEqualTo(1);
+    assertThat(loads).hasValue(1);
+    assertThat(cache.stats())
+        .extracting(CacheStats::hitCount, CacheStats::missCount, CacheStats::size)
+        .containsExactly(1L, 1L, 1L);
+    assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void peekはヒットとミスを数えずに値を返す() {
+    // Arrange
+    var cache = new TinyLfuCache<String, Integer>(100);
+    cache.put("a", 1);
+
+    // Act
+    var present = cache.peek("a");
+    var absent = cache.peek("b");
+
+    // Assert
+    assertThat(present).isEqualTo(1);
+    assertThat(absent).isNull();
+    assertThat(cache.stats())
+        .extracting(CacheStats::hitCount, CacheStats::missCount)
+        .containsExactly(0L, 0L);
+  }
+
+  @Test
+  void 最大件数を超えると追い出して件数を数える() {
+    // Arrange
+    var cache = new TinyLfuCache<Integer, Integer>(64);
+
+    // Act
+    for (int i = 0; i < 1_000; i++) {
+      cache.put(i, i);
+    }
+
+    // Assert
+    assertThat(cache.size()).isLessThanOrEqualTo(64);
+    assertThat(cache.stats().evictionCount()).isEqualTo(1_000 - cache.size());
+  }
+
+  @Test
+  void 頻繁に参照されるエントリは一度きりの走査で追い出されない() {
+    // Arrange
+    var cache = new TinyLfuCache<Integer, Integer>(100);
+    for (int i = 0; i < 10; i++) {
+      cache.put(i, i);
+    }
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 10; i++) {
+        cache.getIfPresent(i);
+      }
+    }
+
+    // Act
+    for (int i = 1_000; i < 3_000; i++) {
+      cache.put(i, i);
+    }
+
+    // Assert
+    for (int i = 0; i < 10; i++) {
+      assertThat(cache.getIfPresent(i)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void 有効期限を過ぎた値は破棄して読み込み直す() {
+    // Arrange
+    var now = new AtomicLong();
+    var cache =
+        new TinyLfuCache<String, String>(
+            10, value -> value.isEmpty() ? 100 : TinyLfuCache.NO_EXPIRATION, now::get);
+    cache.put("missing", "");
+    cache.put("found", "value");
+
+    // Act
+    now.set(100);
+    var expired = cache.getIfPresent("missing");
+    var reloaded = cache.get("missing", key -> "now found");
+
+    // Assert
+    assertThat(expired).isNull();
+    assertThat(reloaded).isEqualTo("now found");
+    assertThat(cache.getIfPresent("found")).isEqualTo("value");
+    assertThat(cache.stats().expirationCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 破棄したキーは取得できない() {
+    // Arrange
+    var cache = new TinyLfuCache<String, String>(10);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    // Act
+    cache.invalidate("a");
+    var afterInvalidate = cache.getIfPresent("a");
+    cache.invalidateAll();
+
+    // Assert
+    assertThat(afterInvalidate).isNull();
+    assertThat(cache.getIfPresent("b")).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void 複数スレッドから同時に使用しても上限と値の整合性を保つ() throws Exception {
+    // Arrange
+    var cache = new TinyLfuCache<Integer, Integer>(256);
+    var executor = Executors.newFixedThreadPool(8);
+
+    // Act
+    try {
+      var futures = new ArrayList<Future<?>>();
+      for (int thread = 0; thread < 8; thread++) {
+        int seed = thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 20_000; i++) {
+                    int key = (i * 31 + seed) % 2_000;
+                    assertThat(cache.get(key, k -> k * 2)).isEqualTo(key * 2);
+                    if (i % 97 == 0) {
+                      cache.invalidate(key);
+                    }
+                  }
+                }));
+      }
+      for (var future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Assert
+    assertThat(cache.size()).isLessThanOrEqualTo(256);
+    assertThat(cache.stats().requestCount()).isEqualTo(8L * 20_000);
+  }
+}
@@ -0,0 +1,73 @@
+package com.groovylsp.infrastructure.classpath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.groovylsp.domain.service.TypeIndexService;
+import com.groovylsp.testing.FastTest;
+import java.util.concurrent.atomic.AtomicLong;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.junit.jupiter.api.Test;
+
+/** ClassResolutionCacheのテスト */
+@FastTest
+class ClassResolutionCacheTest {
+
+  @Test
+  void 索引の構築中はクラスをロードして存在を判定する() {
+    // Arrange
+    var cache = new ClassResolutionCache(MappedTypeIndexService.disabled());
+
+    // Act & Assert
+    assertThat(cache.exists("java.util.concurrent.TimeUnit")).isTrue();
+    assertThat(cache.exists("com.example.Missing")).isFalse();
+    assertThat(cache.exists("java.util.concurrent.TimeUnit")).isTrue();
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 索引が利用可能な場合は索引から解決しClassNodeを共有する() {
+    // Arrange
+    var typeIndexService = mock(TypeIndexService.class);
+    when(typeIndexService.isReady()).thenReturn(true);
+    when(typeIndexService.containsClass("com.example.Library")).thenReturn(true);
+    var cache = new ClassResolutionCache(typeIndexService);
+
+    // Act
+    var first = cache.classNode("com.example.Library");
+    var second = cache.classNode("com.example.Library");
+    var unknown = cache.classNode("Unknown");
+
+    // Assert
+    assertThat(first).isSameAs(second);
+    assertThat(first.getName()).isEqualTo("com.example.Library");
+    assertThat(unknown.getSuperClass()).isEqualTo(ClassHelper.OBJECT_TYPE);
+    assertThat(cache.exists("com.example.Library")).isTrue();
+    verify(typeIndexService, times(1)).containsClass("com.example.Library");
+  }
+
+  @Test
+  void 見つからなかった結果は有効期限が過ぎると解決し直す() {
+    // Arrange
+    var now = new AtomicLong();
+    var typeIndexService = mock(TypeIndexService.class);
+    when(typeIndexService.isReady()).thenReturn(true);
+    when(typeIndexService.containsClass("com.example.Generated")).thenReturn(false, true);
+    var cache = new ClassResolutionCache(typeIndexService, now::get);
+
+    // Act
+    boolean before = cache.exists("com.example.Generated");
+    boolean cached = cache.exists("com.example.Generated");
+    now.addAndGet(ClassResolutionCache.NEGATIVE_TTL.toNanos());
+    boolean after = cache.exists("com.example.Generated");
+
+    // Assert
+    assertThat(before).isFalse();
+    assertThat(cached).isFalse();
+    assertThat(after).isTrue();
+    assertThat(cache.stats().expirationCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,142 @@
+package com.groovylsp.infrastructure.classpath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.model.LibraryType;
+import com.groovylsp.domain.service.TypeIndexService.PackageChild;
+import com.groovylsp.testing.FastTest;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** MappedTypeIndexServiceのテスト */
+@FastTest
+class MappedTypeIndexServiceTest {
+
+  // JDKのクラスファイルをjarに詰めて索引の対象とする
+  private static final List<String> CLASSES =
+      List.of(
+          "java/lang/String",
+          "java/lang/Integer",
+          "java/util/List",
+          "java/util/ArrayList",
+          "java/util/Map",
+          "java/util/Map$Entry",
+          "java/util/concurrent/TimeUnit",
+          "java/util/concurrent/atomic/AtomicLong");
+
+  @TempDir Path temporaryDirectory;
+
+  @Test
+  void 構築が完了するまでは見つからない扱いになる() {
+    // Arrange
+    var service = MappedTypeIndexService.disabled();
+
+    // Act
+    service.startIndexing().join();
+
+    // Assert
+    assertThat(service.isReady()).isFalse();
+    assertThat(service.containsClass("java.lang.String")).isFalse();
+    assertThat(service.findClass("java.lang.String").isEmpty()).isTrue();
+  }
+
+  @Test
+  void jarのクラスファイルから型とメンバーを索引化する() throws Exception {
+    // Arrange
+    var service = createService(createJar());
+
+    // Act
+    service.startIndexing().get(30, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(service.isReady()).isTrue();
+    assertThat(service.containsClass("java.util.Map$Entry")).isTrue();
+    assertThat(service.containsClass("java.util.Missing")).isFalse();
+
+    var string = service.findClass("java.lang.String").get();
+    assertThat(string.simpleName()).isEqualTo("String");
+    assertThat(string.members())
+        .extracting(LibraryType.Member::signature)
+        .contains("String substring(int, int)", "int length()")
+        .doesNotContain("void <clinit>()");
+    assertThat(service.findClass("java.util.concurrent.TimeUnit").get().isEnum()).isTrue();
+    assertThat(service.findClass("java.util.List").get().isInterface()).isTrue();
+  }
+
+  @Test
+  void 単純名とパッケージの子要素を検索できる() throws Exception {
+    // Arrange
+    var service = createService(createJar());
+    service.startIndexing().get(30, TimeUnit.SECONDS);
+
+    // Act
+    var entries = service.findClassesBySimpleName("Entry");
+    var children = service.findPackageChildren("java.util", "", 10);
+    var prefixed = service.findPackageChildren("java.util", "co", 10);
+    var topLevel = service.findPackageChildren("", "", 10);
+
+    // Assert
+    assertThat(entries).containsExactly("java.util.Map$Entry");
+    assertThat(children)
+        .containsExactly(
+            new PackageChild("ArrayList", "java.util.ArrayList", false),
+            new PackageChild("List", "java.util.List", false),
+            new PackageChild("Map", "java.util.Map", false),
+            new PackageChild("concurrent", "java.util.concurrent", true));
+    assertThat(prefixed)
+        .containsExactly(new PackageChild("concurrent", "java.util.concurrent", true));
+    assertThat(topLevel).containsExactly(new PackageChild("java", "java", true));
+  }
+
+  @Test
+  void クラスパスが変わらなければ索引ファイルを再利用する() throws Exception {
+    // Arrange
+    var jar = createJar();
+    var cacheDirectory = temporaryDirectory.resolve("cache");
+    createService(jar).startIndexing().get(30, TimeUnit.SECONDS);
+    List<Path> first;
+    try (var files = Files.list(cacheDirectory)) {
+      first = files.toList();
+    }
+
+    // Act
+    var reopened = createService(jar);
+    reopened.startIndexing().get(30, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(first).singleElement().satisfies(path -> assertThat(path).hasExtension("idx"));
+    try (var files = Files.list(cacheDirectory)) {
+      assertThat(files.toList()).isEqualTo(first);
+    }
+    assertThat(reopened.containsClass("java.util.ArrayList")).isTrue();
+  }
+
+  private MappedTypeIndexService createService(Path jar) {
+    return new MappedTypeIndexService(
+        temporaryDirectory.resolve("cache"), () -> List.of(ClasspathSource.jar(jar)));
+  }
+
+  private Path createJar() throws IOException {
+    var jar = temporaryDirectory.resolve("library.jar");
+    if (Files.exists(jar)) {
+      return jar;
+    }
+    try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+      for (var name : CLASSES) {
+        try (var in = ClassLoader.getSystemResourceAsStream(name + ".class")) {
+          out.putNextEntry(new ZipEntry(name + ".class"));
+          out.write(in.readAllBytes());
+          out.closeEntry();
+        }
+      }
+    }
+    return jar;
+  }
+}
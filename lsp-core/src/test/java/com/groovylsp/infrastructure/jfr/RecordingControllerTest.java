@@ -0,0 +1,72 @@
+package com.groovylsp.infrastructure.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.testing.FastTest;
+import java.nio.file.Path;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** RecordingControllerのテスト */
+@FastTest
+class RecordingControllerTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void 記録中のパースがイベントとしてファイルに書き出される() throws Exception {
+    // Arrange
+    var controller = new RecordingController(new ServerMetrics(), tempDir);
+    var destination = tempDir.resolve("parse.jfr");
+    var parser = new GroovyAstParser();
+
+    // Act
+    var started = controller.start(destination.toString());
+    parser.parse("Sample.groovy", "class Sample { void run() { } }");
+    var stopped = controller.stop();
+
+    // Assert
+    assertThat(started.isRight()).isTrue();
+    assertThat(started.get().recording()).isTrue();
+    assertThat(stopped.get().recording()).isFalse();
+    assertThat(stopped.get().destination()).isEqualTo(destination.toString());
+    var parseEvents =
+        RecordingFile.readAllEvents(destination).stream()
+            .filter(event -> event.getEventType().getName().equals("com.groovylsp.Parse"))
+            .toList();
+    assertThat(parseEvents)
+        .extracting((RecordedEvent event) -> event.getString("fileName"))
+        .contains("Sample.groovy");
+  }
+
+  @Test
+  void 記録中に再度開始するとエラーになる() {
+    // Arrange
+    var controller = new RecordingController(new ServerMetrics(), tempDir);
+    controller.start(null);
+
+    // Act
+    var second = controller.start(null);
+    controller.stop();
+
+    // Assert
+    assertThat(second.isLeft()).isTrue();
+    assertThat(controller.status().recording()).isFalse();
+  }
+
+  @Test
+  void 記録していない状態で停止するとエラーになる() {
+    // Arrange
+    var controller = new RecordingController(new ServerMetrics(), tempDir);
+
+    // Act
+    var result = controller.stop();
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+  }
+}
@@ -0,0 +1,219 @@
+package com.groovylsp.infrastructure.lexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.lexer.Token;
+import com.groovylsp.domain.lexer.TokenType;
+import com.groovylsp.domain.service.BracketValidationService;
+import com.groovylsp.testing.FastTest;
+import io.vavr.collection.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** GroovyLexerのGroovy固有の文字列リテラルのテスト */
+@FastTest
+class GroovyLexerStringTest {
+
+  @Test
+  void testGStringの補間部分はコードとして字句解析される() {
+    // Arrange
+    String source = "\"Hello ${name}!\"";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type))
+        .containsExactly(
+            TokenType.GSTRING_BEGIN, TokenType.IDENTIFIER, TokenType.GSTRING_END, TokenType.EOF);
+    assertThat(tokens.map(Token::text)).containsExactly("\"Hello ${", "name", "}!\"", "");
+  }
+
+  @Test
+  void test複数の補間はGSTRING_PARTで区切られる() {
+    // Arrange
+    String source = "\"${a} and ${b}\"";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type))
+        .containsExactly(
+            TokenType.GSTRING_BEGIN,
+            TokenType.IDENTIFIER,
+            TokenType.GSTRING_PART,
+            TokenType.IDENTIFIER,
+            TokenType.GSTRING_END,
+            TokenType.EOF);
+    assertThat(tokens.get(2).text()).isEqualTo("} and ${");
+  }
+
+  @Test
+  void test補間内のネストした波括弧と文字列を扱える() {
+    // Arrange
+    String source = "\"${list.collect { \"${it}\" }}\" + x";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type))
+        .containsExactly(
+            TokenType.GSTRING_BEGIN,
+            TokenType.IDENTIFIER,
+            TokenType.DOT,
+            TokenType.IDENTIFIER,
+            TokenType.LEFT_BRACE,
+            TokenType.GSTRING_BEGIN,
+            TokenType.IDENTIFIER,
+            TokenType.GSTRING_END,
+            TokenType.RIGHT_BRACE,
+            TokenType.GSTRING_END,
+            TokenType.PLUS,
+            TokenType.IDENTIFIER,
+            TokenType.EOF);
+  }
+
+  @Test
+  void testシングルクォートの文字列では補間しない() {
+    // Arrange
+    String source = "'${notInterpolated}'";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type)).containsExactly(TokenType.STRING_LITERAL, TokenType.EOF);
+  }
+
+  @Test
+  void testトリプルクォート文字列() {
+    // Arrange
+    String source = "def s = '''line1\n'quoted'\nline3'''\ndef t = \"\"\"a ${b} \"c\" \"\"\"";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.get(3).type()).isEqualTo(TokenType.STRING_LITERAL);
+    assertThat(tokens.get(3).text()).isEqualTo("'''line1\n'quoted'\nline3'''");
+    assertThat(tokens.get(4).type()).isEqualTo(TokenType.DEF);
+    assertThat(tokens.get(4).line()).isEqualTo(4);
+    assertThat(tokens.get(4).column()).isEqualTo(1);
+    assertThat(tokens.get(7).type()).isEqualTo(TokenType.GSTRING_BEGIN);
+    assertThat(tokens.get(9).type()).isEqualTo(TokenType.GSTRING_END);
+    assertThat(tokens.get(9).text()).isEqualTo("} \"c\" \"\"\"");
+  }
+
+  @Test
+  void testスラッシュ文字列() {
+    // Arrange
+    String source = "def pattern = /[a-z]+\\/(\\d)/";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.get(3).type()).isEqualTo(TokenType.STRING_LITERAL);
+    assertThat(tokens.get(3).text()).isEqualTo("/[a-z]+\\/(\\d)/");
+  }
+
+  @Test
+  void test値の後のスラッシュは除算として扱う() {
+    // Arrange
+    String source = "def x = a /b/ c";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type))
+        .containsExactly(
+            TokenType.DEF,
+            TokenType.IDENTIFIER,
+            TokenType.ASSIGN,
+            TokenType.IDENTIFIER,
+            TokenType.DIVIDE,
+            TokenType.IDENTIFIER,
+            TokenType.DIVIDE,
+            TokenType.IDENTIFIER,
+            TokenType.EOF);
+  }
+
+  @Test
+  void test閉じられていないスラッシュ文字列の後の除算は走査し直さない() {
+    // Arrange
+    String source = "x = /a + b\\/c + d\\/e";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type)).filteredOn(TokenType.DIVIDE::equals).hasSize(3);
+    assertThat(tokens.map(Token::type)).doesNotContain(TokenType.STRING_LITERAL);
+  }
+
+  @Test
+  @Timeout(value = 5, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+  void test閉じられていない多数のスラッシュは線形時間で字句解析する() {
+    // Arrange
+    String source = "(\\/a\n".repeat(100_000);
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type)).filteredOn(TokenType.DIVIDE::equals).hasSize(100_000);
+  }
+
+  @Test
+  void testドルスラッシュ文字列() {
+    // Arrange
+    String source = "def p = $/C:\\path $$ $/ ${dir}/$";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.map(Token::type))
+        .containsExactly(
+            TokenType.DEF,
+            TokenType.IDENTIFIER,
+            TokenType.ASSIGN,
+            TokenType.GSTRING_BEGIN,
+            TokenType.IDENTIFIER,
+            TokenType.GSTRING_END,
+            TokenType.EOF);
+    assertThat(tokens.get(3).text()).isEqualTo("$/C:\\path $$ $/ ${");
+    assertThat(tokens.get(5).text()).isEqualTo("}/$");
+  }
+
+  @Test
+  void testシバン行はコメントとして扱う() {
+    // Arrange
+    String source = "#!/usr/bin/env groovy\nprintln 'hi'";
+
+    // Act
+    List<Token> tokens = new GroovyLexer(source).tokenize().get();
+
+    // Assert
+    assertThat(tokens.get(0).type()).isEqualTo(TokenType.COMMENT);
+    assertThat(tokens.get(0).text()).isEqualTo("#!/usr/bin/env groovy");
+    assertThat(tokens.get(1).type()).isEqualTo(TokenType.IDENTIFIER);
+    assertThat(tokens.get(1).line()).isEqualTo(2);
+  }
+
+  @Test
+  void testGString内の括弧は括弧の対応チェックの対象外になる() {
+    // Arrange
+    String source = "def s = \"(${items.findAll { it > 0 }.size()} [\"";
+    var tracker = new BracketValidationService().newTracker();
+
+    // Act
+    new GroovyLexer(source).forEachToken(tracker::accept);
+
+    // Assert
+    assertThat(tracker.finish()).isEmpty();
+  }
+}
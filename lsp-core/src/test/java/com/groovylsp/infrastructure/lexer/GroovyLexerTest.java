@@ -267,4 +267,20 @@ class GroovyLexerTest {
     assertThat(xToken.line()).isEqualTo(1);
     assertThat(xToken.column()).isEqualTo(5);
   }
+
+  @Test
+  void testトークンストリームはtokenizeと同じトークンを順に渡す() {
+    // Arrange
+    String source = "def list = [1, 2] // コメント";
+    var streamed = new java.util.ArrayList<Token>();
+
+    // Act
+    Either<String, Integer> result = new GroovyLexer(source).forEachToken(streamed::add);
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get()).isEqualTo(streamed.size());
+    assertThat(streamed).containsExactlyElementsOf(new GroovyLexer(source).tokenize().get());
+    assertThat(streamed.get(streamed.size() - 1).type()).isEqualTo(TokenType.EOF);
+  }
 }
@@ -0,0 +1,45 @@
+package com.groovylsp.infrastructure.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.testing.FastTest;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** MemoryPressureMonitorのテスト */
+@FastTest
+class MemoryPressureMonitorTest {
+
+  @Test
+  void 逼迫するとすべてのリスナーを呼び出す() {
+    // Arrange
+    var monitor = new MemoryPressureMonitor(0.75);
+    var called = new AtomicInteger();
+    monitor.addListener(
+        () -> {
+          throw new IllegalStateException("失敗");
+        });
+    monitor.addListener(called::incrementAndGet);
+
+    // Act
+    monitor.onPressure();
+    monitor.onPressure();
+
+    // Assert
+    assertThat(called).hasValue(2);
+    assertThat(monitor.pressureCount()).isEqualTo(2);
+  }
+
+  @Test
+  void 開始を繰り返しても失敗しない() {
+    // Arrange
+    var monitor = new MemoryPressureMonitor(0.99);
+
+    // Act
+    monitor.start();
+    monitor.start();
+
+    // Assert
+    assertThat(monitor.pressureCount()).isZero();
+  }
+}
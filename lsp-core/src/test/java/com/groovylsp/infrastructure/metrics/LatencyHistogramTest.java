@@ -0,0 +1,83 @@
+package com.groovylsp.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.groovylsp.testing.FastTest;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** LatencyHistogramのテスト */
+@FastTest
+class LatencyHistogramTest {
+
+  @Test
+  void バケットの上限は値以上で相対誤差は約3パーセント以内() {
+    // Arrange
+    long[] values = {0, 1, 31, 32, 63, 64, 1_000, 123_456, 9_876_543_210L, Long.MAX_VALUE};
+
+    for (long value : values) {
+      // Act
+      long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+
+      // Assert
+      assertThat(upper).isGreaterThanOrEqualTo(value);
+      assertThat((double) (upper - value)).isLessThanOrEqualTo(value / 32.0);
+    }
+  }
+
+  @Test
+  void パーセンタイルと最大値を集計する() {
+    // Arrange
+    var histogram = new LatencyHistogram();
+
+    // Act - 1msから100msまでを1つずつ記録
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+    var snapshot = histogram.snapshot();
+
+    // Assert
+    assertThat(snapshot.count()).isEqualTo(100);
+    assertThat(snapshot.meanMillis()).isCloseTo(50.5, within(0.01));
+    assertThat(snapshot.p50Millis()).isCloseTo(50, within(50 * 0.04));
+    assertThat(snapshot.p90Millis()).isCloseTo(90, within(90 * 0.04));
+    assertThat(snapshot.p99Millis()).isCloseTo(99, within(99 * 0.04));
+    assertThat(snapshot.maxMillis()).isEqualTo(100);
+  }
+
+  @Test
+  void 記録がない場合はすべて0() {
+    // Act
+    var snapshot = new LatencyHistogram().snapshot();
+
+    // Assert
+    assertThat(snapshot).isEqualTo(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0, 0));
+  }
+
+  @Test
+  void 複数のスレッドからの記録を取りこぼさない() throws Exception {
+    // Arrange
+    var histogram = new LatencyHistogram();
+    var executor = Executors.newFixedThreadPool(4);
+
+    // Act
+    try {
+      for (int thread = 0; thread < 4; thread++) {
+        executor.execute(
+            () -> {
+              for (int i = 0; i < 10_000; i++) {
+                histogram.record(i);
+              }
+            });
+      }
+    } finally {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    // Assert
+    assertThat(histogram.snapshot().count()).isEqualTo(40_000);
+  }
+}
@@ -0,0 +1,110 @@
+package com.groovylsp.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.groovylsp.infrastructure.cache.CacheStats;
+import com.groovylsp.testing.FastTest;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** ServerMetricsのテスト */
+@FastTest
+class ServerMetricsTest {
+
+  @Test
+  void 処理時間とカウンタとゲージを集計する() {
+    // Arrange
+    var metrics = new ServerMetrics();
+    var queueLength = new AtomicLong(3);
+    metrics.registerGauge("queue.test", queueLength::get);
+
+    // Act
+    String result = metrics.time("phase.test", () -> "done");
+    metrics.time("phase.test", () -> {});
+    metrics.increment("cache.test.hits");
+    metrics.increment("cache.test.hits");
+    queueLength.set(5);
+    var stats = metrics.snapshot();
+
+    // Assert
+    assertThat(result).isEqualTo("done");
+    assertThat(stats.latencies().get("phase.test").count()).isEqualTo(2);
+    assertThat(stats.counters()).containsEntry("cache.test.hits", 2L);
+    assertThat(stats.gauges()).containsEntry("queue.test", 5L);
+  }
+
+  @Test
+  void 例外で終了した処理も計測する() {
+    // Arrange
+    var metrics = new ServerMetrics();
+
+    // Act & Assert
+    assertThatThrownBy(
+            () ->
+                metrics.time(
+                    "phase.failing",
+                    () -> {
+                      throw new IllegalStateException("失敗");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(metrics.snapshot().latencies().get("phase.failing").count()).isEqualTo(1);
+  }
+
+  @Test
+  void キャッシュの統計をゲージとして公開する() {
+    // Arrange
+    var metrics = new ServerMetrics();
+    metrics.registerCache("sample", () -> new CacheStats(7, 3, 2, 0, 10));
+
+    // Act
+    var gauges = metrics.snapshot().gauges();
+
+    // Assert
+    assertThat(gauges)
+        .containsEntry("cache.sample.hits", 7L)
+        .containsEntry("cache.sample.misses", 3L)
+        .containsEntry("cache.sample.evictions", 2L)
+        .containsEntry("cache.sample.size", 10L);
+  }
+
+  @Test
+  void traceは同じスレッドで記録された処理時間を集める() {
+    // Arrange
+    var metrics = new ServerMetrics();
+    metrics.record("phase.outside", 1_000);
+
+    // Act
+    var traced =
+        metrics.trace(
+            () -> {
+              metrics.record("phase.parse", 2_000);
+              metrics.record("phase.parse", 3_000);
+              return metrics.time("phase.visitor", () -> "done");
+            });
+
+    // Assert
+    assertThat(traced.result()).isEqualTo("done");
+    assertThat(traced.phaseNanos()).containsEntry("phase.parse", 5_000L);
+    assertThat(traced.phaseNanos()).containsKey("phase.visitor");
+    assertThat(traced.phaseNanos()).doesNotContainKey("phase.outside");
+    assertThat(traced.totalNanos()).isPositive();
+  }
+
+  @Test
+  void milestoneは初回の経過時間だけを記録する() {
+    // Arrange
+    var metrics = new ServerMetrics();
+
+    // Act
+    boolean first = metrics.milestone("startup.firstHoverMillis");
+    long recorded = metrics.snapshot().gauges().get("startup.firstHoverMillis");
+    boolean second = metrics.milestone("startup.firstHoverMillis");
+
+    // Assert
+    assertThat(first).isTrue();
+    assertThat(second).isFalse();
+    assertThat(recorded).isNotNegative();
+    assertThat(metrics.snapshot().gauges()).containsEntry("startup.firstHoverMillis", recorded);
+  }
+}
@@ -0,0 +1,149 @@
+package com.groovylsp.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.JsonParser;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.testing.FastTest;
+import io.vavr.control.Option;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.lsp4j.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** SlowRequestLogのテスト */
+@FastTest
+class SlowRequestLogTest {
+
+  @TempDir Path tempDir;
+
+  private final TextDocument document =
+      new TextDocument(URI.create("file:///Sample.groovy"), "groovy", 3, "class Sample {}");
+
+  @Test
+  void しきい値を超えた処理を入力と処理段階の時間とともに記録する() throws Exception {
+    // Arrange
+    var metrics = new ServerMetrics();
+    var log = new SlowRequestLog(metrics, tempDir, 1, true, 10, Long.MAX_VALUE, Runnable::run);
+
+    // Act
+    String result =
+        log.capture(
+            "textDocument/hover",
+            () -> Option.of(document),
+            new Position(0, 6),
+            () -> metrics.time("phase.parse", () -> sleepAndReturn("done")));
+
+    // Assert
+    assertThat(result).isEqualTo("done");
+    var files = listRecords();
+    assertThat(files).hasSize(1);
+    var json = JsonParser.parseString(Files.readString(files.get(0))).getAsJsonObject();
+    assertThat(json.get("method").getAsString()).isEqualTo("textDocument/hover");
+    assertThat(json.get("content").getAsString()).isEqualTo("class Sample {}");
+    assertThat(json.get("version").getAsInt()).isEqualTo(3);
+    assertThat(json.getAsJsonObject("position").get("character").getAsInt()).isEqualTo(6);
+    assertThat(json.getAsJsonObject("phases").has("phase.parse")).isTrue();
+    assertThat(metrics.snapshot().counters()).containsEntry("slowRequest.captured", 1L);
+  }
+
+  @Test
+  void 内容の記録を有効にしていない場合はドキュメントの内容を含めない() throws Exception {
+    // Arrange
+    var log =
+        new SlowRequestLog(
+            new ServerMetrics(), tempDir, 1, false, 10, Long.MAX_VALUE, Runnable::run);
+
+    // Act
+    log.capture(
+        "textDocument/hover", () -> Option.of(document), null, () -> sleepAndReturn("done"));
+
+    // Assert
+    var files = listRecords();
+    assertThat(files).hasSize(1);
+    var json = JsonParser.parseString(Files.readString(files.get(0))).getAsJsonObject();
+    assertThat(json.has("content")).isFalse();
+    assertThat(json.get("uri").getAsString()).isEqualTo("file:///Sample.groovy");
+    assertThat(json.get("contentLength").getAsInt()).isEqualTo(15);
+  }
+
+  @Test
+  void しきい値未満の処理は記録しない() throws Exception {
+    // Arrange
+    var log =
+        new SlowRequestLog(
+            new ServerMetrics(), tempDir, 60_000, false, 10, Long.MAX_VALUE, Runnable::run);
+
+    // Act
+    log.capture("textDocument/hover", () -> Option.of(document), null, () -> "done");
+
+    // Assert
+    assertThat(listRecords()).isEmpty();
+  }
+
+  @Test
+  void 上限を超えた記録は古いものから削除する() throws Exception {
+    // Arrange
+    var log =
+        new SlowRequestLog(
+            new ServerMetrics(), tempDir, 1, false, 2, Long.MAX_VALUE, Runnable::run);
+
+    // Act
+    for (int i = 0; i < 3; i++) {
+      log.capture(
+          "textDocument/publishDiagnostics",
+          () -> Option.of(document),
+          null,
+          () -> sleepAndReturn("done"));
+    }
+
+    // Assert
+    var files = listRecords();
+    assertThat(files).hasSize(2);
+    assertThat(files.get(0).getFileName().toString()).contains("-000002-");
+    assertThat(files.get(1).getFileName().toString()).contains("-000003-");
+  }
+
+  @Test
+  void 無効な場合はドキュメントを取得せずに処理だけを実行する() {
+    // Arrange
+    var log = SlowRequestLog.disabled(new ServerMetrics());
+    var documentRequested = new AtomicBoolean();
+
+    // Act
+    String result =
+        log.capture(
+            "textDocument/hover",
+            () -> {
+              documentRequested.set(true);
+              return Option.of(document);
+            },
+            null,
+            () -> "done");
+
+    // Assert
+    assertThat(result).isEqualTo("done");
+    assertThat(log.isEnabled()).isFalse();
+    assertThat(documentRequested).isFalse();
+  }
+
+  private List<Path> listRecords() throws IOException {
+    try (var files = Files.list(tempDir)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private static <T> T sleepAndReturn(T value) {
+    try {
+      Thread.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+}
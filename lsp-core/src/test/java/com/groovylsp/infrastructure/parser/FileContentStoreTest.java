@@ -0,0 +1,117 @@
+package com.groovylsp.infrastructure.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.infrastructure.repository.InMemoryTextDocumentRepository;
+import com.groovylsp.testing.FastTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** FileContentStoreのテスト */
+@FastTest
+class FileContentStoreTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void URIのファイルの内容を文字列として取得できる() throws Exception {
+    // Arrange
+    var file = Files.writeString(tempDir.resolve("Sample.groovy"), "class Sample {}\n");
+    var store = new FileContentStore();
+
+    // Act
+    var content = store.getContent(file.toUri().toString());
+
+    // Assert
+    assertThat(content.get()).isEqualTo("class Sample {}\n");
+  }
+
+  @Test
+  void UTF8のファイルは文字単位でデコードされる() throws Exception {
+    // Arrange
+    var file = Files.writeString(tempDir.resolve("Greeting.groovy"), "def s = 'こんにちは'");
+    var store = new FileContentStore();
+
+    // Act
+    var content = store.getContent(file).get();
+
+    // Assert
+    assertThat(content).hasSize(15);
+    assertThat(content.substring(9, 14)).isEqualTo("こんにちは");
+  }
+
+  @Test
+  void 更新日時とサイズが同じ間は同じ内容を返し変わったら読み込み直す() throws Exception {
+    // Arrange
+    var file = Files.writeString(tempDir.resolve("Sample.groovy"), "class A {}");
+    var store = new FileContentStore();
+    var first = store.getContent(file).get();
+
+    // Act
+    var second = store.getContent(file).get();
+    Files.writeString(file, "class Bb {}");
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+    var third = store.getContent(file).get();
+
+    // Assert
+    assertThat(second).isSameAs(first);
+    assertThat(third).isEqualTo("class Bb {}");
+    assertThat(store.stats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 上限を超えた場合は最後に使われてから時間が経ったものから破棄する() throws Exception {
+    // Arrange
+    var a = Files.writeString(tempDir.resolve("A.groovy"), "a".repeat(10));
+    var b = Files.writeString(tempDir.resolve("B.groovy"), "b".repeat(10));
+    var c = Files.writeString(tempDir.resolve("C.groovy"), "c".repeat(10));
+    var large = Files.writeString(tempDir.resolve("Large.groovy"), "x".repeat(100));
+    var store = new FileContentStore(50);
+
+    // Act
+    store.getContent(a);
+    store.getContent(b);
+    store.getContent(a);
+    store.getContent(c);
+    var largeContent = store.getContent(large);
+
+    // Assert
+    assertThat(largeContent.get()).hasSize(100);
+    assertThat(store.retainedBytes()).isEqualTo(40);
+    assertThat(store.stats().size()).isEqualTo(2);
+    assertThat(store.stats().evictionCount()).isEqualTo(1);
+    store.getContent(a);
+    assertThat(store.stats().hitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void 存在しないファイルとfile以外のURIは対象外() {
+    // Arrange
+    var store = new FileContentStore();
+
+    // Act & Assert
+    assertThat(store.getContent(tempDir.resolve("Missing.groovy")).isEmpty()).isTrue();
+    assertThat(store.getContent(tempDir).isEmpty()).isTrue();
+    assertThat(store.getContent("untitled:Untitled-1").isEmpty()).isTrue();
+  }
+
+  @Test
+  void 開いているドキュメントは編集中の内容を優先する() throws Exception {
+    // Arrange
+    var opened = Files.writeString(tempDir.resolve("Opened.groovy"), "class Saved {}");
+    var closed = Files.writeString(tempDir.resolve("Closed.groovy"), "class Closed {}");
+    var repository = new InMemoryTextDocumentRepository();
+    repository.save(new TextDocument(opened.toUri(), "groovy", 2, "class Edited {}"));
+    var service = new DocumentContentService(repository, new FileContentStore());
+
+    // Act & Assert
+    assertThat(service.getContent(opened.toUri().toString()).get()).isEqualTo("class Edited {}");
+    assertThat(service.getContent(closed.toUri().toString()).get()).isEqualTo("class Closed {}");
+    assertThat(service.getDocument(closed.toUri().toString()).isEmpty()).isTrue();
+  }
+}
@@ -2,10 +2,15 @@ package com.groovylsp.infrastructure.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.GroovyAstParser.ParserConfiguration;
 import com.groovylsp.testing.FastTest;
 import io.vavr.control.Either;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.MethodNode;
 import org.junit.jupiter.api.AfterEach;
@@ -377,4 +382,52 @@ class GroovyAstParserTest {
       }
     }
   }
+
+  @Nested
+  @DisplayName("ファイルの大きさの上限")
+  class SizeLimits {
+
+    @Test
+    @DisplayName("上限を超えるソースコードはコンパイラに渡さずにエラーを返す")
+    void skipOversizedSource() {
+      // given
+      var metrics = new ServerMetrics();
+      var limited =
+          new GroovyAstParser(
+              ParserConfiguration.defaultConfig(),
+              metrics,
+              new WorkspaceConfiguration(
+                  new GroovyLspConfig(
+                      GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 1_000, 80)));
+      var longLine = "def data = '" + "x".repeat(100) + "'";
+
+      // when
+      var result = limited.parse("Generated.groovy", longLine);
+
+      // then
+      assertThat(result.isLeft()).isTrue();
+      assertThat(result.getLeft().message()).contains("Generated.groovy");
+      assertThat(metrics.snapshot().counters()).containsEntry("parse.skippedLexicalOnly", 1L);
+      assertThat(metrics.snapshot().latencies()).doesNotContainKey("phase.parse");
+    }
+
+    @Test
+    @DisplayName("上限以内のソースコードは解析する")
+    void parseSourceWithinLimits() {
+      // given
+      var limited =
+          new GroovyAstParser(
+              ParserConfiguration.defaultConfig(),
+              new ServerMetrics(),
+              new WorkspaceConfiguration(
+                  new GroovyLspConfig(
+                      GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 1_000, 80)));
+
+      // when
+      var result = limited.parse("Small.groovy", "class Small {\n  String name\n}");
+
+      // then
+      assertThat(result.isRight()).isTrue();
+    }
+  }
 }
@@ -0,0 +1,92 @@
+package com.groovylsp.infrastructure.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.groovylsp.testing.FastTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** ParseResultCacheのテスト */
+@FastTest
+class ParseResultCacheTest {
+
+  private static final String SOURCE = "class Sample { int value }";
+  private static final long ENTRY_BYTES =
+      SOURCE.length() * ParseResultCache.ESTIMATED_BYTES_PER_CHAR;
+
+  private GroovyAstParser parser;
+
+  @BeforeEach
+  void setUp() {
+    parser = spy(new GroovyAstParser());
+  }
+
+  @Test
+  void 上限を超えた場合は最後に使われてから時間が経ったものから破棄する() {
+    // Arrange
+    var cache = new ParseResultCache(parser, ENTRY_BYTES * 2);
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+    cache.parse("file:///b.groovy", "b.groovy", SOURCE);
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+
+    // Act
+    cache.parse("file:///c.groovy", "c.groovy", SOURCE);
+
+    // Assert
+    assertThat(cache.retainedBytes()).isEqualTo(ENTRY_BYTES * 2);
+    assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+    cache.parse("file:///b.groovy", "b.groovy", SOURCE);
+    verify(parser, times(4)).parse(anyString(), anyString());
+  }
+
+  @Test
+  void 上限より大きいドキュメントでも直近の1件は保持する() {
+    // Arrange
+    var cache = new ParseResultCache(parser, ENTRY_BYTES / 2);
+
+    // Act
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+
+    // Assert
+    assertThat(cache.stats().size()).isEqualTo(1);
+    verify(parser, times(1)).parse(anyString(), anyString());
+  }
+
+  @Test
+  void 縮小すると直近に使われたものだけが残る() {
+    // Arrange
+    var cache = new ParseResultCache(parser);
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+    cache.parse("file:///b.groovy", "b.groovy", SOURCE);
+    cache.parse("file:///c.groovy", "c.groovy", SOURCE);
+
+    // Act
+    int evicted = cache.trim(1);
+
+    // Assert
+    assertThat(evicted).isEqualTo(2);
+    assertThat(cache.retainedBytes()).isEqualTo(ENTRY_BYTES);
+    cache.parse("file:///c.groovy", "c.groovy", SOURCE);
+    verify(parser, times(3)).parse(anyString(), anyString());
+  }
+
+  @Test
+  void 破棄すると推定サイズも減る() {
+    // Arrange
+    var cache = new ParseResultCache(parser);
+    cache.parse("file:///a.groovy", "a.groovy", SOURCE);
+
+    // Act
+    cache.invalidate("file:///a.groovy");
+
+    // Assert
+    assertThat(cache.retainedBytes()).isZero();
+    assertThat(cache.stats().size()).isZero();
+  }
+}
@@ -0,0 +1,44 @@
+package com.groovylsp.infrastructure.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.testing.FastTest;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** ParserWarmupのテスト */
+@FastTest
+class ParserWarmupTest {
+
+  @Test
+  void ウォームアップ用のコードは構文エラーなくパースできる() {
+    // Arrange
+    var parser = new GroovyAstParser();
+
+    // Act
+    var result = parser.parse("Warmup.groovy", ParserWarmup.SNIPPET);
+
+    // Assert
+    assertThat(result.isRight()).isTrue();
+    assertThat(result.get().diagnostics())
+        .noneMatch(diag -> diag.severity() == GroovyAstParser.ParseDiagnostic.Severity.ERROR);
+  }
+
+  @Test
+  void 開始したウォームアップは1回だけ実行され処理時間が記録される() throws Exception {
+    // Arrange
+    var metrics = new ServerMetrics();
+    var warmup = new ParserWarmup(GroovyAstParser.ParserConfiguration.defaultConfig(), metrics);
+
+    // Act
+    var first = warmup.start();
+    var second = warmup.start();
+    first.get(30, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(second).isSameAs(first);
+    assertThat(metrics.snapshot().latencies().get("phase.warmup").count()).isEqualTo(1);
+    assertThat(metrics.snapshot().latencies()).doesNotContainKey("phase.parse");
+  }
+}
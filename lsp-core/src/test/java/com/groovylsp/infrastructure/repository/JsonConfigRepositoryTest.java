@@ -0,0 +1,138 @@
+package com.groovylsp.infrastructure.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.JsonParser;
+import com.groovylsp.domain.model.GroovyLspConfig;
+import com.groovylsp.testing.FastTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** JsonConfigRepositoryのテスト */
+@FastTest
+class JsonConfigRepositoryTest {
+
+  @TempDir Path tempDir;
+
+  private final JsonConfigRepository repository = new JsonConfigRepository();
+
+  @Test
+  void 設定ファイルがない場合はデフォルトの設定を返す() {
+    // Act
+    var result = repository.loadConfig(tempDir);
+
+    // Assert
+    assertThat(result.get()).isEqualTo(GroovyLspConfig.DEFAULT);
+  }
+
+  @Test
+  void 設定ファイルの項目を読み込み指定のない項目はデフォルトにする() throws Exception {
+    // Arrange
+    Files.writeString(
+        tempDir.resolve(JsonConfigRepository.CONFIG_FILE_NAME),
+        """
+        {
+          "files": {
+            "exclude": ["build/**", "src/generated"],
+            "maxFileSize": 5000
+          }
+        }
+        """);
+
+    // Act
+    var result = repository.loadConfig(tempDir);
+
+    // Assert
+    var config = result.get();
+    assertThat(config.excludePatterns()).containsExactlyInAnyOrder("build/**", "src/generated");
+    assertThat(config.maxFileSize()).isEqualTo(5000);
+    assertThat(config.maxLineLength()).isEqualTo(GroovyLspConfig.DEFAULT_MAX_LINE_LENGTH);
+    assertThat(config.enabledFileExtensions())
+        .isEqualTo(GroovyLspConfig.DEFAULT.enabledFileExtensions());
+  }
+
+  @Test
+  void 形式が正しくない設定ファイルはエラーを返す() throws Exception {
+    // Arrange
+    Files.writeString(tempDir.resolve(JsonConfigRepository.CONFIG_FILE_NAME), "{ \"files\": ");
+
+    // Act
+    var result = repository.loadConfig(tempDir);
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+  }
+
+  @Test
+  void 値の型が正しくない場合はエラーを返す() throws Exception {
+    // Arrange
+    Files.writeString(
+        tempDir.resolve(JsonConfigRepository.CONFIG_FILE_NAME),
+        "{ \"files\": { \"maxLineLength\": -1, \"exclude\": \"build\" } }");
+
+    // Act
+    var result = repository.loadConfig(tempDir);
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+    assertThat(result.getLeft()).contains(JsonConfigRepository.CONFIG_FILE_NAME);
+  }
+
+  @Test
+  void セクションで包まれたクライアントの設定を重ねる() {
+    // Arrange
+    var base =
+        new GroovyLspConfig(
+            GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of("build/**"), 5000, 200);
+    var settings =
+        JsonParser.parseString(
+            "{ \"groovy-lsp\": { \"trace\": { \"server\": \"off\" },"
+                + " \"files\": { \"extensions\": [\".groovy\"], \"maxLineLength\": 300 } } }");
+
+    // Act
+    var result = repository.applySettings(settings, base);
+
+    // Assert
+    var config = result.get();
+    assertThat(config.enabledFileExtensions()).containsExactly(".groovy");
+    assertThat(config.excludePatterns()).containsExactly("build/**");
+    assertThat(config.maxFileSize()).isEqualTo(5000);
+    assertThat(config.maxLineLength()).isEqualTo(300);
+  }
+
+  @Test
+  void Gson以外のオブジェクトの設定も重ねる() {
+    // Arrange
+    Map<String, Object> settings = Map.of("files", Map.of("exclude", List.of("out")));
+
+    // Act
+    var result = repository.applySettings(settings, GroovyLspConfig.DEFAULT);
+
+    // Assert
+    assertThat(result.get().excludePatterns()).containsExactly("out");
+  }
+
+  @Test
+  void 設定がない場合は元の設定を返す() {
+    // Act & Assert
+    assertThat(repository.applySettings(null, GroovyLspConfig.DEFAULT).get())
+        .isEqualTo(GroovyLspConfig.DEFAULT);
+  }
+
+  @Test
+  void 括弧が対応していない除外パターンはエラーを返す() {
+    // Arrange
+    var settings = JsonParser.parseString("{ \"files\": { \"exclude\": [\"{build\"] } }");
+
+    // Act
+    var result = repository.applySettings(settings, GroovyLspConfig.DEFAULT);
+
+    // Assert
+    assertThat(result.isLeft()).isTrue();
+  }
+}
@@ -0,0 +1,157 @@
+package com.groovylsp.infrastructure.semantic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.groovylsp.domain.constant.SemanticTokenLegend;
+import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.domain.service.AstAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
+import com.groovylsp.testing.FastTest;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@FastTest
+class GroovySemanticTokensServiceTest {
+
+  private static final URI URI_ = URI.create("file:///test/Sample.groovy");
+
+  private GroovySemanticTokensService service;
+
+  @BeforeEach
+  void setUp() {
+    service =
+        new GroovySemanticTokensService(
+            new AstAnalysisService(
+                new ParseResultCache(new GroovyAstParser()),
+                new ServerMetrics(),
+                WorkspaceConfiguration.unlimited()));
+  }
+
+  @Test
+  void キーワードとリテラルとコメントを分類する() {
+    var document = new TextDocument(URI_, "groovy", 1, "def x = 42 // answer\nprintln 'hi'");
+
+    var tokens = decode(service.getTokens(document).get().data());
+
+    assertThat(tokens)
+        .containsExactly(
+            new DecodedToken(0, 0, 3, SemanticTokenLegend.KEYWORD, 0),
+            new DecodedToken(0, 6, 1, SemanticTokenLegend.OPERATOR, 0),
+            new DecodedToken(0, 8, 2, SemanticTokenLegend.NUMBER, 0),
+            new DecodedToken(0, 11, 9, SemanticTokenLegend.COMMENT, 0),
+            new DecodedToken(1, 8, 4, SemanticTokenLegend.STRING, 0));
+  }
+
+  @Test
+  void ASTのシンボル情報で識別子を分類する() {
+    var content =
+        """
+        class Greeter {
+            static final String PREFIX = 'Hello'
+            String greet(String name) {
+                return PREFIX + name
+            }
+        }
+        """;
+    var document = new TextDocument(URI_, "groovy", 1, content);
+
+    var tokens = decode(service.getTokens(document).get().data());
+
+    assertThat(tokens)
+        .contains(
+            new DecodedToken(
+                0, 6, 7, SemanticTokenLegend.CLASS, SemanticTokenLegend.MODIFIER_DECLARATION),
+            new DecodedToken(
+                1,
+                24,
+                6,
+                SemanticTokenLegend.PROPERTY,
+                SemanticTokenLegend.MODIFIER_STATIC | SemanticTokenLegend.MODIFIER_READONLY),
+            new DecodedToken(2, 11, 5, SemanticTokenLegend.METHOD, 0),
+            new DecodedToken(2, 24, 4, SemanticTokenLegend.PARAMETER, 0),
+            new DecodedToken(3, 24, 4, SemanticTokenLegend.PARAMETER, 0));
+  }
+
+  @Test
+  void 異なる種類で宣言された名前の参照は分類しない() {
+    var content =
+        """
+        class Counter {
+            int count
+            void add(int count) {
+                this.count += count
+            }
+        }
+        """;
+    var document = new TextDocument(URI_, "groovy", 1, content);
+
+    var tokens = decode(service.getTokens(document).get().data());
+
+    assertThat(tokens)
+        .noneMatch(token -> token.line() == 3 && token.length() == 5)
+        .contains(new DecodedToken(2, 9, 3, SemanticTokenLegend.METHOD, 0));
+  }
+
+  @Test
+  void 複数行のトークンは行ごとに分割する() {
+    var document = new TextDocument(URI_, "groovy", 1, "/* a\r\n   bc */\nx = /re/");
+
+    var tokens = decode(service.getTokens(document).get().data());
+
+    assertThat(tokens)
+        .containsExactly(
+            new DecodedToken(0, 0, 4, SemanticTokenLegend.COMMENT, 0),
+            new DecodedToken(1, 0, 8, SemanticTokenLegend.COMMENT, 0),
+            new DecodedToken(2, 2, 1, SemanticTokenLegend.OPERATOR, 0),
+            new DecodedToken(2, 4, 4, SemanticTokenLegend.REGEXP, 0));
+  }
+
+  @Test
+  void 同じバージョンではキャッシュした結果を返す() {
+    var document = new TextDocument(URI_, "groovy", 1, "def x = 1");
+
+    var first = service.getTokens(document).get();
+    var second = service.getTokens(document).get();
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void 直前の結果をresultIdで参照できる() {
+    var first = service.getTokens(new TextDocument(URI_, "groovy", 1, "def x = 1")).get();
+    var second = service.getTokens(new TextDocument(URI_, "groovy", 2, "def x = 12")).get();
+
+    assertThat(second.resultId()).isNotEqualTo(first.resultId());
+    assertThat(service.findResult(URI_.toString(), first.resultId()).get()).isSameAs(first);
+    assertThat(service.findResult(URI_.toString(), second.resultId()).get()).isSameAs(second);
+  }
+
+  @Test
+  void 破棄した後は結果を参照できない() {
+    var tokens = service.getTokens(new TextDocument(URI_, "groovy", 1, "def x = 1")).get();
+
+    service.invalidate(URI_.toString());
+
+    assertThat(service.findResult(URI_.toString(), tokens.resultId()).isEmpty()).isTrue();
+  }
+
+  private record DecodedToken(int line, int character, int length, int type, int modifiers) {}
+
+  private static List<DecodedToken> decode(int[] data) {
+    var tokens = new ArrayList<DecodedToken>();
+    int line = 0;
+    int character = 0;
+    for (int i = 0; i < data.length; i += 5) {
+      line += data[i];
+      character = data[i] == 0 ? character + data[i + 1] : data[i + 1];
+      tokens.add(new DecodedToken(line, character, data[i + 2], data[i + 3], data[i + 4]));
+    }
+    return tokens;
+  }
+}
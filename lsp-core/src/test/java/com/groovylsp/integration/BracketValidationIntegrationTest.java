@@ -5,10 +5,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.groovylsp.application.usecase.DiagnosticUseCase;
 import com.groovylsp.domain.model.DiagnosticItem;
 import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
 import com.groovylsp.domain.service.AstAnalysisService;
 import com.groovylsp.domain.service.BracketValidationService;
-import com.groovylsp.domain.service.LineCountService;
+import com.groovylsp.domain.service.LexicalAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
 import com.groovylsp.testing.IntegrationTest;
 import java.net.URI;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,12 +25,15 @@ class BracketValidationIntegrationTest {
 
   @BeforeEach
   void setUp() {
-    var lineCountService = new LineCountService();
     var bracketValidationService = new BracketValidationService();
     var parser = new GroovyAstParser();
-    var astAnalysisService = new AstAnalysisService(parser);
+    var astAnalysisService =
+        new AstAnalysisService(
+            new ParseResultCache(parser), new ServerMetrics(), WorkspaceConfiguration.unlimited());
     diagnosticUseCase =
-        new DiagnosticUseCase(lineCountService, bracketValidationService, astAnalysisService);
+        new DiagnosticUseCase(
+            new LexicalAnalysisService(bracketValidationService, new ServerMetrics()),
+            astAnalysisService);
   }
 
   @Test
@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.groovylsp.application.usecase.DiagnosticUseCase;
 import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
 import com.groovylsp.domain.service.AstAnalysisService;
 import com.groovylsp.domain.service.BracketValidationService;
-import com.groovylsp.domain.service.LineCountService;
+import com.groovylsp.domain.service.LexicalAnalysisService;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
 import com.groovylsp.infrastructure.parser.GroovyAstParser;
+import com.groovylsp.infrastructure.parser.ParseResultCache;
 import com.groovylsp.testing.IntegrationTest;
 import java.net.URI;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,17 +22,19 @@ import org.junit.jupiter.api.Test;
 class DiagnosticIntegrationTest {
 
   private DiagnosticUseCase diagnosticUseCase;
-  private LineCountService lineCountService;
   private BracketValidationService bracketValidationService;
 
   @BeforeEach
   void setUp() {
-    lineCountService = new LineCountService();
     bracketValidationService = new BracketValidationService();
     var parser = new GroovyAstParser();
-    var astAnalysisService = new AstAnalysisService(parser);
+    var astAnalysisService =
+        new AstAnalysisService(
+            new ParseResultCache(parser), new ServerMetrics(), WorkspaceConfiguration.unlimited());
     diagnosticUseCase =
-        new DiagnosticUseCase(lineCountService, bracketValidationService, astAnalysisService);
+        new DiagnosticUseCase(
+            new LexicalAnalysisService(bracketValidationService, new ServerMetrics()),
+            astAnalysisService);
   }
 
   @Test
@@ -2,9 +2,11 @@ package com.groovylsp.integration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.groovylsp.infrastructure.di.DaggerServerComponent;
 import com.groovylsp.infrastructure.di.ServerComponent;
+import com.groovylsp.infrastructure.metrics.ServerMetrics.ServerStats;
 import com.groovylsp.presentation.server.GroovyLanguageServer;
 import com.groovylsp.testing.IntegrationTest;
 import java.io.PipedInputStream;
@@ -21,6 +23,7 @@ import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.ShowMessageRequestParams;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.launch.LSPLauncher;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.junit.jupiter.api.Test;
@@ -58,6 +61,12 @@ class JsonRpcCommunicationTest {
     }
   }
 
+  /** Remote interface that also declares the server's custom statistics request. */
+  interface StatsAwareServer extends org.eclipse.lsp4j.services.LanguageServer {
+    @JsonRequest("groovy/serverStats")
+    CompletableFuture<ServerStats> serverStats();
+  }
+
   @Test
   void testJsonRpcCommunication() throws Exception {
     ExecutorService executor = Executors.newSingleThreadExecutor();
@@ -81,8 +90,13 @@ class JsonRpcCommunicationTest {
 
       // Create a simple test client that doesn't have telemetry methods
       var testClient = new TestLanguageClient();
-      Launcher<org.eclipse.lsp4j.services.LanguageServer> clientLauncher =
-          LSPLauncher.createClientLauncher(testClient, clientInput, clientOutput);
+      Launcher<StatsAwareServer> clientLauncher =
+          new Launcher.Builder<StatsAwareServer>()
+              .setLocalService(testClient)
+              .setRemoteInterface(StatsAwareServer.class)
+              .setInput(clientInput)
+              .setOutput(clientOutput)
+              .create();
 
       // Start both launchers listening
       Future<Void> serverListeningFuture = serverLauncher.startListening();
@@ -99,6 +113,11 @@ class JsonRpcCommunicationTest {
       assertNotNull(result);
       assertNotNull(result.getCapabilities());
 
+      // Request server statistics through the custom method
+      ServerStats stats = clientLauncher.getRemoteProxy().serverStats().get();
+      assertNotNull(stats);
+      assertTrue(stats.gauges().containsKey("queue.symbolIndexer"));
+
       // Shutdown
       Object shutdownResult = remoteServer.shutdown().get();
       assertEquals(null, shutdownResult);
@@ -0,0 +1,123 @@
+package com.groovylsp.presentation.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.groovylsp.domain.model.DiagnosticItem;
+import com.groovylsp.domain.model.DiagnosticItem.DiagnosticSeverity;
+import com.groovylsp.domain.model.DiagnosticItem.DocumentPosition;
+import com.groovylsp.testing.FastTest;
+import java.util.List;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@FastTest
+class DiagnosticPublisherTest {
+
+  private static final String URI = "file:///test.groovy";
+  private static final long WINDOW_MILLIS = 100;
+
+  /** 連続した送信が確実に時間窓に収まるよう、まとめる動作の確認に使う長い時間窓 */
+  private static final long LONG_WINDOW_MILLIS = 1000;
+
+  private DiagnosticPublisher publisher;
+  private LanguageClient client;
+
+  @BeforeEach
+  void setUp() {
+    publisher = new DiagnosticPublisher(WINDOW_MILLIS);
+    client = mock(LanguageClient.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    publisher.close();
+  }
+
+  @Test
+  void 初回の送信は即座に行われる() {
+    publisher.publish(client, URI, List.of(item("総行数: 1行")));
+
+    var captor = ArgumentCaptor.forClass(PublishDiagnosticsParams.class);
+    verify(client).publishDiagnostics(captor.capture());
+    assertThat(captor.getValue().getUri()).isEqualTo(URI);
+    assertThat(captor.getValue().getDiagnostics()).hasSize(1);
+    assertThat(captor.getValue().getDiagnostics().get(0).getMessage()).isEqualTo("総行数: 1行");
+  }
+
+  @Test
+  void 内容が変わらない場合は送信しない() throws Exception {
+    publisher.publish(client, URI, List.of(item("総行数: 1行")));
+    Thread.sleep(WINDOW_MILLIS * 2);
+    publisher.publish(client, URI, List.of(item("総行数: 1行")));
+    Thread.sleep(WINDOW_MILLIS * 2);
+
+    verify(client, times(1)).publishDiagnostics(any(PublishDiagnosticsParams.class));
+  }
+
+  @Test
+  void 内容が変わった場合は送信する() throws Exception {
+    publisher.publish(client, URI, List.of(item("総行数: 1行")));
+    Thread.sleep(WINDOW_MILLIS * 2);
+    publisher.publish(client, URI, List.of(item("総行数: 2行")));
+
+    verify(client, timeout(1000).times(2)).publishDiagnostics(any(PublishDiagnosticsParams.class));
+  }
+
+  @Test
+  void 時間窓内の連続した送信は最後の結果にまとめられる() {
+    useLongWindow();
+    publisher.publish(client, URI, List.of(item("v1")));
+    publisher.publish(client, URI, List.of(item("v2")));
+    publisher.publish(client, URI, List.of(item("v3")));
+
+    var captor = ArgumentCaptor.forClass(PublishDiagnosticsParams.class);
+    verify(client, timeout(LONG_WINDOW_MILLIS * 3).times(2)).publishDiagnostics(captor.capture());
+    assertThat(captor.getAllValues())
+        .extracting(params -> params.getDiagnostics().get(0).getMessage())
+        .containsExactly("v1", "v3");
+  }
+
+  @Test
+  void 時間窓内で元の内容に戻った場合は送信しない() throws Exception {
+    useLongWindow();
+    publisher.publish(client, URI, List.of(item("v1")));
+    publisher.publish(client, URI, List.of(item("v2")));
+    publisher.publish(client, URI, List.of(item("v1")));
+    Thread.sleep(LONG_WINDOW_MILLIS * 2);
+
+    verify(client, times(1)).publishDiagnostics(any(PublishDiagnosticsParams.class));
+  }
+
+  @Test
+  void 送信履歴を破棄すると同じ内容でも再送信する() throws Exception {
+    publisher.publish(client, URI, List.of());
+    publisher.forget(URI);
+    Thread.sleep(WINDOW_MILLIS * 2);
+    publisher.publish(client, URI, List.of());
+
+    verify(client, times(2)).publishDiagnostics(any(PublishDiagnosticsParams.class));
+  }
+
+  private void useLongWindow() {
+    publisher.close();
+    publisher = new DiagnosticPublisher(LONG_WINDOW_MILLIS);
+  }
+
+  private static DiagnosticItem item(String message) {
+    return new DiagnosticItem(
+        new DocumentPosition(0, 0),
+        new DocumentPosition(0, 0),
+        DiagnosticSeverity.INFORMATION,
+        message,
+        "groovy-lsp-line-count");
+  }
+}
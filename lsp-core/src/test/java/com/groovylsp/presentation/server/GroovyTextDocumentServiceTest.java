@@ -1,24 +1,49 @@
 package com.groovylsp.presentation.server;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.gson.JsonPrimitive;
+import com.groovylsp.application.usecase.CompletionUseCase;
+import com.groovylsp.application.usecase.DefinitionUseCase;
 import com.groovylsp.application.usecase.DiagnosticUseCase;
 import com.groovylsp.application.usecase.DocumentSymbolUseCase;
+import com.groovylsp.application.usecase.FoldingRangeUseCase;
 import com.groovylsp.application.usecase.HoverUseCase;
+import com.groovylsp.application.usecase.ReferencesUseCase;
+import com.groovylsp.application.usecase.SelectionRangeUseCase;
+import com.groovylsp.application.usecase.SemanticTokensUseCase;
 import com.groovylsp.application.usecase.TextDocumentSyncUseCase;
+import com.groovylsp.application.usecase.WorkspaceIndexUseCase;
+import com.groovylsp.domain.model.GroovyLspConfig;
 import com.groovylsp.domain.model.TextDocument;
+import com.groovylsp.domain.model.WorkspaceConfiguration;
+import com.groovylsp.infrastructure.metrics.ServerMetrics;
+import com.groovylsp.infrastructure.metrics.SlowRequestLog;
 import com.groovylsp.testing.FastTest;
 import io.vavr.control.Either;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
@@ -27,6 +52,7 @@ import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 @FastTest
 class GroovyTextDocumentServiceTest {
@@ -36,6 +62,11 @@ class GroovyTextDocumentServiceTest {
   private DiagnosticUseCase diagnosticUseCase;
   private DocumentSymbolUseCase documentSymbolUseCase;
   private HoverUseCase hoverUseCase;
+  private SemanticTokensUseCase semanticTokensUseCase;
+  private SelectionRangeUseCase selectionRangeUseCase;
+  private DefinitionUseCase definitionUseCase;
+  private CompletionUseCase completionUseCase;
+  private WorkspaceIndexUseCase workspaceIndexUseCase;
   private LanguageClient client;
 
   @BeforeEach
@@ -44,11 +75,16 @@ class GroovyTextDocumentServiceTest {
     diagnosticUseCase = mock(DiagnosticUseCase.class);
     documentSymbolUseCase = mock(DocumentSymbolUseCase.class);
     hoverUseCase = mock(HoverUseCase.class);
+    semanticTokensUseCase = mock(SemanticTokensUseCase.class);
+    selectionRangeUseCase = mock(SelectionRangeUseCase.class);
+    definitionUseCase = mock(DefinitionUseCase.class);
+    completionUseCase = mock(CompletionUseCase.class);
+    workspaceIndexUseCase = mock(WorkspaceIndexUseCase.class);
+    when(definitionUseCase.scheduleIndex(any()))
+        .thenReturn(CompletableFuture.completedFuture(List.of()));
+    when(definitionUseCase.release(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
     client = mock(LanguageClient.class);
-    service =
-        new GroovyTextDocumentService(
-            syncUseCase, diagnosticUseCase, documentSymbolUseCase, hoverUseCase);
-    service.connect(client);
+    service = serviceWith(WorkspaceConfiguration.unlimited());
   }
 
   @Test
@@ -66,6 +102,29 @@ class GroovyTextDocumentServiceTest {
     service.didOpen(params);
 
     verify(syncUseCase).openDocument(params);
+    verify(definitionUseCase).scheduleIndex(document);
+    verify(hoverUseCase).documentChanged(document.uri());
+  }
+
+  @Test
+  void shouldInvalidateHoversOfDependentsAfterIndexing() {
+    var uri = "file:///model/Person.groovy";
+    var textDocument = new TextDocumentItem(uri, "groovy", 1, "class Person {}");
+    var params = new DidOpenTextDocumentParams(textDocument);
+    var document = new TextDocument(URI.create(uri), "groovy", 1, "class Person {}");
+    var dependents = List.of(URI.create("file:///service/PersonService.groovy"));
+
+    when(syncUseCase.openDocument(params)).thenReturn(Either.right(document));
+    when(diagnosticUseCase.diagnose(document))
+        .thenReturn(
+            Either.right(com.groovylsp.domain.model.DiagnosticResult.empty(URI.create(uri))));
+    when(definitionUseCase.scheduleIndex(document))
+        .thenReturn(CompletableFuture.completedFuture(dependents));
+
+    service.didOpen(params);
+
+    verify(hoverUseCase).dependenciesChanged(dependents);
+    verify(hoverUseCase).prefetch(document);
   }
 
   @Test
@@ -128,6 +187,58 @@ class GroovyTextDocumentServiceTest {
     service.didClose(params);
 
     verify(syncUseCase).closeDocument(params);
+    verify(diagnosticUseCase).release(URI.create(uri));
+    verify(semanticTokensUseCase).release(URI.create(uri));
+    verify(selectionRangeUseCase).release(URI.create(uri));
+    verify(documentSymbolUseCase).release(URI.create(uri));
+    verify(workspaceIndexUseCase).documentClosed(URI.create(uri));
+    verify(definitionUseCase, never()).release(any());
+  }
+
+  @Test
+  void shouldReleaseIndexOfClosedDocumentThatIsNoLongerTarget() {
+    var uri = URI.create("file:///notes.txt");
+    var params = new DidCloseTextDocumentParams(new TextDocumentIdentifier(uri.toString()));
+
+    when(syncUseCase.closeDocument(params)).thenReturn(Either.right(uri));
+
+    service.didClose(params);
+
+    verify(definitionUseCase).release(uri);
+    verify(workspaceIndexUseCase, never()).documentClosed(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldStreamDocumentSymbolsAsPartialResults() throws Exception {
+    var uri = "file:///Large.groovy";
+    var params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+    params.setPartialResultToken(org.eclipse.lsp4j.jsonrpc.messages.Either.forLeft("token-1"));
+    var first = new DocumentSymbol();
+    first.setName("First");
+    var last = new DocumentSymbol();
+    last.setName("Last");
+
+    when(documentSymbolUseCase.getDocumentSymbols(eq(params), any()))
+        .thenAnswer(
+            invocation -> {
+              Consumer<List<DocumentSymbol>> partialResults = invocation.getArgument(1);
+              partialResults.accept(List.of(first));
+              partialResults.accept(List.of(last));
+              return Either.right(List.of());
+            });
+
+    var result = service.documentSymbol(params).get(5, TimeUnit.SECONDS);
+
+    var progress = ArgumentCaptor.forClass(ProgressParams.class);
+    verify(client, times(2)).notifyProgress(progress.capture());
+    assertThat(progress.getAllValues())
+        .allSatisfy(value -> assertThat(value.getToken().getLeft()).isEqualTo("token-1"));
+    assertThat((List<DocumentSymbol>) progress.getAllValues().get(0).getValue().getRight())
+        .containsExactly(first);
+    assertThat((List<DocumentSymbol>) progress.getAllValues().get(1).getValue().getRight())
+        .containsExactly(last);
+    assertThat(result).isEmpty();
   }
 
   @Test
@@ -169,6 +280,70 @@ class GroovyTextDocumentServiceTest {
     verify(client).publishDiagnostics(any(PublishDiagnosticsParams.class));
   }
 
+  @Test
+  void shouldSkipDiagnosticsAndIndexForExcludedFiles() {
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of("build/**")));
+    configuration.setWorkspaceRoot(Path.of("/work"));
+    var configuredService = serviceWith(configuration);
+    var uri = "file:///work/build/Generated.groovy";
+    var textDocument = new TextDocumentItem(uri, "groovy", 1, "class Generated {}");
+    var params = new DidOpenTextDocumentParams(textDocument);
+    var document = new TextDocument(URI.create(uri), "groovy", 1, "class Generated {}");
+
+    when(syncUseCase.openDocument(params)).thenReturn(Either.right(document));
+
+    configuredService.didOpen(params);
+
+    verify(diagnosticUseCase, never()).diagnose(any());
+    verify(definitionUseCase, never()).scheduleIndex(any());
+    verify(client).publishDiagnostics(any(PublishDiagnosticsParams.class));
+  }
+
+  @Test
+  void shouldSkipIndexForLexicalOnlyFiles() {
+    var configuration =
+        new WorkspaceConfiguration(
+            new GroovyLspConfig(
+                GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of(), 1_000, 10_000));
+    var configuredService = serviceWith(configuration);
+    var uri = "file:///Huge.groovy";
+    var content = "def x = 1\n".repeat(200);
+    var textDocument = new TextDocumentItem(uri, "groovy", 1, content);
+    var params = new DidOpenTextDocumentParams(textDocument);
+    var document = new TextDocument(URI.create(uri), "groovy", 1, content);
+
+    when(syncUseCase.openDocument(params)).thenReturn(Either.right(document));
+    when(diagnosticUseCase.diagnose(document))
+        .thenReturn(
+            Either.right(com.groovylsp.domain.model.DiagnosticResult.empty(URI.create(uri))));
+
+    configuredService.didOpen(params);
+
+    verify(diagnosticUseCase).diagnose(document);
+    verify(definitionUseCase, never()).scheduleIndex(any());
+  }
+
+  @Test
+  void shouldReapplyConfigurationToOpenDocuments() {
+    var configuration = new WorkspaceConfiguration();
+    configuration.setWorkspaceRoot(Path.of("/work"));
+    var configuredService = serviceWith(configuration);
+    configuration.addListener(configuredService::configurationChanged);
+    var uri = URI.create("file:///work/build/Generated.groovy");
+    var document = new TextDocument(uri, "groovy", 1, "class Generated {}");
+    when(syncUseCase.findAllDocuments()).thenReturn(List.of(document));
+
+    configuration.update(
+        new GroovyLspConfig(GroovyLspConfig.DEFAULT.enabledFileExtensions(), Set.of("build")));
+
+    verify(diagnosticUseCase, never()).diagnose(any());
+    verify(definitionUseCase).release(uri);
+    verify(client).publishDiagnostics(any(PublishDiagnosticsParams.class));
+  }
+
   @Test
   void shouldRunDiagnosticsForGroovyFiles() {
     var uri = "file:///test.groovy";
@@ -225,4 +400,128 @@ class GroovyTextDocumentServiceTest {
     verify(diagnosticUseCase).diagnose(document);
     verify(client).publishDiagnostics(any(PublishDiagnosticsParams.class));
   }
+
+  @Test
+  void shouldPassCompletionDataBackAsStringWhenResolving() throws Exception {
+    var item = new CompletionItem("List");
+    item.setData(new JsonPrimitive("class:java.util.List"));
+    when(completionUseCase.resolve(item)).thenReturn(item);
+
+    service.resolveCompletionItem(item).get(5, TimeUnit.SECONDS);
+
+    verify(completionUseCase).resolve(item);
+    assertThat(item.getData()).isEqualTo("class:java.util.List");
+  }
+
+  @Test
+  void shouldCreateUseCasesOnlyWhenServicesAreInitialized() throws Exception {
+    var created = new AtomicInteger();
+    var lazyService =
+        new GroovyTextDocumentService(
+            syncUseCase,
+            () -> {
+              created.incrementAndGet();
+              return diagnosticUseCase;
+            },
+            () -> documentSymbolUseCase,
+            () -> {
+              created.incrementAndGet();
+              return hoverUseCase;
+            },
+            () -> semanticTokensUseCase,
+            () -> mock(FoldingRangeUseCase.class),
+            () -> selectionRangeUseCase,
+            () -> definitionUseCase,
+            () -> mock(ReferencesUseCase.class),
+            () -> mock(CompletionUseCase.class),
+            () -> workspaceIndexUseCase,
+            new DiagnosticPublisher(),
+            new ServerMetrics(),
+            SlowRequestLog.disabled(new ServerMetrics()),
+            WorkspaceConfiguration.unlimited());
+
+    assertThat(created).hasValue(0);
+
+    lazyService.initializeServices().get(5, TimeUnit.SECONDS);
+
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  void shouldNotCreateUseCasesToReleaseClosedDocument() {
+    var created = new AtomicInteger();
+    var lazyService =
+        new GroovyTextDocumentService(
+            syncUseCase,
+            () -> {
+              created.incrementAndGet();
+              return diagnosticUseCase;
+            },
+            () -> {
+              created.incrementAndGet();
+              return documentSymbolUseCase;
+            },
+            () -> {
+              created.incrementAndGet();
+              return hoverUseCase;
+            },
+            () -> {
+              created.incrementAndGet();
+              return semanticTokensUseCase;
+            },
+            () -> mock(FoldingRangeUseCase.class),
+            () -> {
+              created.incrementAndGet();
+              return selectionRangeUseCase;
+            },
+            () -> {
+              created.incrementAndGet();
+              return definitionUseCase;
+            },
+            () -> mock(ReferencesUseCase.class),
+            () -> {
+              created.incrementAndGet();
+              return completionUseCase;
+            },
+            () -> {
+              created.incrementAndGet();
+              return workspaceIndexUseCase;
+            },
+            new DiagnosticPublisher(),
+            new ServerMetrics(),
+            SlowRequestLog.disabled(new ServerMetrics()),
+            WorkspaceConfiguration.unlimited());
+    var uri = URI.create("file:///test.groovy");
+    var params = new DidCloseTextDocumentParams(new TextDocumentIdentifier(uri.toString()));
+    when(syncUseCase.closeDocument(params)).thenReturn(Either.right(uri));
+
+    lazyService.didClose(params);
+
+    assertThat(created).hasValue(0);
+    verify(diagnosticUseCase, never()).release(any());
+    verify(workspaceIndexUseCase, never()).documentClosed(any());
+  }
+
+  private GroovyTextDocumentService serviceWith(WorkspaceConfiguration configuration) {
+    var configuredService =
+        new GroovyTextDocumentService(
+            syncUseCase,
+            () -> diagnosticUseCase,
+            () -> documentSymbolUseCase,
+            () -> hoverUseCase,
+            () -> semanticTokensUseCase,
+            () -> mock(FoldingRangeUseCase.class),
+            () -> selectionRangeUseCase,
+            () -> definitionUseCase,
+            () -> mock(ReferencesUseCase.class),
+            () -> completionUseCase,
+            () -> workspaceIndexUseCase,
+            new DiagnosticPublisher(),
+            new ServerMetrics(),
+            SlowRequestLog.disabled(new ServerMetrics()),
+            configuration);
+    configuredService.connect(client);
+    configuredService.initializeServices().join();
+    return configuredService;
+  }
 }
@@ -1,3 +1,5 @@
+import { constants } from 'node:fs';
+import { copyFile, mkdir } from 'node:fs/promises';
 import { join } from 'node:path';
 import { type ExtensionContext, commands, window, workspace } from 'vscode';
 import {
@@ -22,16 +24,31 @@ export async function activate(context: ExtensionContext): Promise<ExtensionApi>
     'groovy-lsp-server.jar',
   );
 
+  // AppCDSアーカイブ（JDKが異なるなどで使えない場合は終了時に作り直す）
+  // JVMの警告が標準出力に出るとLSPの通信が壊れるため、ログは標準エラーに出力する
+  const serverArchive = await prepareServerArchive(context);
+  const jvmArgs = [
+    '-Xlog:disable',
+    '-Xlog:all=warning:stderr',
+    `-XX:SharedArchiveFile=${serverArchive}`,
+    '-XX:+AutoCreateSharedArchive',
+  ];
+
   // サーバーオプション
   const serverOptions: ServerOptions = {
     run: {
       command: 'java',
-      args: ['-jar', serverJar],
+      args: [...jvmArgs, '-jar', serverJar],
       transport: TransportKind.stdio,
     },
     debug: {
       command: 'java',
-      args: ['-agentlib:jdwp=transport=dt_socket,server=y,suspend=n,address=5005,quiet=y', '-jar', serverJar],
+      args: [
+        ...jvmArgs,
+        '-agentlib:jdwp=transport=dt_socket,server=y,suspend=n,address=5005,quiet=y',
+        '-jar',
+        serverJar,
+      ],
       transport: TransportKind.stdio,
     },
   };
@@ -93,6 +110,25 @@ export async function activate(context: ExtensionContext): Promise<ExtensionApi>
   return { client };
 }
 
+/**
+ * AppCDSアーカイブのパスを決める
+ *
+ * JVMは使えないアーカイブを終了時に書き換えるため、拡張機能のディレクトリではなく拡張機能用の保存領域に置く。
+ * 保存領域にこのバージョンのアーカイブがまだなければ、同梱のアーカイブを複製する。
+ */
+async function prepareServerArchive(context: ExtensionContext): Promise<string> {
+  const storageDir = context.globalStorageUri.fsPath;
+  const version = context.extension.packageJSON.version;
+  const archive = join(storageDir, `groovy-lsp-server-${version}.jsa`);
+  try {
+    await mkdir(storageDir, { recursive: true });
+    await copyFile(join(context.extensionPath, 'server', 'groovy-lsp-server.jsa'), archive, constants.COPYFILE_EXCL);
+  } catch {
+    // 複製済みの場合や同梱のアーカイブがない場合はそのまま使う（なければJVMが終了時に作成する）
+  }
+  return archive;
+}
+
 export async function deactivate(): Promise<void> {
   if (client) {
     await client.stop();